@@ -0,0 +1,54 @@
+package com.hotelbooking.api_gateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Per-route rate limiting and load shedding, keyed by gateway route id, e.g.
+ * gateway.rate-limit.routes.hotel.capacity=50. Routes without an entry are not limited.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * memory: buckets live in this gateway instance; redis: buckets are shared by all instances.
+     */
+    private String store = "memory";
+
+    private Map<String, RouteLimit> routes = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class RouteLimit {
+
+        /**
+         * Burst size of each client's bucket; 0 disables the token bucket for the route.
+         */
+        private int capacity;
+
+        /**
+         * Tokens added back to each client's bucket per second.
+         */
+        private double refillPerSecond;
+
+        /**
+         * Requests allowed in flight to the route at once; 0 means no cap.
+         */
+        private int maxConcurrent;
+
+        /**
+         * Average upstream latency above which anonymous requests are shed; null disables it.
+         */
+        private Duration latencyThreshold;
+    }
+}
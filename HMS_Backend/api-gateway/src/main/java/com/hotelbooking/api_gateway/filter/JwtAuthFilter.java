@@ -14,6 +14,7 @@ import org.springframework.web.server.ServerWebExchange;
 
 import com.hotelbooking.api_gateway.security.GatewayJwtUtil;
 import com.hotelbooking.api_gateway.security.PublicRoute;
+import com.hotelbooking.api_gateway.security.PublicRouteTrie;
 
 import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
@@ -23,9 +24,14 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class JwtAuthFilter implements GlobalFilter, Ordered {
 
+    /**
+     * Exchange attribute holding the verified userId; absent for public routes and anonymous requests.
+     */
+    public static final String USER_ID_ATTRIBUTE = JwtAuthFilter.class.getName() + ".userId";
+
     private final GatewayJwtUtil jwtUtil;
 
-    private static final List<PublicRoute> PUBLIC_ROUTES = List.of(
+    private static final PublicRouteTrie PUBLIC_ROUTES = PublicRouteTrie.of(List.of(
 
     		// Auth service
     	    new PublicRoute("POST", "/auth/login"),
@@ -43,7 +49,7 @@ public class JwtAuthFilter implements GlobalFilter, Ordered {
     	    new PublicRoute("GET", "/bookings/check-availability")
 
     		
-    );
+    ));
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
@@ -61,14 +67,7 @@ public class JwtAuthFilter implements GlobalFilter, Ordered {
             return chain.filter(exchange);
         }
 
-        String method = httpMethod.name();
-
-        boolean isPublic = PUBLIC_ROUTES.stream().anyMatch(route ->
-                route.getMethod().equalsIgnoreCase(method)
-                        && path.startsWith(route.getPathPrefix())
-        );
-
-        if (isPublic) {
+        if (PUBLIC_ROUTES.matches(httpMethod.name(), path)) {
             return chain.filter(exchange);
         }
 
@@ -84,6 +83,7 @@ public class JwtAuthFilter implements GlobalFilter, Ordered {
 
         try {
             Claims claims = jwtUtil.validate(token);
+            exchange.getAttributes().put(USER_ID_ATTRIBUTE, claims.get("userId").toString());
 
             // 🔒 VERY IMPORTANT: strip any incoming identity headers
             ServerHttpRequest.Builder requestBuilder = exchange.getRequest()
@@ -0,0 +1,102 @@
+package com.hotelbooking.api_gateway.filter;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.hotelbooking.api_gateway.config.RateLimitProperties;
+import com.hotelbooking.api_gateway.config.RateLimitProperties.RouteLimit;
+import com.hotelbooking.api_gateway.ratelimit.LoadShedder;
+import com.hotelbooking.api_gateway.ratelimit.TokenBucketStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-client token bucket and per-route load shedding, configured per route id in gateway.rate-limit.routes.
+ * Clients are the verified userId when JwtAuthFilter set one, otherwise the remote IP.
+ * Over the client's rate: 429. Route over capacity or too slow: 503. Both carry Retry-After.
+ * Runs after JwtAuthFilter; responses served by ResponseCacheFilter never reach it.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final RateLimitProperties properties;
+    private final TokenBucketStore bucketStore;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LoadShedder> shedders = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RouteLimit limit = route != null ? properties.getRoutes().get(route.getId()) : null;
+
+        if (!properties.isEnabled() || limit == null) {
+            return chain.filter(exchange);
+        }
+
+        String routeId = route.getId();
+        String userId = exchange.getAttribute(JwtAuthFilter.USER_ID_ATTRIBUTE);
+        String client = userId != null ? "user:" + userId : "ip:" + remoteIp(exchange);
+
+        Mono<Boolean> allowed = limit.getCapacity() > 0
+                ? bucketStore.tryConsume(routeId + ":" + client, limit)
+                : Mono.just(true);
+
+        return allowed.flatMap(ok -> {
+            if (!ok) {
+                return reject(exchange, routeId, HttpStatus.TOO_MANY_REQUESTS, "rate-limit",
+                        retryAfterSeconds(limit));
+            }
+
+            LoadShedder shedder = shedders.computeIfAbsent(routeId, id -> new LoadShedder(limit));
+            if (!shedder.tryAcquire(userId != null)) {
+                return reject(exchange, routeId, HttpStatus.SERVICE_UNAVAILABLE, "shed", 1);
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> shedder.release(System.nanoTime() - start));
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        // After JwtAuthFilter (-1), so the verified userId is available
+        return 0;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String routeId, HttpStatus status, String reason,
+                              long retryAfterSeconds) {
+        meterRegistry.counter("gateway.requests.rejected", "route", routeId, "reason", reason).increment();
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    private static long retryAfterSeconds(RouteLimit limit) {
+        return limit.getRefillPerSecond() > 0 ? Math.max(1, (long) Math.ceil(1 / limit.getRefillPerSecond())) : 1;
+    }
+
+    private static String remoteIp(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
@@ -0,0 +1,307 @@
+package com.hotelbooking.api_gateway.filter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Short-lived response cache for the anonymous, read-heavy public search endpoints.
+ * Key: normalized path + query parameters sorted by name + Accept. Only anonymous GET 200 responses without
+ * Set-Cookie or Cache-Control no-store/private are stored, and only if they Vary on nothing but Accept and the
+ * CORS request headers (CORS response headers are never replayed, they come from the current request).
+ * Concurrent misses for the same key are coalesced: the first request goes upstream, the others wait for its
+ * response and are served from it (or go upstream themselves if it turned out not to be cacheable).
+ * Cacheable responses get an ETag and Cache-Control max-age; a matching If-None-Match is answered with 304.
+ * Hits, misses and the hit ratio are published under gateway.response.cache.*.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    private static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    // Hop-by-hop or per-client headers that must not be replayed to other clients
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.DATE.toLowerCase());
+
+    // Request headers a stored response may vary on: Accept is part of the key, CORS headers are recomputed per request
+    private static final Set<String> HANDLED_VARY = Set.of(
+            HttpHeaders.ACCEPT.toLowerCase(),
+            HttpHeaders.ORIGIN.toLowerCase(),
+            HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD.toLowerCase(),
+            HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS.toLowerCase());
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${gateway.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.response-cache.ttl:10s}")
+    private Duration ttl;
+
+    @Value("${gateway.response-cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${gateway.response-cache.paths:/hotels/search,/hotels/availability/search,/bookings/check-availability}")
+    private List<String> paths;
+
+    private Cache<String, CachedResponse> cache;
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        hits = meterRegistry.counter("gateway.response.cache.requests", "result", "hit");
+        misses = meterRegistry.counter("gateway.response.cache.requests", "result", "miss");
+        Gauge.builder("gateway.response.cache.hit.ratio", this, ResponseCacheFilter::hitRatio)
+                .description("Share of cacheable requests served without an upstream call")
+                .register(meterRegistry);
+        Gauge.builder("gateway.response.cache.size", cache, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+
+        ServerHttpRequest request = exchange.getRequest();
+        if (!isCacheable(request)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return writeCached(exchange, cached);
+        }
+
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+        if (leader != null) {
+            // Same request already on its way upstream: wait for it instead of sending another
+            return leader.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(result -> {
+                        if (result.isPresent()) {
+                            hits.increment();
+                            return writeCached(exchange, result.get());
+                        }
+                        misses.increment();
+                        return chain.filter(exchange);
+                    });
+        }
+
+        misses.increment();
+        ServerHttpResponse capturing = new CapturingResponse(exchange, key, sink);
+
+        return chain.filter(exchange.mutate().response(capturing).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    // No-op if the response was already emitted; otherwise waiters go upstream themselves
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // Outside NettyWriteResponseFilter so the upstream body passes through CapturingResponse
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private boolean isCacheable(ServerHttpRequest request) {
+        return enabled
+                && request.getMethod() == HttpMethod.GET
+                && !request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                && paths.contains(normalizePath(request.getURI().getPath()));
+    }
+
+    static String cacheKey(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(normalizePath(request.getURI().getPath()));
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : new TreeMap<>(request.getQueryParams()).entrySet()) {
+            // "?flag" has a null value
+            for (String value : param.getValue().stream().map(v -> v != null ? v : "").sorted().toList()) {
+                key.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        // Content negotiation: a JSON and an XML client must not get each other's body
+        List<String> accept = request.getHeaders().get(HttpHeaders.ACCEPT);
+        if (accept != null) {
+            key.append(" accept=").append(String.join(",", accept).replace(" ", ""));
+        }
+        return key.toString();
+    }
+
+    private static String normalizePath(String path) {
+        String normalized = path.replaceAll("/{2,}", "/");
+        return normalized.length() > 1 && normalized.endsWith("/")
+                ? normalized.substring(0, normalized.length() - 1)
+                : normalized;
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        // Headers already on the response (e.g. CORS for this request's origin) win over the stored ones
+        cached.headers().forEach((name, values) -> {
+            if (!response.getHeaders().containsKey(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+
+        if (etagMatches(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean etagMatches(ServerHttpRequest request, String etag) {
+        return request.getHeaders().getIfNoneMatch().stream()
+                .anyMatch(candidate -> candidate.equals(etag) || candidate.equals("*"));
+    }
+
+    private static boolean isStorable(HttpStatusCode status, HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return status == HttpStatus.OK
+                && !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")))
+                && headers.getVary().stream().allMatch(name -> HANDLED_VARY.contains(name.trim().toLowerCase()));
+    }
+
+    private static String etagFor(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Buffers the upstream body, stores it if cacheable and hands it to the waiting requests.
+     */
+    private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final Sinks.One<CachedResponse> sink;
+
+        CapturingResponse(ServerWebExchange exchange, String key, Sinks.One<CachedResponse> sink) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body)
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+                        if (!isStorable(getStatusCode(), getHeaders())) {
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        }
+
+                        if (getHeaders().getETag() == null) {
+                            getHeaders().setETag(etagFor(bytes));
+                        }
+                        getHeaders().setCacheControl("public, max-age=" + ttl.toSeconds());
+
+                        CachedResponse cached = new CachedResponse(storedHeaders(getHeaders()), bytes,
+                                getHeaders().getETag());
+                        cache.put(key, cached);
+                        sink.tryEmitValue(cached);
+
+                        if (etagMatches(exchange.getRequest(), cached.etag())) {
+                            setStatusCode(HttpStatus.NOT_MODIFIED);
+                            getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                            return setComplete();
+                        }
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+
+        private HttpHeaders storedHeaders(HttpHeaders headers) {
+            HttpHeaders stored = new HttpHeaders();
+            headers.forEach((name, values) -> {
+                String lower = name.toLowerCase();
+                if (!SKIPPED_HEADERS.contains(lower) && !lower.startsWith("access-control-")
+                        && !name.equalsIgnoreCase(CACHE_STATUS_HEADER)) {
+                    stored.put(name, List.copyOf(values));
+                }
+            });
+            return HttpHeaders.readOnlyHttpHeaders(stored);
+        }
+    }
+
+    record CachedResponse(HttpHeaders headers, byte[] body, String etag) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.hotelbooking.api_gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hotelbooking.api_gateway.config.RateLimitProperties.RouteLimit;
+
+/**
+ * Concurrency and latency guard for one route.
+ * Beyond maxConcurrent requests in flight, every request is rejected. While the moving average of upstream
+ * latency is above latencyThreshold, anonymous requests are rejected so signed-in guests and staff keep the
+ * remaining capacity. When nothing is in flight one anonymous request is let through as a probe, so the average
+ * can recover even if all traffic is anonymous.
+ */
+public class LoadShedder {
+
+    // Weight of the newest latency sample in the moving average
+    private static final double ALPHA = 0.2;
+
+    private final int maxConcurrent;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double averageLatencyNanos;
+
+    public LoadShedder(RouteLimit limit) {
+        this.maxConcurrent = limit.getMaxConcurrent();
+        this.latencyThresholdNanos = limit.getLatencyThreshold() != null ? limit.getLatencyThreshold().toNanos() : 0;
+    }
+
+    /**
+     * Reserve a slot; every true result must be paired with {@link #release(long)}.
+     */
+    public boolean tryAcquire(boolean authenticated) {
+        int current = inFlight.incrementAndGet();
+
+        boolean overCapacity = maxConcurrent > 0 && current > maxConcurrent;
+        boolean slow = latencyThresholdNanos > 0
+                && averageLatencyNanos > latencyThresholdNanos
+                && !authenticated
+                && current > 1;
+
+        if (overCapacity || slow) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void release(long latencyNanos) {
+        inFlight.decrementAndGet();
+        // Lost updates between racing threads only skew a moving average, so no lock
+        averageLatencyNanos = averageLatencyNanos == 0
+                ? latencyNanos
+                : ALPHA * latencyNanos + (1 - ALPHA) * averageLatencyNanos;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
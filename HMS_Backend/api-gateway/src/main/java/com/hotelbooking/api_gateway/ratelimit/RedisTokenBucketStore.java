@@ -0,0 +1,66 @@
+package com.hotelbooking.api_gateway.ratelimit;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.hotelbooking.api_gateway.config.RateLimitProperties.RouteLimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token buckets in Redis, shared by every gateway instance. Refill and consume run in one Lua script
+ * using the Redis clock, so instances with skewed clocks still agree.
+ * If Redis is unreachable the request is let through: the limiter must not take the gateway down with it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "gateway.rate-limit.store", havingValue = "redis")
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final String KEY_PREFIX = "gateway:rate-limit:";
+
+    private static final RedisScript<Long> TOKEN_BUCKET = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = tonumber(ARGV[2]) / 1000
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+            local allowed = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            end
+
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            if refill_per_ms > 0 then
+                redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms) + 1000)
+            end
+            return allowed
+            """, Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Override
+    public Mono<Boolean> tryConsume(String key, RouteLimit limit) {
+        return redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + key),
+                        List.of(String.valueOf(limit.getCapacity()), String.valueOf(limit.getRefillPerSecond())))
+                .next()
+                .map(allowed -> allowed == 1L)
+                .onErrorResume(e -> {
+                    log.warn("Rate limit check failed for {}, allowing request: {}", key, e.getMessage());
+                    return Mono.just(true);
+                });
+    }
+}
@@ -0,0 +1,18 @@
+package com.hotelbooking.api_gateway.ratelimit;
+
+import com.hotelbooking.api_gateway.config.RateLimitProperties.RouteLimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds one token bucket per key (route + client).
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Take one token from the key's bucket, creating a full bucket on first use.
+     *
+     * @return true if a token was available
+     */
+    Mono<Boolean> tryConsume(String key, RouteLimit limit);
+}
@@ -0,0 +1,54 @@
+package com.hotelbooking.api_gateway.security;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Public routes compiled into one prefix trie per HTTP method.
+ * A request is public if some route of its method is a prefix of the path (same rule as
+ * {@code path.startsWith(route.getPathPrefix())}); lookup walks the path once instead of testing every route.
+ */
+public final class PublicRouteTrie {
+
+    private final Map<String, Node> roots;
+
+    private PublicRouteTrie(Map<String, Node> roots) {
+        this.roots = roots;
+    }
+
+    public static PublicRouteTrie of(List<PublicRoute> routes) {
+        Map<String, Node> roots = new HashMap<>();
+        for (PublicRoute route : routes) {
+            Node node = roots.computeIfAbsent(route.getMethod().toUpperCase(Locale.ROOT), method -> new Node());
+            for (int i = 0; i < route.getPathPrefix().length(); i++) {
+                node = node.children.computeIfAbsent(route.getPathPrefix().charAt(i), c -> new Node());
+            }
+            node.terminal = true;
+        }
+        return new PublicRouteTrie(roots);
+    }
+
+    public boolean matches(String method, String path) {
+        Node node = roots.get(method.toUpperCase(Locale.ROOT));
+        if (node == null) {
+            return false;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = node.children.get(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,181 @@
+package com.hotelbooking.api_gateway.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.hotelbooking.api_gateway.security.GatewayJwtUtil;
+import com.hotelbooking.api_gateway.security.PublicRoute;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import reactor.core.publisher.Mono;
+
+/**
+ * JMH throughput benchmark of JwtAuthFilter, before and after caching the JWT parser and verified tokens.
+ * "legacy" methods run a copy of the old filter, which derived the HMAC key, built a parser and verified the
+ * signature on every request and scanned the public routes with startsWith. The other methods run the current filter.
+ * Skipped in normal builds; run with:
+ * mvn test -Dtest=JwtAuthFilterBenchmarkTest -Dbenchmark.jmh=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmarkTest {
+
+    private static final String SECRET = "benchmark-secret-key-for-jmh-only-123456789012345678901234567890";
+
+    private static final List<PublicRoute> LEGACY_PUBLIC_ROUTES = List.of(
+            new PublicRoute("POST", "/auth/login"),
+            new PublicRoute("POST", "/auth/register"),
+            new PublicRoute("POST", "/auth/activate"),
+            new PublicRoute("GET", "/hotels/search"),
+            new PublicRoute("GET", "/hotels/"),
+            new PublicRoute("GET", "/hotels/availability/search"),
+            new PublicRoute("GET", "/bookings/check-availability")
+    );
+
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    private JwtAuthFilter filter;
+    private final GlobalFilter legacyFilter = new LegacyJwtAuthFilter();
+    private String token;
+
+    @Setup
+    public void setUp() {
+        GatewayJwtUtil jwtUtil = new GatewayJwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 10_000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxTtl", Duration.ofMinutes(5));
+        jwtUtil.init();
+        filter = new JwtAuthFilter(jwtUtil);
+
+        token = Jwts.builder()
+                .subject("guest@example.com")
+                .claim("userId", 7L)
+                .claim("role", "GUEST")
+                .claim("username", "guest")
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    @Benchmark
+    public Object authenticated() {
+        return run(filter, authenticatedExchange());
+    }
+
+    @Benchmark
+    public Object legacyAuthenticated() {
+        return run(legacyFilter, authenticatedExchange());
+    }
+
+    @Benchmark
+    public Object publicRoute() {
+        return run(filter, publicExchange());
+    }
+
+    @Benchmark
+    public Object legacyPublicRoute() {
+        return run(legacyFilter, publicExchange());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.jmh", matches = "true")
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthFilterBenchmarkTest.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    private MockServerWebExchange authenticatedExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/bookings/my")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private static MockServerWebExchange publicExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/bookings/check-availability"));
+    }
+
+    private static MockServerWebExchange run(GlobalFilter target, MockServerWebExchange exchange) {
+        target.filter(exchange, CHAIN).block();
+        return exchange;
+    }
+
+    /**
+     * JwtAuthFilter as it was before caching: new key and parser per request, linear public route scan.
+     */
+    private static final class LegacyJwtAuthFilter implements GlobalFilter {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            String path = exchange.getRequest().getURI().getPath();
+            String method = exchange.getRequest().getMethod().name();
+
+            boolean isPublic = LEGACY_PUBLIC_ROUTES.stream().anyMatch(route ->
+                    route.getMethod().equalsIgnoreCase(method) && path.startsWith(route.getPathPrefix()));
+            if (isPublic) {
+                return chain.filter(exchange);
+            }
+
+            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            Claims claims = Jwts.parser()
+                    .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseSignedClaims(authHeader.substring(7))
+                    .getPayload();
+
+            ServerHttpRequest.Builder requestBuilder = exchange.getRequest()
+                    .mutate()
+                    .headers(headers -> {
+                        headers.remove("X-User-Id");
+                        headers.remove("X-User-Username");
+                        headers.remove("X-User-Role");
+                        headers.remove("X-User-Email");
+                        headers.remove("X-Hotel-Id");
+                        headers.remove("X-User-Hotel-Id");
+                    });
+            requestBuilder
+                    .header("X-User-Id", claims.get("userId").toString())
+                    .header("X-User-Role", claims.get("role").toString())
+                    .header("X-User-Email", claims.getSubject());
+            Object username = claims.get("username");
+            if (username != null) {
+                requestBuilder.header("X-User-Username", username.toString());
+            }
+
+            return chain.filter(exchange.mutate().request(requestBuilder.build()).build());
+        }
+    }
+}
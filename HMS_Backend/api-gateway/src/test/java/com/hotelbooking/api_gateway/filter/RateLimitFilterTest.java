@@ -0,0 +1,121 @@
+package com.hotelbooking.api_gateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.hotelbooking.api_gateway.config.RateLimitProperties;
+import com.hotelbooking.api_gateway.config.RateLimitProperties.RouteLimit;
+import com.hotelbooking.api_gateway.ratelimit.InMemoryTokenBucketStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+    private RouteLimit hotelLimit;
+    private AtomicInteger upstreamCalls;
+
+    private final GatewayFilterChain upstream = exchange -> {
+        upstreamCalls.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        hotelLimit = new RouteLimit();
+        hotelLimit.setCapacity(2);
+        hotelLimit.setRefillPerSecond(0.5);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(Map.of("hotel", hotelLimit));
+
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, new InMemoryTokenBucketStore(), meterRegistry);
+        upstreamCalls = new AtomicInteger();
+    }
+
+    @Test
+    void testFilter_ClientOverRateGets429() {
+        filter.filter(exchange("hotel", "10.0.0.1", null), upstream).block();
+        filter.filter(exchange("hotel", "10.0.0.1", null), upstream).block();
+        MockServerWebExchange third = exchange("hotel", "10.0.0.1", null);
+
+        filter.filter(third, upstream).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+        assertEquals("2", third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("gateway.requests.rejected").tag("reason", "rate-limit").counter().count());
+    }
+
+    @Test
+    void testFilter_BucketsArePerClient() {
+        for (int i = 0; i < 3; i++) {
+            filter.filter(exchange("hotel", "10.0.0.1", null), upstream).block();
+        }
+        MockServerWebExchange otherIp = exchange("hotel", "10.0.0.2", null);
+        MockServerWebExchange signedIn = exchange("hotel", "10.0.0.1", "42");
+
+        filter.filter(otherIp, upstream).block();
+        filter.filter(signedIn, upstream).block();
+
+        assertNull(otherIp.getResponse().getStatusCode());
+        // Same IP, but a signed-in user has its own bucket
+        assertNull(signedIn.getResponse().getStatusCode());
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_RouteWithoutLimitPassesThrough() {
+        for (int i = 0; i < 5; i++) {
+            filter.filter(exchange("booking", "10.0.0.1", null), upstream).block();
+        }
+
+        assertEquals(5, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_OverMaxConcurrentGets503() {
+        hotelLimit.setCapacity(0);
+        hotelLimit.setMaxConcurrent(1);
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain slowUpstream = exchange -> release.asMono();
+
+        Mono<Void> first = filter.filter(exchange("hotel", "10.0.0.1", null), slowUpstream);
+        first.subscribe();
+        MockServerWebExchange second = exchange("hotel", "10.0.0.2", "42");
+        filter.filter(second, upstream).block();
+        release.tryEmitEmpty();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, second.getResponse().getStatusCode());
+        assertEquals(0, upstreamCalls.get());
+    }
+
+    private static MockServerWebExchange exchange(String routeId, String ip, String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/hotels/search")
+                .remoteAddress(new InetSocketAddress(ip, 50000)));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id(routeId).uri("http://localhost").predicate(e -> true).build());
+        if (userId != null) {
+            exchange.getAttributes().put(JwtAuthFilter.USER_ID_ATTRIBUTE, userId);
+        }
+        return exchange;
+    }
+}
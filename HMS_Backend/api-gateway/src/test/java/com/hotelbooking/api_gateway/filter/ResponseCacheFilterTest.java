@@ -0,0 +1,174 @@
+package com.hotelbooking.api_gateway.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":1,\"name\":\"Grand Plaza\"}]";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCacheFilter filter;
+    private AtomicInteger upstreamCalls;
+    private HttpStatus upstreamStatus;
+    private List<String> upstreamVary;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseCacheFilter(meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "ttl", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(filter, "maxSize", 100L);
+        ReflectionTestUtils.setField(filter, "paths", List.of("/hotels/search", "/bookings/check-availability"));
+        filter.init();
+
+        upstreamCalls = new AtomicInteger();
+        upstreamStatus = HttpStatus.OK;
+        upstreamVary = List.of();
+    }
+
+    @Test
+    void testFilter_SecondRequestServedFromCache() {
+        MockServerWebExchange first = get("/hotels/search?city=DELHI&category=LUXURY");
+        MockServerWebExchange second = get("/hotels/search/?category=LUXURY&city=DELHI");
+
+        filter.filter(first, upstream(Duration.ZERO)).block();
+        filter.filter(second, upstream(Duration.ZERO)).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals("public, max-age=10", second.getResponse().getHeaders().getCacheControl());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+        assertEquals(0.5, meterRegistry.get("gateway.response.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void testFilter_ConcurrentMissesCoalesced() {
+        MockServerWebExchange first = get("/hotels/search?city=DELHI");
+        MockServerWebExchange second = get("/hotels/search?city=DELHI");
+
+        Mono.when(
+                filter.filter(first, upstream(Duration.ofMillis(200))),
+                filter.filter(second, upstream(Duration.ofMillis(200)))
+        ).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, first.getResponse().getBodyAsString().block());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testFilter_IfNoneMatchReturnsNotModified() {
+        MockServerWebExchange first = get("/hotels/search?city=DELHI");
+        filter.filter(first, upstream(Duration.ZERO)).block();
+        String etag = first.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+
+        MockServerWebExchange revalidate = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/hotels/search?city=DELHI").header(HttpHeaders.IF_NONE_MATCH, etag));
+        filter.filter(revalidate, upstream(Duration.ZERO)).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidate.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_ErrorResponseNotCached() {
+        upstreamStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+        filter.filter(get("/hotels/search?city=DELHI"), upstream(Duration.ZERO)).block();
+        filter.filter(get("/hotels/search?city=DELHI"), upstream(Duration.ZERO)).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_AcceptIsPartOfKey() {
+        MockServerWebExchange json = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/hotels/search?city=DELHI").header(HttpHeaders.ACCEPT, "application/json"));
+        MockServerWebExchange xml = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/hotels/search?city=DELHI").header(HttpHeaders.ACCEPT, "application/xml"));
+        MockServerWebExchange jsonAgain = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/hotels/search?city=DELHI").header(HttpHeaders.ACCEPT, "application/json"));
+
+        filter.filter(json, upstream(Duration.ZERO)).block();
+        filter.filter(xml, upstream(Duration.ZERO)).block();
+        filter.filter(jsonAgain, upstream(Duration.ZERO)).block();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("HIT", jsonAgain.getResponse().getHeaders().getFirst("X-Cache"));
+    }
+
+    @Test
+    void testFilter_ResponseVaryingOnOtherHeaderNotCached() {
+        upstreamVary = List.of("Accept-Language");
+
+        filter.filter(get("/hotels/search?city=DELHI"), upstream(Duration.ZERO)).block();
+        filter.filter(get("/hotels/search?city=DELHI"), upstream(Duration.ZERO)).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_ResponseVaryingOnCorsHeadersCached() {
+        upstreamVary = List.of("Origin", "Access-Control-Request-Method", "Access-Control-Request-Headers");
+
+        filter.filter(get("/hotels/search?city=DELHI"), upstream(Duration.ZERO)).block();
+        filter.filter(get("/hotels/search?city=DELHI"), upstream(Duration.ZERO)).block();
+
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_OtherPathsAndAuthenticatedRequestsBypassCache() {
+        MockServerWebExchange other = get("/bookings/my");
+        MockServerWebExchange authenticated = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/hotels/search?city=DELHI").header(HttpHeaders.AUTHORIZATION, "Bearer x"));
+
+        filter.filter(other, upstream(Duration.ZERO)).block();
+        filter.filter(get("/bookings/my"), upstream(Duration.ZERO)).block();
+        filter.filter(authenticated, upstream(Duration.ZERO)).block();
+
+        assertEquals(3, upstreamCalls.get());
+        assertNull(other.getResponse().getHeaders().getFirst("X-Cache"));
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private GatewayFilterChain upstream(Duration latency) {
+        return exchange -> Mono.delay(latency).then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(upstreamStatus);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setVary(upstreamVary);
+            return response.writeWith(Mono.just(
+                    response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+}
@@ -0,0 +1,61 @@
+package com.hotelbooking.api_gateway.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.hotelbooking.api_gateway.config.RateLimitProperties.RouteLimit;
+
+class LoadShedderTest {
+
+    @Test
+    void testTryAcquire_CapsConcurrency() {
+        LoadShedder shedder = new LoadShedder(limit(2, null));
+
+        assertTrue(shedder.tryAcquire(false));
+        assertTrue(shedder.tryAcquire(true));
+        assertFalse(shedder.tryAcquire(true));
+
+        shedder.release(1_000_000);
+        assertTrue(shedder.tryAcquire(false));
+        assertEquals(2, shedder.inFlight());
+    }
+
+    @Test
+    void testTryAcquire_SlowUpstreamShedsAnonymousFirst() {
+        LoadShedder shedder = new LoadShedder(limit(0, Duration.ofMillis(100)));
+        shedder.tryAcquire(true);
+        shedder.release(Duration.ofMillis(500).toNanos());
+
+        // One request in flight keeps the route busy
+        assertTrue(shedder.tryAcquire(true));
+        assertFalse(shedder.tryAcquire(false));
+        assertTrue(shedder.tryAcquire(true));
+    }
+
+    @Test
+    void testTryAcquire_IdleRouteLetsProbeThrough() {
+        LoadShedder shedder = new LoadShedder(limit(0, Duration.ofMillis(100)));
+        shedder.tryAcquire(false);
+        shedder.release(Duration.ofMillis(500).toNanos());
+
+        // Nothing in flight: an anonymous probe may go, and fast responses bring the average back down
+        assertTrue(shedder.tryAcquire(false));
+        for (int i = 0; i < 20; i++) {
+            shedder.release(Duration.ofMillis(10).toNanos());
+            shedder.tryAcquire(false);
+        }
+        assertTrue(shedder.tryAcquire(false));
+    }
+
+    private static RouteLimit limit(int maxConcurrent, Duration latencyThreshold) {
+        RouteLimit limit = new RouteLimit();
+        limit.setMaxConcurrent(maxConcurrent);
+        limit.setLatencyThreshold(latencyThreshold);
+        return limit;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hotelbooking.api_gateway.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class GatewayJwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-for-testing-only-123456789012345678901234567890";
+
+    private GatewayJwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(SECRET);
+    }
+
+    @Test
+    void testValidate_ReturnsClaimsAndCachesThem() {
+        String token = token(SECRET, 60_000);
+
+        Claims first = jwtUtil.validate(token);
+        Claims second = jwtUtil.validate(token);
+
+        assertEquals("guest@example.com", first.getSubject());
+        assertEquals("GUEST", first.get("role"));
+        // Second call is served from the verified-token cache
+        assertSame(first, second);
+    }
+
+    @Test
+    void testValidate_WrongSignature() {
+        String token = token("another-secret-key-that-is-long-enough-for-hmac-sha256", 60_000);
+
+        assertThrows(JwtException.class, () -> jwtUtil.validate(token));
+    }
+
+    @Test
+    void testValidate_ExpiredToken() {
+        String token = token(SECRET, -1_000);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.validate(token));
+    }
+
+    @Test
+    void testValidate_CachedEntryEndsAtTokenExpiry() throws InterruptedException {
+        String token = token(SECRET, 1_500);
+        jwtUtil.validate(token);
+
+        Thread.sleep(2_000);
+
+        // The cache must not outlive the token: the parser runs again and rejects it
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.validate(token));
+    }
+
+    private static GatewayJwtUtil newJwtUtil(String secret) {
+        GatewayJwtUtil util = new GatewayJwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(util, "cacheMaxTtl", Duration.ofMinutes(5));
+        util.init();
+        return util;
+    }
+
+    private static String token(String secret, long validForMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .subject("guest@example.com")
+                .claim("userId", 7L)
+                .claim("role", "GUEST")
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + validForMillis))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
@@ -0,0 +1,41 @@
+package com.hotelbooking.api_gateway.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PublicRouteTrieTest {
+
+    private final PublicRouteTrie trie = PublicRouteTrie.of(List.of(
+            new PublicRoute("POST", "/auth/login"),
+            new PublicRoute("GET", "/hotels/"),
+            new PublicRoute("GET", "/hotels/search"),
+            new PublicRoute("GET", "/bookings/check-availability")
+    ));
+
+    @Test
+    void testMatches_PrefixOfPath() {
+        assertTrue(trie.matches("POST", "/auth/login"));
+        assertTrue(trie.matches("GET", "/hotels/42"));
+        assertTrue(trie.matches("GET", "/hotels/search"));
+        assertTrue(trie.matches("GET", "/bookings/check-availability?hotelId=1"));
+    }
+
+    @Test
+    void testMatches_MethodMustMatch() {
+        assertFalse(trie.matches("GET", "/auth/login"));
+        assertFalse(trie.matches("PUT", "/hotels/42"));
+        assertTrue(trie.matches("get", "/hotels/42"));
+    }
+
+    @Test
+    void testMatches_NotPublic() {
+        assertFalse(trie.matches("GET", "/hotels"));
+        assertFalse(trie.matches("GET", "/bookings/my"));
+        assertFalse(trie.matches("POST", "/auth/log"));
+        assertFalse(trie.matches("DELETE", "/hotels/42"));
+    }
+}
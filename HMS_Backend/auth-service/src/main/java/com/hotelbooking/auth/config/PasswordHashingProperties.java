@@ -0,0 +1,26 @@
+package com.hotelbooking.auth.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auth.password.hashing")
+public class PasswordHashingProperties {
+
+    // BCrypt cost factor; each +1 doubles the time per hash
+    private int strength = 10;
+
+    // Threads doing BCrypt work; 0 means one per available core minus one (at least one)
+    private int workers = 0;
+
+    // Hash requests allowed to wait for a worker before new ones are rejected
+    private int queueCapacity = 50;
+
+    // Longest a request thread waits for its hash before giving up
+    private Duration maxWait = Duration.ofSeconds(5);
+}
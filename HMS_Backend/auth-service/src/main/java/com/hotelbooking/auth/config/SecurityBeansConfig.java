@@ -2,14 +2,24 @@ package com.hotelbooking.auth.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.hotelbooking.auth.security.BoundedBCryptPasswordEncoder;
+
 @Configuration
 public class SecurityBeansConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        // Default leaves one core to the request threads, so hashing alone can't saturate the host
+        int workers = properties.getWorkers() > 0
+                ? properties.getWorkers()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BoundedBCryptPasswordEncoder(
+                properties.getStrength(),
+                workers,
+                properties.getQueueCapacity(),
+                properties.getMaxWait()
+        );
     }
-}
\ No newline at end of file
+}
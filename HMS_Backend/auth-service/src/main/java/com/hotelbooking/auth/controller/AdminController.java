@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import com.hotelbooking.auth.domain.Role;
 import com.hotelbooking.auth.domain.User;
 import com.hotelbooking.auth.dto.AdminUserResponse;
+import com.hotelbooking.auth.dto.PageResponse;
 import com.hotelbooking.auth.dto.StaffCreateRequest;
 import com.hotelbooking.auth.dto.StaffUpdateRequest;
 import com.hotelbooking.auth.exception.InsufficientRoleException;
@@ -58,10 +59,15 @@ public class AdminController {
                 .body(Map.of("activationToken", token));
     }
 
-    /* List all users */
+    /* List users, one keyset page at a time, optionally filtered by role and hotel */
     @GetMapping("/users")
-    public ResponseEntity<List<AdminUserResponse>> listUsers() {
-        return ResponseEntity.ok(userService.listAllUsersForAdmin());
+    public ResponseEntity<PageResponse<AdminUserResponse>> listUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Long hotelId
+    ) {
+        return ResponseEntity.ok(userService.listAllUsersForAdmin(after, limit, role, hotelId));
     }
 
     /* Deactivate user */
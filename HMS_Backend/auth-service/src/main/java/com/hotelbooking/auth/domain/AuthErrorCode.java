@@ -15,5 +15,6 @@ public enum AuthErrorCode {
     INSUFFICIENT_ROLE,
     INVALID_PASSWORD_POLICY,
     MISSING_REQUIRED_FIELD,
+    SERVICE_BUSY,
     INTERNAL_ERROR
 }
\ No newline at end of file
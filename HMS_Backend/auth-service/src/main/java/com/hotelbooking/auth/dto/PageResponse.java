@@ -0,0 +1,52 @@
+package com.hotelbooking.auth.dto;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import com.hotelbooking.auth.exception.ValidationException;
+
+/**
+ * One page of a keyset-paginated list, ordered by id. nextCursor is null on the last page.
+ * Clients send nextCursor back unchanged as the after parameter.
+ */
+public record PageResponse<T>(
+        List<T> items,
+        String nextCursor
+) implements Serializable {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * Build a page from rows fetched with limit + 1, where the extra row only signals that more pages follow.
+     */
+    public static <T> PageResponse<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new PageResponse<>(new ArrayList<>(rows), null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new PageResponse<>(items, encodeCursor(idOf.apply(items.get(limit - 1))));
+    }
+
+    /**
+     * Id to continue after; 0 (before every IDENTITY id) when no cursor was given.
+     */
+    public static long decodeCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new ValidationException("after", "is not a valid cursor");
+        }
+    }
+
+    static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
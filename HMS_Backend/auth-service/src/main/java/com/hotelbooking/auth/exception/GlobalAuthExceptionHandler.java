@@ -296,6 +296,7 @@ public class GlobalAuthExceptionHandler {
             case ACCOUNT_DISABLED, PASSWORD_EXPIRED, ACCESS_DENIED, INSUFFICIENT_ROLE -> HttpStatus.FORBIDDEN;
             case EMAIL_ALREADY_EXISTS, USERNAME_ALREADY_EXISTS -> HttpStatus.CONFLICT;
             case USER_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case SERVICE_BUSY -> HttpStatus.SERVICE_UNAVAILABLE;
             case VALIDATION_ERROR, INVALID_PASSWORD_POLICY, MISSING_REQUIRED_FIELD, INVALID_CURRENT_PASSWORD, WEAK_PASSWORD -> HttpStatus.BAD_REQUEST;
             default -> HttpStatus.INTERNAL_SERVER_ERROR;
         };
@@ -0,0 +1,14 @@
+package com.hotelbooking.auth.exception;
+
+import com.hotelbooking.auth.domain.AuthErrorCode;
+
+public class ServiceBusyException extends AuthException {
+    public ServiceBusyException(String message) {
+        super(AuthErrorCode.SERVICE_BUSY,
+              message != null ? message : "Service is busy, please retry shortly");
+    }
+
+    public ServiceBusyException() {
+        this("Service is busy, please retry shortly");
+    }
+}
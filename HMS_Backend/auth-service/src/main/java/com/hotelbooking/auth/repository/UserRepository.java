@@ -3,9 +3,14 @@ package com.hotelbooking.auth.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.hotelbooking.auth.domain.Role;
 import com.hotelbooking.auth.domain.User;
+import com.hotelbooking.auth.dto.AdminUserResponse;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
@@ -13,4 +18,27 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     List<User> findByHotelId(Long hotelId);
+
+    // Keyset page in id order; users has no created_at and IDENTITY ids grow with insertion time.
+    // Staff hotelId comes from the user row, falling back to the legacy assignment table, in the same query.
+    // role and hotelId are optional filters; pass null to skip them.
+    @Query("""
+            SELECT new com.hotelbooking.auth.dto.AdminUserResponse(
+                u.id, u.publicUserId, u.username, u.fullName, u.email, u.role, u.enabled,
+                CASE WHEN u.role IN (com.hotelbooking.auth.domain.Role.MANAGER,
+                                     com.hotelbooking.auth.domain.Role.RECEPTIONIST)
+                     THEN COALESCE(u.hotelId, a.hotelId) END)
+            FROM User u
+            LEFT JOIN UserHotelAssignment a ON a.userId = u.id
+            WHERE u.id > :afterId
+              AND (:role IS NULL OR u.role = :role)
+              AND (:hotelId IS NULL OR (u.role IN (com.hotelbooking.auth.domain.Role.MANAGER,
+                                                   com.hotelbooking.auth.domain.Role.RECEPTIONIST)
+                                        AND COALESCE(u.hotelId, a.hotelId) = :hotelId))
+            ORDER BY u.id
+            """)
+    List<AdminUserResponse> findAdminPage(@Param("afterId") Long afterId,
+                                          @Param("role") Role role,
+                                          @Param("hotelId") Long hotelId,
+                                          Pageable pageable);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +15,7 @@ import com.hotelbooking.auth.domain.Role;
 import com.hotelbooking.auth.domain.User;
 import com.hotelbooking.auth.domain.UserHotelAssignment;
 import com.hotelbooking.auth.dto.AdminUserResponse;
+import com.hotelbooking.auth.dto.PageResponse;
 import com.hotelbooking.auth.dto.UserResponse;
 import com.hotelbooking.auth.dto.StaffUpdateRequest;
 import com.hotelbooking.auth.exception.AccountDisabledException;
@@ -22,6 +24,7 @@ import com.hotelbooking.auth.exception.InsufficientRoleException;
 import com.hotelbooking.auth.exception.InvalidCredentialsException;
 import com.hotelbooking.auth.exception.InvalidPasswordPolicyException;
 import com.hotelbooking.auth.exception.MissingRequiredFieldException;
+import com.hotelbooking.auth.exception.ServiceBusyException;
 import com.hotelbooking.auth.exception.UserAlreadyExistsException;
 import com.hotelbooking.auth.exception.UserNotFoundException;
 import com.hotelbooking.auth.exception.ValidationException;
@@ -159,8 +162,26 @@ public class UserService {
             throw new InvalidCredentialsException();
         }
 
+        rehashIfCostChanged(user, rawPassword);
+
         return user;
     }
+
+    /**
+     * The raw password is only available at login, so that is when a hash made with an old
+     * BCrypt cost gets replaced. A busy hashing pool just postpones it to a later login.
+     */
+    private void rehashIfCostChanged(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+        } catch (ServiceBusyException e) {
+            // Login already succeeded; keep the old hash for now
+        }
+    }
     
     public Long getAssignedHotelId(Long userId) {
         User user = userRepository.findById(userId)
@@ -205,36 +226,19 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException());
     }
 
-    public List<AdminUserResponse> listAllUsersForAdmin() {
-
-        return userRepository.findAll()
-                .stream()
-                .map(user -> {
-
-                	Long hotelId = null;
-
-        if (user.getRole() == Role.MANAGER || user.getRole() == Role.RECEPTIONIST) {
-            // Prefer hotelId from User entity, fallback to UserHotelAssignment
-            hotelId = user.getHotelId();
-            if (hotelId == null) {
-                hotelId = userHotelAssignmentRepository.findOneByUserId(user.getId())
-                        .map(UserHotelAssignment::getHotelId)
-                        .orElse(null); // <-- DO NOT THROW
-            }
+    /**
+     * One page of users for the admin screen, in id order. Pass the previous page's nextCursor as after.
+     * role and hotelId narrow the list when given; the whole page is a single query.
+     */
+    public PageResponse<AdminUserResponse> listAllUsersForAdmin(String after, int limit, Role role, Long hotelId) {
+        if (limit < 1 || limit > PageResponse.MAX_LIMIT) {
+            throw new ValidationException("limit", "must be between 1 and " + PageResponse.MAX_LIMIT);
         }
 
-                    return new AdminUserResponse(
-                            user.getId(),
-                            user.getPublicUserId(),
-                            user.getUsername(),
-                            user.getFullName(),
-                            user.getEmail(),
-                            user.getRole(),
-                            user.isEnabled(),
-                            hotelId
-                    );
-                })
-                .toList();
+        // One extra row tells whether another page follows
+        List<AdminUserResponse> rows = userRepository.findAdminPage(
+                PageResponse.decodeCursor(after), role, hotelId, PageRequest.of(0, limit + 1));
+        return PageResponse.of(rows, limit, AdminUserResponse::getUserId);
     }
 
     public List<AdminUserResponse> getUsersByHotelId(Long hotelId) {
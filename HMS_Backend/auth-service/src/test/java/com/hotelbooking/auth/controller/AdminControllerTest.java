@@ -24,6 +24,7 @@ import org.springframework.http.ResponseEntity;
 import com.hotelbooking.auth.domain.Role;
 import com.hotelbooking.auth.domain.User;
 import com.hotelbooking.auth.dto.AdminUserResponse;
+import com.hotelbooking.auth.dto.PageResponse;
 import com.hotelbooking.auth.dto.StaffCreateRequest;
 import com.hotelbooking.auth.dto.StaffUpdateRequest;
 import com.hotelbooking.auth.service.UserService;
@@ -77,13 +78,15 @@ class AdminControllerTest {
         AdminUserResponse user1 = new AdminUserResponse(1L, "GUEST-ABC", "user1", "User One", "user1@example.com", Role.GUEST, true, null);
         AdminUserResponse user2 = new AdminUserResponse(2L, "MANAGER-XYZ", "manager1", "Manager One", "manager@example.com", Role.MANAGER, false, 100L);
 
-        when(userService.listAllUsersForAdmin()).thenReturn(Arrays.asList(user1, user2));
+        when(userService.listAllUsersForAdmin("cursor", 2, Role.MANAGER, 100L))
+                .thenReturn(new PageResponse<>(Arrays.asList(user1, user2), "next"));
 
-        ResponseEntity<List<AdminUserResponse>> response = adminController.listUsers();
+        ResponseEntity<PageResponse<AdminUserResponse>> response = adminController.listUsers("cursor", 2, Role.MANAGER, 100L);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        assertEquals(2, response.getBody().size());
+        assertEquals(2, response.getBody().items().size());
+        assertEquals("next", response.getBody().nextCursor());
     }
 
     @Test
@@ -152,5 +152,12 @@ class ExceptionClassesTest {
         assertEquals(AuthErrorCode.PASSWORD_EXPIRED, ex.getCode());
         assertNotNull(ex.getMessage());
     }
-}
 
+    @Test
+    void testServiceBusyException() {
+        ServiceBusyException ex = new ServiceBusyException();
+
+        assertEquals(AuthErrorCode.SERVICE_BUSY, ex.getCode());
+        assertNotNull(ex.getMessage());
+    }
+}
@@ -151,6 +151,16 @@ class GlobalAuthExceptionHandlerTest {
         assertNotNull(response.getBody());
     }
 
+    @Test
+    void testHandleServiceBusyException() {
+        ServiceBusyException ex = new ServiceBusyException();
+
+        ResponseEntity<ApiErrorResponse> response = handler.handleAuthException(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(AuthErrorCode.SERVICE_BUSY.name(), response.getBody().error().code());
+    }
+
     @Test
     void testHandleAccessDeniedException() {
         AccessDeniedException ex = new AccessDeniedException("Access denied");
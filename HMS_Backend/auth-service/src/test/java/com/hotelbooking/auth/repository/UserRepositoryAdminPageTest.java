@@ -0,0 +1,134 @@
+package com.hotelbooking.auth.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.auth.domain.Role;
+import com.hotelbooking.auth.domain.User;
+import com.hotelbooking.auth.domain.UserHotelAssignment;
+import com.hotelbooking.auth.dto.AdminUserResponse;
+
+/**
+ * Runs the JPQL behind the admin user list (UserRepository.findAdminPage) against H2.
+ */
+@DataJpaTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class UserRepositoryAdminPageTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserHotelAssignmentRepository assignmentRepository;
+
+    @Test
+    void testFindAdminPage_FallsBackToAssignmentTable() {
+        User legacy = user("legacy_manager", Role.MANAGER, null);
+        assign(legacy, 7L);
+        User moved = user("moved_manager", Role.RECEPTIONIST, 5L);
+        assign(moved, 9L);
+
+        Map<String, AdminUserResponse> page = byUsername(userRepository.findAdminPage(0L, null, null, PageRequest.of(0, 10)));
+
+        assertEquals(7L, page.get("legacy_manager").getHotelId());
+        // The user row wins over a stale assignment
+        assertEquals(5L, page.get("moved_manager").getHotelId());
+    }
+
+    @Test
+    void testFindAdminPage_HotelFilterOnlyMatchesStaff() {
+        user("manager", Role.MANAGER, 7L);
+        User legacy = user("receptionist", Role.RECEPTIONIST, null);
+        assign(legacy, 7L);
+        // Non-staff rows carrying a hotel id must neither match the filter nor show a hotel
+        User guest = user("guest", Role.GUEST, 7L);
+        assign(guest, 7L);
+        user("admin", Role.ADMIN, 7L);
+        user("other_manager", Role.MANAGER, 8L);
+
+        List<AdminUserResponse> page = userRepository.findAdminPage(0L, null, 7L, PageRequest.of(0, 10));
+
+        assertEquals(List.of("manager", "receptionist"), page.stream().map(AdminUserResponse::getUsername).toList());
+        AdminUserResponse unfilteredGuest = byUsername(
+                userRepository.findAdminPage(0L, null, null, PageRequest.of(0, 10))).get("guest");
+        assertNull(unfilteredGuest.getHotelId());
+    }
+
+    @Test
+    void testFindAdminPage_RoleFilter() {
+        user("guest", Role.GUEST, null);
+        user("manager", Role.MANAGER, 1L);
+        user("receptionist", Role.RECEPTIONIST, 1L);
+
+        List<AdminUserResponse> all = userRepository.findAdminPage(0L, null, null, PageRequest.of(0, 10));
+        List<AdminUserResponse> receptionists =
+                userRepository.findAdminPage(0L, Role.RECEPTIONIST, null, PageRequest.of(0, 10));
+        List<AdminUserResponse> managersOfHotel =
+                userRepository.findAdminPage(0L, Role.MANAGER, 1L, PageRequest.of(0, 10));
+
+        assertEquals(3, all.size());
+        assertEquals(List.of("receptionist"), receptionists.stream().map(AdminUserResponse::getUsername).toList());
+        assertEquals(List.of("manager"), managersOfHotel.stream().map(AdminUserResponse::getUsername).toList());
+    }
+
+    @Test
+    void testFindAdminPage_KeysetPaging() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(user("user_" + i, Role.GUEST, null).getId());
+        }
+
+        List<Long> seen = new ArrayList<>();
+        long afterId = 0L;
+        List<AdminUserResponse> page;
+        while (!(page = userRepository.findAdminPage(afterId, null, null, PageRequest.of(0, 2))).isEmpty()) {
+            assertTrue(page.size() <= 2);
+            page.forEach(row -> seen.add(row.getUserId()));
+            afterId = page.get(page.size() - 1).getUserId();
+        }
+
+        assertEquals(ids, seen);
+        AdminUserResponse last = userRepository.findAdminPage(ids.get(3), null, null, PageRequest.of(0, 2)).get(0);
+        assertEquals("user_4", last.getUsername());
+        assertNotNull(last.getPublicUserId());
+    }
+
+    private User user(String username, Role role, Long hotelId) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .fullName("Test User")
+                .email(username + "@example.com")
+                .password("Password123")
+                .role(role)
+                .hotelId(hotelId)
+                .enabled(true)
+                .build());
+    }
+
+    private void assign(User user, Long hotelId) {
+        assignmentRepository.save(UserHotelAssignment.builder().userId(user.getId()).hotelId(hotelId).build());
+    }
+
+    private Map<String, AdminUserResponse> byUsername(List<AdminUserResponse> rows) {
+        return rows.stream().collect(Collectors.toMap(AdminUserResponse::getUsername, row -> row));
+    }
+}
@@ -0,0 +1,72 @@
+package com.hotelbooking.auth.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.hotelbooking.auth.exception.ServiceBusyException;
+
+class BoundedBCryptPasswordEncoderTest {
+
+    @Test
+    void testEncodeAndMatches() {
+        try (BoundedBCryptPasswordEncoder encoder = new BoundedBCryptPasswordEncoder(4, 2, 10, Duration.ofSeconds(5))) {
+            String hash = encoder.encode("Password123!");
+
+            assertTrue(hash.startsWith("$2a$04$"));
+            assertTrue(encoder.matches("Password123!", hash));
+            assertFalse(encoder.matches("wrong", hash));
+        }
+    }
+
+    @Test
+    void testUpgradeEncoding_WhenCostDiffers() {
+        try (BoundedBCryptPasswordEncoder encoder = new BoundedBCryptPasswordEncoder(5, 1, 10, Duration.ofSeconds(5))) {
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw")));
+            assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw")));
+            assertFalse(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("pw")));
+            assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+            assertFalse(encoder.upgradeEncoding(null));
+        }
+    }
+
+    @Test
+    void testMatches_TimesOutWhenWaitTooLong() {
+        try (BoundedBCryptPasswordEncoder encoder = new BoundedBCryptPasswordEncoder(12, 1, 10, Duration.ofNanos(1))) {
+            String hash = new BCryptPasswordEncoder(12).encode("pw");
+
+            assertThrows(ServiceBusyException.class, () -> encoder.matches("pw", hash));
+        }
+    }
+
+    @Test
+    void testEncode_RejectsWhenQueueFull() throws Exception {
+        try (BoundedBCryptPasswordEncoder encoder = new BoundedBCryptPasswordEncoder(4, 1, 1, Duration.ofSeconds(30))) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            // One blocked task on the only worker and one in the only queue slot fill the pool
+            Future<Boolean> running = encoder.enqueue(() -> {
+                started.countDown();
+                return release.await(30, TimeUnit.SECONDS);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = encoder.enqueue(() -> "queued");
+
+            assertThrows(ServiceBusyException.class, () -> encoder.encode("c"));
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+            assertTrue(encoder.matches("c", encoder.encode("c")));
+        }
+    }
+}
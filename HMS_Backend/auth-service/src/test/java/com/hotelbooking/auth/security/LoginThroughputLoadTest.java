@@ -0,0 +1,83 @@
+package com.hotelbooking.auth.security;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.hotelbooking.auth.exception.ServiceBusyException;
+
+/**
+ * Login load test for the BCrypt pool: many request threads verify passwords at once and the test
+ * reports accepted logins/sec, logins/sec per core and fast rejections for each cost factor.
+ * Skipped by default because it saturates every core for a while. Run with:
+ * mvn test -Dtest=LoginThroughputLoadTest -Dbenchmark.login=true
+ */
+class LoginThroughputLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginThroughputLoadTest.class);
+
+    // Simulated Tomcat request threads hammering /auth/login
+    private static final int CLIENTS = 64;
+    private static final Duration RUN_TIME = Duration.ofSeconds(10);
+    private static final Duration BACKOFF = Duration.ofMillis(50);
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.login", matches = "true")
+    void reportLoginsPerSecondPerCore() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+        // Same pool size as the default auth.password.hashing.workers
+        int workers = Math.max(1, cores - 1);
+        log.info("cores={} workers={} clients={} run={}s", cores, workers, CLIENTS, RUN_TIME.toSeconds());
+
+        for (int strength : new int[] {10, 11, 12}) {
+            try (BoundedBCryptPasswordEncoder encoder =
+                         new BoundedBCryptPasswordEncoder(strength, workers, 50, Duration.ofSeconds(5))) {
+                run(encoder, strength, cores);
+            }
+        }
+    }
+
+    private static void run(BoundedBCryptPasswordEncoder encoder, int strength, int cores) throws Exception {
+        String hash = new BCryptPasswordEncoder(strength).encode("Password123!");
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        if (encoder.matches("Password123!", hash)) {
+                            accepted.incrementAndGet();
+                        }
+                    } catch (ServiceBusyException e) {
+                        // A rejected client backs off like it would on a 503
+                        rejected.incrementAndGet();
+                        LockSupport.parkNanos(BACKOFF.toNanos());
+                    }
+                }
+                done.countDown();
+            }).start();
+        }
+
+        long start = System.nanoTime();
+        Thread.sleep(RUN_TIME.toMillis());
+        running.set(false);
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        double perSecond = accepted.get() / seconds;
+        log.info("strength={} logins/sec={} logins/sec/core={} rejected/sec={}", strength,
+                String.format("%.1f", perSecond), String.format("%.1f", perSecond / cores),
+                String.format("%.1f", rejected.get() / seconds));
+    }
+}
@@ -2,15 +2,18 @@ package com.hotelbooking.auth.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -21,17 +24,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.hotelbooking.auth.domain.ActivationToken;
 import com.hotelbooking.auth.domain.Role;
 import com.hotelbooking.auth.domain.User;
 import com.hotelbooking.auth.domain.UserHotelAssignment;
+import com.hotelbooking.auth.dto.AdminUserResponse;
+import com.hotelbooking.auth.dto.PageResponse;
 import com.hotelbooking.auth.exception.AccountDisabledException;
 import com.hotelbooking.auth.exception.CredentialsExpiredException;
 import com.hotelbooking.auth.exception.InsufficientRoleException;
 import com.hotelbooking.auth.exception.InvalidCredentialsException;
 import com.hotelbooking.auth.exception.InvalidPasswordPolicyException;
+import com.hotelbooking.auth.exception.ServiceBusyException;
 import com.hotelbooking.auth.exception.UserAlreadyExistsException;
 import com.hotelbooking.auth.exception.UserNotFoundException;
 import com.hotelbooking.auth.exception.ValidationException;
@@ -117,6 +124,32 @@ class UserServiceTest {
         assertEquals("testuser", result.getUsername());
     }
 
+    @Test
+    void testAuthenticate_RehashesWhenCostChanged() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("rehashedPassword");
+
+        User result = userService.authenticate("test@example.com", "password123");
+
+        assertEquals("rehashedPassword", result.getPassword());
+        verify(userRepository).save(testUser);
+    }
+
+    @Test
+    void testAuthenticate_RehashSkippedWhenHashingBusy() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", "encodedPassword")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenThrow(new ServiceBusyException());
+
+        User result = userService.authenticate("test@example.com", "password123");
+
+        assertEquals("encodedPassword", result.getPassword());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void testAuthenticate_UserNotFound() {
         when(userRepository.findByEmail("notfound@example.com")).thenReturn(Optional.empty());
@@ -241,15 +274,45 @@ class UserServiceTest {
 
     @Test
     void testListAllUsersForAdmin_Success() {
-        User user1 = User.builder().id(1L).role(Role.GUEST).build();
-        User user2 = User.builder().id(2L).role(Role.MANAGER).hotelId(100L).build();
+        AdminUserResponse user1 = adminRow(1L, Role.GUEST, null);
+        AdminUserResponse user2 = adminRow(2L, Role.MANAGER, 100L);
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(user1, user2));
+        when(userRepository.findAdminPage(eq(0L), eq(null), eq(null), any(Pageable.class)))
+                .thenReturn(Arrays.asList(user1, user2));
 
-        List<com.hotelbooking.auth.dto.AdminUserResponse> result = userService.listAllUsersForAdmin();
+        PageResponse<AdminUserResponse> result =
+                userService.listAllUsersForAdmin(null, PageResponse.DEFAULT_LIMIT, null, null);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(2, result.items().size());
+        assertNull(result.nextCursor());
+        verify(userHotelAssignmentRepository, never()).findOneByUserId(anyLong());
+    }
+
+    @Test
+    void testListAllUsersForAdmin_NextPage() {
+        List<AdminUserResponse> users = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            users.add(adminRow(id, Role.GUEST, null));
+        }
+        when(userRepository.findAdminPage(eq(0L), eq(null), eq(null), any(Pageable.class))).thenReturn(users.subList(0, 3));
+        when(userRepository.findAdminPage(eq(2L), eq(null), eq(null), any(Pageable.class))).thenReturn(users.subList(2, 5));
+
+        PageResponse<AdminUserResponse> first = userService.listAllUsersForAdmin(null, 2, null, null);
+        PageResponse<AdminUserResponse> second = userService.listAllUsersForAdmin(first.nextCursor(), 2, null, null);
+
+        assertEquals(2L, first.items().get(1).getUserId());
+        assertEquals(3L, second.items().get(0).getUserId());
+        assertEquals(4L, PageResponse.decodeCursor(second.nextCursor()));
+    }
+
+    @Test
+    void testListAllUsersForAdmin_InvalidParameters() {
+        assertThrows(ValidationException.class, () -> userService.listAllUsersForAdmin(null, 0, null, null));
+        assertThrows(ValidationException.class,
+                () -> userService.listAllUsersForAdmin(null, PageResponse.MAX_LIMIT + 1, null, null));
+        assertThrows(ValidationException.class,
+                () -> userService.listAllUsersForAdmin("not a cursor", 10, null, null));
     }
 
     @Test
@@ -601,18 +664,22 @@ class UserServiceTest {
     }
 
     @Test
-    void testListAllUsersForAdmin_WithHotelAssignment() {
-        User manager1 = User.builder().id(1L).role(Role.MANAGER).hotelId(null).build();
-        User manager2 = User.builder().id(2L).role(Role.MANAGER).hotelId(200L).build();
-        UserHotelAssignment assignment = UserHotelAssignment.builder().userId(1L).hotelId(100L).build();
+    void testListAllUsersForAdmin_PassesFilters() {
+        AdminUserResponse manager = adminRow(1L, Role.MANAGER, 100L);
 
-        when(userRepository.findAll()).thenReturn(Arrays.asList(manager1, manager2));
-        when(userHotelAssignmentRepository.findOneByUserId(1L)).thenReturn(Optional.of(assignment));
+        when(userRepository.findAdminPage(eq(0L), eq(Role.MANAGER), eq(100L), any(Pageable.class)))
+                .thenReturn(List.of(manager));
 
-        List<com.hotelbooking.auth.dto.AdminUserResponse> result = userService.listAllUsersForAdmin();
+        PageResponse<AdminUserResponse> result =
+                userService.listAllUsersForAdmin(null, PageResponse.DEFAULT_LIMIT, Role.MANAGER, 100L);
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(1, result.items().size());
+        assertEquals(100L, result.items().get(0).getHotelId());
+    }
+
+    private static AdminUserResponse adminRow(Long id, Role role, Long hotelId) {
+        return new AdminUserResponse(id, role.name() + "-" + id, "user" + id, "User " + id,
+                "user" + id + "@example.com", role, true, hotelId);
     }
 }
 
@@ -0,0 +1,23 @@
+package com.hotelbooking.billing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * A small connection pool used only by the bill and payment exports (billing.export.datasource.*).
+ * Its MySQL URL carries useCursorFetch=true so exports read from a server-side cursor; the main pool does not.
+ * Not a default candidate: JPA and the JDBC batch inserts keep using the auto-configured DataSource.
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties(prefix = "billing.export.datasource")
+    public HikariDataSource exportDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotelbooking.billing.config;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hotelbooking.common.outbox.OutboxEvent;
+import com.hotelbooking.common.outbox.OutboxEventRepository;
+import com.hotelbooking.common.outbox.OutboxRelay;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires the shared transactional outbox (hms-common) into billing-service.
+ * The outbox package is registered alongside the application's own, so JPA picks up OutboxEvent and its
+ * repository. The relay reads billing.outbox.* and publishes billing.outbox.* metrics.
+ */
+@Configuration
+@AutoConfigurationPackage(basePackageClasses = OutboxEvent.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxEventRepository outboxEventRepository,
+                                   KafkaTemplate<String, Object> kafkaTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   Environment environment) {
+        return new OutboxRelay("billing", outboxEventRepository, kafkaTemplate, transactionTemplate,
+                meterRegistry, environment);
+    }
+}
@@ -1,8 +1,11 @@
 package com.hotelbooking.billing.controller;
 
-import java.util.List;
+import java.time.LocalDate;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,13 +13,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.hotelbooking.billing.dto.request.MarkBillPaidRequest;
 import com.hotelbooking.billing.dto.response.BillResponse;
 import com.hotelbooking.billing.dto.response.PaymentResponse;
 import com.hotelbooking.billing.exception.AccessDeniedException;
+import com.hotelbooking.billing.exception.ValidationException;
+import com.hotelbooking.billing.service.BillingExportService;
 import com.hotelbooking.billing.service.BillingService;
+import com.hotelbooking.common.export.ExportFormat;
+import com.hotelbooking.common.page.PageResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,6 +39,7 @@ import lombok.RequiredArgsConstructor;
 public class BillingController {
 
     private final BillingService billingService;
+    private final BillingExportService billingExportService;
 
     /**
      * Get bill by booking ID
@@ -140,12 +150,16 @@ public class BillingController {
     }
 
     /**
-     * Get all payments for current user
+     * Get payments for current user, newest first, one keyset page at a time
      */
-    @Operation(summary = "Get my payments", description = "Retrieve all payment records for the current user")
+    @Operation(summary = "Get my payments", description = "Retrieve the current user's payment records. Pass nextCursor back as 'after' for the next page")
     @GetMapping("/my-payments")
-    public ResponseEntity<?> getMyPayments(@RequestHeader("X-User-Id") Long userId) {
-        List<PaymentResponse> payments = billingService.getMyPayments(userId);
+    public ResponseEntity<?> getMyPayments(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit
+    ) {
+        PageResponse<PaymentResponse> payments = billingService.getMyPayments(userId, after, limit);
         return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Payments retrieved successfully",
@@ -154,21 +168,99 @@ public class BillingController {
     }
 
     /**
-     * Get all payments (admin only)
+     * Get all payments (admin only), newest first, one keyset page at a time
      */
-    @Operation(summary = "Get all payments", description = "Admin only - Retrieve all payment records")
+    @Operation(summary = "Get all payments", description = "Admin only - Retrieve payment records. Pass nextCursor back as 'after' for the next page")
     @GetMapping("/payments")
-    public ResponseEntity<?> getAllPayments(@RequestHeader("X-User-Role") String role) {
+    public ResponseEntity<?> getAllPayments(
+            @RequestHeader("X-User-Role") String role,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit
+    ) {
         if (!"ADMIN".equalsIgnoreCase(role)) {
             throw new AccessDeniedException("Only ADMIN can view all payments");
         }
 
-        List<PaymentResponse> payments = billingService.getAllPayments();
+        PageResponse<PaymentResponse> payments = billingService.getAllPayments(after, limit);
         return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "All payments retrieved successfully",
                 "data", payments
         ));
     }
-}
 
+    /**
+     * Export bills as CSV or NDJSON (ADMIN, or MANAGER for their own hotel).
+     * Rows are streamed to the response as they are read. Filters: generation date range (inclusive) and hotel.
+     */
+    @Operation(summary = "Export bills", description = "Admin/Manager - Stream bills as CSV or NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBills(
+            @RequestHeader("X-User-Role") String role,
+            @RequestHeader(value = "X-Hotel-Id", required = false) Long userHotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        Long exportHotelId = resolveExportHotel(role, userHotelId, hotelId);
+        ExportFormat exportFormat = exportFormat(format);
+        BillingExportService.validateRange(from, to);
+
+        return exportResponse("bills", exportFormat, out ->
+                billingExportService.exportBills(from, to, exportHotelId, exportFormat, out));
+    }
+
+    /**
+     * Export payments as CSV or NDJSON (ADMIN, or MANAGER for their own hotel).
+     * Rows are streamed to the response as they are read. Filters: payment date range (inclusive) and hotel.
+     */
+    @Operation(summary = "Export payments", description = "Admin/Manager - Stream payments as CSV or NDJSON")
+    @GetMapping("/payments/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @RequestHeader("X-User-Role") String role,
+            @RequestHeader(value = "X-Hotel-Id", required = false) Long userHotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        Long exportHotelId = resolveExportHotel(role, userHotelId, hotelId);
+        ExportFormat exportFormat = exportFormat(format);
+        BillingExportService.validateRange(from, to);
+
+        return exportResponse("payments", exportFormat, out ->
+                billingExportService.exportPayments(from, to, exportHotelId, exportFormat, out));
+    }
+
+    // ADMIN may export any hotel (or all); MANAGER only their assigned hotel
+    private Long resolveExportHotel(String role, Long userHotelId, Long hotelId) {
+        if ("ADMIN".equalsIgnoreCase(role)) {
+            return hotelId;
+        }
+        if (!"MANAGER".equalsIgnoreCase(role)) {
+            throw new AccessDeniedException("Only ADMIN or MANAGER can export billing data");
+        }
+        if (userHotelId == null) {
+            throw new ValidationException("User must be assigned to a hotel");
+        }
+        if (hotelId != null && !hotelId.equals(userHotelId)) {
+            throw new AccessDeniedException("You can only export billing data for your assigned hotel");
+        }
+        return userHotelId;
+    }
+
+    private static ExportFormat exportFormat(String format) {
+        return ExportFormat.fromParameter(format)
+                .orElseThrow(() -> new ValidationException("format", "must be csv or ndjson"));
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String name, ExportFormat format,
+                                                                 StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -23,7 +24,13 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "bills")
+@Table(
+    name = "bills",
+    indexes = {
+        // Lets reports-service find bills changed since its last rollup
+        @Index(name = "idx_bills_updated_at", columnList = "updated_at")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -84,9 +91,6 @@ public class Bill {
         if (this.status == null) {
             this.status = BillStatus.PENDING;
         }
-        if (this.billNumber == null) {
-            this.billNumber = "BILL-" + System.currentTimeMillis();
-        }
     }
 
     @PreUpdate
@@ -8,6 +8,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -17,7 +18,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "payments")
+@Table(
+    name = "payments",
+    indexes = {
+        // Keyset pagination of the payment lists, newest first
+        @Index(name = "idx_payments_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_payments_created", columnList = "created_at, id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
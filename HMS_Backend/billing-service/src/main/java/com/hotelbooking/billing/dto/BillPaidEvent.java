@@ -0,0 +1,32 @@
+package com.hotelbooking.billing.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BillPaidEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long billId;
+    private Long bookingId;
+    private Long userId;
+    private Long hotelId;
+    private BigDecimal amount;
+    private String paymentMethod;
+    private LocalDateTime generatedAt;
+    private LocalDateTime paidAt;
+}
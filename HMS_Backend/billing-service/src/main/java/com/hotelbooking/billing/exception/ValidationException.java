@@ -0,0 +1,15 @@
+package com.hotelbooking.billing.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ValidationException extends RuntimeException {
+    public ValidationException(String message) {
+        super(message);
+    }
+
+    public ValidationException(String field, String reason) {
+        super("Validation failed for field '" + field + "': " + reason);
+    }
+}
@@ -1,6 +1,10 @@
 package com.hotelbooking.billing.listener;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -31,7 +35,8 @@ public class BookingEventListener {
     /**
      * Listen to booking-created events to generate bills for walk-in bookings immediately
      */
-    @KafkaListener(topics = "booking-created", groupId = "billing-group")
+    @KafkaListener(topics = "booking-created", groupId = "billing-group",
+            autoStartup = "#{!${billing.kafka.batch-listener.enabled:true}}")
     public void handleBookingCreated(ConsumerRecord<String, Object> record) {
         String recordKey = record != null ? record.key() : "null";
         Object recordValue = record != null ? record.value() : null;
@@ -89,7 +94,8 @@ public class BookingEventListener {
     /**
      * Listen to booking-confirmed events to generate bills for PUBLIC bookings
      */
-    @KafkaListener(topics = "booking-confirmed", groupId = "billing-group")
+    @KafkaListener(topics = "booking-confirmed", groupId = "billing-group",
+            autoStartup = "#{!${billing.kafka.batch-listener.enabled:true}}")
     public void handleBookingConfirmed(ConsumerRecord<String, Object> record) {
         String recordKey = record != null ? record.key() : "null";
         Object recordValue = record != null ? record.value() : null;
@@ -141,5 +147,68 @@ public class BookingEventListener {
                     recordKey, recordValue, e);
         }
     }
-}
 
+    /**
+     * Batch mode for booking-created: one poll becomes one bill insert transaction.
+     * Active unless billing.kafka.batch-listener.enabled=false, in which case the record listener above runs.
+     */
+    @KafkaListener(topics = "booking-created", groupId = "billing-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${billing.kafka.batch-listener.enabled:true}",
+            properties = "spring.json.value.default.type=com.hotelbooking.billing.dto.BookingCreatedEvent")
+    public void handleBookingCreatedBatch(List<ConsumerRecord<String, BookingCreatedEvent>> records) {
+        handleBatch("booking-created", records, BookingCreatedEvent::getBookingId, BookingCreatedEvent::getAmount,
+                billingService::generateBillsForCreatedBookings, billingService::generateBillForCreatedBooking);
+    }
+
+    /**
+     * Batch mode for booking-confirmed: one poll becomes one bill insert transaction.
+     * Active unless billing.kafka.batch-listener.enabled=false, in which case the record listener above runs.
+     */
+    @KafkaListener(topics = "booking-confirmed", groupId = "billing-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${billing.kafka.batch-listener.enabled:true}",
+            properties = "spring.json.value.default.type=com.hotelbooking.billing.dto.BookingConfirmedEvent")
+    public void handleBookingConfirmedBatch(List<ConsumerRecord<String, BookingConfirmedEvent>> records) {
+        handleBatch("booking-confirmed", records, BookingConfirmedEvent::getBookingId, BookingConfirmedEvent::getAmount,
+                billingService::generateBills, billingService::generateBill);
+    }
+
+    private <E> void handleBatch(String topic, List<ConsumerRecord<String, E>> records,
+                                 Function<E, Long> bookingId, Function<E, Double> amount,
+                                 Function<List<E>, Integer> batchHandler, Consumer<E> recordHandler) {
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+
+        List<E> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, E> record : records) {
+            E event = record.value();
+            // Values that failed to deserialize arrive as null
+            if (event == null || bookingId.apply(event) == null || amount.apply(event) == null) {
+                log.error("Skipping invalid {} event. Key: {}, Offset: {}", topic, record.key(), record.offset());
+                continue;
+            }
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            int created = batchHandler.apply(events);
+            log.info("Processed {} {} events, {} bills generated", events.size(), topic, created);
+        } catch (Exception e) {
+            // A concurrent insert of the same booking (e.g. created and confirmed in flight together) fails the
+            // whole batch; redo it one event at a time so the existing-bill check skips the duplicates
+            log.warn("Batch bill generation failed for {} {} events, retrying one by one", events.size(), topic, e);
+            for (E event : events) {
+                try {
+                    recordHandler.accept(event);
+                } catch (Exception ex) {
+                    log.error("Bill generation failed for {} event. bookingId: {}", topic, bookingId.apply(event), ex);
+                }
+            }
+        }
+    }
+}
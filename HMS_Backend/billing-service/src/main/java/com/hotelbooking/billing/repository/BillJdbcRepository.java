@@ -0,0 +1,65 @@
+package com.hotelbooking.billing.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.hotelbooking.billing.domain.Bill;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JDBC batch inserts for bills.
+ * The IDENTITY id strategy stops Hibernate from batching entity saves, so bulk bill generation
+ * writes rows directly. Bill lifecycle callbacks do not run here: callers set every column.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BillJdbcRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO bills
+                (booking_id, user_id, hotel_id, room_id, check_in_date, check_out_date, total_amount,
+                 status, bill_number, generated_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${billing.bills.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Insert the bills in JDBC batches within the caller's transaction.
+     *
+     * @return number of rows inserted
+     */
+    public int insertAll(List<Bill> bills) {
+        if (bills.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, bills, batchSize, (ps, bill) -> {
+            ps.setLong(1, bill.getBookingId());
+            ps.setLong(2, bill.getUserId());
+            ps.setLong(3, bill.getHotelId());
+            ps.setLong(4, bill.getRoomId());
+            ps.setDate(5, Date.valueOf(bill.getCheckInDate()));
+            ps.setDate(6, Date.valueOf(bill.getCheckOutDate()));
+            ps.setBigDecimal(7, bill.getTotalAmount());
+            ps.setString(8, bill.getStatus().name());
+            ps.setString(9, bill.getBillNumber());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+            ps.setTimestamp(12, now);
+        });
+        return bills.size();
+    }
+}
@@ -0,0 +1,19 @@
+package com.hotelbooking.billing.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hotelbooking.billing.domain.BillNumberBlock;
+
+import jakarta.persistence.LockModeType;
+
+public interface BillNumberBlockRepository extends JpaRepository<BillNumberBlock, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM BillNumberBlock b WHERE b.name = :name")
+    Optional<BillNumberBlock> findForUpdate(@Param("name") String name);
+}
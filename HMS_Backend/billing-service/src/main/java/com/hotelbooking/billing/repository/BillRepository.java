@@ -1,9 +1,12 @@
 package com.hotelbooking.billing.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.hotelbooking.billing.domain.Bill;
 
@@ -11,6 +14,9 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
 
     Optional<Bill> findByBookingId(Long bookingId);
 
+    @Query("SELECT b.bookingId FROM Bill b WHERE b.bookingId IN :bookingIds")
+    List<Long> findBookingIdsIn(@Param("bookingIds") Collection<Long> bookingIds);
+
     List<Bill> findByUserId(Long userId);
 
     List<Bill> findAll();
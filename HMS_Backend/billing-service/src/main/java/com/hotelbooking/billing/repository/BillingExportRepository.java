@@ -0,0 +1,121 @@
+package com.hotelbooking.billing.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.hotelbooking.billing.domain.Bill;
+import com.hotelbooking.billing.domain.Payment;
+import com.hotelbooking.billing.enums.BillStatus;
+
+/**
+ * Reads bills and payments for exports through the export pool (see ExportDataSourceConfig).
+ * Rows are fetched from a server-side cursor in chunks of billing.export.fetch-size and mapped to detached
+ * objects, so nothing accumulates in a persistence context. Each stream holds an export connection until closed.
+ */
+@Repository
+public class BillingExportRepository {
+
+    private static final String BILLS_SQL = """
+            SELECT id, bill_number, booking_id, user_id, hotel_id, room_id, check_in_date, check_out_date,
+                   total_amount, status, generated_at, paid_at, created_at, updated_at
+            FROM bills
+            WHERE generated_at >= ? AND generated_at < ?
+            """;
+
+    private static final String PAYMENTS_SQL = """
+            SELECT p.id, p.bill_id, p.booking_id, p.user_id, p.amount, p.payment_method, p.transaction_id,
+                   p.payment_reference, p.notes, p.paid_by, p.paid_at, p.created_at,
+                   b.bill_number, b.hotel_id
+            FROM payments p
+            JOIN bills b ON b.id = p.bill_id
+            WHERE p.paid_at >= ? AND p.paid_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BillingExportRepository(@Qualifier("exportDataSource") DataSource exportDataSource,
+                                   @Value("${billing.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Stream bills generated in [from, to), optionally for one hotel, in id order.
+     */
+    public Stream<Bill> streamBills(LocalDateTime from, LocalDateTime to, Long hotelId) {
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        String sql = BILLS_SQL + hotelFilter("hotel_id", hotelId, args) + "ORDER BY id";
+        return jdbcTemplate.queryForStream(sql, (rs, rowNum) -> toBill(rs), args.toArray());
+    }
+
+    /**
+     * Stream payments made in [from, to) with their bill, optionally for one hotel, in id order.
+     * Rows: Payment, Bill (only the bill number and hotel are read).
+     */
+    public Stream<Object[]> streamPayments(LocalDateTime from, LocalDateTime to, Long hotelId) {
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        String sql = PAYMENTS_SQL + hotelFilter("b.hotel_id", hotelId, args) + "ORDER BY p.id";
+        return jdbcTemplate.queryForStream(sql, (rs, rowNum) -> new Object[] {toPayment(rs), Bill.builder()
+                .billNumber(rs.getString("bill_number"))
+                .hotelId(rs.getLong("hotel_id"))
+                .build()}, args.toArray());
+    }
+
+    private static String hotelFilter(String column, Long hotelId, List<Object> args) {
+        if (hotelId == null) {
+            return "";
+        }
+        args.add(hotelId);
+        return "AND " + column + " = ?\n";
+    }
+
+    private static Bill toBill(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        return Bill.builder()
+                .id(rs.getLong("id"))
+                .billNumber(rs.getString("bill_number"))
+                .bookingId(rs.getLong("booking_id"))
+                .userId(rs.getLong("user_id"))
+                .hotelId(rs.getLong("hotel_id"))
+                .roomId(rs.getLong("room_id"))
+                .checkInDate(rs.getObject("check_in_date", LocalDate.class))
+                .checkOutDate(rs.getObject("check_out_date", LocalDate.class))
+                .totalAmount(rs.getBigDecimal("total_amount"))
+                .status(status != null ? BillStatus.valueOf(status) : null)
+                .generatedAt(rs.getObject("generated_at", LocalDateTime.class))
+                .paidAt(rs.getObject("paid_at", LocalDateTime.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static Payment toPayment(ResultSet rs) throws SQLException {
+        return Payment.builder()
+                .id(rs.getLong("id"))
+                .billId(rs.getLong("bill_id"))
+                .bookingId(rs.getLong("booking_id"))
+                .userId(rs.getLong("user_id"))
+                .amount(rs.getBigDecimal("amount"))
+                .paymentMethod(rs.getString("payment_method"))
+                .transactionId(rs.getString("transaction_id"))
+                .paymentReference(rs.getString("payment_reference"))
+                .notes(rs.getString("notes"))
+                .paidBy(rs.getString("paid_by"))
+                .paidAt(rs.getObject("paid_at", LocalDateTime.class))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .build();
+    }
+}
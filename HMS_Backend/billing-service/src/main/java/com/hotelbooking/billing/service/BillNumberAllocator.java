@@ -0,0 +1,13 @@
+package com.hotelbooking.billing.service;
+
+/**
+ * Hands out bill numbers for the unique bills.bill_number column.
+ * Implementations must be thread-safe and never return the same number twice, including across
+ * billing-service replicas. Select one with billing.bill-number.strategy (hilo or snowflake).
+ */
+public interface BillNumberAllocator {
+
+    String PREFIX = "BILL-";
+
+    String next();
+}
@@ -0,0 +1,54 @@
+package com.hotelbooking.billing.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelbooking.billing.dto.BillPaidEvent;
+import com.hotelbooking.common.outbox.OutboxEvent;
+import com.hotelbooking.common.outbox.OutboxEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Queues billing events in the outbox_events table as part of the caller's transaction.
+ * OutboxRelay publishes them after commit, so a rolled-back payment never announces itself and a broker
+ * outage delays bill-paid instead of losing it (reports revenue is fed from this topic).
+ */
+@Service
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class BillingEventPublisher {
+
+    static final String BILL_PAID_TOPIC = "bill-paid";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public BillingEventPublisher(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    public void publishBillPaid(BillPaidEvent event) {
+        enqueue(BILL_PAID_TOPIC, event.getBookingId(), event);
+    }
+
+    private void enqueue(String topic, Long bookingId, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getClass().getSimpleName()
+                    + " for bookingId: " + bookingId, e);
+        }
+
+        outboxEventRepository.save(
+                new OutboxEvent(topic, String.valueOf(bookingId), event.getClass().getName(), payload));
+        log.info("Queued {} for bookingId: {}", event.getClass().getSimpleName(), bookingId);
+    }
+}
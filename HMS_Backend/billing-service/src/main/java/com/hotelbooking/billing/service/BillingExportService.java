@@ -0,0 +1,117 @@
+package com.hotelbooking.billing.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import com.hotelbooking.billing.domain.Bill;
+import com.hotelbooking.billing.domain.Payment;
+import com.hotelbooking.billing.exception.ValidationException;
+import com.hotelbooking.billing.repository.BillingExportRepository;
+import com.hotelbooking.common.export.ExportFormat;
+import com.hotelbooking.common.export.ExportWriter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams bills and payments to an output stream for finance reconciliation.
+ * Rows come from a server-side cursor on the export pool and are written as they are read, so memory does not
+ * grow with the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BillingExportService {
+
+    static final List<String> BILL_COLUMNS = List.of(
+            "id", "billNumber", "bookingId", "userId", "hotelId", "roomId",
+            "checkInDate", "checkOutDate", "totalAmount", "status",
+            "generatedAt", "paidAt", "createdAt", "updatedAt");
+
+    static final List<String> PAYMENT_COLUMNS = List.of(
+            "id", "billId", "billNumber", "bookingId", "userId", "hotelId", "amount",
+            "paymentMethod", "transactionId", "paymentReference", "notes", "paidBy", "paidAt", "createdAt");
+
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+
+    private final BillingExportRepository billingExportRepository;
+
+    /**
+     * Validate an export date range. Both bounds are optional and inclusive.
+     */
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+    }
+
+    /**
+     * Write bills generated between from and to (inclusive, both optional), optionally for one hotel.
+     * Returns the number of rows written.
+     */
+    public long exportBills(LocalDate from, LocalDate to, Long hotelId, ExportFormat format,
+                            OutputStream out) throws IOException {
+        validateRange(from, to);
+        ExportWriter writer = new ExportWriter(out, format, BILL_COLUMNS);
+        long rows = 0;
+        try (Stream<Bill> bills = billingExportRepository.streamBills(start(from), end(to), hotelId)) {
+            Iterator<Bill> iterator = bills.iterator();
+            while (iterator.hasNext()) {
+                Bill bill = iterator.next();
+                writer.writeRow(Arrays.asList(
+                        bill.getId(), bill.getBillNumber(), bill.getBookingId(), bill.getUserId(),
+                        bill.getHotelId(), bill.getRoomId(), bill.getCheckInDate(), bill.getCheckOutDate(),
+                        bill.getTotalAmount(), bill.getStatus(),
+                        bill.getGeneratedAt(), bill.getPaidAt(), bill.getCreatedAt(), bill.getUpdatedAt()));
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} bills as {} (from={}, to={}, hotelId={})", rows, format, from, to, hotelId);
+        return rows;
+    }
+
+    /**
+     * Write payments made between from and to (inclusive, both optional), optionally for one hotel.
+     * Each row carries the bill number and hotel of the paid bill. Returns the number of rows written.
+     */
+    public long exportPayments(LocalDate from, LocalDate to, Long hotelId, ExportFormat format,
+                               OutputStream out) throws IOException {
+        validateRange(from, to);
+        ExportWriter writer = new ExportWriter(out, format, PAYMENT_COLUMNS);
+        long rows = 0;
+        try (Stream<Object[]> payments = billingExportRepository.streamPayments(start(from), end(to), hotelId)) {
+            Iterator<Object[]> iterator = payments.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Payment payment = (Payment) row[0];
+                Bill bill = (Bill) row[1];
+                writer.writeRow(Arrays.asList(
+                        payment.getId(), payment.getBillId(), bill.getBillNumber(), payment.getBookingId(),
+                        payment.getUserId(), bill.getHotelId(), payment.getAmount(),
+                        payment.getPaymentMethod(), payment.getTransactionId(), payment.getPaymentReference(),
+                        payment.getNotes(), payment.getPaidBy(), payment.getPaidAt(), payment.getCreatedAt()));
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} payments as {} (from={}, to={}, hotelId={})", rows, format, from, to, hotelId);
+        return rows;
+    }
+
+    private LocalDateTime start(LocalDate from) {
+        return (from != null ? from : EARLIEST).atStartOfDay();
+    }
+
+    private LocalDateTime end(LocalDate to) {
+        return (to != null ? to : LocalDate.now()).plusDays(1).atStartOfDay();
+    }
+}
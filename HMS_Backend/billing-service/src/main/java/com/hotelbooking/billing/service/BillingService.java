@@ -1,17 +1,24 @@
 package com.hotelbooking.billing.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.hotelbooking.billing.domain.Bill;
 import com.hotelbooking.billing.domain.Payment;
+import com.hotelbooking.billing.dto.BillPaidEvent;
 import com.hotelbooking.billing.dto.BookingConfirmedEvent;
 import com.hotelbooking.billing.dto.BookingInfoResponse;
 import com.hotelbooking.billing.dto.request.MarkBillPaidRequest;
@@ -23,9 +30,13 @@ import com.hotelbooking.billing.exception.BillGenerationException;
 import com.hotelbooking.billing.exception.BillNotFoundException;
 import com.hotelbooking.billing.exception.BookingNotFoundException;
 import com.hotelbooking.billing.exception.InvalidBookingStatusException;
+import com.hotelbooking.billing.exception.ValidationException;
 import com.hotelbooking.billing.feign.BookingServiceClient;
+import com.hotelbooking.billing.repository.BillJdbcRepository;
 import com.hotelbooking.billing.repository.BillRepository;
 import com.hotelbooking.billing.repository.PaymentRepository;
+import com.hotelbooking.common.page.KeysetCursor;
+import com.hotelbooking.common.page.PageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,9 +48,12 @@ import lombok.extern.slf4j.Slf4j;
 public class BillingService {
 
     private final BillRepository billRepository;
+    private final BillJdbcRepository billJdbcRepository;
+    private final BillNumberAllocator billNumberAllocator;
     private final PaymentRepository paymentRepository;
     private final BookingServiceClient bookingServiceClient;
     private final CacheManager cacheManager;
+    private final BillingEventPublisher billingEventPublisher;
 
     /**
      * Generate bill immediately for all bookings (both PUBLIC and WALK_IN) when created
@@ -68,6 +82,7 @@ public class BillingService {
                     .checkOutDate(event.getCheckOutDate())
                     .totalAmount(BigDecimal.valueOf(event.getAmount()))
                     .status(BillStatus.PENDING)
+                    .billNumber(billNumberAllocator.next())
                     .build();
 
             bill = billRepository.save(bill);
@@ -105,6 +120,7 @@ public class BillingService {
                     .checkOutDate(event.getCheckOutDate())
                     .totalAmount(BigDecimal.valueOf(event.getAmount()))
                     .status(BillStatus.PENDING)
+                    .billNumber(billNumberAllocator.next())
                     .build();
 
             bill = billRepository.save(bill);
@@ -116,6 +132,78 @@ public class BillingService {
         }
     }
 
+    /**
+     * Generate bills for a batch of booking-created events in one transaction.
+     * Bookings that already have a bill, or appear more than once in the batch, are skipped.
+     *
+     * @return number of bills created
+     */
+    public int generateBillsForCreatedBookings(List<com.hotelbooking.billing.dto.BookingCreatedEvent> events) {
+        List<Bill> bills = new ArrayList<>(events.size());
+        for (com.hotelbooking.billing.dto.BookingCreatedEvent event : events) {
+            bills.add(newPendingBill(event.getBookingId(), event.getUserId(), event.getHotelId(), event.getRoomId(),
+                    event.getCheckInDate(), event.getCheckOutDate(), event.getAmount()));
+        }
+        return insertNewBills(bills);
+    }
+
+    /**
+     * Generate bills for a batch of booking-confirmed events in one transaction.
+     * Bookings that already have a bill, or appear more than once in the batch, are skipped.
+     *
+     * @return number of bills created
+     */
+    public int generateBills(List<BookingConfirmedEvent> events) {
+        List<Bill> bills = new ArrayList<>(events.size());
+        for (BookingConfirmedEvent event : events) {
+            bills.add(newPendingBill(event.getBookingId(), event.getUserId(), event.getHotelId(), event.getRoomId(),
+                    event.getCheckInDate(), event.getCheckOutDate(), event.getAmount()));
+        }
+        return insertNewBills(bills);
+    }
+
+    private Bill newPendingBill(Long bookingId, Long userId, Long hotelId, Long roomId,
+                                LocalDate checkInDate, LocalDate checkOutDate, Double amount) {
+        return Bill.builder()
+                .bookingId(bookingId)
+                .userId(userId)
+                .hotelId(hotelId)
+                .roomId(roomId)
+                .checkInDate(checkInDate)
+                .checkOutDate(checkOutDate)
+                .totalAmount(BigDecimal.valueOf(amount))
+                .status(BillStatus.PENDING)
+                .build();
+    }
+
+    private int insertNewBills(List<Bill> bills) {
+        Map<Long, Bill> byBookingId = new LinkedHashMap<>();
+        for (Bill bill : bills) {
+            byBookingId.putIfAbsent(bill.getBookingId(), bill);
+        }
+        if (byBookingId.isEmpty()) {
+            return 0;
+        }
+
+        // One IN query instead of a findByBookingId per event
+        billRepository.findBookingIdsIn(byBookingId.keySet()).forEach(byBookingId::remove);
+        if (byBookingId.isEmpty()) {
+            log.info("All {} bills in batch already exist", bills.size());
+            return 0;
+        }
+
+        // Numbers are allocated only for bills that will actually be inserted
+        byBookingId.values().forEach(bill -> bill.setBillNumber(billNumberAllocator.next()));
+        int inserted = billJdbcRepository.insertAll(new ArrayList<>(byBookingId.values()));
+
+        var billCache = cacheManager.getCache("bills");
+        if (billCache != null) {
+            byBookingId.keySet().forEach(billCache::evict);
+        }
+        log.info("Generated {} bills from batch of {} events", inserted, bills.size());
+        return inserted;
+    }
+
     /**
      * Get bill by bill ID
      */
@@ -159,6 +247,7 @@ public class BillingService {
                         .checkOutDate(booking.getCheckOutDate())
                         .totalAmount(booking.getTotalAmount())
                         .status(BillStatus.PENDING)
+                        .billNumber(billNumberAllocator.next())
                         .build();
 
                 bill = billRepository.save(bill);
@@ -231,6 +320,7 @@ public class BillingService {
                 .checkOutDate(booking.getCheckOutDate())
                 .totalAmount(booking.getTotalAmount())
                 .status(BillStatus.PENDING)
+                .billNumber(billNumberAllocator.next())
                 .build();
 
         bill = billRepository.save(bill);
@@ -276,6 +366,17 @@ public class BillingService {
         paymentRepository.save(payment);
         log.info("Bill {} marked as paid by {}", billId, paidBy);
 
+        billingEventPublisher.publishBillPaid(BillPaidEvent.builder()
+                .billId(bill.getId())
+                .bookingId(bill.getBookingId())
+                .userId(bill.getUserId())
+                .hotelId(bill.getHotelId())
+                .amount(bill.getTotalAmount())
+                .paymentMethod(payment.getPaymentMethod())
+                .generatedAt(bill.getGeneratedAt())
+                .paidAt(bill.getPaidAt())
+                .build());
+
         // Auto-confirm booking when bill is paid (for both PUBLIC and WALK_IN bookings)
         if (isCreated) {
             try {
@@ -302,33 +403,52 @@ public class BillingService {
     }
     
     private void evictUserPaymentsCache(Long userId) {
-        var cache = cacheManager.getCache("userPayments");
+        var cache = cacheManager.getCache("userPaymentPages");
         if (cache != null) {
             cache.evict(userId);
         }
     }
 
     /**
-     * Get all payments for current user
+     * Get one page of the current user's payments, newest first.
+     * Only the default first page is cached, so evicting by user id keeps it fresh.
+     * The cache was userPayments while it held the full list; the new name keeps old entries from being read as a page.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "userPayments", key = "#userId")
-    public List<PaymentResponse> getMyPayments(Long userId) {
-        return paymentRepository.findByUserId(userId)
-                .stream()
-                .map(this::toPaymentResponse)
-                .collect(Collectors.toList());
+    @Cacheable(value = "userPaymentPages", key = "#userId",
+            condition = "#after == null && #limit == T(com.hotelbooking.common.page.PageResponse).DEFAULT_LIMIT")
+    public PageResponse<PaymentResponse> getMyPayments(Long userId, String after, int limit) {
+        KeysetCursor cursor = cursor(after);
+        return toPaymentPage(paymentRepository.findPageByUserId(userId, cursor.getCreatedAt(), cursor.getId(),
+                pageRequest(limit)), limit);
     }
 
     /**
-     * Get all payments (admin only)
+     * Get one page of all payments, newest first (admin only)
      */
     @Transactional(readOnly = true)
-    public List<PaymentResponse> getAllPayments() {
-        return paymentRepository.findAll()
-                .stream()
-                .map(this::toPaymentResponse)
-                .collect(Collectors.toList());
+    public PageResponse<PaymentResponse> getAllPayments(String after, int limit) {
+        KeysetCursor cursor = cursor(after);
+        return toPaymentPage(paymentRepository.findPage(cursor.getCreatedAt(), cursor.getId(), pageRequest(limit)),
+                limit);
+    }
+
+    private KeysetCursor cursor(String after) {
+        return KeysetCursor.decode(after)
+                .orElseThrow(() -> new ValidationException("after", "is not a valid cursor"));
+    }
+
+    // Fetch one row past the limit so PageResponse can tell whether another page follows
+    private Pageable pageRequest(int limit) {
+        if (limit < 1 || limit > PageResponse.MAX_LIMIT) {
+            throw new ValidationException("limit", "must be between 1 and " + PageResponse.MAX_LIMIT);
+        }
+        return PageRequest.of(0, limit + 1);
+    }
+
+    private PageResponse<PaymentResponse> toPaymentPage(List<Payment> payments, int limit) {
+        return PageResponse.of(payments.stream().map(this::toPaymentResponse).collect(Collectors.toList()), limit,
+                payment -> new KeysetCursor(payment.getCreatedAt(), payment.getId()));
     }
 
     private BillResponse toBillResponse(Bill bill) {
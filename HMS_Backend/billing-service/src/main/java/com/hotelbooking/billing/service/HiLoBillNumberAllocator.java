@@ -0,0 +1,98 @@
+package com.hotelbooking.billing.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hotelbooking.billing.domain.BillNumberBlock;
+import com.hotelbooking.billing.repository.BillNumberBlockRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hi-lo bill numbers: each replica reserves a block of block-size numbers from the bill_number_blocks row
+ * in its own short transaction, then hands them out from memory with one atomic increment.
+ * Only the thread that finds the block exhausted goes back to the database. Numbers left in a block when
+ * the service stops are skipped, so bill numbers are unique and increasing per replica but not gap-free.
+ */
+@Component
+@ConditionalOnProperty(name = "billing.bill-number.strategy", havingValue = "hilo", matchIfMissing = true)
+@Slf4j
+public class HiLoBillNumberAllocator implements BillNumberAllocator {
+
+    static final String SEQUENCE_NAME = "bill";
+
+    private final BillNumberBlockRepository blockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+
+    public HiLoBillNumberAllocator(BillNumberBlockRepository blockRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${billing.bill-number.block-size:1000}") int blockSize) {
+        this.blockRepository = blockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Commit the reservation even if the caller's transaction rolls back, so no block is handed out twice
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(blockSize, 1);
+    }
+
+    @Override
+    public String next() {
+        while (true) {
+            Block block = current.get();
+            long value = block.next.getAndIncrement();
+            if (value < block.limit) {
+                return PREFIX + value;
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // Another thread may have refilled while this one waited
+        if (current.get() != exhausted) {
+            return;
+        }
+        long start = reserveBlock();
+        current.set(new Block(start, start + blockSize));
+        log.debug("Reserved bill numbers [{}, {})", start, start + blockSize);
+    }
+
+    private long reserveBlock() {
+        try {
+            return transactionTemplate.execute(status -> reserveInTransaction());
+        } catch (DataIntegrityViolationException e) {
+            // Two replicas raced to create the sequence row; the row exists now
+            return transactionTemplate.execute(status -> reserveInTransaction());
+        }
+    }
+
+    private long reserveInTransaction() {
+        BillNumberBlock row = blockRepository.findForUpdate(SEQUENCE_NAME)
+                .orElseGet(() -> blockRepository.saveAndFlush(new BillNumberBlock(SEQUENCE_NAME, 1L)));
+        long start = row.getNextValue();
+        row.setNextValue(start + blockSize);
+        blockRepository.save(row);
+        return start;
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long limit;
+
+        Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
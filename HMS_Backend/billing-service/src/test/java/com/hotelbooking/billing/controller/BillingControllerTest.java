@@ -1,5 +1,6 @@
 package com.hotelbooking.billing.controller;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,7 +16,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.hotelbooking.billing.dto.request.MarkBillPaidRequest;
 import com.hotelbooking.billing.dto.response.BillResponse;
@@ -24,12 +27,19 @@ import com.hotelbooking.billing.enums.BillStatus;
 import com.hotelbooking.billing.exception.AccessDeniedException;
 import com.hotelbooking.billing.exception.BillAlreadyPaidException;
 import com.hotelbooking.billing.exception.BillNotFoundException;
+import com.hotelbooking.billing.exception.ValidationException;
+import com.hotelbooking.billing.service.BillingExportService;
 import com.hotelbooking.billing.service.BillingService;
+import com.hotelbooking.common.export.ExportFormat;
+import com.hotelbooking.common.page.PageResponse;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +48,9 @@ class BillingControllerTest {
     @Mock
     private BillingService billingService;
 
+    @Mock
+    private BillingExportService billingExportService;
+
     @InjectMocks
     private BillingController billingController;
 
@@ -282,24 +295,24 @@ class BillingControllerTest {
 
     @Test
     void testGetMyPayments_Success() {
-        List<PaymentResponse> payments = Arrays.asList(testPayment);
-        when(billingService.getMyPayments(1L)).thenReturn(payments);
+        PageResponse<PaymentResponse> payments = new PageResponse<>(Arrays.asList(testPayment), "next");
+        when(billingService.getMyPayments(1L, null, PageResponse.DEFAULT_LIMIT)).thenReturn(payments);
 
-        ResponseEntity<?> response = billingController.getMyPayments(1L);
+        ResponseEntity<?> response = billingController.getMyPayments(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         @SuppressWarnings("unchecked")
         Map<String, Object> body = (Map<String, Object>) response.getBody();
         assertEquals(true, body.get("success"));
         assertEquals("Payments retrieved successfully", body.get("message"));
-        verify(billingService).getMyPayments(1L);
+        verify(billingService).getMyPayments(1L, null, PageResponse.DEFAULT_LIMIT);
     }
 
     @Test
     void testGetMyPayments_Empty() {
-        when(billingService.getMyPayments(1L)).thenReturn(Collections.emptyList());
+        when(billingService.getMyPayments(1L, null, PageResponse.DEFAULT_LIMIT)).thenReturn(new PageResponse<>(Collections.emptyList(), null));
 
-        ResponseEntity<?> response = billingController.getMyPayments(1L);
+        ResponseEntity<?> response = billingController.getMyPayments(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         @SuppressWarnings("unchecked")
@@ -309,41 +322,76 @@ class BillingControllerTest {
 
     @Test
     void testGetAllPayments_Admin() {
-        List<PaymentResponse> payments = Arrays.asList(testPayment);
-        when(billingService.getAllPayments()).thenReturn(payments);
+        PageResponse<PaymentResponse> payments = new PageResponse<>(Arrays.asList(testPayment), null);
+        when(billingService.getAllPayments("cursor", 20)).thenReturn(payments);
 
-        ResponseEntity<?> response = billingController.getAllPayments("ADMIN");
+        ResponseEntity<?> response = billingController.getAllPayments("ADMIN", "cursor", 20);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         @SuppressWarnings("unchecked")
         Map<String, Object> body = (Map<String, Object>) response.getBody();
         assertEquals(true, body.get("success"));
         assertEquals("All payments retrieved successfully", body.get("message"));
-        verify(billingService).getAllPayments();
+        verify(billingService).getAllPayments("cursor", 20);
     }
 
     @Test
     void testGetAllPayments_NonAdmin() {
         assertThrows(AccessDeniedException.class, () -> {
-            billingController.getAllPayments("MANAGER");
+            billingController.getAllPayments("MANAGER", null, PageResponse.DEFAULT_LIMIT);
         });
     }
 
     @Test
     void testGetAllPayments_Guest() {
         assertThrows(AccessDeniedException.class, () -> {
-            billingController.getAllPayments("GUEST");
+            billingController.getAllPayments("GUEST", null, PageResponse.DEFAULT_LIMIT);
         });
     }
 
     @Test
     void testGetAllPayments_Empty() {
-        when(billingService.getAllPayments()).thenReturn(Collections.emptyList());
+        when(billingService.getAllPayments(null, PageResponse.DEFAULT_LIMIT)).thenReturn(new PageResponse<>(Collections.emptyList(), null));
 
-        ResponseEntity<?> response = billingController.getAllPayments("ADMIN");
+        ResponseEntity<?> response = billingController.getAllPayments("ADMIN", null, PageResponse.DEFAULT_LIMIT);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        verify(billingService).getAllPayments();
+        verify(billingService).getAllPayments(null, PageResponse.DEFAULT_LIMIT);
     }
-}
 
+    @Test
+    void testExportPayments_AdminStreamsCsv() throws Exception {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+
+        ResponseEntity<StreamingResponseBody> response =
+                billingController.exportPayments("ADMIN", null, from, to, 3L, "csv");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.parseMediaType("text/csv"), response.getHeaders().getContentType());
+        response.getBody().writeTo(new ByteArrayOutputStream());
+        verify(billingExportService).exportPayments(eq(from), eq(to), eq(3L), eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void testExportBills_ManagerLimitedToOwnHotel() throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                billingController.exportBills("MANAGER", 5L, null, null, null, "ndjson");
+        response.getBody().writeTo(new ByteArrayOutputStream());
+        verify(billingExportService).exportBills(eq(null), eq(null), eq(5L), eq(ExportFormat.NDJSON), any());
+
+        assertThrows(AccessDeniedException.class, () ->
+                billingController.exportBills("MANAGER", 5L, null, null, 6L, "ndjson"));
+    }
+
+    @Test
+    void testExport_Rejected() {
+        assertThrows(AccessDeniedException.class, () ->
+                billingController.exportPayments("GUEST", null, null, null, null, "csv"));
+        assertThrows(ValidationException.class, () ->
+                billingController.exportPayments("MANAGER", null, null, null, null, "csv"));
+        assertThrows(ValidationException.class, () ->
+                billingController.exportBills("ADMIN", null, null, null, null, "xlsx"));
+        verifyNoInteractions(billingExportService);
+    }
+}
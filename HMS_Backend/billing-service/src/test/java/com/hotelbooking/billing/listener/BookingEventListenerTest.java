@@ -2,19 +2,25 @@ package com.hotelbooking.billing.listener;
 
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.hotelbooking.billing.dto.BookingConfirmedEvent;
@@ -252,5 +258,101 @@ class BookingEventListenerTest {
 
         verify(billingService, never()).generateBill(any(BookingConfirmedEvent.class));
     }
-}
 
+    @Test
+    void testHandleBookingCreatedBatch_Success() {
+        when(billingService.generateBillsForCreatedBookings(anyList())).thenReturn(2);
+
+        bookingEventListener.handleBookingCreatedBatch(List.of(
+                createdRecord(0L, createdEvent(1L)),
+                createdRecord(1L, createdEvent(2L))));
+
+        assertEquals(List.of(1L, 2L), capturedCreatedBookingIds());
+        verify(billingService, never()).generateBillForCreatedBooking(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void testHandleBookingCreatedBatch_SkipsInvalidRecords() {
+        BookingCreatedEvent missingAmount = createdEvent(3L);
+        missingAmount.setAmount(null);
+        when(billingService.generateBillsForCreatedBookings(anyList())).thenReturn(1);
+
+        bookingEventListener.handleBookingCreatedBatch(List.of(
+                createdRecord(0L, null),
+                createdRecord(1L, createdEvent(null)),
+                createdRecord(2L, missingAmount),
+                createdRecord(3L, createdEvent(4L))));
+
+        assertEquals(List.of(4L), capturedCreatedBookingIds());
+    }
+
+    @Test
+    void testHandleBookingCreatedBatch_AllInvalid() {
+        bookingEventListener.handleBookingCreatedBatch(List.of(createdRecord(0L, null)));
+
+        verify(billingService, never()).generateBillsForCreatedBookings(anyList());
+    }
+
+    @Test
+    void testHandleBookingCreatedBatch_FallsBackToSingleOnFailure() {
+        when(billingService.generateBillsForCreatedBookings(anyList()))
+                .thenThrow(new RuntimeException("Duplicate entry"));
+        doThrow(new BillGenerationException("Bill generation failed"))
+                .doNothing()
+                .when(billingService).generateBillForCreatedBooking(any(BookingCreatedEvent.class));
+
+        bookingEventListener.handleBookingCreatedBatch(List.of(
+                createdRecord(0L, createdEvent(1L)),
+                createdRecord(1L, createdEvent(2L))));
+
+        verify(billingService, times(2)).generateBillForCreatedBooking(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void testHandleBookingConfirmedBatch_Success() {
+        BookingConfirmedEvent event = BookingConfirmedEvent.builder()
+                .bookingId(5L).userId(1L).hotelId(1L).roomId(1L)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(3))
+                .amount(2000.0)
+                .build();
+        when(billingService.generateBills(anyList())).thenReturn(1);
+
+        bookingEventListener.handleBookingConfirmedBatch(List.of(
+                new ConsumerRecord<>("booking-confirmed", 0, 0L, "5", event)));
+
+        verify(billingService).generateBills(List.of(event));
+        verify(billingService, never()).generateBill(any(BookingConfirmedEvent.class));
+    }
+
+    @Test
+    void testHandleBookingConfirmedBatch_Empty() {
+        bookingEventListener.handleBookingConfirmedBatch(List.of());
+
+        verify(billingService, never()).generateBills(anyList());
+    }
+
+    private BookingCreatedEvent createdEvent(Long bookingId) {
+        return BookingCreatedEvent.builder()
+                .bookingId(bookingId)
+                .userId(1L)
+                .hotelId(1L)
+                .roomId(1L)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(3))
+                .amount(2000.0)
+                .bookingSource("PUBLIC")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> capturedCreatedBookingIds() {
+        ArgumentCaptor<List<BookingCreatedEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(billingService).generateBillsForCreatedBookings(captor.capture());
+        return captor.getValue().stream().map(BookingCreatedEvent::getBookingId).toList();
+    }
+
+    private ConsumerRecord<String, BookingCreatedEvent> createdRecord(long offset, BookingCreatedEvent event) {
+        return new ConsumerRecord<>("booking-created", 0, offset, "key-" + offset, event);
+    }
+}
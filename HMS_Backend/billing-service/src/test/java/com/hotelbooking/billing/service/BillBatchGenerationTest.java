@@ -0,0 +1,100 @@
+package com.hotelbooking.billing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.billing.domain.Bill;
+import com.hotelbooking.billing.dto.BookingCreatedEvent;
+import com.hotelbooking.billing.enums.BillStatus;
+import com.hotelbooking.billing.repository.BillRepository;
+
+/**
+ * Runs batch bill generation against H2: one IN lookup plus JDBC batch inserts per call.
+ * Batch size defaults to 5000 events and can be changed with -Dbenchmark.bills=N.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class BillBatchGenerationTest {
+
+    private static final int EVENTS = Integer.getInteger("benchmark.bills", 5_000);
+
+    @Autowired
+    private BillingService billingService;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private BillNumberAllocator billNumberAllocator;
+
+    @AfterEach
+    void tearDown() {
+        billRepository.deleteAll();
+    }
+
+    @Test
+    void testGenerateBillsForCreatedBookings_InsertsBatchAndSkipsExisting() {
+        billRepository.save(Bill.builder()
+                .bookingId(1L)
+                .userId(1L)
+                .hotelId(1L)
+                .roomId(1L)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(2))
+                .totalAmount(BigDecimal.valueOf(1000))
+                .billNumber(billNumberAllocator.next())
+                .build());
+
+        List<BookingCreatedEvent> events = new ArrayList<>(EVENTS);
+        for (long bookingId = 1; bookingId <= EVENTS; bookingId++) {
+            events.add(event(bookingId));
+        }
+
+        int created = billingService.generateBillsForCreatedBookings(events);
+
+        assertEquals(EVENTS - 1, created);
+        assertEquals(EVENTS, billRepository.count());
+
+        Bill bill = billRepository.findByBookingId(2L).orElseThrow();
+        assertEquals(BillStatus.PENDING, bill.getStatus());
+        assertEquals(0, BigDecimal.valueOf(2000).compareTo(bill.getTotalAmount()));
+        assertNotNull(bill.getBillNumber());
+        assertNotNull(bill.getGeneratedAt());
+
+        assertEquals(EVENTS, billRepository.findAll().stream().map(Bill::getBillNumber).distinct().count());
+
+        // Redelivery of the same poll creates nothing
+        assertEquals(0, billingService.generateBillsForCreatedBookings(events));
+        assertEquals(EVENTS, billRepository.count());
+    }
+
+    private BookingCreatedEvent event(long bookingId) {
+        return BookingCreatedEvent.builder()
+                .bookingId(bookingId)
+                .userId(bookingId)
+                .hotelId(1L)
+                .roomId(bookingId % 100 + 1)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(3))
+                .amount(2000.0)
+                .bookingSource("PUBLIC")
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.hotelbooking.billing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hotelbooking.billing.dto.BillPaidEvent;
+import com.hotelbooking.common.outbox.OutboxEvent;
+import com.hotelbooking.common.outbox.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BillingEventPublisherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    private BillingEventPublisher publisher;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new BillingEventPublisher(outboxEventRepository);
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @Test
+    void testPublishBillPaid_QueuesOutboxEvent() throws Exception {
+        BillPaidEvent event = BillPaidEvent.builder()
+                .billId(3L)
+                .bookingId(7L)
+                .hotelId(1L)
+                .amount(BigDecimal.valueOf(2000))
+                .paidAt(LocalDateTime.of(2026, 1, 14, 10, 30))
+                .build();
+
+        publisher.publishBillPaid(event);
+
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        OutboxEvent saved = captor.getValue();
+        assertEquals("bill-paid", saved.getTopic());
+        assertEquals("7", saved.getEventKey());
+        assertEquals(BillPaidEvent.class.getName(), saved.getEventType());
+        assertNull(saved.getPublishedAt());
+
+        BillPaidEvent payload = objectMapper.readValue(saved.getPayload(), BillPaidEvent.class);
+        assertEquals(3L, payload.getBillId());
+        assertEquals(0, BigDecimal.valueOf(2000).compareTo(payload.getAmount()));
+        assertEquals(event.getPaidAt(), payload.getPaidAt());
+    }
+}
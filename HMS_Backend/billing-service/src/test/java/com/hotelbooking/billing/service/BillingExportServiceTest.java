@@ -0,0 +1,147 @@
+package com.hotelbooking.billing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelbooking.billing.domain.Bill;
+import com.hotelbooking.billing.domain.Payment;
+import com.hotelbooking.billing.enums.BillStatus;
+import com.hotelbooking.billing.exception.ValidationException;
+import com.hotelbooking.billing.repository.BillRepository;
+import com.hotelbooking.billing.repository.PaymentRepository;
+import com.hotelbooking.common.export.ExportFormat;
+
+/**
+ * Streams bills and payments out of the H2 database and checks the CSV and NDJSON output and filters.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class BillingExportServiceTest {
+
+    @Autowired
+    private BillingExportService billingExportService;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        Bill paid = billRepository.save(bill(1L, 1L, "BILL-1", BillStatus.PAID));
+        billRepository.save(bill(2L, 1L, "BILL-2", BillStatus.PENDING));
+        Bill other = billRepository.save(bill(3L, 2L, "BILL-3", BillStatus.PAID));
+        paymentRepository.save(payment(paid, now, "Paid at desk, card"));
+        paymentRepository.save(payment(other, now.minusDays(3), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAll();
+        billRepository.deleteAll();
+    }
+
+    @Test
+    void testExportBills_CsvFilteredByHotel() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = billingExportService.exportBills(null, null, 1L, ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rows);
+        assertEquals(String.join(",", BillingExportService.BILL_COLUMNS), lines.get(0));
+        assertTrue(lines.get(1).contains(",BILL-1,"));
+        assertTrue(lines.get(2).contains(",PENDING,"));
+    }
+
+    @Test
+    void testExportPayments_NdjsonCarriesBillHotel() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = billingExportService.exportPayments(null, null, null, ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rows);
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("BILL-1", first.get("billNumber").asText());
+        assertEquals(1L, first.get("hotelId").asLong());
+        assertEquals("Paid at desk, card", first.get("notes").asText());
+        assertEquals(0, new BigDecimal("1500.00").compareTo(first.get("amount").decimalValue()));
+        assertEquals(2L, objectMapper.readTree(lines.get(1)).get("hotelId").asLong());
+    }
+
+    @Test
+    void testExportPayments_DateRangeAndHotel() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = billingExportService.exportPayments(now.toLocalDate().minusDays(1), now.toLocalDate(), 2L,
+                ExportFormat.CSV, out);
+
+        // Hotel 2's only payment is three days old; the CSV still carries its header
+        assertEquals(0, rows);
+        assertEquals(1, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void testExportPayments_InvalidRange() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(ValidationException.class, () -> billingExportService.exportPayments(
+                today, today.minusDays(1), null, ExportFormat.CSV, new ByteArrayOutputStream()));
+    }
+
+    private Bill bill(Long bookingId, Long hotelId, String billNumber, BillStatus status) {
+        return Bill.builder()
+                .bookingId(bookingId)
+                .userId(1L)
+                .hotelId(hotelId)
+                .roomId(1L)
+                .checkInDate(now.toLocalDate().plusDays(1))
+                .checkOutDate(now.toLocalDate().plusDays(2))
+                .totalAmount(new BigDecimal("1500.00"))
+                .status(status)
+                .billNumber(billNumber)
+                .build();
+    }
+
+    private Payment payment(Bill bill, LocalDateTime paidAt, String notes) {
+        return Payment.builder()
+                .billId(bill.getId())
+                .bookingId(bill.getBookingId())
+                .userId(bill.getUserId())
+                .amount(bill.getTotalAmount())
+                .paymentMethod("CARD")
+                .notes(notes)
+                .paidBy("admin")
+                .paidAt(paidAt)
+                .build();
+    }
+}
@@ -11,15 +11,18 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Pageable;
 
 import com.hotelbooking.billing.domain.Bill;
 import com.hotelbooking.billing.domain.Payment;
+import com.hotelbooking.billing.dto.BillPaidEvent;
 import com.hotelbooking.billing.dto.BookingConfirmedEvent;
 import com.hotelbooking.billing.dto.BookingCreatedEvent;
 import com.hotelbooking.billing.dto.BookingInfoResponse;
@@ -32,15 +35,21 @@ import com.hotelbooking.billing.exception.BillGenerationException;
 import com.hotelbooking.billing.exception.BillNotFoundException;
 import com.hotelbooking.billing.exception.BookingNotFoundException;
 import com.hotelbooking.billing.exception.InvalidBookingStatusException;
+import com.hotelbooking.billing.exception.ValidationException;
 import com.hotelbooking.billing.feign.BookingServiceClient;
+import com.hotelbooking.billing.repository.BillJdbcRepository;
 import com.hotelbooking.billing.repository.BillRepository;
 import com.hotelbooking.billing.repository.PaymentRepository;
+import com.hotelbooking.common.page.KeysetCursor;
+import com.hotelbooking.common.page.PageResponse;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
@@ -54,6 +63,12 @@ class BillingServiceTest {
     @Mock
     private BillRepository billRepository;
 
+    @Mock
+    private BillJdbcRepository billJdbcRepository;
+
+    @Mock
+    private BillNumberAllocator billNumberAllocator;
+
     @Mock
     private PaymentRepository paymentRepository;
 
@@ -63,6 +78,9 @@ class BillingServiceTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private BillingEventPublisher billingEventPublisher;
+
     @InjectMocks
     private BillingService billingService;
 
@@ -135,11 +153,13 @@ class BillingServiceTest {
                 .bookingSource("PUBLIC")
                 .build();
 
+        lenient().when(billNumberAllocator.next()).thenReturn("BILL-1000");
+
         // Setup cache manager
         Cache billCache = new ConcurrentMapCacheManager().getCache("bills");
-        Cache userPaymentsCache = new ConcurrentMapCacheManager().getCache("userPayments");
+        Cache userPaymentsCache = new ConcurrentMapCacheManager().getCache("userPaymentPages");
         lenient().when(cacheManager.getCache("bills")).thenReturn(billCache);
-        lenient().when(cacheManager.getCache("userPayments")).thenReturn(userPaymentsCache);
+        lenient().when(cacheManager.getCache("userPaymentPages")).thenReturn(userPaymentsCache);
     }
 
     @Test
@@ -204,6 +224,56 @@ class BillingServiceTest {
         });
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGenerateBillsForCreatedBookings_SkipsExistingAndDuplicates() {
+        BookingCreatedEvent second = BookingCreatedEvent.builder()
+                .bookingId(2L).userId(2L).hotelId(1L).roomId(2L)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(2))
+                .amount(1500.0)
+                .build();
+        BookingCreatedEvent third = BookingCreatedEvent.builder()
+                .bookingId(3L).userId(3L).hotelId(1L).roomId(3L)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(2))
+                .amount(1500.0)
+                .build();
+        when(billRepository.findBookingIdsIn(any())).thenReturn(List.of(1L));
+        when(billJdbcRepository.insertAll(anyList())).thenAnswer(invocation -> ((List<Bill>) invocation.getArgument(0)).size());
+
+        int created = billingService.generateBillsForCreatedBookings(
+                List.of(bookingCreatedEvent, second, third, second));
+
+        assertEquals(2, created);
+        ArgumentCaptor<List<Bill>> captor = ArgumentCaptor.forClass(List.class);
+        verify(billJdbcRepository).insertAll(captor.capture());
+        List<Bill> inserted = captor.getValue();
+        assertEquals(List.of(2L, 3L), inserted.stream().map(Bill::getBookingId).toList());
+        assertEquals(BillStatus.PENDING, inserted.get(0).getStatus());
+        assertEquals(BigDecimal.valueOf(1500.0), inserted.get(0).getTotalAmount());
+        assertEquals("BILL-1000", inserted.get(0).getBillNumber());
+        verify(billNumberAllocator, times(2)).next();
+        verify(billRepository, never()).findByBookingId(anyLong());
+    }
+
+    @Test
+    void testGenerateBills_AllExisting() {
+        when(billRepository.findBookingIdsIn(any())).thenReturn(List.of(1L));
+
+        int created = billingService.generateBills(List.of(bookingConfirmedEvent));
+
+        assertEquals(0, created);
+        verify(billJdbcRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void testGenerateBills_EmptyBatch() {
+        assertEquals(0, billingService.generateBills(List.of()));
+
+        verify(billRepository, never()).findBookingIdsIn(any());
+    }
+
     @Test
     void testGetBillById_Success() {
         when(billRepository.findById(1L)).thenReturn(Optional.of(testBill));
@@ -341,7 +411,7 @@ class BillingServiceTest {
         when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
         when(bookingServiceClient.confirmBooking(1L)).thenReturn(bookingInfo);
         when(cacheManager.getCache("bills")).thenReturn(new ConcurrentMapCacheManager().getCache("bills"));
-        when(cacheManager.getCache("userPayments")).thenReturn(new ConcurrentMapCacheManager().getCache("userPayments"));
+        when(cacheManager.getCache("userPaymentPages")).thenReturn(new ConcurrentMapCacheManager().getCache("userPaymentPages"));
 
         BillResponse response = billingService.markBillAsPaid(1L, "admin", request);
 
@@ -350,6 +420,13 @@ class BillingServiceTest {
         verify(billRepository).save(any(Bill.class));
         verify(paymentRepository).save(any(Payment.class));
         verify(bookingServiceClient).confirmBooking(1L);
+
+        ArgumentCaptor<BillPaidEvent> event = ArgumentCaptor.forClass(BillPaidEvent.class);
+        verify(billingEventPublisher).publishBillPaid(event.capture());
+        assertEquals(1L, event.getValue().getBillId());
+        assertEquals(1L, event.getValue().getHotelId());
+        assertEquals(BigDecimal.valueOf(2000), event.getValue().getAmount());
+        assertEquals("CASH", event.getValue().getPaymentMethod());
     }
 
     @Test
@@ -375,6 +452,7 @@ class BillingServiceTest {
         assertThrows(BillAlreadyPaidException.class, () -> {
             billingService.markBillAsPaid(1L, "admin", request);
         });
+        verify(billingEventPublisher, never()).publishBillPaid(any());
     }
 
     @Test
@@ -388,7 +466,7 @@ class BillingServiceTest {
         when(billRepository.save(any(Bill.class))).thenReturn(testBill);
         when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
         when(cacheManager.getCache("bills")).thenReturn(new ConcurrentMapCacheManager().getCache("bills"));
-        when(cacheManager.getCache("userPayments")).thenReturn(new ConcurrentMapCacheManager().getCache("userPayments"));
+        when(cacheManager.getCache("userPaymentPages")).thenReturn(new ConcurrentMapCacheManager().getCache("userPaymentPages"));
 
         BillResponse response = billingService.markBillAsPaid(1L, "admin", request);
 
@@ -408,7 +486,7 @@ class BillingServiceTest {
         when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
         when(bookingServiceClient.confirmBooking(1L)).thenThrow(new RuntimeException("Service error"));
         when(cacheManager.getCache("bills")).thenReturn(new ConcurrentMapCacheManager().getCache("bills"));
-        when(cacheManager.getCache("userPayments")).thenReturn(new ConcurrentMapCacheManager().getCache("userPayments"));
+        when(cacheManager.getCache("userPaymentPages")).thenReturn(new ConcurrentMapCacheManager().getCache("userPaymentPages"));
 
         // Should not throw exception even if booking confirmation fails
         BillResponse response = billingService.markBillAsPaid(1L, "admin", request);
@@ -428,7 +506,7 @@ class BillingServiceTest {
         when(billRepository.save(any(Bill.class))).thenReturn(testBill);
         when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
         when(cacheManager.getCache("bills")).thenReturn(new ConcurrentMapCacheManager().getCache("bills"));
-        when(cacheManager.getCache("userPayments")).thenReturn(new ConcurrentMapCacheManager().getCache("userPayments"));
+        when(cacheManager.getCache("userPaymentPages")).thenReturn(new ConcurrentMapCacheManager().getCache("userPaymentPages"));
 
         BillResponse response = billingService.markBillAsPaid(1L, null, request);
 
@@ -439,46 +517,66 @@ class BillingServiceTest {
     @Test
     void testGetMyPayments_Success() {
         List<Payment> payments = Arrays.asList(testPayment);
-        when(paymentRepository.findByUserId(1L)).thenReturn(payments);
+        when(paymentRepository.findPageByUserId(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class))).thenReturn(payments);
 
-        List<PaymentResponse> response = billingService.getMyPayments(1L);
+        PageResponse<PaymentResponse> response = billingService.getMyPayments(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(1, response.size());
-        assertEquals(1L, response.get(0).getId());
-        verify(paymentRepository).findByUserId(1L);
+        assertEquals(1, response.getItems().size());
+        assertEquals(1L, response.getItems().get(0).getId());
+        verify(paymentRepository).findPageByUserId(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void testGetMyPayments_Empty() {
-        when(paymentRepository.findByUserId(1L)).thenReturn(Collections.emptyList());
+        when(paymentRepository.findPageByUserId(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class))).thenReturn(Collections.emptyList());
 
-        List<PaymentResponse> response = billingService.getMyPayments(1L);
+        PageResponse<PaymentResponse> response = billingService.getMyPayments(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(0, response.size());
+        assertEquals(0, response.getItems().size());
     }
 
     @Test
     void testGetAllPayments_Success() {
         List<Payment> payments = Arrays.asList(testPayment);
-        when(paymentRepository.findAll()).thenReturn(payments);
+        when(paymentRepository.findPage(any(LocalDateTime.class), anyLong(), any(Pageable.class))).thenReturn(payments);
 
-        List<PaymentResponse> response = billingService.getAllPayments();
+        PageResponse<PaymentResponse> response = billingService.getAllPayments(null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(1, response.size());
-        verify(paymentRepository).findAll();
+        assertEquals(1, response.getItems().size());
+        verify(paymentRepository).findPage(any(LocalDateTime.class), anyLong(), any(Pageable.class));
     }
 
     @Test
     void testGetAllPayments_Empty() {
-        when(paymentRepository.findAll()).thenReturn(Collections.emptyList());
+        when(paymentRepository.findPage(any(LocalDateTime.class), anyLong(), any(Pageable.class))).thenReturn(Collections.emptyList());
 
-        List<PaymentResponse> response = billingService.getAllPayments();
+        PageResponse<PaymentResponse> response = billingService.getAllPayments(null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(0, response.size());
+        assertEquals(0, response.getItems().size());
+    }
+
+    @Test
+    void testGetAllPayments_NextCursor() {
+        Payment older = Payment.builder().id(2L).createdAt(testPayment.getCreatedAt().minusDays(1)).build();
+        when(paymentRepository.findPage(any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(testPayment, older));
+
+        PageResponse<PaymentResponse> response = billingService.getAllPayments(null, 1);
+
+        assertEquals(1, response.getItems().size());
+        KeysetCursor cursor = KeysetCursor.decode(response.getNextCursor()).orElseThrow();
+        assertEquals(testPayment.getCreatedAt(), cursor.getCreatedAt());
+        assertEquals(testPayment.getId(), cursor.getId());
+    }
+
+    @Test
+    void testGetAllPayments_InvalidLimit() {
+        assertThrows(ValidationException.class, () -> billingService.getAllPayments(null, 0));
+        assertThrows(ValidationException.class, () -> billingService.getAllPayments("%%%", 10));
     }
 
     @Test
@@ -501,13 +599,13 @@ class BillingServiceTest {
     @Test
     void testToPaymentResponse() {
         List<Payment> payments = Arrays.asList(testPayment);
-        when(paymentRepository.findByUserId(1L)).thenReturn(payments);
+        when(paymentRepository.findPageByUserId(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class))).thenReturn(payments);
 
-        List<PaymentResponse> response = billingService.getMyPayments(1L);
+        PageResponse<PaymentResponse> response = billingService.getMyPayments(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(1, response.size());
-        PaymentResponse paymentResponse = response.get(0);
+        assertEquals(1, response.getItems().size());
+        PaymentResponse paymentResponse = response.getItems().get(0);
         assertEquals(testPayment.getId(), paymentResponse.getId());
         assertEquals(testPayment.getBillId(), paymentResponse.getBillId());
         assertEquals(testPayment.getBookingId(), paymentResponse.getBookingId());
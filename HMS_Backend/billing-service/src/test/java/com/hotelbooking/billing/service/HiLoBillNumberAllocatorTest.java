@@ -0,0 +1,145 @@
+package com.hotelbooking.billing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.hotelbooking.billing.domain.BillNumberBlock;
+import com.hotelbooking.billing.repository.BillNumberBlockRepository;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HiLoBillNumberAllocatorTest {
+
+    private static final int NUMBERS = 100_000;
+    private static final int THREADS = 32;
+    private static final int BLOCK_SIZE = 1_000;
+
+    @Mock
+    private BillNumberBlockRepository blockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    // Stands in for the bill_number_blocks row shared by all replicas
+    private BillNumberBlock row;
+    private final ReentrantLock rowLock = new ReentrantLock();
+
+    @BeforeEach
+    void setUp() {
+        row = new BillNumberBlock(HiLoBillNumberAllocator.SEQUENCE_NAME, 1L);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // SELECT ... FOR UPDATE takes the row lock, the update that follows in the same transaction releases it
+        when(blockRepository.findForUpdate(HiLoBillNumberAllocator.SEQUENCE_NAME)).thenAnswer(invocation -> {
+            rowLock.lock();
+            return Optional.of(new BillNumberBlock(row.getName(), row.getNextValue()));
+        });
+        when(blockRepository.save(any(BillNumberBlock.class))).thenAnswer(invocation -> {
+            BillNumberBlock saved = invocation.getArgument(0);
+            row.setNextValue(saved.getNextValue());
+            if (rowLock.isHeldByCurrentThread()) {
+                rowLock.unlock();
+            }
+            return saved;
+        });
+    }
+
+    @Test
+    void testNext_SequentialWithinBlock() {
+        HiLoBillNumberAllocator allocator = allocator();
+
+        assertEquals("BILL-1", allocator.next());
+        assertEquals("BILL-2", allocator.next());
+        assertEquals(BLOCK_SIZE + 1L, row.getNextValue());
+        verify(blockRepository, times(1)).findForUpdate(HiLoBillNumberAllocator.SEQUENCE_NAME);
+    }
+
+    @Test
+    void testNext_CreatesSequenceRowWhenMissing() {
+        when(blockRepository.findForUpdate(HiLoBillNumberAllocator.SEQUENCE_NAME)).thenReturn(Optional.empty());
+        when(blockRepository.saveAndFlush(any(BillNumberBlock.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals("BILL-1", allocator().next());
+        verify(blockRepository).saveAndFlush(any(BillNumberBlock.class));
+    }
+
+    @Test
+    void testNext_ConcurrentThreadsProduceNoDuplicates() throws Exception {
+        HiLoBillNumberAllocator allocator = allocator();
+
+        Set<String> numbers = generate(List.of(allocator));
+
+        assertEquals(NUMBERS, numbers.size());
+        // One reservation per block, no thundering herd on the sequence row
+        verify(blockRepository, atMost(NUMBERS / BLOCK_SIZE + 1)).findForUpdate(HiLoBillNumberAllocator.SEQUENCE_NAME);
+        verify(blockRepository, never()).saveAndFlush(any(BillNumberBlock.class));
+    }
+
+    @Test
+    void testNext_ReplicasSharingSequenceProduceNoDuplicates() throws Exception {
+        Set<String> numbers = generate(List.of(allocator(), allocator(), allocator()));
+
+        assertEquals(NUMBERS, numbers.size());
+    }
+
+    private HiLoBillNumberAllocator allocator() {
+        return new HiLoBillNumberAllocator(blockRepository, transactionManager, BLOCK_SIZE);
+    }
+
+    private Set<String> generate(List<BillNumberAllocator> allocators) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        AtomicLong duplicates = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            BillNumberAllocator allocator = allocators.get(t % allocators.size());
+            int count = NUMBERS / THREADS + (t < NUMBERS % THREADS ? 1 : 0);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < count; i++) {
+                    if (!numbers.add(allocator.next())) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(0, duplicates.get());
+        return numbers;
+    }
+}
@@ -0,0 +1,104 @@
+package com.hotelbooking.billing.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class SnowflakeBillNumberAllocatorTest {
+
+    private static final int NUMBERS = 100_000;
+    private static final int THREADS = 32;
+
+    @Test
+    void testNext_ConcurrentThreadsProduceNoDuplicates() throws Exception {
+        SnowflakeBillNumberAllocator allocator = new SnowflakeBillNumberAllocator(1);
+
+        Set<String> numbers = generate(List.of(allocator));
+
+        assertEquals(NUMBERS, numbers.size());
+        assertTrue(numbers.stream().allMatch(n -> n.startsWith(BillNumberAllocator.PREFIX)));
+    }
+
+    @Test
+    void testNext_TwoReplicasProduceNoDuplicates() throws Exception {
+        Set<String> numbers = generate(List.of(new SnowflakeBillNumberAllocator(1), new SnowflakeBillNumberAllocator(2)));
+
+        assertEquals(NUMBERS, numbers.size());
+    }
+
+    @Test
+    void testNextId_SequenceOverflowBorrowsNextMillisecond() {
+        long now = SnowflakeBillNumberAllocator.EPOCH_MILLIS + 1_000;
+        SnowflakeBillNumberAllocator allocator = new SnowflakeBillNumberAllocator(3, () -> now);
+
+        long previous = -1;
+        for (int i = 0; i < 10_000; i++) {
+            long id = allocator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(3, (previous >>> SnowflakeBillNumberAllocator.SEQUENCE_BITS) & SnowflakeBillNumberAllocator.MAX_NODE_ID);
+    }
+
+    @Test
+    void testNextId_ClockGoingBackwardsStaysUnique() {
+        AtomicLong clock = new AtomicLong(SnowflakeBillNumberAllocator.EPOCH_MILLIS + 5_000);
+        SnowflakeBillNumberAllocator allocator = new SnowflakeBillNumberAllocator(0, clock::get);
+
+        long before = allocator.nextId();
+        clock.addAndGet(-2_000);
+        long after = allocator.nextId();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void testConstructor_InvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeBillNumberAllocator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeBillNumberAllocator(SnowflakeBillNumberAllocator.MAX_NODE_ID + 1));
+    }
+
+    private Set<String> generate(List<BillNumberAllocator> allocators) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        AtomicLong duplicates = new AtomicLong();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            BillNumberAllocator allocator = allocators.get(t % allocators.size());
+            int count = NUMBERS / THREADS + (t < NUMBERS % THREADS ? 1 : 0);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < count; i++) {
+                    if (!numbers.add(allocator.next())) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertEquals(0, duplicates.get());
+        return numbers;
+    }
+}
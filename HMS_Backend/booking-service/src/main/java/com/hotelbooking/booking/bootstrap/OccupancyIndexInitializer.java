@@ -0,0 +1,23 @@
+package com.hotelbooking.booking.bootstrap;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import com.hotelbooking.booking.service.RoomOccupancyIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Warms the room occupancy index from the bookings table at startup.
+ */
+@Component
+@RequiredArgsConstructor
+public class OccupancyIndexInitializer implements CommandLineRunner {
+
+    private final RoomOccupancyIndex roomOccupancyIndex;
+
+    @Override
+    public void run(String... args) {
+        roomOccupancyIndex.rebuild();
+    }
+}
@@ -0,0 +1,19 @@
+package com.hotelbooking.booking.cache;
+
+import java.util.function.UnaryOperator;
+
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.common.page.PageResponse;
+
+/**
+ * Read-modify-write of a cached booking page that no concurrent writer can interleave with.
+ */
+public interface BookingPageCache {
+
+    /**
+     * Replace the page cached under key with patch(page), atomically.
+     * Nothing happens when no page is cached. The patch returns the same page to leave the entry alone,
+     * or null to evict it; it may run more than once if another writer gets in first.
+     */
+    void update(String cacheName, Long key, UnaryOperator<PageResponse<BookingResponse>> patch);
+}
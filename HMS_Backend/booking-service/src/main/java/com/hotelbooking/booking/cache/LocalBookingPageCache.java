@@ -0,0 +1,62 @@
+package com.hotelbooking.booking.cache;
+
+import java.util.function.UnaryOperator;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.common.page.PageResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Patches pages held in an in-process cache (the simple cache used by tests and local runs).
+ * Patches of the same entry run under one of a fixed set of locks picked by cache and key, so a get and
+ * its put are never interleaved with another patch. Only this instance writes an in-process cache,
+ * so a local lock is enough.
+ */
+@Slf4j
+public class LocalBookingPageCache implements BookingPageCache {
+
+    private static final int STRIPES = 64;
+
+    private final CacheManager cacheManager;
+    private final Object[] locks = new Object[STRIPES];
+
+    public LocalBookingPageCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void update(String cacheName, Long key, UnaryOperator<PageResponse<BookingResponse>> patch) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        synchronized (locks[Math.floorMod((cacheName + ":" + key).hashCode(), STRIPES)]) {
+            PageResponse<BookingResponse> page;
+            try {
+                page = cache.get(key, PageResponse.class);
+            } catch (RuntimeException e) {
+                log.warn("Evicting unreadable {} entry for key {}: {}", cacheName, key, e.getMessage());
+                cache.evict(key);
+                return;
+            }
+            if (page == null) {
+                // Nothing cached; the next read loads the page from the database
+                return;
+            }
+            PageResponse<BookingResponse> patched = patch.apply(page);
+            if (patched == null) {
+                cache.evict(key);
+            } else if (patched != page) {
+                cache.put(key, patched);
+            }
+        }
+    }
+}
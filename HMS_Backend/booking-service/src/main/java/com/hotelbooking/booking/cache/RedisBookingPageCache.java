@@ -0,0 +1,117 @@
+package com.hotelbooking.booking.cache;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.util.ByteUtils;
+
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.common.page.PageResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Patches pages in Redis with optimistic locking: the entry is WATCHed, read and patched, and the new value is
+ * written in a MULTI/EXEC that Redis discards if any client changed the key in between. A discarded write is
+ * retried on a fresh read; after max-attempts the entry is deleted and the next read reloads it.
+ * Keys and values go through the cache's own prefix and serializers, so @Cacheable reads the patched entry as usual.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisBookingPageCache implements BookingPageCache {
+
+    // PTTL reply for a key that no longer exists
+    private static final long KEY_MISSING = -2;
+
+    private final RedisCacheManager cacheManager;
+    private final RedisConnectionFactory connectionFactory;
+    private final int maxAttempts;
+
+    @Override
+    public void update(String cacheName, Long key, UnaryOperator<PageResponse<BookingResponse>> patch) {
+        if (!(cacheManager.getCache(cacheName) instanceof RedisCache cache)) {
+            return;
+        }
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        byte[] rawKey = rawKey(config, cacheName, key);
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                if (tryUpdate(connection, config, rawKey, patch)) {
+                    return;
+                }
+            }
+            log.debug("{} entry for key {} kept changing; evicting it", cacheName, key);
+            connection.keyCommands().del(rawKey);
+        } catch (RuntimeException e) {
+            // Unreadable entry or Redis trouble: the booking write has committed, so only drop the page
+            log.warn("Could not patch {} entry for key {}, evicting it: {}", cacheName, key, e.getMessage());
+            evictQuietly(cache, key);
+        }
+    }
+
+    /**
+     * One WATCH / read / MULTI / EXEC round. False when another client changed the key and the write was discarded.
+     */
+    private boolean tryUpdate(RedisConnection connection, RedisCacheConfiguration config, byte[] rawKey,
+                              UnaryOperator<PageResponse<BookingResponse>> patch) {
+        connection.watch(rawKey);
+        byte[] value = connection.stringCommands().get(rawKey);
+        if (value == null) {
+            // Nothing cached; the next read loads the page from the database
+            connection.unwatch();
+            return true;
+        }
+        PageResponse<BookingResponse> page = read(config, value);
+        PageResponse<BookingResponse> patched = patch.apply(page);
+        Long ttl = connection.keyCommands().pTtl(rawKey);
+        if (patched == page || ttl == null || ttl == KEY_MISSING) {
+            connection.unwatch();
+            return true;
+        }
+
+        connection.multi();
+        if (patched == null) {
+            connection.keyCommands().del(rawKey);
+        } else if (ttl > 0) {
+            // Keep the expiry the entry was cached with
+            connection.stringCommands().pSetEx(rawKey, ttl, write(config, patched));
+        } else {
+            connection.stringCommands().set(rawKey, write(config, patched));
+        }
+        List<Object> results = connection.exec();
+        return results != null && !results.isEmpty();
+    }
+
+    private static byte[] rawKey(RedisCacheConfiguration config, String cacheName, Long key) {
+        String cacheKey = config.getConversionService().convert(key, String.class);
+        if (config.usePrefix()) {
+            cacheKey = config.getKeyPrefixFor(cacheName) + cacheKey;
+        }
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(cacheKey));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PageResponse<BookingResponse> read(RedisCacheConfiguration config, byte[] value) {
+        return (PageResponse<BookingResponse>) config.getValueSerializationPair().read(ByteBuffer.wrap(value));
+    }
+
+    private static byte[] write(RedisCacheConfiguration config, PageResponse<BookingResponse> page) {
+        return ByteUtils.getBytes(config.getValueSerializationPair().write(page));
+    }
+
+    private static void evictQuietly(RedisCache cache, Long key) {
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict {} entry for key {}: {}", cache.getName(), key, e.getMessage());
+        }
+    }
+}
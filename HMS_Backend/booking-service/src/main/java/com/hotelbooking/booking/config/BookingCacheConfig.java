@@ -0,0 +1,84 @@
+package com.hotelbooking.booking.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.cache.autoconfigure.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import com.hotelbooking.booking.cache.BookingPageCache;
+import com.hotelbooking.booking.cache.LocalBookingPageCache;
+import com.hotelbooking.booking.cache.RedisBookingPageCache;
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.common.page.PageResponse;
+
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Per-cache Redis settings for the booking caches.
+ * Each cache gets its own TTL and a JSON serializer bound to its value type, so entries carry no class
+ * names and stay readable across deployments, unlike the default JDK serialization.
+ * Statistics are enabled so the cache.gets hit/miss meters are published per cache name.
+ * Cached list pages are patched through a BookingPageCache that matches the cache type.
+ */
+@Configuration
+public class BookingCacheConfig {
+
+    @Value("${booking.cache.bookings.ttl:10m}")
+    private Duration bookingsTtl;
+
+    @Value("${booking.cache.user-bookings.ttl:5m}")
+    private Duration userBookingsTtl;
+
+    @Value("${booking.cache.hotel-bookings.ttl:2m}")
+    private Duration hotelBookingsTtl;
+
+    @Value("${booking.cache.page-patch.max-attempts:3}")
+    private int pagePatchMaxAttempts;
+
+    static final JsonMapper CACHE_MAPPER = JsonMapper.builder().build();
+
+    @Bean
+    public RedisCacheManagerBuilderCustomizer bookingCacheCustomizer() {
+        JavaType bookingPage = CACHE_MAPPER.getTypeFactory()
+                .constructParametricType(PageResponse.class, BookingResponse.class);
+
+        return builder -> builder
+                .enableStatistics()
+                .withCacheConfiguration("bookings",
+                        cacheConfiguration(bookingsTtl, new JacksonJsonRedisSerializer<>(CACHE_MAPPER, BookingResponse.class)))
+                .withCacheConfiguration("userBookingPages",
+                        cacheConfiguration(userBookingsTtl, new JacksonJsonRedisSerializer<>(CACHE_MAPPER, bookingPage)))
+                .withCacheConfiguration("hotelBookingPages",
+                        cacheConfiguration(hotelBookingsTtl, new JacksonJsonRedisSerializer<>(CACHE_MAPPER, bookingPage)));
+    }
+
+    /**
+     * Redis pages are patched with WATCH/MULTI/EXEC, since other instances write the same keys;
+     * in-process caches (spring.cache.type=simple) with a per-key lock.
+     */
+    @Bean
+    public BookingPageCache bookingPageCache(CacheManager cacheManager,
+                                             ObjectProvider<RedisConnectionFactory> connectionFactory) {
+        if (cacheManager instanceof RedisCacheManager redisCacheManager) {
+            return new RedisBookingPageCache(redisCacheManager, connectionFactory.getObject(), pagePatchMaxAttempts);
+        }
+        return new LocalBookingPageCache(cacheManager);
+    }
+
+    private RedisCacheConfiguration cacheConfiguration(Duration ttl, JacksonJsonRedisSerializer<?> serializer) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .disableCachingNullValues()
+                .serializeValuesWith(SerializationPair.fromSerializer(serializer));
+    }
+}
@@ -0,0 +1,24 @@
+package com.hotelbooking.booking.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * A small connection pool used only by the streaming exports (booking.export.datasource.*).
+ * Its MySQL URL carries useCursorFetch=true so exports read from a server-side cursor; the main pool does not,
+ * so every other query keeps the driver's default fetch behaviour. Long exports also stay off the main pool.
+ * Not a default candidate: JPA and everything else keep injecting the auto-configured DataSource.
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties(prefix = "booking.export.datasource")
+    public HikariDataSource exportDataSource() {
+        return DataSourceBuilder.create().type(HikariDataSource.class).build();
+    }
+}
@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.hotelbooking.booking.dto.request.CancelBookingRequest;
 import com.hotelbooking.booking.dto.request.CheckInRequest;
@@ -24,7 +27,11 @@ import com.hotelbooking.booking.dto.response.AvailabilityResponse;
 import com.hotelbooking.booking.dto.response.BookingResponse;
 import com.hotelbooking.booking.exception.AccessDeniedException;
 import com.hotelbooking.booking.exception.ValidationException;
+import com.hotelbooking.booking.service.BookingCreationFacade;
+import com.hotelbooking.booking.service.BookingExportService;
 import com.hotelbooking.booking.service.BookingService;
+import com.hotelbooking.common.export.ExportFormat;
+import com.hotelbooking.common.page.PageResponse;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +42,8 @@ import lombok.RequiredArgsConstructor;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingCreationFacade bookingCreationFacade;
+    private final BookingExportService bookingExportService;
 
     /**
      * Check room availability for a hotel and date range.
@@ -78,7 +87,7 @@ public class BookingController {
         // Get guest phone from request if provided, otherwise null
         String guestPhone = request.getGuestPhone();
 
-        BookingResponse booking = bookingService.createBooking(
+        BookingResponse booking = bookingCreationFacade.createBooking(
                 request, userId, guestName, guestEmail, guestPhone, role);
 
         return ResponseEntity.status(201).body(Map.of(
@@ -102,7 +111,7 @@ public class BookingController {
             throw new AccessDeniedException("Only RECEPTIONIST can create walk-in bookings");
         }
 
-        BookingResponse booking = bookingService.createWalkInBooking(request, userId, role);
+        BookingResponse booking = bookingCreationFacade.createWalkInBooking(request, userId, role);
 
         return ResponseEntity.status(201).body(Map.of(
                 "success", true,
@@ -137,11 +146,16 @@ public class BookingController {
     }
 
     /**
-     * Get all bookings for current user.
+     * Get the current user's bookings, newest first, one keyset page at a time.
+     * Pass the returned nextCursor as after to fetch the next page.
      */
     @GetMapping("/my-bookings")
-    public ResponseEntity<?> getMyBookings(@RequestHeader("X-User-Id") Long userId) {
-        List<BookingResponse> bookings = bookingService.getMyBookings(userId);
+    public ResponseEntity<?> getMyBookings(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit
+    ) {
+        PageResponse<BookingResponse> bookings = bookingService.getMyBookings(userId, after, limit);
         return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Bookings retrieved successfully",
@@ -150,13 +164,15 @@ public class BookingController {
     }
 
     /**
-     * Get all bookings for a specific hotel (staff only).
+     * Get bookings for a specific hotel, newest first, one keyset page at a time (staff only).
      */
     @GetMapping("/hotel/{hotelId}")
     public ResponseEntity<?> getBookingsByHotel(
             @RequestHeader("X-User-Role") String role,
             @RequestHeader(value = "X-Hotel-Id", required = false) Long userHotelId,
-            @PathVariable Long hotelId
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit
     ) {
         // Only staff can view hotel bookings
         if (!"ADMIN".equalsIgnoreCase(role) && !"MANAGER".equalsIgnoreCase(role) 
@@ -174,7 +190,7 @@ public class BookingController {
             }
         }
 
-        List<BookingResponse> bookings = bookingService.getBookingsByHotel(hotelId);
+        PageResponse<BookingResponse> bookings = bookingService.getBookingsByHotel(hotelId, after, limit);
         return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "Hotel bookings retrieved successfully",
@@ -183,15 +199,19 @@ public class BookingController {
     }
 
     /**
-     * Get all bookings (admin only).
+     * Get all bookings, newest first, one keyset page at a time (admin only).
      */
     @GetMapping
-    public ResponseEntity<?> getAllBookings(@RequestHeader("X-User-Role") String role) {
+    public ResponseEntity<?> getAllBookings(
+            @RequestHeader("X-User-Role") String role,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageResponse.DEFAULT_LIMIT) int limit
+    ) {
         if (!"ADMIN".equalsIgnoreCase(role)) {
             throw new AccessDeniedException("Only ADMIN can view all bookings");
         }
 
-        List<BookingResponse> bookings = bookingService.getAllBookings();
+        PageResponse<BookingResponse> bookings = bookingService.getAllBookings(after, limit);
         return ResponseEntity.ok(Map.of(
                 "success", true,
                 "message", "All bookings retrieved successfully",
@@ -199,6 +219,49 @@ public class BookingController {
         ));
     }
 
+    /**
+     * Export bookings as CSV or NDJSON (ADMIN, or MANAGER for their own hotel).
+     * Rows are streamed to the response as they are read, for finance reconciliation over large ranges.
+     * Filters: creation date range (inclusive, both optional) and hotel.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestHeader("X-User-Role") String role,
+            @RequestHeader(value = "X-Hotel-Id", required = false) Long userHotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        if (!"ADMIN".equalsIgnoreCase(role) && !"MANAGER".equalsIgnoreCase(role)) {
+            throw new AccessDeniedException("Only ADMIN or MANAGER can export bookings");
+        }
+
+        // Context-aware: managers can only export their own hotel
+        if (!"ADMIN".equalsIgnoreCase(role)) {
+            if (userHotelId == null) {
+                throw new ValidationException("User must be assigned to a hotel");
+            }
+            if (hotelId != null && !hotelId.equals(userHotelId)) {
+                throw new AccessDeniedException("You can only export bookings for your assigned hotel");
+            }
+            hotelId = userHotelId;
+        }
+
+        ExportFormat exportFormat = ExportFormat.fromParameter(format)
+                .orElseThrow(() -> new ValidationException("format", "must be csv or ndjson"));
+        BookingExportService.validateRange(from, to);
+
+        Long exportHotelId = hotelId;
+        StreamingResponseBody body = out -> bookingExportService.exportBookings(
+                from, to, exportHotelId, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     /**
      * Confirm a booking (simulates payment completion).
      * In production, this would be called by Payment Service after successful payment.
@@ -14,6 +14,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -24,7 +25,22 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "bookings")
+@Table(
+    name = "bookings",
+    indexes = {
+        // Serves the half-open overlap predicate used by availability and double-booking checks
+        @Index(
+            name = "idx_bookings_overlap",
+            columnList = "hotel_id, room_id, check_in_date, check_out_date, status"
+        ),
+        // Lets reports-service find bookings changed since its last rollup
+        @Index(name = "idx_bookings_updated_at", columnList = "updated_at"),
+        // Keyset pagination of the booking lists, newest first
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_bookings_hotel_created", columnList = "hotel_id, created_at, id"),
+        @Index(name = "idx_bookings_created", columnList = "created_at, id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
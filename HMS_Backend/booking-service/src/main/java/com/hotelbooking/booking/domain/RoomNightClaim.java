@@ -0,0 +1,52 @@
+package com.hotelbooking.booking.domain;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One night of one room held by a booking.
+ * The unique (room_id, night) key makes the database reject double-booking without table locks.
+ */
+@Entity
+@Table(
+    name = "room_night_claims",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_room_night", columnNames = { "room_id", "night" })
+    },
+    indexes = {
+        @Index(name = "idx_room_night_claims_booking", columnList = "booking_id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomNightClaim {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "night", nullable = false)
+    private LocalDate night;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+}
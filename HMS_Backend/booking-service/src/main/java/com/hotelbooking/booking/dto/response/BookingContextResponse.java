@@ -0,0 +1,35 @@
+package com.hotelbooking.booking.dto.response;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Hotel status and room details returned by Hotel Service's booking-context endpoint.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BookingContextResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long hotelId;
+    private String hotelStatus;
+    private Long roomId;
+    private Long roomHotelId;
+    private String roomNumber;
+    private String roomType;
+    private BigDecimal pricePerNight;
+    private Integer maxOccupancy;
+    private String roomStatus;
+    private Boolean isActive;
+}
@@ -2,6 +2,7 @@ package com.hotelbooking.booking.event;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,6 +21,7 @@ public class BookingCancelledEvent implements Serializable {
     private Long bookingId;
     private Long userId;
     private Long hotelId;
+    private LocalDateTime createdAt;
     private LocalDate checkInDate;
     private LocalDate checkOutDate;
     private String cancellationReason;
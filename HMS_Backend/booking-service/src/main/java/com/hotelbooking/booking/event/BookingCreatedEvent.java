@@ -2,6 +2,7 @@ package com.hotelbooking.booking.event;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,6 +21,7 @@ public class BookingCreatedEvent implements Serializable {
     private Long bookingId;
     private Long userId;
     private Long hotelId;
+    private LocalDateTime createdAt; // booking creation time, the same on every event of a booking
     private Long roomId;
     private LocalDate checkInDate;
     private LocalDate checkOutDate;
@@ -21,6 +21,7 @@ public class CheckoutCompletedEvent implements Serializable {
     private Long bookingId;
     private Long userId;
     private Long hotelId;
+    private LocalDateTime createdAt;
     private LocalDate checkInDate;
     private LocalDate checkOutDate;
     private LocalDateTime actualCheckoutTimestamp;
@@ -21,6 +21,7 @@ public class GuestCheckedInEvent implements Serializable {
     private Long bookingId;
     private Long userId;
     private Long hotelId;
+    private LocalDateTime createdAt;
     private LocalDate checkInDate;
     private LocalDateTime actualCheckInTimestamp;
     private String guestEmail;
@@ -0,0 +1,88 @@
+package com.hotelbooking.booking.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.enums.BookingSource;
+import com.hotelbooking.booking.enums.BookingStatus;
+
+/**
+ * Reads bookings for exports through the export pool (see ExportDataSourceConfig).
+ * Rows are fetched from a server-side cursor in chunks of booking.export.fetch-size and mapped to detached
+ * Booking objects, so nothing accumulates in a persistence context.
+ */
+@Repository
+public class BookingExportRepository {
+
+    private static final String SELECT_SQL = """
+            SELECT id, user_id, hotel_id, room_id, room_number, room_type, check_in_date, check_out_date,
+                   number_of_nights, number_of_guests, total_amount, status, booking_source, guest_name, guest_email,
+                   created_at, updated_at, cancelled_at, checked_in_at, checked_out_at
+            FROM bookings
+            WHERE created_at >= ? AND created_at < ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BookingExportRepository(@Qualifier("exportDataSource") DataSource exportDataSource,
+                                   @Value("${booking.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(exportDataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Stream bookings created in [from, to), optionally for one hotel, in id order.
+     * The stream holds an export connection until it is closed.
+     */
+    public Stream<Booking> streamForExport(LocalDateTime from, LocalDateTime to, Long hotelId) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+        if (hotelId != null) {
+            sql.append("AND hotel_id = ?\n");
+            args.add(hotelId);
+        }
+        sql.append("ORDER BY id");
+        return jdbcTemplate.queryForStream(sql.toString(), (rs, rowNum) -> toBooking(rs), args.toArray());
+    }
+
+    private static Booking toBooking(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        String bookingSource = rs.getString("booking_source");
+        return Booking.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .hotelId(rs.getLong("hotel_id"))
+                .roomId(rs.getLong("room_id"))
+                .roomNumber(rs.getString("room_number"))
+                .roomType(rs.getString("room_type"))
+                .checkInDate(rs.getObject("check_in_date", LocalDate.class))
+                .checkOutDate(rs.getObject("check_out_date", LocalDate.class))
+                .numberOfNights(rs.getObject("number_of_nights", Integer.class))
+                .numberOfGuests(rs.getObject("number_of_guests", Integer.class))
+                .totalAmount(rs.getBigDecimal("total_amount"))
+                .status(status != null ? BookingStatus.valueOf(status) : null)
+                .bookingSource(bookingSource != null ? BookingSource.valueOf(bookingSource) : null)
+                .guestName(rs.getString("guest_name"))
+                .guestEmail(rs.getString("guest_email"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .cancelledAt(rs.getObject("cancelled_at", LocalDateTime.class))
+                .checkedInAt(rs.getObject("checked_in_at", LocalDateTime.class))
+                .checkedOutAt(rs.getObject("checked_out_at", LocalDateTime.class))
+                .build();
+    }
+}
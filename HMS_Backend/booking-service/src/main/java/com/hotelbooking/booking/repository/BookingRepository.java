@@ -1,9 +1,11 @@
 package com.hotelbooking.booking.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -21,20 +23,58 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     Optional<Booking> findByIdAndUserId(Long id, Long userId);
 
+    // Keyset pages, newest first: rows strictly after the (createdAt, id) cursor
+
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.userId = :userId
+            AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id))
+            ORDER BY b.createdAt DESC, b.id DESC
+            """)
+    List<Booking> findPageByUserId(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.hotelId = :hotelId
+            AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id))
+            ORDER BY b.createdAt DESC, b.id DESC
+            """)
+    List<Booking> findPageByHotelId(
+            @Param("hotelId") Long hotelId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @Query("""
+            SELECT b FROM Booking b
+            WHERE b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)
+            ORDER BY b.createdAt DESC, b.id DESC
+            """)
+    List<Booking> findPage(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
     /**
      * Find bookings with overlapping dates for a specific hotel and room.
      * Used to check availability - excludes CANCELLED bookings.
+     * Stays are half-open intervals [checkIn, checkOut), so two stays overlap exactly when
+     * each one starts before the other ends. Backed by idx_bookings_overlap.
      */
     @Query("""
             SELECT b FROM Booking b
             WHERE b.hotelId = :hotelId
             AND b.roomId = :roomId
+            AND b.checkInDate < :checkOut
+            AND b.checkOutDate > :checkIn
             AND b.status != 'CANCELLED'
-            AND (
-                (b.checkInDate <= :checkIn AND b.checkOutDate > :checkIn)
-                OR (b.checkInDate < :checkOut AND b.checkOutDate >= :checkOut)
-                OR (b.checkInDate >= :checkIn AND b.checkOutDate <= :checkOut)
-            )
             """)
     List<Booking> findOverlappingBookings(
             @Param("hotelId") Long hotelId,
@@ -45,16 +85,14 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     /**
      * Find all room IDs that are booked (have overlapping dates) for a hotel.
+     * Same half-open predicate as findOverlappingBookings, answered from idx_bookings_overlap alone.
      */
     @Query("""
             SELECT DISTINCT b.roomId FROM Booking b
             WHERE b.hotelId = :hotelId
+            AND b.checkInDate < :checkOut
+            AND b.checkOutDate > :checkIn
             AND b.status != 'CANCELLED'
-            AND (
-                (b.checkInDate <= :checkIn AND b.checkOutDate > :checkIn)
-                OR (b.checkInDate < :checkOut AND b.checkOutDate >= :checkOut)
-                OR (b.checkInDate >= :checkIn AND b.checkOutDate <= :checkOut)
-            )
             """)
     List<Long> findBookedRoomIds(
             @Param("hotelId") Long hotelId,
@@ -95,5 +133,31 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             ORDER BY b.checkOutDate ASC
             """)
     List<Booking> findTodayCheckOuts(@Param("hotelId") Long hotelId, @Param("date") LocalDate date);
+
+    /**
+     * Find the room-nights held by every non-cancelled booking that ends after the given date.
+     * Used to warm the in-memory occupancy index, so only the columns it needs are selected.
+     */
+    @Query("""
+            SELECT b.hotelId AS hotelId, b.roomId AS roomId,
+                   b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate
+            FROM Booking b
+            WHERE b.status != 'CANCELLED'
+            AND b.checkOutDate > :from
+            """)
+    List<RoomStay> findActiveRoomStays(@Param("from") LocalDate from);
+
+    /**
+     * Projection of the room-nights occupied by a booking.
+     */
+    interface RoomStay {
+        Long getHotelId();
+
+        Long getRoomId();
+
+        LocalDate getCheckInDate();
+
+        LocalDate getCheckOutDate();
+    }
 }
 
@@ -0,0 +1,18 @@
+package com.hotelbooking.booking.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.hotelbooking.booking.domain.RoomNightClaim;
+
+public interface RoomNightClaimRepository extends JpaRepository<RoomNightClaim, Long> {
+
+    /**
+     * Release every night held by a booking (used on cancellation).
+     */
+    @Modifying
+    @Query("DELETE FROM RoomNightClaim c WHERE c.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+}
@@ -0,0 +1,132 @@
+package com.hotelbooking.booking.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hotelbooking.booking.cache.BookingPageCache;
+import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.common.page.KeysetCursor;
+import com.hotelbooking.common.page.PageResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the booking caches in step with booking writes without throwing them away.
+ * The single-booking entry is overwritten, and the cached first pages of the user and hotel lists
+ * are patched in place: a changed booking replaces its own row, a new booking is inserted in list order.
+ * Page patches go through {@link BookingPageCache}, so concurrent writes to the same page cannot drop each
+ * other's rows, and a row is never replaced by an older version of the booking (by updatedAt).
+ * Updates run after the surrounding transaction commits, so a rollback never reaches the cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingCacheUpdater {
+
+    static final String BOOKINGS = "bookings";
+    // Formerly userBookings/hotelBookings, which held plain lists; new names so old entries are never read as pages
+    static final String USER_BOOKINGS = "userBookingPages";
+    static final String HOTEL_BOOKINGS = "hotelBookingPages";
+
+    // List order of every booking page: (createdAt, id) descending
+    private static final Comparator<BookingResponse> NEWEST_FIRST = Comparator
+            .comparing(BookingResponse::getCreatedAt)
+            .thenComparing(BookingResponse::getId)
+            .reversed();
+
+    private final CacheManager cacheManager;
+    private final BookingPageCache bookingPageCache;
+
+    /**
+     * A booking was just created. It belongs on its user's and hotel's first page unless newer rows fill them.
+     */
+    public void bookingCreated(Booking booking, Function<Booking, BookingResponse> toResponse) {
+        afterCommit(() -> apply(toResponse.apply(booking), true));
+    }
+
+    /**
+     * An existing booking changed (status, timestamps, cancellation reason).
+     * The response is built after commit, so it carries the updated_at written at flush.
+     */
+    public void bookingChanged(Booking booking, Function<Booking, BookingResponse> toResponse) {
+        afterCommit(() -> apply(toResponse.apply(booking), false));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private void apply(BookingResponse booking, boolean created) {
+        Cache bookingCache = cacheManager.getCache(BOOKINGS);
+        if (bookingCache != null) {
+            bookingCache.put(booking.getId(), booking);
+        }
+        bookingPageCache.update(USER_BOOKINGS, booking.getUserId(), page -> patch(page, booking, created));
+        bookingPageCache.update(HOTEL_BOOKINGS, booking.getHotelId(), page -> patch(page, booking, created));
+    }
+
+    /**
+     * The first page with the booking applied: the same page when there is nothing to change, null when the
+     * page is evidently stale and should be reloaded.
+     */
+    static PageResponse<BookingResponse> patch(PageResponse<BookingResponse> page, BookingResponse booking,
+                                               boolean created) {
+        List<BookingResponse> items = new ArrayList<>(page.getItems());
+        for (int i = 0; i < items.size(); i++) {
+            BookingResponse cached = items.get(i);
+            if (booking.getId().equals(cached.getId())) {
+                if (isOlder(booking, cached)) {
+                    // A later write already patched this row; its after-commit update simply ran first
+                    return page;
+                }
+                items.set(i, booking);
+                return new PageResponse<>(items, page.getNextCursor());
+            }
+        }
+
+        if (!created) {
+            // A complete page that misses the booking is stale; otherwise it sits on a later, uncached page
+            return page.getNextCursor() == null ? null : page;
+        }
+
+        int position = 0;
+        while (position < items.size() && NEWEST_FIRST.compare(items.get(position), booking) < 0) {
+            position++;
+        }
+        if (position == items.size() && page.getNextCursor() != null) {
+            // Older than every row on a partial first page, so it belongs on a later page
+            return page;
+        }
+        items.add(position, booking);
+        String nextCursor = page.getNextCursor();
+        if (items.size() > PageResponse.DEFAULT_LIMIT) {
+            // The last row moves to the next page
+            items.remove(items.size() - 1);
+            BookingResponse last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new PageResponse<>(items, nextCursor);
+    }
+
+    private static boolean isOlder(BookingResponse booking, BookingResponse cached) {
+        return booking.getUpdatedAt() != null && cached.getUpdatedAt() != null
+                && booking.getUpdatedAt().isBefore(cached.getUpdatedAt());
+    }
+}
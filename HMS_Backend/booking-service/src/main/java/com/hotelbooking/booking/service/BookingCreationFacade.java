@@ -0,0 +1,33 @@
+package com.hotelbooking.booking.service;
+
+import org.springframework.stereotype.Service;
+
+import com.hotelbooking.booking.dto.request.CreateBookingRequest;
+import com.hotelbooking.booking.dto.request.WalkInBookingRequest;
+import com.hotelbooking.booking.dto.response.BookingResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Entry point for creating bookings. Not transactional on purpose: it takes the per-room lock first
+ * and only then calls the transactional BookingService, so waiters queue without holding a DB connection.
+ * The room_night_claims unique key in BookingService stays the correctness guard.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingCreationFacade {
+
+    private final BookingService bookingService;
+    private final RoomBookingLocks roomBookingLocks;
+
+    public BookingResponse createBooking(CreateBookingRequest request, Long userId, String guestName,
+                                         String guestEmail, String guestPhone, String role) {
+        return roomBookingLocks.callWithRoomLock(request.getRoomId(), () ->
+                bookingService.createBooking(request, userId, guestName, guestEmail, guestPhone, role));
+    }
+
+    public BookingResponse createWalkInBooking(WalkInBookingRequest request, Long receptionistUserId, String role) {
+        return roomBookingLocks.callWithRoomLock(request.getRoomId(), () ->
+                bookingService.createWalkInBooking(request, receptionistUserId, role));
+    }
+}
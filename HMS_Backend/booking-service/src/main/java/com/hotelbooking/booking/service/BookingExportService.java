@@ -0,0 +1,86 @@
+package com.hotelbooking.booking.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.exception.ValidationException;
+import com.hotelbooking.booking.repository.BookingExportRepository;
+import com.hotelbooking.common.export.ExportFormat;
+import com.hotelbooking.common.export.ExportWriter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams bookings to an output stream for finance exports.
+ * Rows come from a server-side cursor on the export pool and are written as they are read, so memory does not
+ * grow with the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportService {
+
+    static final List<String> COLUMNS = List.of(
+            "id", "userId", "hotelId", "roomId", "roomNumber", "roomType",
+            "checkInDate", "checkOutDate", "numberOfNights", "numberOfGuests", "totalAmount",
+            "status", "bookingSource", "guestName", "guestEmail",
+            "createdAt", "updatedAt", "cancelledAt", "checkedInAt", "checkedOutAt");
+
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+
+    private final BookingExportRepository bookingExportRepository;
+
+    /**
+     * Validate an export date range. Both bounds are optional and inclusive.
+     */
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ValidationException("'from' must not be after 'to'");
+        }
+    }
+
+    /**
+     * Write bookings created between from and to (inclusive, both optional), optionally for one hotel.
+     * Returns the number of rows written.
+     */
+    public long exportBookings(LocalDate from, LocalDate to, Long hotelId, ExportFormat format,
+                               OutputStream out) throws IOException {
+        validateRange(from, to);
+        LocalDateTime start = (from != null ? from : EARLIEST).atStartOfDay();
+        LocalDateTime end = (to != null ? to : LocalDate.now()).plusDays(1).atStartOfDay();
+
+        ExportWriter writer = new ExportWriter(out, format, COLUMNS);
+        long rows = 0;
+        try (Stream<Booking> bookings = bookingExportRepository.streamForExport(start, end, hotelId)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                writer.writeRow(values(iterator.next()));
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} bookings as {} (from={}, to={}, hotelId={})", rows, format, from, to, hotelId);
+        return rows;
+    }
+
+    private List<Object> values(Booking booking) {
+        return Arrays.asList(
+                booking.getId(), booking.getUserId(), booking.getHotelId(), booking.getRoomId(),
+                booking.getRoomNumber(), booking.getRoomType(),
+                booking.getCheckInDate(), booking.getCheckOutDate(),
+                booking.getNumberOfNights(), booking.getNumberOfGuests(), booking.getTotalAmount(),
+                booking.getStatus(), booking.getBookingSource(), booking.getGuestName(), booking.getGuestEmail(),
+                booking.getCreatedAt(), booking.getUpdatedAt(), booking.getCancelledAt(),
+                booking.getCheckedInAt(), booking.getCheckedOutAt());
+    }
+}
@@ -4,16 +4,22 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.domain.RoomNightClaim;
 import com.hotelbooking.booking.dto.request.CancelBookingRequest;
 import com.hotelbooking.booking.dto.request.CheckInRequest;
 import com.hotelbooking.booking.dto.request.CheckOutRequest;
@@ -21,8 +27,8 @@ import com.hotelbooking.booking.dto.request.CreateBookingRequest;
 import com.hotelbooking.booking.dto.request.WalkInBookingRequest;
 import com.hotelbooking.booking.dto.response.AvailableRoom;
 import com.hotelbooking.booking.dto.response.AvailabilityResponse;
+import com.hotelbooking.booking.dto.response.BookingContextResponse;
 import com.hotelbooking.booking.dto.response.BookingResponse;
-import com.hotelbooking.booking.dto.response.HotelDetailResponse;
 import com.hotelbooking.booking.dto.response.RoomResponse;
 import com.hotelbooking.booking.enums.BookingStatus;
 import com.hotelbooking.booking.exception.BookingNotFoundException;
@@ -32,6 +38,9 @@ import com.hotelbooking.booking.exception.ValidationException;
 import com.hotelbooking.booking.exception.AccessDeniedException;
 import com.hotelbooking.booking.feign.HotelServiceClient;
 import com.hotelbooking.booking.repository.BookingRepository;
+import com.hotelbooking.booking.repository.RoomNightClaimRepository;
+import com.hotelbooking.common.page.KeysetCursor;
+import com.hotelbooking.common.page.PageResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -45,13 +54,16 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final HotelServiceClient hotelServiceClient;
     private final KafkaEventPublisher kafkaEventPublisher;
-    private final CacheManager cacheManager;
+    private final BookingCacheUpdater bookingCacheUpdater;
+    private final RoomOccupancyIndex roomOccupancyIndex;
+    private final RoomNightClaimRepository roomNightClaimRepository;
 
     /**
      * Check room availability for a hotel and date range.
      * Step 3a: Calls Hotel Service to get all rooms
-     * Step 3b: Queries own DB for overlapping bookings
+     * Step 3b: Looks up overlapping bookings in the occupancy index, falling back to own DB
      * Step 3c: Filters available rooms
+     * The index can lag bookings made on other instances, so the result is advisory; createBooking re-checks in the DB.
      */
     @Transactional(readOnly = true)
     public AvailabilityResponse checkAvailability(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
@@ -70,7 +82,8 @@ public class BookingService {
         List<RoomResponse> allRooms = hotelServiceClient.getRoomsByHotel(hotelId);
         
         // Step 3b: Get booked room IDs (overlapping dates)
-        List<Long> bookedRoomIds = bookingRepository.findBookedRoomIds(hotelId, checkIn, checkOut);
+        Set<Long> bookedRoomIds = roomOccupancyIndex.findBookedRoomIds(hotelId, checkIn, checkOut)
+                .orElseGet(() -> new HashSet<>(bookingRepository.findBookedRoomIds(hotelId, checkIn, checkOut)));
         
         // Step 3c: Filter available rooms
         List<AvailableRoom> availableRooms = allRooms.stream()
@@ -141,7 +154,7 @@ public class BookingService {
     /**
      * Create a new booking.
      * Step 5a: Double-check availability (prevent race condition)
-     * Step 5b: Create booking with status PENDING
+     * Step 5b: Create booking with status PENDING and claim its room-nights
      * Step 5c: Publish Kafka event
      */
     public BookingResponse createBooking(CreateBookingRequest request, Long userId, String guestName, 
@@ -157,27 +170,30 @@ public class BookingService {
             throw new ValidationException("Check-out date cannot be in the past. Please select today or a future date.");
         }
 
-        // Validate hotel exists and is active
-        HotelDetailResponse hotel = hotelServiceClient.getHotelById(request.getHotelId());
-        String hotelStatus = hotel.getStatus();
+        // Get hotel status and room details in one call
+        BookingContextResponse room = hotelServiceClient.getBookingContext(request.getHotelId(), request.getRoomId());
+
+        // Validate hotel is active
+        String hotelStatus = room.getHotelStatus();
         if (hotelStatus == null || !"ACTIVE".equalsIgnoreCase(hotelStatus)) {
             throw new ValidationException("Hotel is not active");
         }
 
-        // Get room details
-        RoomResponse room = hotelServiceClient.getRoomById(request.getRoomId());
-        if (!room.getHotelId().equals(request.getHotelId())) {
+        // Validate room
+        if (!request.getHotelId().equals(room.getRoomHotelId())) {
             throw new ValidationException("Room does not belong to the specified hotel");
         }
         if (room.getIsActive() == null || !room.getIsActive()) {
             throw new RoomNotAvailableException("Room is not active");
         }
-        String roomStatus = room.getStatus();
+        String roomStatus = room.getRoomStatus();
         if (roomStatus == null || !"AVAILABLE".equalsIgnoreCase(roomStatus)) {
             throw new RoomNotAvailableException("Room is not available");
         }
 
         // Step 5a: Double-check availability (prevent race condition)
+        // Always against the DB, never the occupancy index, which may not have seen other instances' bookings yet
+        // Concurrent bookings of this room on this instance already queued in BookingCreationFacade
         List<Booking> overlappingBookings = bookingRepository.findOverlappingBookings(
                 request.getHotelId(),
                 request.getRoomId(),
@@ -220,6 +236,7 @@ public class BookingService {
                 .build();
 
         booking = bookingRepository.save(booking);
+        claimRoomNights(booking);
 
         // Step 5c: Publish BookingCreatedEvent
         com.hotelbooking.booking.event.BookingCreatedEvent createdEvent = 
@@ -227,6 +244,7 @@ public class BookingService {
                 .bookingId(booking.getId())
                 .userId(booking.getUserId())
                 .hotelId(booking.getHotelId())
+                .createdAt(booking.getCreatedAt())
                 .roomId(booking.getRoomId())
                 .checkInDate(booking.getCheckInDate())
                 .checkOutDate(booking.getCheckOutDate())
@@ -237,8 +255,11 @@ public class BookingService {
                 .build();
         kafkaEventPublisher.publishBookingCreated(createdEvent);
 
-        // Evict caches
-        evictBookingCaches(booking.getId(), booking.getUserId(), booking.getHotelId());
+        // Hold the room-nights in the occupancy index
+        roomOccupancyIndex.recordAfterCommit(booking);
+
+        // Patch the cached booking and list pages once the transaction commits
+        bookingCacheUpdater.bookingCreated(booking, this::toResponse);
 
         return toResponse(booking);
     }
@@ -263,6 +284,7 @@ public class BookingService {
                 .bookingId(booking.getId())
                 .userId(booking.getUserId())
                 .hotelId(booking.getHotelId())
+                .createdAt(booking.getCreatedAt())
                 .roomId(booking.getRoomId())
                 .checkInDate(booking.getCheckInDate())
                 .checkOutDate(booking.getCheckOutDate())
@@ -272,8 +294,8 @@ public class BookingService {
                 .build();
         kafkaEventPublisher.publishBookingConfirmed(confirmedEvent);
 
-        // Evict caches
-        evictBookingCaches(booking.getId(), booking.getUserId(), booking.getHotelId());
+        // Patch the cached booking and list pages once the transaction commits
+        bookingCacheUpdater.bookingChanged(booking, this::toResponse);
 
         return toResponse(booking);
     }
@@ -290,38 +312,56 @@ public class BookingService {
     }
 
     /**
-     * Get all bookings for current user
+     * Get a page of the current user's bookings, newest first.
+     * Only the default-sized first page is cached, under the user id, so eviction stays per user.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "userBookings", key = "#userId")
-    public List<BookingResponse> getMyBookings(Long userId) {
-        return bookingRepository.findByUserId(userId)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    @Cacheable(value = "userBookingPages", key = "#userId",
+               condition = "#after == null && #limit == T(com.hotelbooking.common.page.PageResponse).DEFAULT_LIMIT")
+    public PageResponse<BookingResponse> getMyBookings(Long userId, String after, int limit) {
+        KeysetCursor cursor = cursor(after);
+        return toPage(bookingRepository.findPageByUserId(userId, cursor.getCreatedAt(), cursor.getId(),
+                pageRequest(limit)), limit);
     }
 
     /**
-     * Get all bookings for a specific hotel (staff only)
+     * Get a page of a hotel's bookings, newest first (staff only).
+     * Only the default-sized first page is cached, under the hotel id.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "hotelBookings", key = "#hotelId")
-    public List<BookingResponse> getBookingsByHotel(Long hotelId) {
-        return bookingRepository.findByHotelId(hotelId)
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    @Cacheable(value = "hotelBookingPages", key = "#hotelId",
+               condition = "#after == null && #limit == T(com.hotelbooking.common.page.PageResponse).DEFAULT_LIMIT")
+    public PageResponse<BookingResponse> getBookingsByHotel(Long hotelId, String after, int limit) {
+        KeysetCursor cursor = cursor(after);
+        return toPage(bookingRepository.findPageByHotelId(hotelId, cursor.getCreatedAt(), cursor.getId(),
+                pageRequest(limit)), limit);
     }
 
     /**
-     * Get all bookings (admin only)
+     * Get a page of all bookings, newest first (admin only)
      */
     @Transactional(readOnly = true)
-    public List<BookingResponse> getAllBookings() {
-        return bookingRepository.findAll()
-                .stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public PageResponse<BookingResponse> getAllBookings(String after, int limit) {
+        KeysetCursor cursor = cursor(after);
+        return toPage(bookingRepository.findPage(cursor.getCreatedAt(), cursor.getId(), pageRequest(limit)), limit);
+    }
+
+    private KeysetCursor cursor(String after) {
+        return KeysetCursor.decode(after)
+                .orElseThrow(() -> new ValidationException("after", "is not a valid cursor"));
+    }
+
+    // One extra row tells whether another page follows
+    private Pageable pageRequest(int limit) {
+        if (limit < 1 || limit > PageResponse.MAX_LIMIT) {
+            throw new ValidationException("limit", "must be between 1 and " + PageResponse.MAX_LIMIT);
+        }
+        return PageRequest.of(0, limit + 1);
+    }
+
+    private PageResponse<BookingResponse> toPage(List<Booking> bookings, int limit) {
+        return PageResponse.of(bookings.stream().map(this::toResponse).collect(Collectors.toList()), limit,
+                booking -> new KeysetCursor(booking.getCreatedAt(), booking.getId()));
     }
 
     /**
@@ -349,6 +389,7 @@ public class BookingService {
         booking.setCancelledAt(java.time.LocalDateTime.now());
 
         booking = bookingRepository.save(booking);
+        roomNightClaimRepository.deleteByBookingId(booking.getId());
 
         // Publish BookingCancelledEvent
         com.hotelbooking.booking.event.BookingCancelledEvent cancelledEvent = 
@@ -356,6 +397,7 @@ public class BookingService {
                 .bookingId(booking.getId())
                 .userId(booking.getUserId())
                 .hotelId(booking.getHotelId())
+                .createdAt(booking.getCreatedAt())
                 .checkInDate(booking.getCheckInDate())
                 .checkOutDate(booking.getCheckOutDate())
                 .cancellationReason(booking.getCancellationReason())
@@ -364,8 +406,11 @@ public class BookingService {
                 .build();
         kafkaEventPublisher.publishBookingCancelled(cancelledEvent);
 
-        // Evict caches
-        evictBookingCaches(booking.getId(), booking.getUserId(), booking.getHotelId());
+        // Release the room-nights in the occupancy index
+        roomOccupancyIndex.recordAfterCommit(booking);
+
+        // Patch the cached booking and list pages once the transaction commits
+        bookingCacheUpdater.bookingChanged(booking, this::toResponse);
 
         return toResponse(booking);
     }
@@ -411,6 +456,7 @@ public class BookingService {
                 .bookingId(booking.getId())
                 .userId(booking.getUserId())
                 .hotelId(booking.getHotelId())
+                .createdAt(booking.getCreatedAt())
                 .checkInDate(booking.getCheckInDate())
                 .actualCheckInTimestamp(checkInTimestamp)
                 .guestEmail(booking.getGuestEmail())
@@ -418,8 +464,8 @@ public class BookingService {
                 .build();
         kafkaEventPublisher.publishGuestCheckedIn(checkedInEvent);
 
-        // Evict caches
-        evictBookingCaches(booking.getId(), booking.getUserId(), booking.getHotelId());
+        // Patch the cached booking and list pages once the transaction commits
+        bookingCacheUpdater.bookingChanged(booking, this::toResponse);
 
         return toResponse(booking);
     }
@@ -453,6 +499,7 @@ public class BookingService {
                 .bookingId(booking.getId())
                 .userId(booking.getUserId())
                 .hotelId(booking.getHotelId())
+                .createdAt(booking.getCreatedAt())
                 .checkInDate(booking.getCheckInDate())
                 .checkOutDate(booking.getCheckOutDate())
                 .actualCheckoutTimestamp(checkoutTimestamp)
@@ -461,8 +508,8 @@ public class BookingService {
                 .build();
         kafkaEventPublisher.publishCheckoutCompleted(checkoutEvent);
 
-        // Evict caches
-        evictBookingCaches(booking.getId(), booking.getUserId(), booking.getHotelId());
+        // Patch the cached booking and list pages once the transaction commits
+        bookingCacheUpdater.bookingChanged(booking, this::toResponse);
 
         return toResponse(booking);
     }
@@ -489,23 +536,23 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
-    private void evictBookingCaches(Long bookingId, Long userId, Long hotelId) {
-        // Evict individual booking
-        var bookingCache = cacheManager.getCache("bookings");
-        if (bookingCache != null) {
-            bookingCache.evict(bookingId);
-        }
-        
-        // Evict user bookings list
-        var userBookingsCache = cacheManager.getCache("userBookings");
-        if (userBookingsCache != null) {
-            userBookingsCache.evict(userId);
+    /**
+     * Insert one room_night_claims row per night of the stay.
+     * The unique (room_id, night) key rejects a concurrent booking that slipped past the overlap check.
+     */
+    private void claimRoomNights(Booking booking) {
+        List<RoomNightClaim> claims = new ArrayList<>();
+        for (LocalDate night = booking.getCheckInDate(); night.isBefore(booking.getCheckOutDate()); night = night.plusDays(1)) {
+            claims.add(RoomNightClaim.builder()
+                    .roomId(booking.getRoomId())
+                    .night(night)
+                    .bookingId(booking.getId())
+                    .build());
         }
-        
-        // Evict hotel bookings list
-        var hotelBookingsCache = cacheManager.getCache("hotelBookings");
-        if (hotelBookingsCache != null) {
-            hotelBookingsCache.evict(hotelId);
+        try {
+            roomNightClaimRepository.saveAllAndFlush(claims);
+        } catch (DataIntegrityViolationException e) {
+            throw new RoomNotAvailableException("Room is not available for the selected dates");
         }
     }
 
@@ -1,74 +1,72 @@
 package com.hotelbooking.booking.service;
 
-import java.time.LocalDateTime;
-
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.hotelbooking.booking.event.BookingCancelledEvent;
 import com.hotelbooking.booking.event.BookingConfirmedEvent;
 import com.hotelbooking.booking.event.BookingCreatedEvent;
 import com.hotelbooking.booking.event.CheckoutCompletedEvent;
 import com.hotelbooking.booking.event.GuestCheckedInEvent;
+import com.hotelbooking.common.outbox.OutboxEvent;
+import com.hotelbooking.common.outbox.OutboxEventRepository;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Queues booking events in the outbox_events table as part of the caller's transaction.
+ * Nothing is sent to Kafka here: OutboxRelay publishes the rows after commit, so rolled-back bookings
+ * never emit events and a broker outage delays events instead of losing them.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
 public class KafkaEventPublisher {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public KafkaEventPublisher(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
 
     public void publishBookingCreated(BookingCreatedEvent event) {
-        try {
-            kafkaTemplate.send("booking-created", String.valueOf(event.getBookingId()), event);
-            log.info("Published BookingCreatedEvent for bookingId: {}", event.getBookingId());
-        } catch (Exception e) {
-            log.error("Failed to publish BookingCreatedEvent for bookingId: {}", 
-                     event.getBookingId(), e);
-        }
+        enqueue("booking-created", event.getBookingId(), event);
     }
 
     public void publishBookingConfirmed(BookingConfirmedEvent event) {
-        try {
-            kafkaTemplate.send("booking-confirmed", String.valueOf(event.getBookingId()), event);
-            log.info("Published BookingConfirmedEvent for bookingId: {}", event.getBookingId());
-        } catch (Exception e) {
-            log.error("Failed to publish BookingConfirmedEvent for bookingId: {}", 
-                     event.getBookingId(), e);
-        }
+        enqueue("booking-confirmed", event.getBookingId(), event);
     }
 
     public void publishBookingCancelled(BookingCancelledEvent event) {
-        try {
-            kafkaTemplate.send("booking-cancelled", String.valueOf(event.getBookingId()), event);
-            log.info("Published BookingCancelledEvent for bookingId: {}", event.getBookingId());
-        } catch (Exception e) {
-            log.error("Failed to publish BookingCancelledEvent for bookingId: {}", 
-                     event.getBookingId(), e);
-        }
+        enqueue("booking-cancelled", event.getBookingId(), event);
     }
 
     public void publishGuestCheckedIn(GuestCheckedInEvent event) {
-        try {
-            kafkaTemplate.send("guest-checked-in", String.valueOf(event.getBookingId()), event);
-            log.info("Published GuestCheckedInEvent for bookingId: {}", event.getBookingId());
-        } catch (Exception e) {
-            log.error("Failed to publish GuestCheckedInEvent for bookingId: {}", 
-                     event.getBookingId(), e);
-        }
+        enqueue("guest-checked-in", event.getBookingId(), event);
     }
 
     public void publishCheckoutCompleted(CheckoutCompletedEvent event) {
+        enqueue("checkout-completed", event.getBookingId(), event);
+    }
+
+    private void enqueue(String topic, Long bookingId, Object event) {
+        String payload;
         try {
-            kafkaTemplate.send("checkout-completed", String.valueOf(event.getBookingId()), event);
-            log.info("Published CheckoutCompletedEvent for bookingId: {}", event.getBookingId());
-        } catch (Exception e) {
-            log.error("Failed to publish CheckoutCompletedEvent for bookingId: {}", 
-                     event.getBookingId(), e);
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getClass().getSimpleName()
+                    + " for bookingId: " + bookingId, e);
         }
+
+        outboxEventRepository.save(
+                new OutboxEvent(topic, String.valueOf(bookingId), event.getClass().getName(), payload));
+        log.info("Queued {} for bookingId: {}", event.getClass().getSimpleName(), bookingId);
     }
 }
-
@@ -0,0 +1,67 @@
+package com.hotelbooking.booking.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hotelbooking.booking.exception.RoomNotAvailableException;
+
+/**
+ * Striped in-JVM locks keyed by roomId.
+ * Serializes concurrent bookings of the same room inside one instance so losers fail on the
+ * availability check instead of racing to the room_night_claims unique key. The unique key
+ * remains the guarantee across instances; these locks only cut contention before it reaches the DB.
+ * Locks are taken before the booking transaction opens, so a request waiting on a busy room does
+ * not hold a pooled connection while it waits.
+ */
+@Component
+public class RoomBookingLocks {
+
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final ReentrantLock[] stripes;
+
+    public RoomBookingLocks(@Value("${booking.room-locks.enabled:true}") boolean enabled,
+                            @Value("${booking.room-locks.stripes:64}") int stripeCount,
+                            @Value("${booking.room-locks.timeout-ms:5000}") long timeoutMillis) {
+        this.enabled = enabled;
+        this.timeoutMillis = timeoutMillis;
+        this.stripes = new ReentrantLock[Math.max(stripeCount, 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run the action holding the room's stripe. The action is expected to open and commit its own
+     * transaction, so the next booking for the same room sees this one committed.
+     *
+     * @throws IllegalStateException if called inside a transaction
+     */
+    public <T> T callWithRoomLock(Long roomId, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Room locks must be taken before the booking transaction opens");
+        }
+        ReentrantLock lock = stripes[Math.floorMod(roomId.hashCode(), stripes.length)];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RoomNotAvailableException("Room is being booked by another request. Please try again.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RoomNotAvailableException("Room is being booked by another request. Please try again.");
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.hotelbooking.booking.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.enums.BookingStatus;
+import com.hotelbooking.booking.repository.BookingRepository;
+import com.hotelbooking.booking.repository.BookingRepository.RoomStay;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory room-night occupancy index.
+ * Keeps one bitset per room (grouped by hotel) covering a rolling window of nights starting today,
+ * so availability checks inside the window never touch the database.
+ * Queries outside the window, or before the index is warmed, return empty and callers fall back to the DB.
+ * <p>
+ * The index is per instance: it sees this instance's own writes at once, but bookings made through other
+ * booking-service replicas only after the next rebuild, so its answers can be stale by up to the refresh interval.
+ * Treat it as a hint for availability search only. The booking path never trusts it: createBooking re-checks
+ * overlaps against the bookings table and the room_night_claims unique key rejects whatever still slips through.
+ */
+@Component
+@Slf4j
+public class RoomOccupancyIndex {
+
+    static final int WINDOW_DAYS = 365;
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+
+    private volatile Map<Long, HotelOccupancy> hotels = new ConcurrentHashMap<>();
+    private volatile boolean warmed;
+
+    // Changes recorded while a rebuild is loading its snapshot, replayed once the snapshot is swapped in
+    private List<Change> pendingChanges;
+
+    public RoomOccupancyIndex(BookingRepository bookingRepository,
+                              @Value("${booking.occupancy-index.enabled:true}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Rebuild the index from the bookings table.
+     * Runs at startup and periodically afterwards, so changes made by other booking-service instances are picked up.
+     */
+    @Scheduled(initialDelayString = "${booking.occupancy-index.refresh-interval-ms:300000}",
+               fixedDelayString = "${booking.occupancy-index.refresh-interval-ms:300000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+            }
+
+            LocalDate today = LocalDate.now();
+            Map<Long, HotelOccupancy> snapshot = new ConcurrentHashMap<>();
+            List<RoomStay> stays = bookingRepository.findActiveRoomStays(today);
+            for (RoomStay stay : stays) {
+                snapshot.computeIfAbsent(stay.getHotelId(), id -> new HotelOccupancy(today))
+                        .mark(stay.getRoomId(), stay.getCheckInDate(), stay.getCheckOutDate(), true);
+            }
+
+            synchronized (this) {
+                hotels = snapshot;
+                pendingChanges.forEach(this::applyNow);
+                pendingChanges = null;
+                warmed = true;
+            }
+            log.info("Occupancy index rebuilt with {} active stays across {} hotels", stays.size(), snapshot.size());
+        } catch (Exception e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            log.error("Failed to rebuild occupancy index, availability checks will use the database", e);
+        }
+    }
+
+    /**
+     * Find the rooms of a hotel that are occupied on any night in [checkIn, checkOut).
+     * Returns empty when the index cannot answer (disabled, not warmed, or dates outside the window).
+     */
+    public Optional<Set<Long>> findBookedRoomIds(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        if (!enabled || !warmed) {
+            return Optional.empty();
+        }
+        LocalDate today = LocalDate.now();
+        if (checkIn.isBefore(today) || checkOut.isAfter(today.plusDays(WINDOW_DAYS))) {
+            return Optional.empty();
+        }
+        HotelOccupancy occupancy = hotels.get(hotelId);
+        if (occupancy == null) {
+            return Optional.of(Set.of());
+        }
+        return Optional.of(occupancy.bookedRooms(checkIn, checkOut));
+    }
+
+    /**
+     * Record a booking change once the surrounding transaction commits.
+     * Cancelled bookings release their nights, every other status holds them.
+     */
+    public void recordAfterCommit(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        Change change = new Change(booking.getHotelId(), booking.getRoomId(),
+                booking.getCheckInDate(), booking.getCheckOutDate(),
+                booking.getStatus() != BookingStatus.CANCELLED);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(change);
+                }
+            });
+        } else {
+            record(change);
+        }
+    }
+
+    private synchronized void record(Change change) {
+        applyNow(change);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private void applyNow(Change change) {
+        hotels.computeIfAbsent(change.hotelId(), id -> new HotelOccupancy(LocalDate.now()))
+                .mark(change.roomId(), change.checkIn(), change.checkOut(), change.occupied());
+    }
+
+    private record Change(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut, boolean occupied) {
+    }
+
+    /**
+     * Bitsets for the rooms of one hotel. Bit n of a room is set when the night (windowStart + n) is taken.
+     * The window rolls forward lazily on the first access after midnight.
+     */
+    private static final class HotelOccupancy {
+
+        private final Map<Long, BitSet> rooms = new HashMap<>();
+        private LocalDate windowStart;
+
+        HotelOccupancy(LocalDate windowStart) {
+            this.windowStart = windowStart;
+        }
+
+        synchronized void mark(Long roomId, LocalDate checkIn, LocalDate checkOut, boolean occupied) {
+            roll();
+            int from = Math.max(offset(checkIn), 0);
+            int to = Math.min(offset(checkOut), WINDOW_DAYS);
+            if (from >= to) {
+                return;
+            }
+            if (occupied) {
+                rooms.computeIfAbsent(roomId, id -> new BitSet(WINDOW_DAYS)).set(from, to);
+            } else {
+                BitSet nights = rooms.get(roomId);
+                if (nights != null) {
+                    nights.clear(from, to);
+                }
+            }
+        }
+
+        synchronized Set<Long> bookedRooms(LocalDate checkIn, LocalDate checkOut) {
+            roll();
+            int from = offset(checkIn);
+            int to = offset(checkOut);
+            Set<Long> booked = new HashSet<>();
+            for (Map.Entry<Long, BitSet> entry : rooms.entrySet()) {
+                int next = entry.getValue().nextSetBit(from);
+                if (next >= 0 && next < to) {
+                    booked.add(entry.getKey());
+                }
+            }
+            return booked;
+        }
+
+        private void roll() {
+            LocalDate today = LocalDate.now();
+            int shift = offset(today);
+            if (shift <= 0) {
+                return;
+            }
+            rooms.replaceAll((roomId, nights) -> nights.get(shift, Math.max(shift, WINDOW_DAYS)));
+            rooms.values().removeIf(BitSet::isEmpty);
+            windowStart = today;
+        }
+
+        private int offset(LocalDate date) {
+            return (int) (date.toEpochDay() - windowStart.toEpochDay());
+        }
+    }
+}
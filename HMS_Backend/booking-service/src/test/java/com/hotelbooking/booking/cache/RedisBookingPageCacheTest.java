@@ -0,0 +1,136 @@
+package com.hotelbooking.booking.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.serializer.JacksonJsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.util.ByteUtils;
+
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.common.page.PageResponse;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Drives the WATCH/MULTI/EXEC loop against a mocked Redis connection.
+ */
+class RedisBookingPageCacheTest {
+
+    private static final byte[] KEY = "hotelBookingPages::10".getBytes(StandardCharsets.UTF_8);
+
+    private RedisConnection connection;
+    private RedisStringCommands stringCommands;
+    private RedisKeyCommands keyCommands;
+    private RedisCacheConfiguration cacheConfiguration;
+    private RedisBookingPageCache pageCache;
+
+    @BeforeEach
+    void setUp() {
+        JsonMapper mapper = JsonMapper.builder().build();
+        cacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .serializeValuesWith(SerializationPair.fromSerializer(new JacksonJsonRedisSerializer<>(mapper,
+                        mapper.getTypeFactory().constructParametricType(PageResponse.class, BookingResponse.class))));
+
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        connection = mock(RedisConnection.class);
+        stringCommands = mock(RedisStringCommands.class);
+        keyCommands = mock(RedisKeyCommands.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(keyCommands.pTtl(KEY)).thenReturn(60_000L);
+
+        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
+                .withCacheConfiguration("hotelBookingPages", cacheConfiguration)
+                .build();
+        cacheManager.initializeCaches();
+        pageCache = new RedisBookingPageCache(cacheManager, connectionFactory, 3);
+    }
+
+    @Test
+    void testUpdate_RetriesOnFreshReadWhenKeyChanged() {
+        when(stringCommands.get(KEY)).thenReturn(bytes(page(1L)), bytes(page(2L, 1L)));
+        // First EXEC is discarded because another writer changed the key after WATCH
+        when(connection.exec()).thenReturn(List.of(), List.of(true));
+
+        pageCache.update("hotelBookingPages", 10L, page -> prepend(page, 3L));
+
+        ArgumentCaptor<byte[]> written = ArgumentCaptor.forClass(byte[].class);
+        verify(connection, times(2)).watch(KEY);
+        verify(stringCommands, times(2)).pSetEx(eq(KEY), eq(60_000L), written.capture());
+        assertEquals(List.of(3L, 2L, 1L), ids(read(written.getValue())));
+        verify(keyCommands, never()).del(KEY);
+    }
+
+    @Test
+    void testUpdate_EvictsAfterMaxAttempts() {
+        when(stringCommands.get(KEY)).thenReturn(bytes(page(1L)));
+        when(connection.exec()).thenReturn(List.of());
+
+        pageCache.update("hotelBookingPages", 10L, page -> prepend(page, 3L));
+
+        verify(connection, times(3)).exec();
+        verify(keyCommands).del(KEY);
+    }
+
+    @Test
+    void testUpdate_NothingCachedOrNothingToChange() {
+        when(stringCommands.get(KEY)).thenReturn(null, bytes(page(1L)));
+
+        pageCache.update("hotelBookingPages", 10L, page -> prepend(page, 3L));
+        pageCache.update("hotelBookingPages", 10L, page -> page);
+
+        verify(connection, times(2)).unwatch();
+        verify(connection, never()).multi();
+        verify(stringCommands, never()).pSetEx(any(), anyLong(), any());
+    }
+
+    private PageResponse<BookingResponse> page(Long... ids) {
+        List<BookingResponse> items = new ArrayList<>();
+        for (Long id : ids) {
+            items.add(BookingResponse.builder().id(id).build());
+        }
+        return new PageResponse<>(items, null);
+    }
+
+    private PageResponse<BookingResponse> prepend(PageResponse<BookingResponse> page, Long id) {
+        List<BookingResponse> items = new ArrayList<>(page.getItems());
+        items.add(0, BookingResponse.builder().id(id).build());
+        return new PageResponse<>(items, null);
+    }
+
+    private List<Long> ids(PageResponse<BookingResponse> page) {
+        return page.getItems().stream().map(BookingResponse::getId).toList();
+    }
+
+    private byte[] bytes(PageResponse<BookingResponse> page) {
+        return ByteUtils.getBytes(cacheConfiguration.getValueSerializationPair().write(page));
+    }
+
+    @SuppressWarnings("unchecked")
+    private PageResponse<BookingResponse> read(byte[] value) {
+        return (PageResponse<BookingResponse>) cacheConfiguration.getValueSerializationPair().read(ByteBuffer.wrap(value));
+    }
+}
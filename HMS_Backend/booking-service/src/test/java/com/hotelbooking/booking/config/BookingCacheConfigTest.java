@@ -0,0 +1,74 @@
+package com.hotelbooking.booking.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager.RedisCacheManagerBuilder;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.booking.enums.BookingStatus;
+import com.hotelbooking.common.page.PageResponse;
+
+class BookingCacheConfigTest {
+
+    @Test
+    void testCustomizer_PerCacheTtlAndJsonValues() {
+        RedisCacheManagerBuilder builder = customizedBuilder();
+
+        assertEquals(Duration.ofMinutes(10), ttl(builder, "bookings"));
+        assertEquals(Duration.ofMinutes(5), ttl(builder, "userBookingPages"));
+        assertEquals(Duration.ofMinutes(2), ttl(builder, "hotelBookingPages"));
+
+        RedisCacheConfiguration pages = builder.getCacheConfigurationFor("hotelBookingPages").orElseThrow();
+        BookingResponse booking = BookingResponse.builder()
+                .id(7L)
+                .hotelId(1L)
+                .status(BookingStatus.CONFIRMED)
+                .checkInDate(LocalDate.of(2026, 3, 1))
+                .totalAmount(new BigDecimal("2000.00"))
+                .createdAt(LocalDateTime.of(2026, 2, 1, 9, 30))
+                .build();
+
+        ByteBuffer written = pages.getValueSerializationPair().write(new PageResponse<>(List.of(booking), "next"));
+        String json = StandardCharsets.UTF_8.decode(written.duplicate()).toString();
+        @SuppressWarnings("unchecked")
+        PageResponse<BookingResponse> read = (PageResponse<BookingResponse>) pages.getValueSerializationPair().read(written);
+
+        // Plain JSON: no Java class names or JDK serialization header in the stored value
+        assertFalse(json.contains("com.hotelbooking"));
+        assertEquals("next", read.getNextCursor());
+        assertEquals(7L, read.getItems().get(0).getId());
+        assertEquals(BookingStatus.CONFIRMED, read.getItems().get(0).getStatus());
+        assertEquals(LocalDateTime.of(2026, 2, 1, 9, 30), read.getItems().get(0).getCreatedAt());
+    }
+
+    private RedisCacheManagerBuilder customizedBuilder() {
+        BookingCacheConfig config = new BookingCacheConfig();
+        ReflectionTestUtils.setField(config, "bookingsTtl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(config, "userBookingsTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "hotelBookingsTtl", Duration.ofMinutes(2));
+
+        RedisCacheManagerBuilder builder = RedisCacheManager.builder(mock(RedisConnectionFactory.class));
+        config.bookingCacheCustomizer().customize(builder);
+        return builder;
+    }
+
+    private Duration ttl(RedisCacheManagerBuilder builder, String cacheName) {
+        return builder.getCacheConfigurationFor(cacheName).orElseThrow()
+                .getTtlFunction().getTimeToLive(null, null);
+    }
+}
@@ -5,8 +5,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -20,7 +24,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.hotelbooking.booking.dto.request.CancelBookingRequest;
 import com.hotelbooking.booking.dto.request.CheckInRequest;
@@ -33,7 +39,11 @@ import com.hotelbooking.booking.enums.BookingStatus;
 import com.hotelbooking.booking.exception.AccessDeniedException;
 import com.hotelbooking.booking.exception.BookingNotFoundException;
 import com.hotelbooking.booking.exception.ValidationException;
+import com.hotelbooking.booking.service.BookingCreationFacade;
+import com.hotelbooking.booking.service.BookingExportService;
 import com.hotelbooking.booking.service.BookingService;
+import com.hotelbooking.common.export.ExportFormat;
+import com.hotelbooking.common.page.PageResponse;
 
 @ExtendWith(MockitoExtension.class)
 class BookingControllerTest {
@@ -41,6 +51,12 @@ class BookingControllerTest {
     @Mock
     private BookingService bookingService;
 
+    @Mock
+    private BookingCreationFacade bookingCreationFacade;
+
+    @Mock
+    private BookingExportService bookingExportService;
+
     @InjectMocks
     private BookingController bookingController;
 
@@ -84,7 +100,7 @@ class BookingControllerTest {
 
     @Test
     void testCreateBooking_Success() {
-        when(bookingService.createBooking(any(CreateBookingRequest.class), anyLong(), any(), any(), any(), any()))
+        when(bookingCreationFacade.createBooking(any(CreateBookingRequest.class), anyLong(), any(), any(), any(), any()))
                 .thenReturn(bookingResponse);
 
         ResponseEntity<?> response = bookingController.createBooking(1L, "GUEST", "test@example.com", "testuser", createBookingRequest);
@@ -114,7 +130,7 @@ class BookingControllerTest {
         walkInRequest.setGuestPhone("1234567890");
         walkInRequest.setNumberOfGuests(2);
 
-        when(bookingService.createWalkInBooking(any(WalkInBookingRequest.class), anyLong(), any()))
+        when(bookingCreationFacade.createWalkInBooking(any(WalkInBookingRequest.class), anyLong(), any()))
                 .thenReturn(bookingResponse);
 
         ResponseEntity<?> response = bookingController.createWalkInBooking(1L, "RECEPTIONIST", walkInRequest);
@@ -157,10 +173,10 @@ class BookingControllerTest {
 
     @Test
     void testGetMyBookings_Success() {
-        List<BookingResponse> bookings = Arrays.asList(bookingResponse);
-        when(bookingService.getMyBookings(1L)).thenReturn(bookings);
+        PageResponse<BookingResponse> page = new PageResponse<>(Arrays.asList(bookingResponse), null);
+        when(bookingService.getMyBookings(1L, null, PageResponse.DEFAULT_LIMIT)).thenReturn(page);
 
-        ResponseEntity<?> response = bookingController.getMyBookings(1L);
+        ResponseEntity<?> response = bookingController.getMyBookings(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -168,10 +184,10 @@ class BookingControllerTest {
 
     @Test
     void testGetBookingsByHotel_Success() {
-        List<BookingResponse> bookings = Arrays.asList(bookingResponse);
-        when(bookingService.getBookingsByHotel(1L)).thenReturn(bookings);
+        PageResponse<BookingResponse> page = new PageResponse<>(Arrays.asList(bookingResponse), "next");
+        when(bookingService.getBookingsByHotel(1L, "cursor", 20)).thenReturn(page);
 
-        ResponseEntity<?> response = bookingController.getBookingsByHotel("MANAGER", 1L, 1L);
+        ResponseEntity<?> response = bookingController.getBookingsByHotel("MANAGER", 1L, 1L, "cursor", 20);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -180,23 +196,23 @@ class BookingControllerTest {
     @Test
     void testGetBookingsByHotel_InvalidRole() {
         assertThrows(AccessDeniedException.class, () -> {
-            bookingController.getBookingsByHotel("GUEST", 1L, 1L);
+            bookingController.getBookingsByHotel("GUEST", 1L, 1L, null, PageResponse.DEFAULT_LIMIT);
         });
     }
 
     @Test
     void testGetBookingsByHotel_WrongHotel() {
         assertThrows(AccessDeniedException.class, () -> {
-            bookingController.getBookingsByHotel("MANAGER", 1L, 2L);
+            bookingController.getBookingsByHotel("MANAGER", 1L, 2L, null, PageResponse.DEFAULT_LIMIT);
         });
     }
 
     @Test
     void testGetAllBookings_Success() {
-        List<BookingResponse> bookings = Arrays.asList(bookingResponse);
-        when(bookingService.getAllBookings()).thenReturn(bookings);
+        PageResponse<BookingResponse> page = new PageResponse<>(Arrays.asList(bookingResponse), null);
+        when(bookingService.getAllBookings(null, PageResponse.DEFAULT_LIMIT)).thenReturn(page);
 
-        ResponseEntity<?> response = bookingController.getAllBookings("ADMIN");
+        ResponseEntity<?> response = bookingController.getAllBookings("ADMIN", null, PageResponse.DEFAULT_LIMIT);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -205,7 +221,7 @@ class BookingControllerTest {
     @Test
     void testGetAllBookings_InvalidRole() {
         assertThrows(AccessDeniedException.class, () -> {
-            bookingController.getAllBookings("GUEST");
+            bookingController.getAllBookings("GUEST", null, PageResponse.DEFAULT_LIMIT);
         });
     }
 
@@ -334,7 +350,7 @@ class BookingControllerTest {
     @Test
     void testGetBookingsByHotel_MissingHotelId() {
         assertThrows(ValidationException.class, () -> {
-            bookingController.getBookingsByHotel("MANAGER", null, 1L);
+            bookingController.getBookingsByHotel("MANAGER", null, 1L, null, PageResponse.DEFAULT_LIMIT);
         });
     }
 
@@ -381,5 +397,42 @@ class BookingControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
     }
-}
 
+    @Test
+    void testExportBookings_AdminStreamsCsv() throws Exception {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 31);
+
+        ResponseEntity<StreamingResponseBody> response =
+                bookingController.exportBookings("ADMIN", null, from, to, 2L, "CSV");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.parseMediaType("text/csv"), response.getHeaders().getContentType());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        verify(bookingExportService).exportBookings(eq(from), eq(to), eq(2L), eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void testExportBookings_ManagerLimitedToOwnHotel() throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                bookingController.exportBookings("MANAGER", 5L, null, null, null, "ndjson");
+        response.getBody().writeTo(new ByteArrayOutputStream());
+        verify(bookingExportService).exportBookings(eq(null), eq(null), eq(5L), eq(ExportFormat.NDJSON), any());
+
+        assertThrows(AccessDeniedException.class, () ->
+                bookingController.exportBookings("MANAGER", 5L, null, null, 6L, "ndjson"));
+    }
+
+    @Test
+    void testExportBookings_Rejected() {
+        assertThrows(AccessDeniedException.class, () ->
+                bookingController.exportBookings("GUEST", null, null, null, null, "csv"));
+        assertThrows(ValidationException.class, () ->
+                bookingController.exportBookings("ADMIN", null, null, null, null, "xml"));
+        assertThrows(ValidationException.class, () ->
+                bookingController.exportBookings("ADMIN", null, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1),
+                        null, "csv"));
+        verifyNoInteractions(bookingExportService);
+    }
+}
@@ -0,0 +1,146 @@
+package com.hotelbooking.booking.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * H2 benchmark for the booking overlap queries.
+ * Seeds the bookings table with idx_bookings_overlap and compares the rows H2 scans (EXPLAIN ANALYZE scanCount)
+ * for the old three-branch OR predicate against the half-open one, on the same indexed table.
+ * Skipped by default because seeding takes a while. Run with:
+ * mvn test -Dtest=BookingOverlapQueryBenchmarkTest -Dbenchmark.overlap=true [-Dbenchmark.bookings=N]
+ */
+@EnabledIfSystemProperty(named = "benchmark.overlap", matches = "true")
+class BookingOverlapQueryBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.bookings", 1_000_000);
+    private static final int ROOMS = 5_000;
+    private static final int HOTELS = 100;
+
+    // A 9-night window in the middle of the seeded stays, which start every 3 days from 2020-01-01
+    private static final LocalDate WINDOW_FROM = LocalDate.of(2020, 1, 1).plusDays(ROWS / ROOMS * 3 / 2);
+    private static final LocalDate WINDOW_TO = WINDOW_FROM.plusDays(9);
+
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    private static final String OLD_OVERLAP = """
+            SELECT id FROM bookings
+            WHERE hotel_id = 2 AND room_id = 1
+            AND status != 'CANCELLED'
+            AND (
+                (check_in_date <= DATE '%1$s' AND check_out_date > DATE '%1$s')
+                OR (check_in_date < DATE '%2$s' AND check_out_date >= DATE '%2$s')
+                OR (check_in_date >= DATE '%1$s' AND check_out_date <= DATE '%2$s')
+            )
+            """.formatted(WINDOW_FROM, WINDOW_TO);
+
+    private static final String NEW_OVERLAP = """
+            SELECT id FROM bookings
+            WHERE hotel_id = 2 AND room_id = 1
+            AND check_in_date < DATE '%2$s'
+            AND check_out_date > DATE '%1$s'
+            AND status != 'CANCELLED'
+            """.formatted(WINDOW_FROM, WINDOW_TO);
+
+    private static final String NEW_BOOKED_ROOMS = """
+            SELECT DISTINCT room_id FROM bookings
+            WHERE hotel_id = 2
+            AND check_in_date < DATE '%2$s'
+            AND check_out_date > DATE '%1$s'
+            AND status != 'CANCELLED'
+            """.formatted(WINDOW_FROM, WINDOW_TO);
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:overlap-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE bookings (
+                        id BIGINT PRIMARY KEY,
+                        hotel_id BIGINT NOT NULL,
+                        room_id BIGINT NOT NULL,
+                        check_in_date DATE NOT NULL,
+                        check_out_date DATE NOT NULL,
+                        status VARCHAR(20) NOT NULL
+                    )
+                    """);
+            // Each room gets back-to-back 2-night stays every 3 days; every fifth stay is cancelled
+            statement.execute("""
+                    INSERT INTO bookings
+                    SELECT x,
+                           MOD(MOD(x, %1$d), %2$d) + 1,
+                           MOD(x, %1$d),
+                           DATEADD(DAY, (x / %1$d) * 3, DATE '2020-01-01'),
+                           DATEADD(DAY, (x / %1$d) * 3 + 2, DATE '2020-01-01'),
+                           CASE WHEN MOD(x / %1$d, 5) = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END
+                    FROM SYSTEM_RANGE(1, %3$d)
+                    """.formatted(ROOMS, HOTELS, ROWS));
+            statement.execute("""
+                    CREATE INDEX idx_bookings_overlap
+                    ON bookings (hotel_id, room_id, check_in_date, check_out_date, status)
+                    """);
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    @Test
+    void testHalfOpenPredicate_ScansFewerRowsThanOldPredicate() throws SQLException {
+        long oldScans = scanCount(OLD_OVERLAP);
+        long newScans = scanCount(NEW_OVERLAP);
+        long bookedRoomScans = scanCount(NEW_BOOKED_ROOMS);
+
+        assertEquals(count(OLD_OVERLAP), count(NEW_OVERLAP));
+        assertTrue(count(NEW_OVERLAP) > 0, "query window should overlap seeded stays");
+        // Both can seek on (hotel_id, room_id); only the half-open form also bounds check_in_date
+        assertTrue(newScans < oldScans, "half-open predicate scanned " + newScans + " rows, old one " + oldScans);
+        assertTrue(oldScans * 100 < ROWS, "room lookup should stay within the room's index range");
+        assertTrue(bookedRoomScans * 10 < ROWS, "hotel-wide lookup should stay within the hotel's index range");
+    }
+
+    private static long scanCount(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN ANALYZE " + sql)) {
+            rs.next();
+            Matcher matcher = SCAN_COUNT.matcher(rs.getString(1));
+            long total = 0;
+            while (matcher.find()) {
+                total += Long.parseLong(matcher.group(1));
+            }
+            return total;
+        }
+    }
+
+    private static int count(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            int rows = 0;
+            while (rs.next()) {
+                rows++;
+            }
+            return rows;
+        }
+    }
+}
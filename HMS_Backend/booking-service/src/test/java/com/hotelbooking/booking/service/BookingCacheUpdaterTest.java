@@ -0,0 +1,206 @@
+package com.hotelbooking.booking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hotelbooking.booking.cache.LocalBookingPageCache;
+import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.booking.enums.BookingStatus;
+import com.hotelbooking.common.page.KeysetCursor;
+import com.hotelbooking.common.page.PageResponse;
+
+class BookingCacheUpdaterTest {
+
+    private static final Function<Booking, BookingResponse> TO_RESPONSE = booking -> BookingResponse.builder()
+            .id(booking.getId())
+            .userId(booking.getUserId())
+            .hotelId(booking.getHotelId())
+            .status(booking.getStatus())
+            .createdAt(booking.getCreatedAt())
+            .updatedAt(booking.getUpdatedAt())
+            .build();
+
+    private final LocalDateTime base = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private ConcurrentMapCacheManager cacheManager;
+    private BookingCacheUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        updater = new BookingCacheUpdater(cacheManager, new LocalBookingPageCache(cacheManager));
+    }
+
+    @Test
+    void testBookingChanged_ReplacesRowInCachedPages() {
+        cache("userBookingPages").put(1L, page(List.of(response(2L, BookingStatus.CREATED), response(1L, BookingStatus.CREATED)), null));
+        cache("hotelBookingPages").put(10L, page(List.of(response(2L, BookingStatus.CREATED)), "cursor"));
+
+        updater.bookingChanged(booking(2L, BookingStatus.CHECKED_IN), TO_RESPONSE);
+
+        PageResponse<BookingResponse> userPage = cachedPage("userBookingPages", 1L);
+        assertEquals(2, userPage.getItems().size());
+        assertEquals(BookingStatus.CHECKED_IN, userPage.getItems().get(0).getStatus());
+        assertEquals(BookingStatus.CHECKED_IN, cachedPage("hotelBookingPages", 10L).getItems().get(0).getStatus());
+        assertEquals("cursor", cachedPage("hotelBookingPages", 10L).getNextCursor());
+        assertEquals(BookingStatus.CHECKED_IN, cache("bookings").get(2L, BookingResponse.class).getStatus());
+    }
+
+    @Test
+    void testBookingChanged_OlderVersionDoesNotOverwriteRow() {
+        BookingResponse cancelled = response(2L, BookingStatus.CANCELLED);
+        cancelled.setUpdatedAt(base.plusHours(2));
+        cache("hotelBookingPages").put(10L, page(List.of(cancelled), null));
+
+        // The confirm committed first but its after-commit update runs after the cancel's
+        Booking confirmed = booking(2L, BookingStatus.CONFIRMED);
+        confirmed.setUpdatedAt(base.plusHours(1));
+        updater.bookingChanged(confirmed, TO_RESPONSE);
+
+        assertEquals(BookingStatus.CANCELLED, cachedPage("hotelBookingPages", 10L).getItems().get(0).getStatus());
+    }
+
+    @Test
+    void testBookingCreated_PushesOntoFullPageAndMovesCursor() {
+        List<BookingResponse> items = new ArrayList<>();
+        for (long id = PageResponse.DEFAULT_LIMIT; id >= 1; id--) {
+            items.add(response(id, BookingStatus.CONFIRMED));
+        }
+        cache("hotelBookingPages").put(10L, page(items, null));
+
+        Long newId = PageResponse.DEFAULT_LIMIT + 1L;
+        updater.bookingCreated(booking(newId, BookingStatus.CREATED), TO_RESPONSE);
+
+        PageResponse<BookingResponse> page = cachedPage("hotelBookingPages", 10L);
+        assertEquals(PageResponse.DEFAULT_LIMIT, page.getItems().size());
+        assertEquals(newId, page.getItems().get(0).getId());
+        // Booking 1 dropped off the end, so the next page starts after booking 2
+        assertEquals(2L, KeysetCursor.decode(page.getNextCursor()).orElseThrow().getId());
+    }
+
+    @Test
+    void testBookingCreated_OutOfOrderKeepsListOrder() {
+        cache("hotelBookingPages").put(10L, page(List.of(response(5L, BookingStatus.CREATED), response(3L, BookingStatus.CREATED)), null));
+
+        updater.bookingCreated(booking(4L, BookingStatus.CREATED), TO_RESPONSE);
+
+        assertEquals(List.of(5L, 4L, 3L), ids(cachedPage("hotelBookingPages", 10L)));
+    }
+
+    @Test
+    void testBookingChanged_NotOnCachedPage() {
+        PageResponse<BookingResponse> partial = page(List.of(response(5L, BookingStatus.CREATED)), "cursor");
+        cache("userBookingPages").put(1L, partial);
+        cache("hotelBookingPages").put(10L, page(List.of(response(5L, BookingStatus.CREATED)), null));
+
+        updater.bookingChanged(booking(3L, BookingStatus.CANCELLED), TO_RESPONSE);
+
+        // Booking 3 is on a later (uncached) user page; the complete hotel page is stale without it
+        assertSame(partial, cache("userBookingPages").get(1L, PageResponse.class));
+        assertNull(cache("hotelBookingPages").get(10L));
+    }
+
+    @Test
+    void testBookingCreated_NothingCached() {
+        updater.bookingCreated(booking(1L, BookingStatus.CREATED), TO_RESPONSE);
+
+        assertNull(cache("userBookingPages").get(1L));
+        assertNull(cache("hotelBookingPages").get(10L));
+        assertNotNull(cache("bookings").get(1L));
+    }
+
+    @Test
+    void testBookingCreated_ConcurrentWritesKeepEveryRow() throws Exception {
+        cache("hotelBookingPages").put(10L, page(List.of(), null));
+        int writers = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (long id = 1; id <= writers; id++) {
+                Booking booking = booking(id, BookingStatus.CREATED);
+                executor.submit(() -> {
+                    start.await();
+                    updater.bookingCreated(booking, TO_RESPONSE);
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        List<Long> ids = ids(cachedPage("hotelBookingPages", 10L));
+        assertEquals(writers, ids.size());
+        assertEquals(ids.stream().sorted(Comparator.reverseOrder()).toList(), ids);
+    }
+
+    @Test
+    void testBookingChanged_RolledBackLeavesCacheAlone() {
+        PageResponse<BookingResponse> cached = page(List.of(response(2L, BookingStatus.CREATED)), null);
+        cache("hotelBookingPages").put(10L, cached);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            updater.bookingChanged(booking(2L, BookingStatus.CANCELLED), TO_RESPONSE);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertSame(cached, cache("hotelBookingPages").get(10L, PageResponse.class));
+        assertNull(cache("bookings").get(2L));
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PageResponse<BookingResponse> cachedPage(String name, Long key) {
+        return cache(name).get(key, PageResponse.class);
+    }
+
+    private List<Long> ids(PageResponse<BookingResponse> page) {
+        return page.getItems().stream().map(BookingResponse::getId).toList();
+    }
+
+    private PageResponse<BookingResponse> page(List<BookingResponse> items, String nextCursor) {
+        return new PageResponse<>(new ArrayList<>(items), nextCursor);
+    }
+
+    private Booking booking(Long id, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .userId(1L)
+                .hotelId(10L)
+                .status(status)
+                .createdAt(base.plusMinutes(id))
+                .build();
+    }
+
+    private BookingResponse response(Long id, BookingStatus status) {
+        return TO_RESPONSE.apply(booking(id, status));
+    }
+}
@@ -0,0 +1,140 @@
+package com.hotelbooking.booking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.hotelbooking.booking.domain.RoomNightClaim;
+import com.hotelbooking.booking.dto.request.CreateBookingRequest;
+import com.hotelbooking.booking.dto.response.BookingContextResponse;
+import com.hotelbooking.booking.exception.RoomNotAvailableException;
+import com.hotelbooking.booking.feign.HotelServiceClient;
+import com.hotelbooking.booking.repository.BookingRepository;
+import com.hotelbooking.booking.repository.RoomNightClaimRepository;
+
+/**
+ * Fires parallel bookings at a single room against the H2 database and checks that exactly one wins.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class BookingConcurrencyStressTest {
+
+    private static final int PARALLEL_BOOKINGS = 500;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private BookingCreationFacade bookingCreationFacade;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomNightClaimRepository roomNightClaimRepository;
+
+    @MockitoBean
+    private HotelServiceClient hotelServiceClient;
+
+    @MockitoBean
+    private KafkaEventPublisher kafkaEventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        BookingContextResponse context = new BookingContextResponse(1L, "ACTIVE", 7L, 1L, "107", "STANDARD",
+                BigDecimal.valueOf(1000), 2, "AVAILABLE", true);
+        when(hotelServiceClient.getBookingContext(1L, 7L)).thenReturn(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        roomNightClaimRepository.deleteAll();
+        bookingRepository.deleteAll();
+    }
+
+    @Test
+    void testParallelBookingsForOneRoom_ExactlyOneWins() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < PARALLEL_BOOKINGS; i++) {
+            long userId = i + 1L;
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingCreationFacade.createBooking(request(), userId, "Guest " + userId, "guest@example.com", null, "GUEST");
+                    return true;
+                } catch (RoomNotAvailableException e) {
+                    rejected.incrementAndGet();
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int winners = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(2, TimeUnit.MINUTES)) {
+                winners++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, winners);
+        assertEquals(PARALLEL_BOOKINGS - 1, rejected.get());
+        assertEquals(1, bookingRepository.count());
+        assertEquals(2, roomNightClaimRepository.count());
+    }
+
+    @Test
+    void testClaimedNightRejectedEvenWhenOverlapCheckPasses() {
+        // A claim with no visible booking, as left by a concurrent transaction on another instance
+        roomNightClaimRepository.save(RoomNightClaim.builder()
+                .roomId(7L)
+                .night(LocalDate.now().plusDays(2))
+                .bookingId(999L)
+                .build());
+
+        assertThrows(RoomNotAvailableException.class, () ->
+                bookingCreationFacade.createBooking(request(), 1L, "Guest", "guest@example.com", null, "GUEST"));
+
+        assertEquals(0, bookingRepository.count());
+        assertTrue(roomNightClaimRepository.findAll().stream().allMatch(c -> c.getBookingId() == 999L));
+    }
+
+    private CreateBookingRequest request() {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setHotelId(1L);
+        request.setRoomId(7L);
+        request.setCheckInDate(LocalDate.now().plusDays(1));
+        request.setCheckOutDate(LocalDate.now().plusDays(3));
+        request.setNumberOfGuests(2);
+        return request;
+    }
+}
@@ -0,0 +1,105 @@
+package com.hotelbooking.booking.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.hotelbooking.booking.dto.request.CreateBookingRequest;
+import com.hotelbooking.booking.dto.request.WalkInBookingRequest;
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.booking.exception.RoomNotAvailableException;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCreationFacadeTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    private BookingCreationFacade facade;
+    private CreateBookingRequest request;
+
+    @BeforeEach
+    void setUp() {
+        facade = new BookingCreationFacade(bookingService, new RoomBookingLocks(true, 64, 100));
+        request = new CreateBookingRequest();
+        request.setHotelId(1L);
+        request.setRoomId(7L);
+        request.setCheckInDate(LocalDate.now().plusDays(1));
+        request.setCheckOutDate(LocalDate.now().plusDays(3));
+    }
+
+    @Test
+    void testCreateBooking_DelegatesToBookingService() {
+        BookingResponse response = BookingResponse.builder().id(1L).build();
+        when(bookingService.createBooking(request, 1L, "Guest", "guest@example.com", null, "GUEST")).thenReturn(response);
+
+        assertSame(response, facade.createBooking(request, 1L, "Guest", "guest@example.com", null, "GUEST"));
+    }
+
+    @Test
+    void testCreateWalkInBooking_DelegatesToBookingService() {
+        WalkInBookingRequest walkIn = new WalkInBookingRequest();
+        walkIn.setRoomId(7L);
+        BookingResponse response = BookingResponse.builder().id(2L).build();
+        when(bookingService.createWalkInBooking(walkIn, 3L, "RECEPTIONIST")).thenReturn(response);
+
+        assertSame(response, facade.createWalkInBooking(walkIn, 3L, "RECEPTIONIST"));
+    }
+
+    @Test
+    void testCreateBooking_SecondRequestForSameRoomTimesOutWhileFirstHoldsLock() throws Exception {
+        CountDownLatch insideFirst = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        when(bookingService.createBooking(any(), anyLong(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            insideFirst.countDown();
+            releaseFirst.await();
+            return BookingResponse.builder().id(1L).build();
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<BookingResponse> first = executor.submit(() ->
+                    facade.createBooking(request, 1L, "Guest", "guest@example.com", null, "GUEST"));
+            assertTrue(insideFirst.await(5, TimeUnit.SECONDS));
+
+            assertThrows(RoomNotAvailableException.class, () ->
+                    facade.createBooking(request, 2L, "Guest", "guest@example.com", null, "GUEST"));
+
+            releaseFirst.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCreateBooking_RefusesToLockInsideTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(IllegalStateException.class, () ->
+                    facade.createBooking(request, 1L, "Guest", "guest@example.com", null, "GUEST"));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        verify(bookingService, never()).createBooking(any(), anyLong(), any(), any(), any(), any());
+    }
+}
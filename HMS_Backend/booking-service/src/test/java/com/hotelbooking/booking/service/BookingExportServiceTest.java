@@ -0,0 +1,122 @@
+package com.hotelbooking.booking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.repository.BookingRepository;
+import com.hotelbooking.common.export.ExportFormat;
+
+/**
+ * Streams bookings out of the H2 database and checks the CSV and NDJSON output and filters.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class BookingExportServiceTest {
+
+    @Autowired
+    private BookingExportService bookingExportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        Booking first = bookingRepository.save(booking(1L, "Asha, Rao"));
+        bookingRepository.save(booking(1L, "Ben \"B\" Cole"));
+        bookingRepository.save(booking(2L, "Chen"));
+        // created_at is set on insert; move the first booking back ten days
+        jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?",
+                today.minusDays(10).atTime(9, 0), first.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+    }
+
+    @Test
+    void testExportBookings_CsvEscapesAndFiltersByHotel() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = bookingExportService.exportBookings(null, null, 1L, ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rows);
+        assertEquals(3, lines.size());
+        assertEquals(String.join(",", BookingExportService.COLUMNS), lines.get(0));
+        assertTrue(lines.get(1).contains(",\"Asha, Rao\","));
+        assertTrue(lines.get(2).contains(",\"Ben \"\"B\"\" Cole\","));
+    }
+
+    @Test
+    void testExportBookings_NdjsonWithDateRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = bookingExportService.exportBookings(today.minusDays(1), today, null, ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, rows);
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertEquals("Ben \"B\" Cole", first.get("guestName").asText());
+        assertEquals(today.plusDays(1).toString(), first.get("checkInDate").asText());
+        assertEquals(0, new BigDecimal("2000.00").compareTo(first.get("totalAmount").decimalValue()));
+        assertEquals(2L, second.get("hotelId").asLong());
+    }
+
+    @Test
+    void testExportBookings_EmptyRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = bookingExportService.exportBookings(today.minusDays(5), today.minusDays(2), null,
+                ExportFormat.NDJSON, out);
+
+        assertEquals(0, rows);
+        assertEquals(0, out.size());
+    }
+
+    private Booking booking(Long hotelId, String guestName) {
+        return Booking.builder()
+                .userId(1L)
+                .hotelId(hotelId)
+                .roomId(7L)
+                .checkInDate(today.plusDays(1))
+                .checkOutDate(today.plusDays(3))
+                .totalAmount(new BigDecimal("2000.00"))
+                .guestName(guestName)
+                .guestEmail("guest@example.com")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.hotelbooking.booking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.dto.response.BookingResponse;
+import com.hotelbooking.booking.exception.ValidationException;
+import com.hotelbooking.booking.repository.BookingRepository;
+import com.hotelbooking.common.page.PageResponse;
+
+/**
+ * Walks booking lists page by page against H2 and checks that the keyset cursor
+ * neither skips nor repeats rows, including rows that share a created_at.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class BookingPaginationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> expectedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        // Three bookings share one timestamp so the id tie-breaker is exercised
+        LocalDateTime[] createdAt = {
+            base.minusHours(3), base.minusHours(1), base.minusHours(1), base.minusHours(1), base
+        };
+        List<Long> ids = new ArrayList<>();
+        for (LocalDateTime timestamp : createdAt) {
+            Long id = bookingRepository.save(booking(1L)).getId();
+            // created_at is set on insert; overwrite it with the test timestamp
+            jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?", timestamp, id);
+            ids.add(id);
+        }
+        bookingRepository.save(booking(2L));
+
+        // Newest first, ties broken by the higher id
+        expectedIds.addAll(List.of(ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        expectedIds.clear();
+    }
+
+    @Test
+    void testGetMyBookings_WalksAllPagesInOrder() {
+        List<Long> seen = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            PageResponse<BookingResponse> page = bookingService.getMyBookings(1L, after, 2);
+            page.getItems().forEach(booking -> seen.add(booking.getId()));
+            after = page.getNextCursor();
+            pages++;
+        } while (after != null);
+
+        assertEquals(expectedIds, seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void testGetMyBookings_ExactFitHasNoNextCursor() {
+        PageResponse<BookingResponse> page = bookingService.getMyBookings(1L, null, 5);
+
+        assertEquals(5, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetAllBookings_IncludesEveryUser() {
+        PageResponse<BookingResponse> first = bookingService.getAllBookings(null, 4);
+        PageResponse<BookingResponse> second = bookingService.getAllBookings(first.getNextCursor(), 4);
+
+        assertNotNull(first.getNextCursor());
+        assertEquals(6, first.getItems().size() + second.getItems().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testInvalidCursorAndLimit() {
+        assertThrows(ValidationException.class, () -> bookingService.getMyBookings(1L, "not-a-cursor", 2));
+        assertThrows(ValidationException.class,
+                () -> bookingService.getMyBookings(1L, null, PageResponse.MAX_LIMIT + 1));
+    }
+
+    private Booking booking(Long userId) {
+        return Booking.builder()
+                .userId(userId)
+                .hotelId(1L)
+                .roomId(7L)
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(2))
+                .totalAmount(new BigDecimal("1000.00"))
+                .guestName("Guest")
+                .guestEmail("guest@example.com")
+                .build();
+    }
+}
@@ -2,31 +2,36 @@ package com.hotelbooking.booking.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 
 import com.hotelbooking.booking.domain.Booking;
 import com.hotelbooking.booking.dto.request.CancelBookingRequest;
@@ -35,11 +40,12 @@ import com.hotelbooking.booking.dto.request.CheckOutRequest;
 import com.hotelbooking.booking.dto.request.CreateBookingRequest;
 import com.hotelbooking.booking.dto.request.WalkInBookingRequest;
 import com.hotelbooking.booking.dto.response.AvailabilityResponse;
+import com.hotelbooking.booking.dto.response.BookingContextResponse;
 import com.hotelbooking.booking.dto.response.BookingResponse;
-import com.hotelbooking.booking.dto.response.HotelDetailResponse;
 import com.hotelbooking.booking.dto.response.RoomResponse;
 import com.hotelbooking.booking.enums.BookingSource;
 import com.hotelbooking.booking.enums.BookingStatus;
+import com.hotelbooking.booking.event.BookingCancelledEvent;
 import com.hotelbooking.booking.exception.AccessDeniedException;
 import com.hotelbooking.booking.exception.BookingNotFoundException;
 import com.hotelbooking.booking.exception.InvalidBookingStatusException;
@@ -47,6 +53,8 @@ import com.hotelbooking.booking.exception.RoomNotAvailableException;
 import com.hotelbooking.booking.exception.ValidationException;
 import com.hotelbooking.booking.feign.HotelServiceClient;
 import com.hotelbooking.booking.repository.BookingRepository;
+import com.hotelbooking.booking.repository.RoomNightClaimRepository;
+import com.hotelbooking.common.page.PageResponse;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -62,14 +70,20 @@ class BookingServiceTest {
     private KafkaEventPublisher kafkaEventPublisher;
 
     @Mock
-    private CacheManager cacheManager;
+    private BookingCacheUpdater bookingCacheUpdater;
+
+    @Mock
+    private RoomOccupancyIndex roomOccupancyIndex;
+
+    @Mock
+    private RoomNightClaimRepository roomNightClaimRepository;
 
     @InjectMocks
     private BookingService bookingService;
 
     private CreateBookingRequest createRequest;
     private Booking testBooking;
-    private HotelDetailResponse hotelResponse;
+    private BookingContextResponse bookingContext;
     private RoomResponse roomResponse;
 
     @BeforeEach
@@ -81,9 +95,8 @@ class BookingServiceTest {
         createRequest.setCheckOutDate(LocalDate.now().plusDays(3));
         createRequest.setNumberOfGuests(2);
 
-        hotelResponse = new HotelDetailResponse();
-        hotelResponse.setId(1L);
-        hotelResponse.setStatus("ACTIVE");
+        bookingContext = new BookingContextResponse(1L, "ACTIVE", 1L, 1L, "101", "STANDARD",
+                BigDecimal.valueOf(1000), 2, "AVAILABLE", true);
 
         roomResponse = new RoomResponse();
         roomResponse.setId(1L);
@@ -111,14 +124,6 @@ class BookingServiceTest {
                 .guestEmail("test@example.com")
                 .numberOfGuests(2)
                 .build();
-
-        // Lenient stubbing for cache manager
-        Cache bookingCache = new ConcurrentMapCacheManager().getCache("bookings");
-        Cache userBookingsCache = new ConcurrentMapCacheManager().getCache("userBookings");
-        Cache hotelBookingsCache = new ConcurrentMapCacheManager().getCache("hotelBookings");
-        lenient().when(cacheManager.getCache("bookings")).thenReturn(bookingCache);
-        lenient().when(cacheManager.getCache("userBookings")).thenReturn(userBookingsCache);
-        lenient().when(cacheManager.getCache("hotelBookings")).thenReturn(hotelBookingsCache);
     }
 
     @Test
@@ -135,6 +140,24 @@ class BookingServiceTest {
         assertEquals(1L, response.getTotalRooms());
     }
 
+    @Test
+    void testCheckAvailability_UsesOccupancyIndex() {
+        RoomResponse bookedRoom = new RoomResponse();
+        bookedRoom.setId(2L);
+        bookedRoom.setHotelId(1L);
+        bookedRoom.setStatus("AVAILABLE");
+        bookedRoom.setIsActive(true);
+        when(hotelServiceClient.getRoomsByHotel(1L)).thenReturn(Arrays.asList(roomResponse, bookedRoom));
+        when(roomOccupancyIndex.findBookedRoomIds(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Optional.of(Set.of(2L)));
+
+        AvailabilityResponse response = bookingService.checkAvailability(1L, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+
+        assertEquals(1L, response.getAvailableRooms());
+        assertEquals(1L, response.getAvailableRoomsList().get(0).getRoomId());
+        verify(bookingRepository, never()).findBookedRoomIds(anyLong(), any(LocalDate.class), any(LocalDate.class));
+    }
+
     @Test
     void testCheckAvailability_NullDates() {
         assertThrows(ValidationException.class, () -> {
@@ -158,8 +181,7 @@ class BookingServiceTest {
 
     @Test
     void testCreateBooking_Success() {
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
         when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Collections.emptyList());
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
@@ -169,13 +191,29 @@ class BookingServiceTest {
 
         assertNotNull(response);
         assertEquals(1L, response.getId());
+        verify(roomNightClaimRepository).saveAllAndFlush(anyList());
         verify(kafkaEventPublisher).publishBookingCreated(any());
     }
 
+    @Test
+    void testCreateBooking_RoomNightAlreadyClaimed() {
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
+        when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Collections.emptyList());
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(roomNightClaimRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_room_night"));
+
+        assertThrows(RoomNotAvailableException.class, () -> {
+            bookingService.createBooking(createRequest, 1L, "Test Guest", "test@example.com", "1234567890", "GUEST");
+        });
+        verify(kafkaEventPublisher, never()).publishBookingCreated(any());
+    }
+
     @Test
     void testCreateBooking_HotelNotActive() {
-        hotelResponse.setStatus("INACTIVE");
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
+        bookingContext.setHotelStatus("INACTIVE");
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
 
         assertThrows(ValidationException.class, () -> {
             bookingService.createBooking(createRequest, 1L, "Test Guest", "test@example.com", "1234567890", "GUEST");
@@ -184,9 +222,8 @@ class BookingServiceTest {
 
     @Test
     void testCreateBooking_RoomNotBelongToHotel() {
-        roomResponse.setHotelId(2L);
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        bookingContext.setRoomHotelId(2L);
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
 
         assertThrows(ValidationException.class, () -> {
             bookingService.createBooking(createRequest, 1L, "Test Guest", "test@example.com", "1234567890", "GUEST");
@@ -195,9 +232,8 @@ class BookingServiceTest {
 
     @Test
     void testCreateBooking_RoomNotActive() {
-        roomResponse.setIsActive(false);
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        bookingContext.setIsActive(false);
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
 
         assertThrows(RoomNotAvailableException.class, () -> {
             bookingService.createBooking(createRequest, 1L, "Test Guest", "test@example.com", "1234567890", "GUEST");
@@ -206,9 +242,8 @@ class BookingServiceTest {
 
     @Test
     void testCreateBooking_RoomNotAvailable() {
-        roomResponse.setStatus("OCCUPIED");
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        bookingContext.setRoomStatus("OCCUPIED");
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
 
         assertThrows(RoomNotAvailableException.class, () -> {
             bookingService.createBooking(createRequest, 1L, "Test Guest", "test@example.com", "1234567890", "GUEST");
@@ -218,8 +253,7 @@ class BookingServiceTest {
     @Test
     void testCreateBooking_OverlappingBookings() {
         Booking overlappingBooking = Booking.builder().id(2L).build();
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
         when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Arrays.asList(overlappingBooking));
 
@@ -228,6 +262,22 @@ class BookingServiceTest {
         });
     }
 
+    @Test
+    void testCreateBooking_RechecksDbWhenIndexIsStale() {
+        // Another instance booked the room; this instance's index has not caught up yet
+        when(roomOccupancyIndex.findBookedRoomIds(anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Optional.of(Set.of()));
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
+        when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Arrays.asList(Booking.builder().id(2L).build()));
+
+        assertThrows(RoomNotAvailableException.class, () -> {
+            bookingService.createBooking(createRequest, 1L, "Test Guest", "test@example.com", "1234567890", "GUEST");
+        });
+        verify(roomOccupancyIndex, never()).findBookedRoomIds(anyLong(), any(LocalDate.class), any(LocalDate.class));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     void testCreateWalkInBooking_Success() {
         WalkInBookingRequest walkInRequest = new WalkInBookingRequest();
@@ -259,8 +309,7 @@ class BookingServiceTest {
                 .numberOfGuests(2)
                 .build();
 
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
         when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Collections.emptyList());
         when(bookingRepository.save(any(Booking.class))).thenReturn(walkInBooking);
@@ -326,23 +375,26 @@ class BookingServiceTest {
     @Test
     void testGetMyBookings_Success() {
         List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findByUserId(1L)).thenReturn(bookings);
+        when(bookingRepository.findPageByUserId(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(bookings);
 
-        List<BookingResponse> response = bookingService.getMyBookings(1L);
+        PageResponse<BookingResponse> response = bookingService.getMyBookings(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(1, response.size());
+        assertEquals(1, response.getItems().size());
+        assertNull(response.getNextCursor());
     }
 
     @Test
     void testGetBookingsByHotel_Success() {
         List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findByHotelId(1L)).thenReturn(bookings);
+        when(bookingRepository.findPageByHotelId(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(bookings);
 
-        List<BookingResponse> response = bookingService.getBookingsByHotel(1L);
+        PageResponse<BookingResponse> response = bookingService.getBookingsByHotel(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(1, response.size());
+        assertEquals(1, response.getItems().size());
     }
 
     @Test
@@ -358,9 +410,28 @@ class BookingServiceTest {
         BookingResponse response = bookingService.cancelBooking(1L, 1L, "GUEST", cancelRequest);
 
         assertNotNull(response);
+        verify(roomNightClaimRepository).deleteByBookingId(1L);
         verify(kafkaEventPublisher).publishBookingCancelled(any());
     }
 
+    @Test
+    void testCancelBooking_EventCarriesBookingCreationTime() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 10, 23, 50);
+        testBooking.setStatus(BookingStatus.CREATED);
+        testBooking.setCreatedAt(createdAt);
+        CancelBookingRequest cancelRequest = new CancelBookingRequest();
+        cancelRequest.setReason("Change of plans");
+
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+        bookingService.cancelBooking(1L, 1L, "GUEST", cancelRequest);
+
+        ArgumentCaptor<BookingCancelledEvent> event = ArgumentCaptor.forClass(BookingCancelledEvent.class);
+        verify(kafkaEventPublisher).publishBookingCancelled(event.capture());
+        assertEquals(createdAt, event.getValue().getCreatedAt());
+    }
+
     @Test
     void testCancelBooking_AccessDenied() {
         testBooking.setUserId(2L);
@@ -402,6 +473,7 @@ class BookingServiceTest {
 
         assertNotNull(response);
         verify(kafkaEventPublisher).publishGuestCheckedIn(any());
+        verify(bookingCacheUpdater).bookingChanged(eq(testBooking), any());
     }
 
     @Test
@@ -480,12 +552,12 @@ class BookingServiceTest {
     @Test
     void testGetAllBookings_Success() {
         List<Booking> bookings = Arrays.asList(testBooking);
-        when(bookingRepository.findAll()).thenReturn(bookings);
+        when(bookingRepository.findPage(any(LocalDateTime.class), anyLong(), any(Pageable.class))).thenReturn(bookings);
 
-        List<BookingResponse> response = bookingService.getAllBookings();
+        PageResponse<BookingResponse> response = bookingService.getAllBookings(null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(1, response.size());
+        assertEquals(1, response.getItems().size());
     }
 
     @Test
@@ -543,8 +615,7 @@ class BookingServiceTest {
 
     @Test
     void testCreateBooking_WithManagerRole() {
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
         when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Collections.emptyList());
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
@@ -558,8 +629,7 @@ class BookingServiceTest {
 
     @Test
     void testCreateBooking_WithAdminRole() {
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
         when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Collections.emptyList());
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
@@ -649,8 +719,7 @@ class BookingServiceTest {
 
     @Test
     void testEvictBookingCaches_CalledOnCreate() {
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
         when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Collections.emptyList());
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
@@ -663,22 +732,18 @@ class BookingServiceTest {
     }
 
     @Test
-    void testEvictBookingCaches_WithNullCaches() {
-        when(cacheManager.getCache("bookings")).thenReturn(null);
-        when(cacheManager.getCache("userBookings")).thenReturn(null);
-        when(cacheManager.getCache("hotelBookings")).thenReturn(null);
-
-        when(hotelServiceClient.getHotelById(1L)).thenReturn(hotelResponse);
-        when(hotelServiceClient.getRoomById(1L)).thenReturn(roomResponse);
+    void testCreateBooking_PatchesCachesInsteadOfEvicting() {
+        when(hotelServiceClient.getBookingContext(1L, 1L)).thenReturn(bookingContext);
         when(bookingRepository.findOverlappingBookings(anyLong(), anyLong(), any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(Collections.emptyList());
         when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
         doNothing().when(kafkaEventPublisher).publishBookingCreated(any());
 
-        // Should not throw exception even if caches are null
         BookingResponse response = bookingService.createBooking(createRequest, 1L, "Test Guest", "test@example.com", "1234567890", "GUEST");
 
         assertNotNull(response);
+        verify(bookingCacheUpdater).bookingCreated(eq(testBooking), any());
+        verify(bookingCacheUpdater, never()).bookingChanged(any(), any());
     }
 
     @Test
@@ -696,32 +761,35 @@ class BookingServiceTest {
 
     @Test
     void testGetMyBookings_EmptyList() {
-        when(bookingRepository.findByUserId(1L)).thenReturn(Collections.emptyList());
+        when(bookingRepository.findPageByUserId(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
-        List<BookingResponse> response = bookingService.getMyBookings(1L);
+        PageResponse<BookingResponse> response = bookingService.getMyBookings(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(0, response.size());
+        assertEquals(0, response.getItems().size());
     }
 
     @Test
     void testGetBookingsByHotel_EmptyList() {
-        when(bookingRepository.findByHotelId(1L)).thenReturn(Collections.emptyList());
+        when(bookingRepository.findPageByHotelId(eq(1L), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
-        List<BookingResponse> response = bookingService.getBookingsByHotel(1L);
+        PageResponse<BookingResponse> response = bookingService.getBookingsByHotel(1L, null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(0, response.size());
+        assertEquals(0, response.getItems().size());
     }
 
     @Test
     void testGetAllBookings_EmptyList() {
-        when(bookingRepository.findAll()).thenReturn(Collections.emptyList());
+        when(bookingRepository.findPage(any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
-        List<BookingResponse> response = bookingService.getAllBookings();
+        PageResponse<BookingResponse> response = bookingService.getAllBookings(null, PageResponse.DEFAULT_LIMIT);
 
         assertNotNull(response);
-        assertEquals(0, response.size());
+        assertEquals(0, response.getItems().size());
     }
 
     @Test
@@ -1,11 +1,8 @@
 package com.hotelbooking.booking.service;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -13,25 +10,28 @@ import java.time.LocalDateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.hotelbooking.booking.event.BookingCancelledEvent;
 import com.hotelbooking.booking.event.BookingConfirmedEvent;
 import com.hotelbooking.booking.event.BookingCreatedEvent;
 import com.hotelbooking.booking.event.CheckoutCompletedEvent;
 import com.hotelbooking.booking.event.GuestCheckedInEvent;
+import com.hotelbooking.common.outbox.OutboxEvent;
+import com.hotelbooking.common.outbox.OutboxEventRepository;
 
 @ExtendWith(MockitoExtension.class)
 class KafkaEventPublisherTest {
 
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxEventRepository outboxEventRepository;
 
-    @InjectMocks
     private KafkaEventPublisher kafkaEventPublisher;
+    private ObjectMapper objectMapper;
 
     private BookingCreatedEvent bookingCreatedEvent;
     private BookingConfirmedEvent bookingConfirmedEvent;
@@ -41,6 +41,10 @@ class KafkaEventPublisherTest {
 
     @BeforeEach
     void setUp() {
+        kafkaEventPublisher = new KafkaEventPublisher(outboxEventRepository);
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+
         bookingCreatedEvent = BookingCreatedEvent.builder()
                 .bookingId(1L)
                 .userId(1L)
@@ -100,94 +104,60 @@ class KafkaEventPublisherTest {
     }
 
     @Test
-    void testPublishBookingCreated_Success() {
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(null);
-
+    void testPublishBookingCreated_QueuesOutboxEvent() throws Exception {
         kafkaEventPublisher.publishBookingCreated(bookingCreatedEvent);
 
-        verify(kafkaTemplate).send(eq("booking-created"), eq("1"), eq(bookingCreatedEvent));
-    }
-
-    @Test
-    void testPublishBookingCreated_Exception() {
-        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), anyString(), any());
+        OutboxEvent saved = captureSaved();
+        assertEquals("booking-created", saved.getTopic());
+        assertEquals("1", saved.getEventKey());
+        assertEquals(BookingCreatedEvent.class.getName(), saved.getEventType());
+        assertNull(saved.getPublishedAt());
 
-        // Should not throw exception, just log error
-        kafkaEventPublisher.publishBookingCreated(bookingCreatedEvent);
-
-        verify(kafkaTemplate).send(eq("booking-created"), eq("1"), eq(bookingCreatedEvent));
+        BookingCreatedEvent payload = objectMapper.readValue(saved.getPayload(), BookingCreatedEvent.class);
+        assertEquals(bookingCreatedEvent.getCheckInDate(), payload.getCheckInDate());
+        assertEquals("test@example.com", payload.getGuestEmail());
     }
 
     @Test
-    void testPublishBookingConfirmed_Success() {
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(null);
-
+    void testPublishBookingConfirmed_QueuesOutboxEvent() {
         kafkaEventPublisher.publishBookingConfirmed(bookingConfirmedEvent);
 
-        verify(kafkaTemplate).send(eq("booking-confirmed"), eq("1"), eq(bookingConfirmedEvent));
-    }
-
-    @Test
-    void testPublishBookingConfirmed_Exception() {
-        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), anyString(), any());
-
-        kafkaEventPublisher.publishBookingConfirmed(bookingConfirmedEvent);
-
-        verify(kafkaTemplate).send(eq("booking-confirmed"), eq("1"), eq(bookingConfirmedEvent));
-    }
-
-    @Test
-    void testPublishBookingCancelled_Success() {
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(null);
-
-        kafkaEventPublisher.publishBookingCancelled(bookingCancelledEvent);
-
-        verify(kafkaTemplate).send(eq("booking-cancelled"), eq("1"), eq(bookingCancelledEvent));
+        OutboxEvent saved = captureSaved();
+        assertEquals("booking-confirmed", saved.getTopic());
+        assertEquals(BookingConfirmedEvent.class.getName(), saved.getEventType());
     }
 
     @Test
-    void testPublishBookingCancelled_Exception() {
-        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), anyString(), any());
-
+    void testPublishBookingCancelled_QueuesOutboxEvent() {
         kafkaEventPublisher.publishBookingCancelled(bookingCancelledEvent);
 
-        verify(kafkaTemplate).send(eq("booking-cancelled"), eq("1"), eq(bookingCancelledEvent));
+        OutboxEvent saved = captureSaved();
+        assertEquals("booking-cancelled", saved.getTopic());
+        assertEquals(BookingCancelledEvent.class.getName(), saved.getEventType());
     }
 
     @Test
-    void testPublishGuestCheckedIn_Success() {
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(null);
-
+    void testPublishGuestCheckedIn_QueuesOutboxEvent() throws Exception {
         kafkaEventPublisher.publishGuestCheckedIn(guestCheckedInEvent);
 
-        verify(kafkaTemplate).send(eq("guest-checked-in"), eq("1"), eq(guestCheckedInEvent));
+        OutboxEvent saved = captureSaved();
+        assertEquals("guest-checked-in", saved.getTopic());
+        GuestCheckedInEvent payload = objectMapper.readValue(saved.getPayload(), GuestCheckedInEvent.class);
+        assertEquals(guestCheckedInEvent.getActualCheckInTimestamp(), payload.getActualCheckInTimestamp());
     }
 
     @Test
-    void testPublishGuestCheckedIn_Exception() {
-        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), anyString(), any());
-
-        kafkaEventPublisher.publishGuestCheckedIn(guestCheckedInEvent);
-
-        verify(kafkaTemplate).send(eq("guest-checked-in"), eq("1"), eq(guestCheckedInEvent));
-    }
-
-    @Test
-    void testPublishCheckoutCompleted_Success() {
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(null);
-
+    void testPublishCheckoutCompleted_QueuesOutboxEvent() {
         kafkaEventPublisher.publishCheckoutCompleted(checkoutCompletedEvent);
 
-        verify(kafkaTemplate).send(eq("checkout-completed"), eq("1"), eq(checkoutCompletedEvent));
+        OutboxEvent saved = captureSaved();
+        assertEquals("checkout-completed", saved.getTopic());
+        assertEquals(CheckoutCompletedEvent.class.getName(), saved.getEventType());
     }
 
-    @Test
-    void testPublishCheckoutCompleted_Exception() {
-        doThrow(new RuntimeException("Kafka error")).when(kafkaTemplate).send(anyString(), anyString(), any());
-
-        kafkaEventPublisher.publishCheckoutCompleted(checkoutCompletedEvent);
-
-        verify(kafkaTemplate).send(eq("checkout-completed"), eq("1"), eq(checkoutCompletedEvent));
+    private OutboxEvent captureSaved() {
+        ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(captor.capture());
+        return captor.getValue();
     }
 }
-
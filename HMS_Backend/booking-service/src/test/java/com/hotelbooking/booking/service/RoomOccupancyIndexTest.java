@@ -0,0 +1,140 @@
+package com.hotelbooking.booking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.hotelbooking.booking.domain.Booking;
+import com.hotelbooking.booking.enums.BookingStatus;
+import com.hotelbooking.booking.repository.BookingRepository;
+import com.hotelbooking.booking.repository.BookingRepository.RoomStay;
+
+@ExtendWith(MockitoExtension.class)
+class RoomOccupancyIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private RoomOccupancyIndex index;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        index = new RoomOccupancyIndex(bookingRepository, true);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void testFindBookedRoomIds_NotWarmed() {
+        assertTrue(index.findBookedRoomIds(1L, today.plusDays(1), today.plusDays(3)).isEmpty());
+    }
+
+    @Test
+    void testRebuild_WarmsFromRepository() {
+        when(bookingRepository.findActiveRoomStays(today))
+                .thenReturn(List.of(stay(1L, 10L, today.plusDays(2), today.plusDays(5))));
+
+        index.rebuild();
+
+        assertEquals(Optional.of(Set.of(10L)), index.findBookedRoomIds(1L, today.plusDays(4), today.plusDays(6)));
+        // Check-out night is free (half-open interval)
+        assertEquals(Optional.of(Set.of()), index.findBookedRoomIds(1L, today.plusDays(5), today.plusDays(7)));
+        assertEquals(Optional.of(Set.of()), index.findBookedRoomIds(1L, today, today.plusDays(2)));
+        // Hotel with no bookings
+        assertEquals(Optional.of(Set.of()), index.findBookedRoomIds(2L, today, today.plusDays(2)));
+    }
+
+    @Test
+    void testRebuild_RepositoryFailureLeavesIndexCold() {
+        when(bookingRepository.findActiveRoomStays(any(LocalDate.class))).thenThrow(new RuntimeException("DB down"));
+
+        index.rebuild();
+
+        assertTrue(index.findBookedRoomIds(1L, today, today.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    void testRecordAfterCommit_CreateAndCancel() {
+        when(bookingRepository.findActiveRoomStays(today)).thenReturn(List.of());
+        index.rebuild();
+
+        Booking booking = booking(today.plusDays(1), today.plusDays(3), BookingStatus.CREATED);
+        index.recordAfterCommit(booking);
+        assertEquals(Optional.of(Set.of(10L)), index.findBookedRoomIds(1L, today.plusDays(2), today.plusDays(4)));
+
+        booking.setStatus(BookingStatus.CANCELLED);
+        index.recordAfterCommit(booking);
+        assertEquals(Optional.of(Set.of()), index.findBookedRoomIds(1L, today.plusDays(2), today.plusDays(4)));
+    }
+
+    @Test
+    void testFindBookedRoomIds_OutsideWindow() {
+        when(bookingRepository.findActiveRoomStays(today)).thenReturn(List.of());
+        index.rebuild();
+
+        assertTrue(index.findBookedRoomIds(1L, today.plusDays(360),
+                today.plusDays(RoomOccupancyIndex.WINDOW_DAYS + 1)).isEmpty());
+    }
+
+    @Test
+    void testDisabled() {
+        RoomOccupancyIndex disabled = new RoomOccupancyIndex(bookingRepository, false);
+
+        disabled.rebuild();
+
+        verify(bookingRepository, never()).findActiveRoomStays(any(LocalDate.class));
+        assertTrue(disabled.findBookedRoomIds(1L, today, today.plusDays(1)).isEmpty());
+    }
+
+    private Booking booking(LocalDate checkIn, LocalDate checkOut, BookingStatus status) {
+        return Booking.builder()
+                .id(1L)
+                .userId(1L)
+                .hotelId(1L)
+                .roomId(10L)
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .totalAmount(BigDecimal.valueOf(2000))
+                .status(status)
+                .build();
+    }
+
+    private RoomStay stay(Long hotelId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new RoomStay() {
+            @Override
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            @Override
+            public Long getRoomId() {
+                return roomId;
+            }
+
+            @Override
+            public LocalDate getCheckInDate() {
+                return checkIn;
+            }
+
+            @Override
+            public LocalDate getCheckOutDate() {
+                return checkOut;
+            }
+        };
+    }
+}
@@ -0,0 +1,289 @@
+package com.hotelbooking.common.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drains outbox_events to Kafka in batches, in three steps so no database transaction spans a broker call:
+ * <ol>
+ *   <li>claim: a short transaction locks the next batch (SKIP LOCKED) and leases it until now + lease-ms;</li>
+ *   <li>send: outside any transaction, every event is handed to the producer without waiting per record
+ *       (the producer batches and compresses them), then the batch is awaited as a whole;</li>
+ *   <li>record: a second short transaction stamps the outcome and drops the leases.</li>
+ * </ol>
+ * A relay that dies between claim and record only delays its batch until the lease runs out; the rows are then
+ * claimed again, so delivery is at-least-once. A row whose send fails stays pending and is retried on the next run.
+ * After max-attempts it is marked failed, logged once and counted in &lt;prefix&gt;.outbox.dead instead of pending.
+ * Events for one key keep their order: once an event fails, later events with the same key in the batch
+ * are held back and go out again after it on the next run, even if the broker already took them.
+ * If the producer rejects a send outright (e.g. no broker metadata within max.block.ms), the rest of the batch is
+ * handed back unsent instead of blocking once per event.
+ * <p>
+ * Each service registers one relay as a bean with its own prefix (e.g. "booking"), which names both its
+ * properties (&lt;prefix&gt;.outbox.*) and its metrics. The relay schedules its own drain and purge runs.
+ */
+public class OutboxRelay implements SchedulingConfigurer {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final long intervalMillis;
+    private final long purgeIntervalMillis;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long sendTimeoutMillis;
+    private final Duration lease;
+    private final Duration retention;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong deadEvents = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    /**
+     * @param prefix     property and metric prefix, e.g. "booking" for booking.outbox.relay.batch-size
+     * @param properties where the &lt;prefix&gt;.outbox.* settings are read from, normally the Environment
+     */
+    public OutboxRelay(String prefix,
+                       OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       PropertyResolver properties) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+
+        String relay = prefix + ".outbox.relay.";
+        this.enabled = properties.getProperty(relay + "enabled", Boolean.class, true);
+        this.intervalMillis = properties.getProperty(relay + "interval-ms", Long.class, 500L);
+        this.batchSize = properties.getProperty(relay + "batch-size", Integer.class, 500);
+        this.maxAttempts = properties.getProperty(relay + "max-attempts", Integer.class, 10);
+        this.sendTimeoutMillis = properties.getProperty(relay + "send-timeout-ms", Long.class, 20000L);
+        long leaseMillis = properties.getProperty(relay + "lease-ms", Long.class, 60000L);
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofHours(properties.getProperty(prefix + ".outbox.retention-hours", Long.class, 24L));
+        this.purgeIntervalMillis = properties.getProperty(prefix + ".outbox.purge-interval-ms", Long.class, 3600000L);
+        if (leaseMillis <= sendTimeoutMillis) {
+            log.warn("Outbox lease ({} ms) is not longer than the send timeout ({} ms); "
+                    + "another instance may re-send a batch that is still in flight", leaseMillis, sendTimeoutMillis);
+        }
+
+        this.publishedCounter = Counter.builder(prefix + ".outbox.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder(prefix + ".outbox.failed")
+                .description("Outbox event sends that failed, including ones given up on")
+                .register(meterRegistry);
+        Gauge.builder(prefix + ".outbox.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events not yet published")
+                .register(meterRegistry);
+        Gauge.builder(prefix + ".outbox.dead", deadEvents, AtomicLong::get)
+                .description("Outbox events that gave up after max-attempts and need manual replay")
+                .register(meterRegistry);
+        Gauge.builder(prefix + ".outbox.lag.seconds", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(this::drain, Duration.ofMillis(intervalMillis));
+        registrar.addFixedDelayTask(this::purge, Duration.ofMillis(purgeIntervalMillis));
+    }
+
+    /**
+     * Publish pending events until the outbox is empty or a send fails.
+     *
+     * @return number of events published
+     */
+    public int drain() {
+        if (!enabled) {
+            return 0;
+        }
+        int published = 0;
+        try {
+            while (true) {
+                List<OutboxEvent> batch = transactionTemplate.execute(status -> claimBatch());
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                BatchResult result = sendBatch(batch);
+                transactionTemplate.executeWithoutResult(status -> record(result));
+                published += result.published().size();
+                if (result.failures() > 0 || batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Outbox relay run failed, pending events will be retried", e);
+        } finally {
+            refreshLag();
+        }
+        return published;
+    }
+
+    /**
+     * Drop published rows older than the retention period.
+     */
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.lockClaimable(now, PageRequest.of(0, batchSize));
+        if (!batch.isEmpty()) {
+            outboxEventRepository.claim(batch.stream().map(OutboxEvent::getId).collect(Collectors.toList()),
+                    now.plus(lease));
+        }
+        return batch;
+    }
+
+    private BatchResult sendBatch(List<OutboxEvent> batch) {
+        // Keys whose earlier event could not even be handed to the producer; later events for them wait
+        Set<String> unsentKeys = new HashSet<>();
+        boolean producerRejecting = false;
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            if (producerRejecting || unsentKeys.contains(event.getEventKey())) {
+                sends.add(null);
+                continue;
+            }
+            Object payload;
+            try {
+                payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+            } catch (Exception e) {
+                unsentKeys.add(event.getEventKey());
+                sends.add(CompletableFuture.failedFuture(e));
+                continue;
+            }
+            CompletableFuture<?> send = send(event, payload);
+            if (send.isCompletedExceptionally()) {
+                // The producer gave up before accepting the record; the rest of the batch would only block too
+                producerRejecting = true;
+            }
+            sends.add(send);
+        }
+        kafkaTemplate.flush();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        List<Long> published = new ArrayList<>(batch.size());
+        List<Long> failed = new ArrayList<>();
+        List<Long> dead = new ArrayList<>();
+        List<Long> released = new ArrayList<>();
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            if (sends.get(i) == null || failedKeys.contains(event.getEventKey())) {
+                // Held back behind an earlier failure; retried after it next run
+                released.add(event.getId());
+                continue;
+            }
+            try {
+                sends.get(i).get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                published.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedKeys.add(event.getEventKey());
+                failed.add(event.getId());
+            } catch (ExecutionException | TimeoutException e) {
+                failedKeys.add(event.getEventKey());
+                if (event.getAttempts() + 1 >= maxAttempts) {
+                    dead.add(event.getId());
+                    log.error("Giving up on outbox event {} ({} to {}, key {}) after {} attempts; marked failed",
+                            event.getId(), event.getEventType(), event.getTopic(), event.getEventKey(), maxAttempts, e);
+                } else {
+                    failed.add(event.getId());
+                    log.warn("Failed to publish outbox event {} to {}: {}", event.getId(), event.getTopic(), e.getMessage());
+                }
+            }
+        }
+        return new BatchResult(published, failed, dead, released);
+    }
+
+    private void record(BatchResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!result.published().isEmpty()) {
+            outboxEventRepository.markPublished(result.published(), now);
+            publishedCounter.increment(result.published().size());
+        }
+        if (!result.failed().isEmpty()) {
+            outboxEventRepository.incrementAttempts(result.failed());
+        }
+        if (!result.dead().isEmpty()) {
+            outboxEventRepository.markFailed(result.dead(), now);
+        }
+        if (!result.released().isEmpty()) {
+            outboxEventRepository.release(result.released());
+        }
+        failedCounter.increment(result.failures());
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event, Object payload) {
+        try {
+            return kafkaTemplate.send(event.getTopic(), event.getEventKey(), payload);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void refreshLag() {
+        try {
+            pendingEvents.set(outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNull());
+            deadEvents.set(outboxEventRepository.countByFailedAtIsNotNull());
+            LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+            lagMillis.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis());
+        } catch (Exception e) {
+            log.warn("Failed to refresh outbox lag metrics: {}", e.getMessage());
+        }
+    }
+
+    private record BatchResult(List<Long> published, List<Long> failed, List<Long> dead, List<Long> released) {
+
+        int failures() {
+            return failed.size() + dead.size();
+        }
+    }
+}
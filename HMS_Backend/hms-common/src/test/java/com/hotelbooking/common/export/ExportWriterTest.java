@@ -0,0 +1,76 @@
+package com.hotelbooking.common.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ExportWriterTest {
+
+    @Test
+    void testCsvField_QuotesSeparatorsAndQuotes() {
+        assertEquals("plain", ExportWriter.csvField("plain"));
+        assertEquals("", ExportWriter.csvField(null));
+        assertEquals("\"a,b\"", ExportWriter.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", ExportWriter.csvField("say \"hi\""));
+        assertEquals("\"two\nlines\"", ExportWriter.csvField("two\nlines"));
+    }
+
+    @Test
+    void testCsvField_NeutralisesFormulas() {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", ExportWriter.csvField("=HYPERLINK(\"http://x\")"));
+        assertEquals("\"'+1\"", ExportWriter.csvField("+1"));
+        assertEquals("\"'-2+3\"", ExportWriter.csvField("-2+3"));
+        assertEquals("\"'@SUM(A1)\"", ExportWriter.csvField("@SUM(A1)"));
+        assertEquals("\"'\tcmd\"", ExportWriter.csvField("\tcmd"));
+        assertEquals("\"'\rcmd\"", ExportWriter.csvField("\rcmd"));
+        // Only a leading character counts
+        assertEquals("a=b", ExportWriter.csvField("a=b"));
+    }
+
+    @Test
+    void testCsvField_LeavesNegativeNumbersNumeric() {
+        assertEquals("-250.00", ExportWriter.csvField(new BigDecimal("-250.00")));
+        assertEquals("-3", ExportWriter.csvField(-3L));
+    }
+
+    @Test
+    void testWriteRow_Csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ExportWriter(out, ExportFormat.CSV, List.of("id", "guestName", "checkIn"));
+
+        writer.writeRow(Arrays.asList(1L, "=cmd|' /C calc'!A0", LocalDate.of(2026, 1, 10)));
+        writer.writeRow(Arrays.asList(2L, null, null));
+        writer.flush();
+
+        assertEquals("id,guestName,checkIn\r\n1,\"'=cmd|' /C calc'!A0\",2026-01-10\r\n2,,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteRow_NdjsonKeepsValuesAsTheyAre() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = new ExportWriter(out, ExportFormat.NDJSON, List.of("id", "guestName", "checkIn"));
+
+        writer.writeRow(Arrays.asList(1L, "=SUM(A1)", LocalDate.of(2026, 1, 10)));
+        writer.flush();
+
+        assertEquals("{\"id\":1,\"guestName\":\"=SUM(A1)\",\"checkIn\":\"2026-01-10\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testFromParameter_IgnoresCaseAndRejectsUnknown() {
+        assertEquals(ExportFormat.CSV, ExportFormat.fromParameter("CsV").orElseThrow());
+        assertEquals(ExportFormat.NDJSON, ExportFormat.fromParameter("ndjson").orElseThrow());
+        assertTrue(ExportFormat.fromParameter("xml").isEmpty());
+        assertTrue(ExportFormat.fromParameter(null).isEmpty());
+    }
+}
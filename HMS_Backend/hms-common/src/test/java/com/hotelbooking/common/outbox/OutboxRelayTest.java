@@ -0,0 +1,302 @@
+package com.hotelbooking.common.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        relay = relay(true, 2);
+    }
+
+    @Test
+    void testDrain_PublishesBatchAndMarksPublished() {
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 0)))
+                .thenReturn(List.of());
+        when(kafkaTemplate.send(eq("order-created"), eq("7"), any())).thenReturn(sent());
+
+        assertEquals(1, relay.drain());
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq("order-created"), eq("7"), payload.capture());
+        OrderCreated event = (OrderCreated) payload.getValue();
+        assertEquals(7L, event.orderId);
+        assertEquals(LocalDate.of(2026, 1, 10), event.date);
+        verify(kafkaTemplate).flush();
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).incrementAttempts(anyList());
+        assertEquals(1.0, meterRegistry.counter("test.outbox.published").count());
+    }
+
+    @Test
+    void testDrain_ClaimsWithLeaseAndSendsOutsideTransaction() {
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 0)))
+                .thenReturn(List.of());
+        when(kafkaTemplate.send(eq("order-created"), eq("7"), any())).thenReturn(sent());
+        LocalDateTime before = LocalDateTime.now();
+
+        relay.drain();
+
+        InOrder inOrder = inOrder(transactionManager, outboxEventRepository, kafkaTemplate);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxEventRepository).lockClaimable(any(LocalDateTime.class), any(Pageable.class));
+        ArgumentCaptor<LocalDateTime> leasedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        inOrder.verify(outboxEventRepository).claim(eq(List.of(1L)), leasedUntil.capture());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(kafkaTemplate).send(eq("order-created"), eq("7"), any());
+        inOrder.verify(kafkaTemplate).flush();
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxEventRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+        inOrder.verify(transactionManager).commit(any());
+        assertTrue(leasedUntil.getValue().isAfter(before.plusSeconds(59)));
+    }
+
+    @Test
+    void testDrain_FullBatchKeepsDraining() {
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, 0), event(2L, 0)))
+                .thenReturn(List.of(event(3L, 0)));
+        when(kafkaTemplate.send(any(String.class), any(String.class), any())).thenReturn(sent());
+
+        assertEquals(3, relay.drain());
+
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testDrain_FailedSendIsRetriedLater() {
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, "7", 0), event(2L, "8", 3)));
+        when(kafkaTemplate.send(any(String.class), any(String.class), any()))
+                .thenReturn(sent())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        assertEquals(1, relay.drain());
+
+        verify(outboxEventRepository).markPublished(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).incrementAttempts(List.of(2L));
+        verify(outboxEventRepository, never()).markFailed(anyList(), any(LocalDateTime.class));
+        // Stops after a failure even though the batch was full
+        verify(outboxEventRepository).lockClaimable(any(LocalDateTime.class), any(Pageable.class));
+        assertEquals(1.0, meterRegistry.counter("test.outbox.failed").count());
+    }
+
+    @Test
+    void testDrain_LastAttemptMarksEventFailed() {
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, "7", 9)));
+        when(kafkaTemplate.send(any(String.class), any(String.class), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+        when(outboxEventRepository.countByFailedAtIsNotNull()).thenReturn(1L);
+        when(outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNull()).thenReturn(0L);
+
+        assertEquals(0, relay.drain());
+
+        verify(outboxEventRepository).markFailed(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).incrementAttempts(anyList());
+        assertEquals(1.0, meterRegistry.get("test.outbox.dead").gauge().value());
+        assertEquals(0.0, meterRegistry.get("test.outbox.pending").gauge().value());
+    }
+
+    @Test
+    void testDrain_HoldsBackLaterEventsForFailedKey() {
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, "7", 0), event(2L, "8", 0), event(3L, "7", 0)));
+        // Accepted by the producer, rejected by the broker once flushed
+        CompletableFuture<SendResult<String, Object>> rejected = new CompletableFuture<>();
+        doAnswer(invocation -> rejected.completeExceptionally(new RuntimeException("broker down")))
+                .when(kafkaTemplate).flush();
+        when(kafkaTemplate.send(any(String.class), any(String.class), any()))
+                .thenReturn(rejected)
+                .thenReturn(sent())
+                .thenReturn(sent());
+
+        assertEquals(1, relay.drain());
+
+        // Event 3 was acknowledged but must not count as published ahead of event 1
+        verify(outboxEventRepository).markPublished(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+        verify(outboxEventRepository).release(List.of(3L));
+    }
+
+    @Test
+    void testDrain_ProducerRejectionHandsBackRestOfBatch() {
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(event(1L, "7", 0), event(2L, "8", 0), event(3L, "9", 0)));
+        when(kafkaTemplate.send(any(String.class), any(String.class), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("no metadata after 5000 ms")));
+
+        assertEquals(0, relay.drain());
+
+        // One max.block.ms wait per run, not one per event
+        verify(kafkaTemplate).send(any(String.class), any(String.class), any());
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+        verify(outboxEventRepository).release(List.of(2L, 3L));
+        verify(outboxEventRepository, never()).markPublished(anyList(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testDrain_UnsendableEventStopsLaterSendsForItsKey() {
+        OutboxEvent broken = event(1L, "7", 0);
+        broken.setPayload("not json");
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(broken, event(2L, "7", 0), event(3L, "8", 0)));
+        when(kafkaTemplate.send(any(String.class), any(String.class), any())).thenReturn(sent());
+
+        assertEquals(1, relay.drain());
+
+        verify(kafkaTemplate, never()).send(any(String.class), eq("7"), any());
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+        verify(outboxEventRepository).release(List.of(2L));
+    }
+
+    @Test
+    void testDrain_UnreadablePayloadCountsAsFailure() {
+        OutboxEvent broken = event(1L, 0);
+        broken.setPayload("not json");
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(broken));
+
+        assertEquals(0, relay.drain());
+
+        verify(kafkaTemplate, never()).send(any(String.class), any(String.class), any());
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+    }
+
+    @Test
+    void testDrain_UpdatesLagGauges() {
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(outboxEventRepository.countByPublishedAtIsNullAndFailedAtIsNull()).thenReturn(4L);
+        when(outboxEventRepository.findOldestPendingCreatedAt()).thenReturn(LocalDateTime.now().minusSeconds(30));
+
+        relay.drain();
+
+        assertEquals(4.0, meterRegistry.get("test.outbox.pending").gauge().value());
+        double lag = meterRegistry.get("test.outbox.lag.seconds").gauge().value();
+        assertEquals(30.0, lag, 5.0);
+    }
+
+    @Test
+    void testDisabled() {
+        OutboxRelay disabled = relay(false, 2);
+
+        assertEquals(0, disabled.drain());
+        disabled.purge();
+
+        verify(outboxEventRepository, never()).lockClaimable(any(LocalDateTime.class), any(Pageable.class));
+        verify(outboxEventRepository, never()).deletePublishedBefore(any(LocalDateTime.class));
+    }
+
+    @Test
+    void testPurge_DeletesOldPublishedEvents() {
+        relay.purge();
+
+        verify(outboxEventRepository).deletePublishedBefore(any(LocalDateTime.class));
+    }
+
+    @Test
+    void testDefaults_WhenNoPropertiesSet() {
+        OutboxRelay defaults = new OutboxRelay("other", outboxEventRepository, kafkaTemplate,
+                new TransactionTemplate(transactionManager), meterRegistry, new MockEnvironment());
+        when(outboxEventRepository.lockClaimable(any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        defaults.drain();
+
+        // Enabled, batches of 500, metrics under the given prefix
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(outboxEventRepository).lockClaimable(any(LocalDateTime.class), page.capture());
+        assertEquals(500, page.getValue().getPageSize());
+        assertEquals(0.0, meterRegistry.get("other.outbox.pending").gauge().value());
+    }
+
+    private OutboxRelay relay(boolean enabled, int batchSize) {
+        MockEnvironment properties = new MockEnvironment()
+                .withProperty("test.outbox.relay.enabled", String.valueOf(enabled))
+                .withProperty("test.outbox.relay.batch-size", String.valueOf(batchSize))
+                .withProperty("test.outbox.relay.max-attempts", "10")
+                .withProperty("test.outbox.relay.send-timeout-ms", "1000")
+                .withProperty("test.outbox.relay.lease-ms", "60000");
+        return new OutboxRelay("test", outboxEventRepository, kafkaTemplate, new TransactionTemplate(transactionManager),
+                meterRegistry, properties);
+    }
+
+    private OutboxEvent event(Long id, int attempts) {
+        return event(id, "7", attempts);
+    }
+
+    private OutboxEvent event(Long id, String key, int attempts) {
+        OutboxEvent event = new OutboxEvent("order-created", key, OrderCreated.class.getName(),
+                "{\"orderId\":7,\"date\":\"2026-01-10\"}");
+        event.setId(id);
+        event.setAttempts(attempts);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    private CompletableFuture<SendResult<String, Object>> sent() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Payload type read back from the outbox row by class name.
+     */
+    public static class OrderCreated {
+        public Long orderId;
+        public LocalDate date;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotelbooking.common.page;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+    @Test
+    void testDecode_RoundTripsEncodedCursor() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2026, 3, 1, 10, 15, 30), 42L);
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode()).orElseThrow();
+
+        assertEquals(cursor.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void testDecode_MissingTokenStartsAtFirstPage() {
+        assertSame(KeysetCursor.FIRST, KeysetCursor.decode(null).orElseThrow());
+        assertSame(KeysetCursor.FIRST, KeysetCursor.decode(" ").orElseThrow());
+    }
+
+    @Test
+    void testDecode_InvalidTokenIsEmpty() {
+        assertTrue(KeysetCursor.decode("not-a-cursor").isEmpty());
+    }
+
+    @Test
+    void testPageOf_ExtraRowSetsNextCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+        PageResponse<Long> page = PageResponse.of(List.of(3L, 2L, 1L), 2, id -> new KeysetCursor(createdAt, id));
+        PageResponse<Long> last = PageResponse.of(List.of(1L), 2, id -> new KeysetCursor(createdAt, id));
+
+        assertEquals(List.of(3L, 2L), page.getItems());
+        assertEquals(2L, KeysetCursor.decode(page.getNextCursor()).orElseThrow().getId());
+        assertEquals(List.of(1L), last.getItems());
+        assertNull(last.getNextCursor());
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotelbooking.hotel.cache;
+
+/**
+ * L1 invalidation sent between hotel-service instances over Redis pub/sub.
+ * A null key means the whole cache was cleared. Wire format: origin|cacheName|key ('*' for clear).
+ */
+public record CacheInvalidation(String origin, String cacheName, String key) {
+
+    private static final String CLEAR = "*";
+
+    public String encode() {
+        return origin + "|" + cacheName + "|" + (key != null ? key : CLEAR);
+    }
+
+    /**
+     * Parse a message; returns null for anything that is not an invalidation.
+     */
+    public static CacheInvalidation decode(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3) {
+            return null;
+        }
+        return new CacheInvalidation(parts[0], parts[1], CLEAR.equals(parts[2]) ? null : parts[2]);
+    }
+}
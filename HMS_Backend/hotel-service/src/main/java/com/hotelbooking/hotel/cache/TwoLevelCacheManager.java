@@ -0,0 +1,106 @@
+package com.hotelbooking.hotel.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CacheManager that puts a bounded Caffeine L1 in front of each cache of the Redis (L2) manager.
+ * Evictions are published on a Redis channel; every other instance drops the matching L1 entry
+ * when the message arrives (see {@link #onInvalidation(String)}).
+ * The L1 TTL caps how long an entry can stay stale if a message is lost, since pub/sub does not redeliver.
+ * Caches are transaction-aware, so evictions made inside a transaction apply after it commits.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final long localMaxSize;
+    private final Duration localTtl;
+
+    // Identifies this instance so it ignores its own invalidation messages
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                StringRedisTemplate redisTemplate,
+                                String channel,
+                                long localMaxSize,
+                                Duration localTtl) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return decorated.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            if (remote == null) {
+                return null;
+            }
+            TwoLevelCache cache = new TwoLevelCache(cacheName, newLocalCache(), remote, this::publish);
+            caches.put(cacheName, cache);
+            return new TransactionAwareCacheDecorator(cache);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(decorated.keySet());
+    }
+
+    /**
+     * Apply an invalidation published by another instance to this instance's L1.
+     */
+    public void onInvalidation(String message) {
+        CacheInvalidation invalidation = CacheInvalidation.decode(message);
+        if (invalidation == null || instanceId.equals(invalidation.origin())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            // Nothing was ever read through this cache here, so there is no L1 copy to drop
+            return;
+        }
+        if (invalidation.key() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+    }
+
+    private void publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel, new CacheInvalidation(instanceId, cacheName, key).encode());
+        } catch (RuntimeException e) {
+            // L2 is already updated; other instances catch up when their L1 entry expires
+            log.warn("Could not publish L1 invalidation for {} key {}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> newLocalCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.hotelbooking.hotel.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.hotelbooking.hotel.cache.TwoLevelCacheManager;
+
+/**
+ * Caffeine L1 + Redis L2 caching for hotel and room lookups.
+ * Only active with spring.cache.type=redis; tests keep the simple in-memory cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class TwoLevelCacheConfig {
+
+    @Value("${spring.cache.redis.time-to-live:300000}")
+    private Duration redisTtl;
+
+    @Value("${hotel.cache.hotels.ttl:1h}")
+    private Duration hotelsTtl;
+
+    @Value("${hotel.cache.l1.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${hotel.cache.l1.ttl:60s}")
+    private Duration localTtl;
+
+    @Value("${hotel.cache.invalidation-channel:hotel-service:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate redisTemplate) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig().entryTtl(redisTtl))
+                // Hotel profiles carry no room counts and are evicted on update, so they can live longer
+                .withCacheConfiguration("hotels", RedisCacheConfiguration.defaultCacheConfig().entryTtl(hotelsTtl))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(
+                redisCacheManager, redisTemplate, invalidationChannel, localMaxSize, localTtl);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onInvalidation(new String(message.getBody())),
+                new ChannelTopic(invalidationChannel));
+        return container;
+    }
+}
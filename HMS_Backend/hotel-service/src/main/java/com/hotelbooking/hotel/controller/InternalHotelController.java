@@ -7,6 +7,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.hotelbooking.hotel.dto.response.BookingContextResponse;
 import com.hotelbooking.hotel.dto.response.HotelDetailResponse;
 import com.hotelbooking.hotel.dto.response.RoomResponse;
 import com.hotelbooking.hotel.service.HotelService;
@@ -40,5 +41,13 @@ public class InternalHotelController {
     public RoomResponse getRoomById(@PathVariable Long roomId) {
         return roomService.getRoomById(roomId);
     }
+
+    /**
+     * Hotel status and room details for booking creation, without availability computation.
+     */
+    @GetMapping("/{hotelId}/rooms/{roomId}/booking-context")
+    public BookingContextResponse getBookingContext(@PathVariable Long hotelId, @PathVariable Long roomId) {
+        return hotelService.getBookingContext(hotelId, roomId);
+    }
 }
 
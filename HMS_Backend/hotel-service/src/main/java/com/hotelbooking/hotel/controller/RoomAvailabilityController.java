@@ -85,6 +85,33 @@ public class RoomAvailabilityController {
         ));
     }
 
+    @PostMapping("/generate")
+    public ResponseEntity<?> generateAvailability(
+            @RequestHeader("X-User-Role") String role,
+            @RequestHeader(value = "X-Hotel-Id", required = false) Long userHotelId,
+            @RequestParam Long hotelId
+    ) {
+        authorize(role);
+
+        // Context-aware authorization: MANAGER can only generate availability for their assigned hotel
+        if ("MANAGER".equalsIgnoreCase(role)) {
+            if (userHotelId == null) {
+                throw new AccessDeniedException("MANAGER must be assigned to a hotel");
+            }
+            if (!hotelId.equals(userHotelId)) {
+                throw new AccessDeniedException("Forbidden: Cannot generate availability for another hotel");
+            }
+        }
+
+        int created = availabilityService.generateForHotel(hotelId);
+
+        return ResponseEntity.ok(Map.of(
+                "success", true,
+                "message", "Availability generated successfully",
+                "data", Map.of("hotelId", hotelId, "created", created)
+        ));
+    }
+
     private void authorize(String role) {
         if (!role.equalsIgnoreCase("ADMIN")
                 && !role.equalsIgnoreCase("MANAGER")) {
@@ -3,6 +3,7 @@ package com.hotelbooking.hotel.dto.request;
 
 
 import java.time.LocalDate;
+import java.util.List;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.NotBlank;
@@ -16,9 +17,13 @@ public class BlockRoomRequest {
     @NotNull(message = "Hotel ID is required")
     private Long hotelId;
 
-    @NotNull(message = "Room ID is required")
+    // Rooms to update: roomId, roomIds and every room on floorNumber are combined; at least one is required
     private Long roomId;
 
+    private List<Long> roomIds;
+
+    private Integer floorNumber;
+
     @NotNull(message = "From date is required")
     private LocalDate fromDate;
 
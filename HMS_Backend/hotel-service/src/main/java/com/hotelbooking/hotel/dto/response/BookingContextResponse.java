@@ -0,0 +1,34 @@
+package com.hotelbooking.hotel.dto.response;
+
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.hotelbooking.hotel.enums.HotelStatus;
+import com.hotelbooking.hotel.enums.RoomCategory;
+import com.hotelbooking.hotel.enums.RoomStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Compact hotel + room projection used by Booking Service to validate and price a booking.
+ * Carries no availability figures, so it is built from a single lookup.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingContextResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long hotelId;
+    private HotelStatus hotelStatus;
+    private Long roomId;
+    private Long roomHotelId;
+    private String roomNumber;
+    private RoomCategory roomType;
+    private BigDecimal pricePerNight;
+    private Integer maxOccupancy;
+    private RoomStatus roomStatus;
+    private Boolean isActive;
+}
@@ -37,4 +37,13 @@ public class HotelDetailResponse implements Serializable {
     private String imageUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Copy of this profile with live room counts filled in.
+     */
+    public HotelDetailResponse withRoomCounts(int totalRooms, int availableRooms) {
+        return new HotelDetailResponse(id, name, category, description, address, city, state, country, pincode,
+                contactNumber, email, starRating, amenities, status, totalRooms, availableRooms, imageUrl,
+                createdAt, updatedAt);
+    }
 }
@@ -3,10 +3,13 @@ package com.hotelbooking.hotel.repository;
 
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -29,6 +32,91 @@ public interface RoomAvailabilityRepository
             LocalDate endDate
     );
 
+    @Query("""
+            SELECT ra.roomId AS roomId, ra.date AS date
+            FROM RoomAvailability ra
+            WHERE ra.roomId IN :roomIds
+            AND ra.date >= :from
+            AND ra.date < :to
+            """)
+    List<RoomDate> findRoomDatesByRoomIds(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Set the status of every existing row of the given rooms in [from, to] in one statement.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE RoomAvailability ra
+            SET ra.status = :status,
+                ra.source = :source,
+                ra.updatedAt = :now
+            WHERE ra.hotelId = :hotelId
+            AND ra.roomId IN :roomIds
+            AND ra.date BETWEEN :from AND :to
+            """)
+    int updateStatusInRange(
+            @Param("hotelId") Long hotelId,
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("status") AvailabilityStatus status,
+            @Param("source") String source,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Move rows from one status to another for the given rooms in [from, to] in one statement.
+     * Rows in any other status (e.g. RESERVED) are left alone.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE RoomAvailability ra
+            SET ra.status = :newStatus,
+                ra.source = :source,
+                ra.updatedAt = :now
+            WHERE ra.hotelId = :hotelId
+            AND ra.roomId IN :roomIds
+            AND ra.date BETWEEN :from AND :to
+            AND ra.status = :currentStatus
+            """)
+    int transitionStatusInRange(
+            @Param("hotelId") Long hotelId,
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("currentStatus") AvailabilityStatus currentStatus,
+            @Param("newStatus") AvailabilityStatus newStatus,
+            @Param("source") String source,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Sync a room's availability rows from :from onwards after a room status change, in one statement.
+     * RESERVED and BLOCKED rows are left alone, as are rows already in the target status.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE RoomAvailability ra
+            SET ra.status = :status,
+                ra.source = :source,
+                ra.updatedAt = :now
+            WHERE ra.roomId = :roomId
+            AND ra.date >= :from
+            AND ra.status NOT IN ('RESERVED', 'BLOCKED')
+            AND ra.status != :status
+            """)
+    int syncStatusFrom(
+            @Param("roomId") Long roomId,
+            @Param("from") LocalDate from,
+            @Param("status") AvailabilityStatus status,
+            @Param("source") String source,
+            @Param("now") LocalDateTime now
+    );
+
     boolean existsByRoomIdAndDate(
             Long roomId,
             LocalDate date
@@ -79,4 +167,51 @@ public interface RoomAvailabilityRepository
             @Param("checkIn") LocalDate checkIn,
             @Param("checkOut") LocalDate checkOut
     );
-}
\ No newline at end of file
+
+    /**
+     * Room counts for many hotels in one grouped query, used by the hotel listing and search endpoints.
+     * availableRooms applies the same rules as findAvailableRoomIdsStrict to every hotel at once.
+     * Hotels without any rooms are absent from the result.
+     */
+    @Query("""
+            SELECT r.hotelId AS hotelId,
+                   COUNT(r.id) AS totalRooms,
+                   SUM(CASE WHEN r.isActive = true THEN 1 ELSE 0 END) AS activeRooms,
+                   SUM(CASE WHEN r.isActive = true
+                            AND r.status = 'AVAILABLE'
+                            AND NOT EXISTS (
+                                SELECT 1
+                                FROM RoomAvailability ra
+                                WHERE ra.roomId = r.id
+                                AND ra.date BETWEEN :checkIn AND :checkOut
+                                AND ra.status != 'AVAILABLE'
+                            )
+                       THEN 1 ELSE 0 END) AS availableRooms
+            FROM Room r
+            WHERE r.hotelId IN :hotelIds
+            GROUP BY r.hotelId
+            """)
+    List<HotelRoomCounts> countRoomsByHotel(
+            @Param("hotelIds") Collection<Long> hotelIds,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut
+    );
+
+    /**
+     * Per-hotel row of countRoomsByHotel.
+     */
+    interface HotelRoomCounts {
+        Long getHotelId();
+        Long getTotalRooms();
+        Long getActiveRooms();
+        Long getAvailableRooms();
+    }
+
+    /**
+     * Row of findRoomDatesByRoomIds.
+     */
+    interface RoomDate {
+        Long getRoomId();
+        LocalDate getDate();
+    }
+}
@@ -2,12 +2,16 @@ package com.hotelbooking.hotel.repository;
 
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.hotelbooking.hotel.domain.Room;
+import com.hotelbooking.hotel.dto.response.BookingContextResponse;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
     long countByHotelId(Long hotelId);
@@ -21,4 +25,36 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     Optional<Room> findByIdAndHotelId(Long id, Long hotelId);
     
     long countByHotelIdAndIsActiveTrue(Long hotelId);
+
+    @Query("SELECT r.id FROM Room r WHERE r.hotelId = :hotelId")
+    List<Long> findIdsByHotelId(@Param("hotelId") Long hotelId);
+
+    @Query("SELECT r.id FROM Room r WHERE r.hotelId = :hotelId AND r.floorNumber = :floorNumber")
+    List<Long> findIdsByHotelIdAndFloorNumber(
+            @Param("hotelId") Long hotelId,
+            @Param("floorNumber") Integer floorNumber
+    );
+
+    @Query("SELECT r.id FROM Room r WHERE r.hotelId = :hotelId AND r.id IN :roomIds")
+    List<Long> findIdsByHotelIdAndIdIn(
+            @Param("hotelId") Long hotelId,
+            @Param("roomIds") Collection<Long> roomIds
+    );
+
+    /**
+     * Fetch the hotel status and room details needed to create a booking in one query.
+     * Empty when either the hotel or the room does not exist.
+     */
+    @Query("""
+            SELECT new com.hotelbooking.hotel.dto.response.BookingContextResponse(
+                h.id, h.status, r.id, r.hotelId, r.roomNumber, r.roomCategory,
+                r.pricePerNight, r.maxOccupancy, r.status, r.isActive)
+            FROM Room r, Hotel h
+            WHERE r.id = :roomId
+            AND h.id = :hotelId
+            """)
+    Optional<BookingContextResponse> findBookingContext(
+            @Param("hotelId") Long hotelId,
+            @Param("roomId") Long roomId
+    );
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.hotelbooking.hotel.service;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository.HotelRoomCounts;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Live room counts per hotel, kept apart from the cached hotel profile so the profile can be cached for long.
+ * Each hotel has one cache entry holding its total rooms and the available rooms per date that has been read.
+ * A date is counted with one grouped query the first time it is asked for; after that the read is a map lookup.
+ * Every write that changes a hotel's rooms or availability calls {@link #invalidate(Long)}, so the entry is exact
+ * until the next write. Dates are part of the key, so the count moves to the new day at midnight by itself.
+ * Entries are keyed by the hotel and its current generation, which a write replaces. A read that queried before
+ * the write committed stores its count under the old generation, where no later read looks, so it cannot put a
+ * stale count back after the invalidation.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotelAvailabilityCounter {
+
+    public static final String CACHE_NAME = "hotelAvailability";
+    public static final String GENERATION_CACHE_NAME = "hotelAvailabilityGeneration";
+
+    private final CacheManager cacheManager;
+    private final RoomAvailabilityRepository availabilityRepository;
+
+    /**
+     * Total rooms of the hotel and rooms available on the given night.
+     */
+    public RoomCounts countsFor(Long hotelId, LocalDate date) {
+
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        // Read before the query: a write committing meanwhile moves the hotel to a new generation
+        String key = cache != null ? countsKey(hotelId, generation(hotelId)) : null;
+        HotelCounts cached = cache != null ? cache.get(key, HotelCounts.class) : null;
+
+        if (cached != null && cached.availableByDate().containsKey(date)) {
+            return new RoomCounts(cached.totalRooms(), cached.availableByDate().get(date));
+        }
+
+        List<HotelRoomCounts> rows = availabilityRepository.countRoomsByHotel(List.of(hotelId), date, date);
+        int totalRooms = rows.isEmpty() ? 0 : rows.get(0).getTotalRooms().intValue();
+        int availableRooms = rows.isEmpty() ? 0 : rows.get(0).getAvailableRooms().intValue();
+
+        if (cache != null) {
+            // Copy instead of mutating: the in-memory caches hand out the stored instance
+            Map<LocalDate, Integer> availableByDate = new HashMap<>();
+            if (cached != null) {
+                cached.availableByDate().forEach((day, count) -> {
+                    if (!day.isBefore(LocalDate.now())) {
+                        availableByDate.put(day, count);
+                    }
+                });
+            }
+            availableByDate.put(date, availableRooms);
+            cache.put(key, new HotelCounts(totalRooms, availableByDate));
+        }
+
+        return new RoomCounts(totalRooms, availableRooms);
+    }
+
+    /**
+     * Drop the hotel's counts and start a new generation. The Redis-backed cache manager applies this after the
+     * current transaction commits.
+     */
+    public void invalidate(Long hotelId) {
+        Cache generations = cacheManager.getCache(GENERATION_CACHE_NAME);
+        if (generations == null) {
+            return;
+        }
+        String generation = generations.get(hotelId, String.class);
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (generation != null && cache != null) {
+            cache.evict(countsKey(hotelId, generation));
+        }
+        generations.evict(hotelId);
+    }
+
+    /**
+     * The hotel's current generation, created on the first read after an invalidation.
+     */
+    private String generation(Long hotelId) {
+        Cache generations = cacheManager.getCache(GENERATION_CACHE_NAME);
+        if (generations == null) {
+            return "";
+        }
+        return generations.get(hotelId, () -> UUID.randomUUID().toString());
+    }
+
+    private static String countsKey(Long hotelId, String generation) {
+        return hotelId + ":" + generation;
+    }
+
+    public record RoomCounts(int totalRooms, int availableRooms) {
+    }
+
+    /**
+     * Cached value: total rooms and available rooms per date.
+     */
+    record HotelCounts(int totalRooms, Map<LocalDate, Integer> availableByDate) implements Serializable {
+    }
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import com.hotelbooking.hotel.dto.request.CreateHotelRequest;
+import com.hotelbooking.hotel.dto.response.BookingContextResponse;
 import com.hotelbooking.hotel.dto.response.HotelDetailResponse;
 import com.hotelbooking.hotel.dto.response.HotelSearchResponse;
 import com.hotelbooking.hotel.enums.City;
@@ -29,4 +30,6 @@ public interface HotelService {
     List<HotelSearchResponse> searchHotelsByCategory(Hotel_Category category);
 
     List<HotelDetailResponse> getAllHotels();
+
+    BookingContextResponse getBookingContext(Long hotelId, Long roomId);
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.hotelbooking.hotel.service;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 
 import com.hotelbooking.hotel.dto.request.BlockRoomRequest;
 import com.hotelbooking.hotel.dto.request.UnblockRoomRequest;
 import com.hotelbooking.hotel.dto.response.AvailabilitySearchResponse;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository.HotelRoomCounts;
 
 public interface RoomAvailabilityService {
 
@@ -16,4 +19,12 @@ public interface RoomAvailabilityService {
             LocalDate checkIn,
             LocalDate checkOut
     );
-}
\ No newline at end of file
+
+    Map<Long, HotelRoomCounts> countRoomsByHotel(
+            List<Long> hotelIds,
+            LocalDate checkIn,
+            LocalDate checkOut
+    );
+
+    int generateForHotel(Long hotelId);
+}
@@ -2,23 +2,30 @@ package com.hotelbooking.hotel.service.impl;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.hotelbooking.hotel.domain.Hotel;
 import com.hotelbooking.hotel.dto.request.CreateHotelRequest;
+import com.hotelbooking.hotel.dto.response.BookingContextResponse;
 import com.hotelbooking.hotel.dto.response.HotelDetailResponse;
 import com.hotelbooking.hotel.dto.response.HotelSearchResponse;
 import com.hotelbooking.hotel.enums.City;
 import com.hotelbooking.hotel.enums.HotelStatus;
 import com.hotelbooking.hotel.enums.Hotel_Category;
 import com.hotelbooking.hotel.exception.HotelNotFoundException;
+import com.hotelbooking.hotel.exception.RoomNotFoundException;
 import com.hotelbooking.hotel.repository.HotelRepository;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository.HotelRoomCounts;
 import com.hotelbooking.hotel.repository.RoomRepository;
+import com.hotelbooking.hotel.service.HotelAvailabilityCounter;
+import com.hotelbooking.hotel.service.HotelAvailabilityCounter.RoomCounts;
 import com.hotelbooking.hotel.service.HotelService;
 import com.hotelbooking.hotel.service.RoomAvailabilityService;
 
@@ -32,6 +39,8 @@ public class HotelServiceImpl implements HotelService {
     private final HotelRepository hotelRepository;
     private final RoomRepository roomRepository;
     private final RoomAvailabilityService availabilityService;
+    private final HotelAvailabilityCounter availabilityCounter;
+    private final CacheManager cacheManager;
 
     /* ---------------- CREATE / UPDATE (unchanged) ---------------- */
 
@@ -88,43 +97,26 @@ public class HotelServiceImpl implements HotelService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "hotels", key = "#hotelId", unless = "#result == null")
     public HotelDetailResponse getHotelById(Long hotelId) {
 
-        Hotel h = hotelRepository.findById(hotelId)
-                .orElseThrow(() -> new HotelNotFoundException(hotelId));
+        // The profile only changes on updateHotel, so it is cached without room counts;
+        // the counts come from the live counter and are always for tonight
+        HotelDetailResponse profile = getHotelProfile(hotelId);
+        RoomCounts counts = availabilityCounter.countsFor(hotelId, LocalDate.now());
 
-        int totalRooms =
-                (int) roomRepository.countByHotelId(h.getId());
+        return profile.withRoomCounts(counts.totalRooms(), counts.availableRooms());
+    }
 
-        int availableRooms = 0;
-        if (totalRooms > 0) {
-            availableRooms = availabilityService
-                    .searchAvailability(h.getId(), LocalDate.now(), LocalDate.now().plusDays(1))
-                    .getAvailableRooms();
-        }
+    /* ---------------- BOOKING CONTEXT (internal) ---------------- */
 
-        return new HotelDetailResponse(
-                h.getId(),
-                h.getName(),
-                h.getCategory(),
-                h.getDescription(),
-                h.getAddress(),
-                h.getCity(),
-                h.getState(),
-                h.getCountry(),
-                h.getPincode(),
-                h.getContactNumber(),
-                h.getEmail(),
-                h.getStarRating(),
-                h.getAmenities(),
-                h.getStatus(),
-                totalRooms,
-                availableRooms,
-                h.getImageUrl(),
-                h.getCreatedAt(),
-                h.getUpdatedAt()
-        );
+    @Override
+    @Transactional(readOnly = true)
+    public BookingContextResponse getBookingContext(Long hotelId, Long roomId) {
+
+        return roomRepository.findBookingContext(hotelId, roomId)
+                .orElseThrow(() -> hotelRepository.existsById(hotelId)
+                        ? new RoomNotFoundException(roomId)
+                        : new HotelNotFoundException(hotelId));
     }
 
     /* ---------------- SEARCH HOTELS ---------------- */
@@ -144,55 +136,32 @@ public class HotelServiceImpl implements HotelService {
                 : hotelRepository.findByCityAndStatus(
                         city, HotelStatus.ACTIVE);
 
+        boolean datesGiven = checkIn != null && checkOut != null;
+
+        // One grouped query for the whole city instead of two queries per hotel
+        Map<Long, HotelRoomCounts> counts = datesGiven
+                ? availabilityService.countRoomsByHotel(hotelIds(hotels), checkIn, checkOut)
+                : countRoomsForTonight(hotels);
+
         return hotels.stream()
                 .map(hotel -> {
 
-                    int totalRooms =
-                            (int) roomRepository
-                                    .countByHotelIdAndIsActiveTrue(hotel.getId());
+                    HotelRoomCounts c = counts.get(hotel.getId());
+                    int totalRooms = c != null ? c.getActiveRooms().intValue() : 0;
 
                     if (totalRooms == 0) {
                         return null;
                     }
 
-                    int availableRooms;
-
-                    if (checkIn != null && checkOut != null) {
-                        availableRooms =
-                                availabilityService
-                                        .searchAvailability(
-                                                hotel.getId(),
-                                                checkIn,
-                                                checkOut
-                                        )
-                                        .getAvailableRooms();
-                    } else {
-                        availableRooms = totalRooms;
-                    }
+                    int availableRooms = datesGiven
+                            ? c.getAvailableRooms().intValue()
+                            : totalRooms;
 
                     if (availableRooms == 0) {
                         return null;
                     }
 
-                    return new HotelSearchResponse(
-                            hotel.getId(),
-                            hotel.getName(),
-                            hotel.getCategory(),
-                            hotel.getDescription(),
-                            hotel.getAddress(),
-                            hotel.getCity(),
-                            hotel.getState(),
-                            hotel.getCountry(),
-                            hotel.getPincode(),
-                            hotel.getContactNumber(),
-                            hotel.getEmail(),
-                            hotel.getStarRating(),
-                            hotel.getAmenities(),
-                            hotel.getImageUrl(),
-                            hotel.getStatus(),
-                            totalRooms,
-                            availableRooms
-                    );
+                    return toSearchResponse(hotel, totalRooms, availableRooms);
                 })
                 .filter(Objects::nonNull)
                 .toList();
@@ -204,38 +173,11 @@ public class HotelServiceImpl implements HotelService {
     @Transactional(readOnly = true)
     public List<HotelDetailResponse> getAllHotels() {
 
-        return hotelRepository.findAll()
-                .stream()
-                .map(h -> {
-                    int totalRooms = (int) roomRepository.countByHotelId(h.getId());
-                    int availableRooms = 0;
-                    if (totalRooms > 0) {
-                        availableRooms = availabilityService
-                                .searchAvailability(h.getId(), LocalDate.now(), LocalDate.now().plusDays(1))
-                                .getAvailableRooms();
-                    }
-                    return new HotelDetailResponse(
-                            h.getId(),
-                            h.getName(),
-                            h.getCategory(),
-                            h.getDescription(),
-                            h.getAddress(),
-                            h.getCity(),
-                            h.getState(),
-                            h.getCountry(),
-                            h.getPincode(),
-                            h.getContactNumber(),
-                            h.getEmail(),
-                            h.getStarRating(),
-                            h.getAmenities(),
-                            h.getStatus(),
-                            totalRooms,
-                            availableRooms,
-                            h.getImageUrl(),
-                            h.getCreatedAt(),
-                            h.getUpdatedAt()
-                    );
-                })
+        List<Hotel> hotels = hotelRepository.findAll();
+        Map<Long, HotelRoomCounts> counts = countRoomsForTonight(hotels);
+
+        return hotels.stream()
+                .map(h -> toDetailResponse(h, counts.get(h.getId())))
                 .toList();
     }
 
@@ -244,42 +186,8 @@ public class HotelServiceImpl implements HotelService {
     @Override
     @Transactional(readOnly = true)
     public List<HotelSearchResponse> searchHotelsByCategory(Hotel_Category category) {
-        return hotelRepository
-                .findByCategoryAndStatus(category, HotelStatus.ACTIVE)
-                .stream()
-                .map(hotel -> {
-                    int totalRooms = (int) roomRepository.countByHotelId(hotel.getId());
-                    int availableRooms = 0;
-                    if (totalRooms > 0) {
-                        availableRooms = availabilityService
-                                .searchAvailability(hotel.getId(), LocalDate.now(), LocalDate.now().plusDays(1))
-                                .getAvailableRooms();
-                    }
-                    if (totalRooms == 0) {
-                        return null;
-                    }
-                    return new HotelSearchResponse(
-                            hotel.getId(),
-                            hotel.getName(),
-                            hotel.getCategory(),
-                            hotel.getDescription(),
-                            hotel.getAddress(),
-                            hotel.getCity(),
-                            hotel.getState(),
-                            hotel.getCountry(),
-                            hotel.getPincode(),
-                            hotel.getContactNumber(),
-                            hotel.getEmail(),
-                            hotel.getStarRating(),
-                            hotel.getAmenities(),
-                            hotel.getImageUrl(),
-                            hotel.getStatus(),
-                            totalRooms,
-                            availableRooms
-                    );
-                })
-                .filter(Objects::nonNull)
-                .toList();
+        return toSearchResponsesForTonight(
+                hotelRepository.findByCategoryAndStatus(category, HotelStatus.ACTIVE));
     }
 
     /* ---------------- SEARCH BY CITY ---------------- */
@@ -287,41 +195,102 @@ public class HotelServiceImpl implements HotelService {
     @Override
     @Transactional(readOnly = true)
     public List<HotelSearchResponse> searchHotelsByCity(City city) {
-        return hotelRepository
-                .findByCityAndStatus(city, HotelStatus.ACTIVE)
-                .stream()
+        return toSearchResponsesForTonight(
+                hotelRepository.findByCityAndStatus(city, HotelStatus.ACTIVE));
+    }
+
+    /* ---------------- HELPERS ---------------- */
+
+    private HotelDetailResponse getHotelProfile(Long hotelId) {
+
+        Cache cache = cacheManager.getCache("hotels");
+        HotelDetailResponse profile = cache != null ? cache.get(hotelId, HotelDetailResponse.class) : null;
+        if (profile != null) {
+            return profile;
+        }
+
+        Hotel h = hotelRepository.findById(hotelId)
+                .orElseThrow(() -> new HotelNotFoundException(hotelId));
+        profile = toDetailResponse(h, null);
+
+        if (cache != null) {
+            cache.put(hotelId, profile);
+        }
+        return profile;
+    }
+
+    private Map<Long, HotelRoomCounts> countRoomsForTonight(List<Hotel> hotels) {
+        LocalDate today = LocalDate.now();
+        return availabilityService.countRoomsByHotel(hotelIds(hotels), today, today.plusDays(1));
+    }
+
+    private List<HotelSearchResponse> toSearchResponsesForTonight(List<Hotel> hotels) {
+
+        Map<Long, HotelRoomCounts> counts = countRoomsForTonight(hotels);
+
+        return hotels.stream()
                 .map(hotel -> {
-                    int totalRooms = (int) roomRepository.countByHotelId(hotel.getId());
-                    int availableRooms = 0;
-                    if (totalRooms > 0) {
-                        availableRooms = availabilityService
-                                .searchAvailability(hotel.getId(), LocalDate.now(), LocalDate.now().plusDays(1))
-                                .getAvailableRooms();
-                    }
-                    if (totalRooms == 0) {
+                    HotelRoomCounts c = counts.get(hotel.getId());
+                    if (c == null) {
                         return null;
                     }
-                    return new HotelSearchResponse(
-                            hotel.getId(),
-                            hotel.getName(),
-                            hotel.getCategory(),
-                            hotel.getDescription(),
-                            hotel.getAddress(),
-                            hotel.getCity(),
-                            hotel.getState(),
-                            hotel.getCountry(),
-                            hotel.getPincode(),
-                            hotel.getContactNumber(),
-                            hotel.getEmail(),
-                            hotel.getStarRating(),
-                            hotel.getAmenities(),
-                            hotel.getImageUrl(),
-                            hotel.getStatus(),
-                            totalRooms,
-                            availableRooms
+                    return toSearchResponse(
+                            hotel,
+                            c.getTotalRooms().intValue(),
+                            c.getAvailableRooms().intValue()
                     );
                 })
                 .filter(Objects::nonNull)
                 .toList();
     }
+
+    private static List<Long> hotelIds(List<Hotel> hotels) {
+        return hotels.stream().map(Hotel::getId).toList();
+    }
+
+    private static HotelSearchResponse toSearchResponse(Hotel hotel, int totalRooms, int availableRooms) {
+        return new HotelSearchResponse(
+                hotel.getId(),
+                hotel.getName(),
+                hotel.getCategory(),
+                hotel.getDescription(),
+                hotel.getAddress(),
+                hotel.getCity(),
+                hotel.getState(),
+                hotel.getCountry(),
+                hotel.getPincode(),
+                hotel.getContactNumber(),
+                hotel.getEmail(),
+                hotel.getStarRating(),
+                hotel.getAmenities(),
+                hotel.getImageUrl(),
+                hotel.getStatus(),
+                totalRooms,
+                availableRooms
+        );
+    }
+
+    private static HotelDetailResponse toDetailResponse(Hotel h, HotelRoomCounts counts) {
+        return new HotelDetailResponse(
+                h.getId(),
+                h.getName(),
+                h.getCategory(),
+                h.getDescription(),
+                h.getAddress(),
+                h.getCity(),
+                h.getState(),
+                h.getCountry(),
+                h.getPincode(),
+                h.getContactNumber(),
+                h.getEmail(),
+                h.getStarRating(),
+                h.getAmenities(),
+                h.getStatus(),
+                counts != null ? counts.getTotalRooms().intValue() : 0,
+                counts != null ? counts.getAvailableRooms().intValue() : 0,
+                h.getImageUrl(),
+                h.getCreatedAt(),
+                h.getUpdatedAt()
+        );
+    }
 }
\ No newline at end of file
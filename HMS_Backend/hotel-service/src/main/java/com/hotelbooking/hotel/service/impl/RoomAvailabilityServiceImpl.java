@@ -2,18 +2,28 @@ package com.hotelbooking.hotel.service.impl;
 
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.hotelbooking.hotel.domain.RoomAvailability;
 import com.hotelbooking.hotel.dto.request.BlockRoomRequest;
 import com.hotelbooking.hotel.dto.request.UnblockRoomRequest;
 import com.hotelbooking.hotel.dto.response.AvailabilitySearchResponse;
 import com.hotelbooking.hotel.enums.AvailabilityStatus;
 import com.hotelbooking.hotel.exception.ValidationException;
 import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository.HotelRoomCounts;
+import com.hotelbooking.hotel.repository.RoomRepository;
+import com.hotelbooking.hotel.service.HotelAvailabilityCounter;
 import com.hotelbooking.hotel.service.RoomAvailabilityService;
+import com.hotelbooking.hotel.util.RoomAvailabilityGenerator;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,6 +33,9 @@ import lombok.RequiredArgsConstructor;
 public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
 
     private final RoomAvailabilityRepository availabilityRepository;
+    private final RoomRepository roomRepository;
+    private final RoomAvailabilityGenerator availabilityGenerator;
+    private final HotelAvailabilityCounter availabilityCounter;
 
     @Override
     public void blockRoom(BlockRoomRequest request) {
@@ -31,28 +44,31 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
             throw new ValidationException("From date cannot be after To date");
         }
 
-        LocalDate date = request.getFromDate();
-
-        while (!date.isAfter(request.getToDate())) {
-
-            RoomAvailability availability =
-                    availabilityRepository
-                            .findByRoomIdAndDate(request.getRoomId(), date)
-                            .orElse(
-                                    RoomAvailability.builder()
-                                            .hotelId(request.getHotelId())
-                                            .roomId(request.getRoomId())
-                                            .date(date)
-                                            .build()
-                            );
-
-            availability.setStatus(AvailabilityStatus.BLOCKED);
-            availability.setSource("MANUAL: " + request.getReason());
+        List<Long> roomIds = resolveRoomIds(
+                request.getHotelId(), request.getRoomId(), request.getRoomIds(), request.getFloorNumber());
+        String source = "MANUAL: " + request.getReason();
+
+        // One UPDATE for the rows that exist, one batched INSERT for the dates that have none yet
+        availabilityRepository.updateStatusInRange(
+                request.getHotelId(),
+                roomIds,
+                request.getFromDate(),
+                request.getToDate(),
+                AvailabilityStatus.BLOCKED,
+                source,
+                LocalDateTime.now()
+        );
 
-            availabilityRepository.save(availability);
+        availabilityGenerator.insertMissing(
+                request.getHotelId(),
+                roomIds,
+                request.getFromDate(),
+                request.getToDate().plusDays(1),
+                AvailabilityStatus.BLOCKED,
+                source
+        );
 
-            date = date.plusDays(1);
-        }
+        availabilityCounter.invalidate(request.getHotelId());
     }
     
     @Override
@@ -62,24 +78,22 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
             throw new ValidationException("From date cannot be after To date");
         }
 
-        LocalDate date = request.getFromDate();
-
-        while (!date.isAfter(request.getToDate())) {
-
-            availabilityRepository
-                    .findByRoomIdAndDate(request.getRoomId(), date)
-                    .ifPresent(availability -> {
-
-                        // IMPORTANT: Do NOT override RESERVED
-                        if (availability.getStatus() == AvailabilityStatus.BLOCKED) {
-                            availability.setStatus(AvailabilityStatus.AVAILABLE);
-                            availability.setSource("SYSTEM");
-                            availabilityRepository.save(availability);
-                        }
-                    });
+        List<Long> roomIds = resolveRoomIds(
+                request.getHotelId(), request.getRoomId(), request.getRoomIds(), request.getFloorNumber());
+
+        // IMPORTANT: Do NOT override RESERVED, only BLOCKED rows go back to AVAILABLE
+        availabilityRepository.transitionStatusInRange(
+                request.getHotelId(),
+                roomIds,
+                request.getFromDate(),
+                request.getToDate(),
+                AvailabilityStatus.BLOCKED,
+                AvailabilityStatus.AVAILABLE,
+                "SYSTEM",
+                LocalDateTime.now()
+        );
 
-            date = date.plusDays(1);
-        }
+        availabilityCounter.invalidate(request.getHotelId());
     }
     
     @Override
@@ -90,17 +104,7 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
             LocalDate checkOut
     ) {
 
-        if (checkIn == null || checkOut == null) {
-            throw new ValidationException("Check-in and check-out dates are required");
-        }
-
-        if (!checkIn.isBefore(checkOut)) {
-            throw new ValidationException("Check-in must be before check-out");
-        }
-
-        if (checkIn.isBefore(LocalDate.now())) {
-            throw new ValidationException("Check-in date cannot be in the past");
-        }
+        validateStayDates(checkIn, checkOut);
 
         // checkOut is exclusive in booking context (guest checks out on this date, doesn't stay)
         // So we need availability for dates: checkIn, checkIn+1, ..., checkOut-1
@@ -121,4 +125,74 @@ public class RoomAvailabilityServiceImpl implements RoomAvailabilityService {
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, HotelRoomCounts> countRoomsByHotel(
+            List<Long> hotelIds,
+            LocalDate checkIn,
+            LocalDate checkOut
+    ) {
+
+        validateStayDates(checkIn, checkOut);
+
+        if (hotelIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // Same exclusive checkOut handling as searchAvailability
+        return availabilityRepository
+                .countRoomsByHotel(hotelIds, checkIn, checkOut.minusDays(1))
+                .stream()
+                .collect(Collectors.toMap(HotelRoomCounts::getHotelId, Function.identity()));
+    }
+
+    @Override
+    public int generateForHotel(Long hotelId) {
+        int generated = availabilityGenerator.generateForHotel(hotelId);
+        availabilityCounter.invalidate(hotelId);
+        return generated;
+    }
+
+    /**
+     * Combine roomId, roomIds and the rooms on floorNumber, and check they all belong to the hotel.
+     */
+    private List<Long> resolveRoomIds(Long hotelId, Long roomId, List<Long> roomIds, Integer floorNumber) {
+
+        Set<Long> requested = new LinkedHashSet<>();
+        if (roomId != null) {
+            requested.add(roomId);
+        }
+        if (roomIds != null) {
+            requested.addAll(roomIds);
+        }
+        if (floorNumber != null) {
+            requested.addAll(roomRepository.findIdsByHotelIdAndFloorNumber(hotelId, floorNumber));
+        }
+
+        if (requested.isEmpty()) {
+            throw new ValidationException("Room ID, room IDs or a floor number with rooms is required");
+        }
+
+        List<Long> owned = roomRepository.findIdsByHotelIdAndIdIn(hotelId, requested);
+        if (owned.size() != requested.size()) {
+            throw new ValidationException("All rooms must belong to hotel " + hotelId);
+        }
+
+        return List.copyOf(requested);
+    }
+
+    private void validateStayDates(LocalDate checkIn, LocalDate checkOut) {
+
+        if (checkIn == null || checkOut == null) {
+            throw new ValidationException("Check-in and check-out dates are required");
+        }
+
+        if (!checkIn.isBefore(checkOut)) {
+            throw new ValidationException("Check-in must be before check-out");
+        }
+
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new ValidationException("Check-in date cannot be in the past");
+        }
+    }
 }
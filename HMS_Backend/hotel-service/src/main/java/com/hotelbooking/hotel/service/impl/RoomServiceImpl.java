@@ -3,6 +3,7 @@ package com.hotelbooking.hotel.service.impl;
 
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.cache.CacheManager;
@@ -12,7 +13,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.hotelbooking.hotel.domain.Room;
-import com.hotelbooking.hotel.domain.RoomAvailability;
 import com.hotelbooking.hotel.dto.request.CreateRoomRequest;
 import com.hotelbooking.hotel.dto.response.RoomResponse;
 import com.hotelbooking.hotel.enums.AvailabilityStatus;
@@ -21,6 +21,7 @@ import com.hotelbooking.hotel.exception.RoomAlreadyExistsException;
 import com.hotelbooking.hotel.exception.RoomNotFoundException;
 import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
 import com.hotelbooking.hotel.repository.RoomRepository;
+import com.hotelbooking.hotel.service.HotelAvailabilityCounter;
 import com.hotelbooking.hotel.service.RoomService;
 import com.hotelbooking.hotel.util.RoomAvailabilityGenerator;
 
@@ -35,6 +36,7 @@ public class RoomServiceImpl implements RoomService {
     private final RoomAvailabilityGenerator availabilityGenerator;
     private final RoomAvailabilityRepository availabilityRepository;
     private final CacheManager cacheManager;
+    private final HotelAvailabilityCounter availabilityCounter;
 
 
     @Override
@@ -70,6 +72,7 @@ public class RoomServiceImpl implements RoomService {
                 savedRoom.getHotelId(),
                 savedRoom.getId()
         );
+        availabilityCounter.invalidate(savedRoom.getHotelId());
 
         return savedRoom.getId();
     }
@@ -132,10 +135,10 @@ public class RoomServiceImpl implements RoomService {
 
         roomRepository.save(room);
         
-        // Evict roomsByHotel cache for old hotel and new hotel (if hotel changed)
-        evictRoomsByHotelCache(oldHotelId);
+        // Evict roomsByHotel cache and room counts for old hotel and new hotel (if hotel changed)
+        evictHotelRoomCaches(oldHotelId);
         if (!oldHotelId.equals(request.getHotelId())) {
-            evictRoomsByHotelCache(request.getHotelId());
+            evictHotelRoomCaches(request.getHotelId());
         }
         return room.getId();
     }
@@ -152,8 +155,8 @@ public class RoomServiceImpl implements RoomService {
         // Update RoomAvailability for future dates
         updateAvailabilityForRoomStatus(room, status, room.getIsActive());
         
-        // Evict roomsByHotel cache for this hotel
-        evictRoomsByHotelCache(hotelId);
+        // Evict roomsByHotel cache and room counts for this hotel
+        evictHotelRoomCaches(hotelId);
     }
 
     @Override
@@ -168,15 +171,11 @@ public class RoomServiceImpl implements RoomService {
         // Update RoomAvailability for future dates
         updateAvailabilityForRoomStatus(room, room.getStatus(), isActive);
         
-        // Evict roomsByHotel cache for this hotel
-        evictRoomsByHotelCache(hotelId);
+        // Evict roomsByHotel cache and room counts for this hotel
+        evictHotelRoomCaches(hotelId);
     }
 
     private void updateAvailabilityForRoomStatus(Room room, RoomStatus status, boolean isActive) {
-        // Only update for future dates
-        LocalDate today = LocalDate.now();
-        List<RoomAvailability> futureAvailabilities = availabilityRepository.findByRoomIdAndDateBetween(
-                room.getId(), today, today.plusYears(2)); // Adjust range as needed
         AvailabilityStatus newStatus;
         if (!isActive || status == RoomStatus.INACTIVE || status == RoomStatus.MAINTENANCE || status == RoomStatus.OUT_OF_SERVICE) {
             newStatus = AvailabilityStatus.UNAVAILABLE;
@@ -185,13 +184,9 @@ public class RoomServiceImpl implements RoomService {
         } else {
             return; // No change
         }
-        for (RoomAvailability availability : futureAvailabilities) {
-            if (availability.getStatus() != AvailabilityStatus.RESERVED && availability.getStatus() != AvailabilityStatus.BLOCKED) {
-                availability.setStatus(newStatus);
-                availability.setSource("SYSTEM: status sync");
-                availabilityRepository.save(availability);
-            }
-        }
+        // Only future dates; one conditional UPDATE instead of loading and saving every row
+        availabilityRepository.syncStatusFrom(
+                room.getId(), LocalDate.now(), newStatus, "SYSTEM: status sync", LocalDateTime.now());
     }
 
     private RoomResponse toDto(Room room) {
@@ -230,16 +225,20 @@ public class RoomServiceImpl implements RoomService {
         room.setStatus(RoomStatus.INACTIVE);
 
         roomRepository.save(room);
+
+        // Deleted rooms cannot be booked from today onwards
+        updateAvailabilityForRoomStatus(room, RoomStatus.INACTIVE, false);
         
-        // Evict roomsByHotel cache for this hotel
-        evictRoomsByHotelCache(hotelId);
+        // Evict roomsByHotel cache and room counts for this hotel
+        evictHotelRoomCaches(hotelId);
     }
     
-    private void evictRoomsByHotelCache(Long hotelId) {
+    private void evictHotelRoomCaches(Long hotelId) {
         var cache = cacheManager.getCache("roomsByHotel");
         if (cache != null) {
             cache.evict(hotelId);
         }
+        availabilityCounter.invalidate(hotelId);
     }
 }
     
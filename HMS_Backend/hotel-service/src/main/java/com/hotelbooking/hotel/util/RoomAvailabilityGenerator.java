@@ -1,48 +1,126 @@
 package com.hotelbooking.hotel.util;
 
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.hotelbooking.hotel.domain.RoomAvailability;
 import com.hotelbooking.hotel.enums.AvailabilityStatus;
 import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository.RoomDate;
+import com.hotelbooking.hotel.repository.RoomRepository;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Seeds AVAILABLE rows for the booking window (today + default-days) and fills gaps for range operations
+ * such as blocking. Existing dates are read with one query and the missing rows are written with JDBC
+ * batch inserts, since the IDENTITY id strategy stops Hibernate from batching entity saves.
+ */
 @Component
 @RequiredArgsConstructor
 public class RoomAvailabilityGenerator {
 
+    private static final String INSERT_SQL = """
+            INSERT INTO room_availability
+                (hotel_id, room_id, availability_date, status, source, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
     private final RoomAvailabilityRepository availabilityRepository;
+    private final RoomRepository roomRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Value("${hotel.availability.default-days:365}")
     private int defaultDays;
 
+    @Value("${hotel.availability.batch-size:1000}")
+    private int batchSize;
+
     @Transactional
     public void generateForRoom(Long hotelId, Long roomId) {
 
         LocalDate startDate = LocalDate.now();
-        LocalDate endDate = startDate.plusDays(defaultDays);
 
-        for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
+        insertMissing(hotelId, List.of(roomId), startDate, startDate.plusDays(defaultDays),
+                AvailabilityStatus.AVAILABLE, "SYSTEM");
+    }
 
-            boolean exists = availabilityRepository.existsByRoomIdAndDate(roomId, date);
-            if (exists) {
-                continue;
-            }
+    /**
+     * Fill in the window for every room of a hotel.
+     * Used when onboarding a hotel and to top up the window as it rolls forward.
+     *
+     * @return number of rows inserted
+     */
+    @Transactional
+    public int generateForHotel(Long hotelId) {
 
-            RoomAvailability availability = RoomAvailability.builder()
-                    .hotelId(hotelId)
-                    .roomId(roomId)
-                    .date(date)
-                    .status(AvailabilityStatus.AVAILABLE)
-                    .source("SYSTEM")
-                    .build();
+        List<Long> roomIds = roomRepository.findIdsByHotelId(hotelId);
+        LocalDate startDate = LocalDate.now();
 
-            availabilityRepository.save(availability);
+        return insertMissing(hotelId, roomIds, startDate, startDate.plusDays(defaultDays),
+                AvailabilityStatus.AVAILABLE, "SYSTEM");
+    }
+
+    /**
+     * Insert a row with the given status for every (room, date) in [from, to) that has none yet.
+     * Existing rows are not touched.
+     *
+     * @return number of rows inserted
+     */
+    @Transactional
+    public int insertMissing(Long hotelId, Collection<Long> roomIds, LocalDate from, LocalDate to,
+                             AvailabilityStatus status, String source) {
+
+        if (roomIds.isEmpty() || !from.isBefore(to)) {
+            return 0;
         }
+
+        Map<Long, Set<LocalDate>> existing = new HashMap<>();
+        for (RoomDate row : availabilityRepository.findRoomDatesByRoomIds(roomIds, from, to)) {
+            existing.computeIfAbsent(row.getRoomId(), id -> new HashSet<>()).add(row.getDate());
+        }
+
+        List<Slot> missing = new ArrayList<>();
+        for (Long roomId : roomIds) {
+            Set<LocalDate> taken = existing.getOrDefault(roomId, Set.of());
+            for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+                if (!taken.contains(date)) {
+                    missing.add(new Slot(roomId, date));
+                }
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, missing, batchSize, (ps, slot) -> {
+            ps.setLong(1, hotelId);
+            ps.setLong(2, slot.roomId());
+            ps.setDate(3, Date.valueOf(slot.date()));
+            ps.setString(4, status.name());
+            ps.setString(5, source);
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+        return missing.size();
+    }
+
+    private record Slot(Long roomId, LocalDate date) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.hotelbooking.hotel.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class TwoLevelCacheTest {
+
+    private ConcurrentMapCacheManager remote;
+    private StringRedisTemplate redisTemplate;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCacheManager();
+        redisTemplate = mock(StringRedisTemplate.class);
+        cacheManager = new TwoLevelCacheManager(remote, redisTemplate, "channel", 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void testGet_LoadsOnceThenServesFromL1() {
+        Cache cache = cacheManager.getCache("hotels");
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("Hotel 1", cache.get(1L, () -> "Hotel " + loads.incrementAndGet()));
+        // Remove the L2 copy: the second read must come from L1
+        remote.getCache("hotels").clear();
+        assertEquals("Hotel 1", cache.get(1L, () -> "Hotel " + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGet_FillsL1FromL2() {
+        remote.getCache("rooms").put(5L, "Room 5");
+        Cache cache = cacheManager.getCache("rooms");
+
+        assertEquals("Room 5", cache.get(5L).get());
+        remote.getCache("rooms").evict(5L);
+        assertEquals("Room 5", cache.get(5L).get());
+    }
+
+    @Test
+    void testEvict_RemovesBothLevelsAndPublishes() {
+        Cache cache = cacheManager.getCache("hotels");
+        cache.put(1L, "Hotel 1");
+
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+        assertNull(remote.getCache("hotels").get(1L));
+        verify(redisTemplate).convertAndSend(eq("channel"), endsWith("|hotels|1"));
+    }
+
+    @Test
+    void testPut_DoesNotPublish() {
+        cacheManager.getCache("hotels").put(1L, "Hotel 1");
+
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void testOnInvalidation_FromPeerDropsL1Only() {
+        Cache cache = cacheManager.getCache("roomsByHotel");
+        cache.put(3L, "Rooms of 3");
+        cache.put(4L, "Rooms of 4");
+        // Simulate the peer having already refreshed L2
+        remote.getCache("roomsByHotel").put(3L, "New rooms of 3");
+
+        cacheManager.onInvalidation(new CacheInvalidation("peer", "roomsByHotel", "3").encode());
+
+        assertEquals("New rooms of 3", cache.get(3L).get());
+        assertEquals("Rooms of 4", cache.get(4L).get());
+    }
+
+    @Test
+    void testOnInvalidation_ClearFromPeerDropsWholeL1() {
+        Cache cache = cacheManager.getCache("rooms");
+        cache.put(1L, "Room 1");
+        remote.getCache("rooms").clear();
+
+        cacheManager.onInvalidation(new CacheInvalidation("peer", "rooms", null).encode());
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void testOnInvalidation_IgnoresMalformedAndUnknownCache() {
+        Cache cache = cacheManager.getCache("hotels");
+        cache.put(1L, "Hotel 1");
+        remote.getCache("hotels").clear();
+
+        cacheManager.onInvalidation("not an invalidation");
+        cacheManager.onInvalidation(new CacheInvalidation("peer", "unknownCache", "1").encode());
+
+        assertEquals("Hotel 1", cache.get(1L).get());
+    }
+
+    @Test
+    void testCacheInvalidation_RoundTrip() {
+        CacheInvalidation evict = new CacheInvalidation("node-a", "hotels", "42");
+        CacheInvalidation clear = new CacheInvalidation("node-a", "hotels", null);
+
+        assertEquals(evict, CacheInvalidation.decode(evict.encode()));
+        assertEquals(clear, CacheInvalidation.decode(clear.encode()));
+        assertNull(CacheInvalidation.decode("node-a|hotels"));
+    }
+}
@@ -15,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.hotelbooking.hotel.dto.response.BookingContextResponse;
 import com.hotelbooking.hotel.dto.response.HotelDetailResponse;
 import com.hotelbooking.hotel.dto.response.RoomResponse;
 import com.hotelbooking.hotel.enums.City;
@@ -84,5 +85,18 @@ class InternalHotelControllerTest {
         assertNotNull(response);
         assertEquals("101", response.getRoomNumber());
     }
+
+    @Test
+    void testGetBookingContext_Success() {
+        BookingContextResponse context = new BookingContextResponse(1L, HotelStatus.ACTIVE, 1L, 1L, "101",
+                RoomCategory.STANDARD, BigDecimal.valueOf(1000), 2, RoomStatus.AVAILABLE, true);
+        when(hotelService.getBookingContext(1L, 1L)).thenReturn(context);
+
+        BookingContextResponse response = internalHotelController.getBookingContext(1L, 1L);
+
+        assertNotNull(response);
+        assertEquals(HotelStatus.ACTIVE, response.getHotelStatus());
+        assertEquals("101", response.getRoomNumber());
+    }
 }
 
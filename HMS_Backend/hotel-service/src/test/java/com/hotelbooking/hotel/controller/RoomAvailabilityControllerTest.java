@@ -117,5 +117,27 @@ class RoomAvailabilityControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
     }
-}
 
+    @Test
+    void testGenerateAvailability_Manager_Success() {
+        when(availabilityService.generateForHotel(1L)).thenReturn(730);
+
+        ResponseEntity<?> response = availabilityController.generateAvailability("MANAGER", 1L, 1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<?, ?> data = (Map<?, ?>) ((Map<?, ?>) response.getBody()).get("data");
+        assertEquals(730, data.get("created"));
+    }
+
+    @Test
+    void testGenerateAvailability_Manager_WrongHotel() {
+        assertThrows(AccessDeniedException.class,
+                () -> availabilityController.generateAvailability("MANAGER", 2L, 1L));
+    }
+
+    @Test
+    void testGenerateAvailability_Guest() {
+        assertThrows(AccessDeniedException.class,
+                () -> availabilityController.generateAvailability("GUEST", null, 1L));
+    }
+}
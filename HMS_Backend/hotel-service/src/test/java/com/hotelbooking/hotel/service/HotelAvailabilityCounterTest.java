@@ -0,0 +1,121 @@
+package com.hotelbooking.hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository.HotelRoomCounts;
+import com.hotelbooking.hotel.service.HotelAvailabilityCounter.RoomCounts;
+
+@ExtendWith(MockitoExtension.class)
+class HotelAvailabilityCounterTest {
+
+    @Mock
+    private RoomAvailabilityRepository availabilityRepository;
+
+    private HotelAvailabilityCounter counter;
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate tomorrow = today.plusDays(1);
+
+    @BeforeEach
+    void setUp() {
+        counter = new HotelAvailabilityCounter(new ConcurrentMapCacheManager(), availabilityRepository);
+    }
+
+    @Test
+    void testCountsFor_QueriesOncePerDate() {
+        when(availabilityRepository.countRoomsByHotel(List.of(1L), today, today))
+                .thenReturn(List.of(counts(1L, 10, 6)));
+
+        assertEquals(new RoomCounts(10, 6), counter.countsFor(1L, today));
+        assertEquals(new RoomCounts(10, 6), counter.countsFor(1L, today));
+
+        verify(availabilityRepository, times(1)).countRoomsByHotel(List.of(1L), today, today);
+    }
+
+    @Test
+    void testCountsFor_KeepsEachDateSeparately() {
+        when(availabilityRepository.countRoomsByHotel(List.of(1L), today, today))
+                .thenReturn(List.of(counts(1L, 10, 6)));
+        when(availabilityRepository.countRoomsByHotel(List.of(1L), tomorrow, tomorrow))
+                .thenReturn(List.of(counts(1L, 10, 9)));
+
+        assertEquals(6, counter.countsFor(1L, today).availableRooms());
+        assertEquals(9, counter.countsFor(1L, tomorrow).availableRooms());
+        assertEquals(6, counter.countsFor(1L, today).availableRooms());
+
+        verify(availabilityRepository, times(1)).countRoomsByHotel(List.of(1L), today, today);
+    }
+
+    @Test
+    void testInvalidate_NextReadRecounts() {
+        when(availabilityRepository.countRoomsByHotel(List.of(1L), today, today))
+                .thenReturn(List.of(counts(1L, 10, 6)), List.of(counts(1L, 10, 5)));
+
+        assertEquals(6, counter.countsFor(1L, today).availableRooms());
+        counter.invalidate(1L);
+
+        assertEquals(5, counter.countsFor(1L, today).availableRooms());
+    }
+
+    @Test
+    void testInvalidate_DuringQueryDoesNotKeepStaleCount() {
+        // The first read queries before a block commits; the block invalidates while that query is running
+        when(availabilityRepository.countRoomsByHotel(List.of(1L), today, today))
+                .thenAnswer(invocation -> {
+                    counter.invalidate(1L);
+                    return List.of(counts(1L, 10, 6));
+                })
+                .thenReturn(List.of(counts(1L, 10, 5)));
+
+        assertEquals(6, counter.countsFor(1L, today).availableRooms());
+
+        assertEquals(5, counter.countsFor(1L, today).availableRooms());
+        assertEquals(5, counter.countsFor(1L, today).availableRooms());
+        verify(availabilityRepository, times(2)).countRoomsByHotel(List.of(1L), today, today);
+    }
+
+    @Test
+    void testCountsFor_HotelWithoutRooms() {
+        when(availabilityRepository.countRoomsByHotel(List.of(2L), today, today)).thenReturn(List.of());
+
+        assertEquals(new RoomCounts(0, 0), counter.countsFor(2L, today));
+    }
+
+    private HotelRoomCounts counts(Long hotelId, long total, long available) {
+        return new HotelRoomCounts() {
+            @Override
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            @Override
+            public Long getTotalRooms() {
+                return total;
+            }
+
+            @Override
+            public Long getActiveRooms() {
+                return total;
+            }
+
+            @Override
+            public Long getAvailableRooms() {
+                return available;
+            }
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package com.hotelbooking.hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.hotel.domain.Hotel;
+import com.hotelbooking.hotel.domain.Room;
+import com.hotelbooking.hotel.domain.RoomAvailability;
+import com.hotelbooking.hotel.dto.response.HotelDetailResponse;
+import com.hotelbooking.hotel.dto.response.HotelSearchResponse;
+import com.hotelbooking.hotel.enums.AvailabilityStatus;
+import com.hotelbooking.hotel.enums.City;
+import com.hotelbooking.hotel.enums.Hotel_Category;
+import com.hotelbooking.hotel.enums.RoomCategory;
+import com.hotelbooking.hotel.enums.State;
+import com.hotelbooking.hotel.repository.HotelRepository;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the hotel search paths against H2 and checks both the counts and that the number of
+ * statements does not grow with the number of hotels in the city.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class HotelSearchAggregateQueryTest {
+
+    private static final int HOTELS = 40;
+
+    @Autowired
+    private HotelService hotelService;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @BeforeEach
+    void setUp() {
+        checkIn = LocalDate.now().plusDays(1);
+        checkOut = checkIn.plusDays(3);
+
+        for (int i = 0; i < HOTELS; i++) {
+            Hotel hotel = hotelRepository.save(hotel(i));
+
+            Room free = roomRepository.save(room(hotel.getId(), "101", true));
+            Room blocked = roomRepository.save(room(hotel.getId(), "102", true));
+            roomRepository.save(room(hotel.getId(), "103", false));
+            Room blockedOnCheckOut = roomRepository.save(room(hotel.getId(), "104", true));
+
+            List<RoomAvailability> rows = new ArrayList<>();
+            rows.add(availability(hotel.getId(), free.getId(), checkIn, AvailabilityStatus.AVAILABLE));
+            rows.add(availability(hotel.getId(), blocked.getId(), checkIn.plusDays(1), AvailabilityStatus.BLOCKED));
+            // The check-out night is not stayed, so this block must not reduce availability
+            rows.add(availability(hotel.getId(), blockedOnCheckOut.getId(), checkOut, AvailabilityStatus.BLOCKED));
+            availabilityRepository.saveAll(rows);
+        }
+        // A hotel with no rooms is left out of search results
+        hotelRepository.save(hotel(HOTELS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityRepository.deleteAll();
+        roomRepository.deleteAll();
+        hotelRepository.deleteAll();
+    }
+
+    @Test
+    void testSearchHotels_CountsMatchPerHotelQuery() {
+        List<HotelSearchResponse> results = hotelService.searchHotels(City.DELHI, checkIn, checkOut, null);
+
+        assertEquals(HOTELS, results.size());
+        for (HotelSearchResponse result : results) {
+            assertEquals(3, result.getTotalRooms());
+            assertEquals(2, result.getAvailableRooms());
+            assertEquals(availabilityRepository
+                            .findAvailableRoomIdsStrict(result.getId(), checkIn, checkOut.minusDays(1)).size(),
+                    result.getAvailableRooms());
+        }
+    }
+
+    @Test
+    void testSearchHotels_StatementCountIndependentOfHotelCount() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        hotelService.searchHotels(City.DELHI, checkIn, checkOut, null);
+
+        // One query for the hotels, one grouped query for their room counts
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testListings_UseAggregateCounts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<HotelSearchResponse> byCity = hotelService.searchHotelsByCity(City.DELHI);
+        List<HotelSearchResponse> byCategory = hotelService.searchHotelsByCategory(Hotel_Category.HOTEL);
+        List<HotelDetailResponse> all = hotelService.getAllHotels();
+
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(HOTELS, byCity.size());
+        assertEquals(HOTELS, byCategory.size());
+        assertEquals(HOTELS + 1, all.size());
+        assertEquals(4, byCity.get(0).getTotalRooms());
+    }
+
+    private Hotel hotel(int n) {
+        return Hotel.builder()
+                .name("Hotel " + n)
+                .category(Hotel_Category.HOTEL)
+                .city(City.DELHI)
+                .state(State.DELHI)
+                .address("1 Main Road")
+                .country("India")
+                .pincode("110001")
+                .email("hotel" + n + "@hotel.com")
+                .contactNumber(String.valueOf(9000000000L + n))
+                .build();
+    }
+
+    private Room room(Long hotelId, String roomNumber, boolean active) {
+        return Room.builder()
+                .hotelId(hotelId)
+                .roomNumber(roomNumber)
+                .roomCategory(RoomCategory.STANDARD)
+                .pricePerNight(BigDecimal.valueOf(1000))
+                .maxOccupancy(2)
+                .isActive(active)
+                .build();
+    }
+
+    private RoomAvailability availability(Long hotelId, Long roomId, LocalDate date, AvailabilityStatus status) {
+        return RoomAvailability.builder()
+                .hotelId(hotelId)
+                .roomId(roomId)
+                .date(date)
+                .status(status)
+                .build();
+    }
+}
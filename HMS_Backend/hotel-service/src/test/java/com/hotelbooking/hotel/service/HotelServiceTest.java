@@ -4,12 +4,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,20 +24,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
 import com.hotelbooking.hotel.domain.Hotel;
 import com.hotelbooking.hotel.dto.request.CreateHotelRequest;
-import com.hotelbooking.hotel.dto.response.AvailabilitySearchResponse;
+import com.hotelbooking.hotel.dto.response.BookingContextResponse;
 import com.hotelbooking.hotel.dto.response.HotelDetailResponse;
 import com.hotelbooking.hotel.dto.response.HotelSearchResponse;
 import com.hotelbooking.hotel.enums.City;
 import com.hotelbooking.hotel.enums.HotelStatus;
 import com.hotelbooking.hotel.enums.Hotel_Category;
+import com.hotelbooking.hotel.enums.RoomCategory;
+import com.hotelbooking.hotel.enums.RoomStatus;
 import com.hotelbooking.hotel.enums.State;
 import com.hotelbooking.hotel.exception.HotelNotFoundException;
+import com.hotelbooking.hotel.exception.RoomNotFoundException;
 import com.hotelbooking.hotel.repository.HotelRepository;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository.HotelRoomCounts;
 import com.hotelbooking.hotel.repository.RoomRepository;
-import com.hotelbooking.hotel.service.RoomAvailabilityService;
+import com.hotelbooking.hotel.service.HotelAvailabilityCounter.RoomCounts;
 import com.hotelbooking.hotel.service.impl.HotelServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +59,12 @@ class HotelServiceTest {
     @Mock
     private RoomAvailabilityService availabilityService;
 
+    @Mock
+    private HotelAvailabilityCounter availabilityCounter;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private HotelServiceImpl hotelService;
 
@@ -110,14 +129,60 @@ class HotelServiceTest {
     @Test
     void testGetHotelById_Success() {
         when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(roomRepository.countByHotelId(1L)).thenReturn(10L);
-        when(availabilityService.searchAvailability(1L, LocalDate.now(), LocalDate.now().plusDays(1)))
-                .thenReturn(new AvailabilitySearchResponse(1L, 5, Arrays.asList(1L, 2L, 3L, 4L, 5L)));
+        when(availabilityCounter.countsFor(1L, LocalDate.now())).thenReturn(new RoomCounts(10, 5));
 
         HotelDetailResponse response = hotelService.getHotelById(1L);
 
         assertNotNull(response);
         assertEquals("Test Hotel", response.getName());
+        assertEquals(10, response.getTotalRooms());
+        assertEquals(5, response.getAvailableRooms());
+    }
+
+    @Test
+    void testGetHotelById_CachesProfileWithoutRoomCounts() {
+        Cache hotels = new ConcurrentMapCache("hotels");
+        when(cacheManager.getCache("hotels")).thenReturn(hotels);
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(availabilityCounter.countsFor(1L, LocalDate.now()))
+                .thenReturn(new RoomCounts(10, 5), new RoomCounts(10, 4));
+
+        assertEquals(5, hotelService.getHotelById(1L).getAvailableRooms());
+        HotelDetailResponse second = hotelService.getHotelById(1L);
+
+        // Second call reads the profile from the cache but still gets the current count
+        assertEquals(4, second.getAvailableRooms());
+        assertEquals("Test Hotel", second.getName());
+        verify(hotelRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testGetBookingContext_Success() {
+        BookingContextResponse context = new BookingContextResponse(1L, HotelStatus.ACTIVE, 2L, 1L, "101",
+                RoomCategory.STANDARD, BigDecimal.valueOf(1000), 2, RoomStatus.AVAILABLE, true);
+        when(roomRepository.findBookingContext(1L, 2L)).thenReturn(Optional.of(context));
+
+        BookingContextResponse response = hotelService.getBookingContext(1L, 2L);
+
+        assertEquals(HotelStatus.ACTIVE, response.getHotelStatus());
+        assertEquals("101", response.getRoomNumber());
+        verify(availabilityService, never()).searchAvailability(anyLong(), any(), any());
+    }
+
+    @Test
+    void testGetBookingContext_HotelNotFound() {
+        when(roomRepository.findBookingContext(999L, 2L)).thenReturn(Optional.empty());
+        when(hotelRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(HotelNotFoundException.class, () -> hotelService.getBookingContext(999L, 2L));
+    }
+
+    @Test
+    void testGetBookingContext_RoomNotFound() {
+        when(roomRepository.findBookingContext(1L, 999L)).thenReturn(Optional.empty());
+        when(hotelRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(RoomNotFoundException.class, () -> hotelService.getBookingContext(1L, 999L));
     }
 
     @Test
@@ -130,7 +195,7 @@ class HotelServiceTest {
     @Test
     void testGetHotelById_NoRooms() {
         when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
-        when(roomRepository.countByHotelId(1L)).thenReturn(0L);
+        when(availabilityCounter.countsFor(1L, LocalDate.now())).thenReturn(new RoomCounts(0, 0));
 
         HotelDetailResponse response = hotelService.getHotelById(1L);
 
@@ -144,16 +209,17 @@ class HotelServiceTest {
         Hotel hotel2 = Hotel.builder().id(2L).name("Hotel 2").city(City.DELHI).status(HotelStatus.ACTIVE).build();
 
         when(hotelRepository.findByCityAndStatus(City.DELHI, HotelStatus.ACTIVE)).thenReturn(Arrays.asList(hotel1, hotel2));
-        when(roomRepository.countByHotelIdAndIsActiveTrue(1L)).thenReturn(10L);
-        when(roomRepository.countByHotelIdAndIsActiveTrue(2L)).thenReturn(5L);
-        when(availabilityService.searchAvailability(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(new AvailabilitySearchResponse(1L, 5, Arrays.asList(1L, 2L, 3L, 4L, 5L)));
+        when(availabilityService.countRoomsByHotel(List.of(1L, 2L), LocalDate.now().plusDays(1), LocalDate.now().plusDays(3)))
+                .thenReturn(Map.of(1L, counts(1L, 12, 10, 5), 2L, counts(2L, 5, 5, 3)));
 
         List<HotelSearchResponse> response = hotelService.searchHotels(City.DELHI, 
                 LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), null);
 
         assertNotNull(response);
         assertEquals(2, response.size());
+        assertEquals(10, response.get(0).getTotalRooms());
+        assertEquals(5, response.get(0).getAvailableRooms());
+        verify(availabilityService, never()).searchAvailability(anyLong(), any(), any());
     }
 
     @Test
@@ -162,9 +228,8 @@ class HotelServiceTest {
 
         when(hotelRepository.findByCityAndCategoryAndStatus(City.DELHI, Hotel_Category.RESORT, HotelStatus.ACTIVE))
                 .thenReturn(Arrays.asList(hotel1));
-        when(roomRepository.countByHotelIdAndIsActiveTrue(1L)).thenReturn(10L);
-        when(availabilityService.searchAvailability(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(new AvailabilitySearchResponse(1L, 5, Arrays.asList(1L, 2L, 3L, 4L, 5L)));
+        when(availabilityService.countRoomsByHotel(anyList(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Map.of(1L, counts(1L, 10, 10, 5)));
 
         List<HotelSearchResponse> response = hotelService.searchHotels(City.DELHI, 
                 LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), Hotel_Category.RESORT);
@@ -178,9 +243,8 @@ class HotelServiceTest {
         Hotel hotel1 = Hotel.builder().id(1L).name("Hotel 1").city(City.DELHI).status(HotelStatus.ACTIVE).build();
 
         when(hotelRepository.findByCityAndStatus(City.DELHI, HotelStatus.ACTIVE)).thenReturn(Arrays.asList(hotel1));
-        when(roomRepository.countByHotelIdAndIsActiveTrue(1L)).thenReturn(10L);
-        when(availabilityService.searchAvailability(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(new AvailabilitySearchResponse(1L, 0, Arrays.asList()));
+        when(availabilityService.countRoomsByHotel(anyList(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Map.of(1L, counts(1L, 10, 10, 0)));
 
         List<HotelSearchResponse> response = hotelService.searchHotels(City.DELHI, 
                 LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), null);
@@ -194,7 +258,8 @@ class HotelServiceTest {
         Hotel hotel1 = Hotel.builder().id(1L).name("Hotel 1").city(City.DELHI).status(HotelStatus.ACTIVE).build();
 
         when(hotelRepository.findByCityAndStatus(City.DELHI, HotelStatus.ACTIVE)).thenReturn(Arrays.asList(hotel1));
-        when(roomRepository.countByHotelIdAndIsActiveTrue(1L)).thenReturn(0L);
+        when(availabilityService.countRoomsByHotel(anyList(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Map.of(1L, counts(1L, 2, 0, 0)));
 
         List<HotelSearchResponse> response = hotelService.searchHotels(City.DELHI, 
                 LocalDate.now().plusDays(1), LocalDate.now().plusDays(3), null);
@@ -208,7 +273,8 @@ class HotelServiceTest {
         Hotel hotel1 = Hotel.builder().id(1L).name("Hotel 1").city(City.DELHI).status(HotelStatus.ACTIVE).build();
 
         when(hotelRepository.findByCityAndStatus(City.DELHI, HotelStatus.ACTIVE)).thenReturn(Arrays.asList(hotel1));
-        when(roomRepository.countByHotelIdAndIsActiveTrue(1L)).thenReturn(10L);
+        when(availabilityService.countRoomsByHotel(anyList(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Map.of(1L, counts(1L, 12, 10, 4)));
 
         List<HotelSearchResponse> response = hotelService.searchHotels(City.DELHI, null, null, null);
 
@@ -223,15 +289,16 @@ class HotelServiceTest {
         Hotel hotel2 = Hotel.builder().id(2L).name("Hotel 2").status(HotelStatus.ACTIVE).build();
 
         when(hotelRepository.findAll()).thenReturn(Arrays.asList(hotel1, hotel2));
-        when(roomRepository.countByHotelId(1L)).thenReturn(10L);
-        when(roomRepository.countByHotelId(2L)).thenReturn(5L);
-        when(availabilityService.searchAvailability(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(new AvailabilitySearchResponse(1L, 5, Arrays.asList(1L, 2L, 3L, 4L, 5L)));
+        when(availabilityService.countRoomsByHotel(List.of(1L, 2L), LocalDate.now(), LocalDate.now().plusDays(1)))
+                .thenReturn(Map.of(1L, counts(1L, 10, 10, 5)));
 
         List<HotelDetailResponse> response = hotelService.getAllHotels();
 
         assertNotNull(response);
         assertEquals(2, response.size());
+        assertEquals(10, response.get(0).getTotalRooms());
+        // Hotel without rooms is still listed for admins
+        assertEquals(0, response.get(1).getTotalRooms());
     }
 
     @Test
@@ -239,9 +306,8 @@ class HotelServiceTest {
         Hotel hotel1 = Hotel.builder().id(1L).name("Hotel 1").city(City.DELHI).status(HotelStatus.ACTIVE).build();
 
         when(hotelRepository.findByCityAndStatus(City.DELHI, HotelStatus.ACTIVE)).thenReturn(Arrays.asList(hotel1));
-        when(roomRepository.countByHotelId(1L)).thenReturn(10L);
-        when(availabilityService.searchAvailability(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(new AvailabilitySearchResponse(1L, 5, Arrays.asList(1L, 2L, 3L, 4L, 5L)));
+        when(availabilityService.countRoomsByHotel(anyList(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Map.of(1L, counts(1L, 10, 8, 5)));
 
         List<HotelSearchResponse> response = hotelService.searchHotelsByCity(City.DELHI);
 
@@ -255,14 +321,36 @@ class HotelServiceTest {
 
         when(hotelRepository.findByCategoryAndStatus(Hotel_Category.RESORT, HotelStatus.ACTIVE))
                 .thenReturn(Arrays.asList(hotel1));
-        when(roomRepository.countByHotelId(1L)).thenReturn(10L);
-        when(availabilityService.searchAvailability(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(new AvailabilitySearchResponse(1L, 5, Arrays.asList(1L, 2L, 3L, 4L, 5L)));
+        when(availabilityService.countRoomsByHotel(anyList(), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(Map.of(1L, counts(1L, 10, 8, 5)));
 
         List<HotelSearchResponse> response = hotelService.searchHotelsByCategory(Hotel_Category.RESORT);
 
         assertNotNull(response);
         assertEquals(1, response.size());
     }
-}
 
+    private HotelRoomCounts counts(Long hotelId, long total, long active, long available) {
+        return new HotelRoomCounts() {
+            @Override
+            public Long getHotelId() {
+                return hotelId;
+            }
+
+            @Override
+            public Long getTotalRooms() {
+                return total;
+            }
+
+            @Override
+            public Long getActiveRooms() {
+                return active;
+            }
+
+            @Override
+            public Long getAvailableRooms() {
+                return available;
+            }
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package com.hotelbooking.hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.hotel.domain.Room;
+import com.hotelbooking.hotel.domain.RoomAvailability;
+import com.hotelbooking.hotel.dto.request.BlockRoomRequest;
+import com.hotelbooking.hotel.dto.request.UnblockRoomRequest;
+import com.hotelbooking.hotel.enums.AvailabilityStatus;
+import com.hotelbooking.hotel.enums.RoomCategory;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Blocks and unblocks a floor for a 90-day renovation against H2, partly over dates that already have rows.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class RoomAvailabilityRangeUpdateTest {
+
+    private static final int DAYS = 90;
+
+    @Autowired
+    private RoomAvailabilityService availabilityService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private LocalDate from;
+    private LocalDate to;
+    private Room reservedRoom;
+
+    @BeforeEach
+    void setUp() {
+        from = LocalDate.now().plusDays(1);
+        to = from.plusDays(DAYS - 1);
+
+        reservedRoom = roomRepository.save(room("301", 3));
+        roomRepository.save(room("302", 3));
+        roomRepository.save(room("201", 2));
+
+        // Rows that already exist inside the window are updated in place, the other dates are inserted
+        availabilityRepository.save(RoomAvailability.builder()
+                .hotelId(1L)
+                .roomId(reservedRoom.getId())
+                .date(from.plusDays(5))
+                .status(AvailabilityStatus.RESERVED)
+                .source("BOOKING")
+                .build());
+        availabilityRepository.save(RoomAvailability.builder()
+                .hotelId(1L)
+                .roomId(reservedRoom.getId())
+                .date(from.plusDays(6))
+                .status(AvailabilityStatus.AVAILABLE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityRepository.deleteAllInBatch();
+        roomRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testBlockAndUnblockFloor() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BlockRoomRequest block = new BlockRoomRequest();
+        block.setHotelId(1L);
+        block.setFloorNumber(3);
+        block.setFromDate(from);
+        block.setToDate(to);
+        block.setReason("Renovation");
+        availabilityService.blockRoom(block);
+
+        // Floor lookup, ownership check, range UPDATE and existing-dates lookup; inserts go through JDBC batches
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(2 * DAYS, blocked().size());
+        assertEquals(2 * DAYS, availabilityRepository.count());
+
+        UnblockRoomRequest unblock = new UnblockRoomRequest();
+        unblock.setHotelId(1L);
+        unblock.setRoomIds(List.of(reservedRoom.getId()));
+        unblock.setFromDate(from);
+        unblock.setToDate(to);
+        availabilityService.unblockRoom(unblock);
+
+        assertEquals(DAYS, blocked().size());
+        assertEquals(AvailabilityStatus.AVAILABLE, availabilityRepository
+                .findByRoomIdAndDate(reservedRoom.getId(), from.plusDays(6)).orElseThrow().getStatus());
+    }
+
+    private List<RoomAvailability> blocked() {
+        return availabilityRepository.findAll().stream()
+                .filter(ra -> ra.getStatus() == AvailabilityStatus.BLOCKED)
+                .toList();
+    }
+
+    private Room room(String roomNumber, int floor) {
+        return Room.builder()
+                .hotelId(1L)
+                .roomNumber(roomNumber)
+                .roomCategory(RoomCategory.STANDARD)
+                .pricePerNight(BigDecimal.valueOf(1000))
+                .maxOccupancy(2)
+                .floorNumber(floor)
+                .build();
+    }
+}
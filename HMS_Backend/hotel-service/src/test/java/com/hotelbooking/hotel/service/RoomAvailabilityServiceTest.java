@@ -3,14 +3,18 @@ package com.hotelbooking.hotel.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,7 +30,10 @@ import com.hotelbooking.hotel.dto.response.AvailabilitySearchResponse;
 import com.hotelbooking.hotel.enums.AvailabilityStatus;
 import com.hotelbooking.hotel.exception.ValidationException;
 import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository.HotelRoomCounts;
+import com.hotelbooking.hotel.repository.RoomRepository;
 import com.hotelbooking.hotel.service.impl.RoomAvailabilityServiceImpl;
+import com.hotelbooking.hotel.util.RoomAvailabilityGenerator;
 
 @ExtendWith(MockitoExtension.class)
 class RoomAvailabilityServiceTest {
@@ -34,6 +41,15 @@ class RoomAvailabilityServiceTest {
     @Mock
     private RoomAvailabilityRepository availabilityRepository;
 
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomAvailabilityGenerator availabilityGenerator;
+
+    @Mock
+    private HotelAvailabilityCounter availabilityCounter;
+
     @InjectMocks
     private RoomAvailabilityServiceImpl availabilityService;
 
@@ -58,76 +74,76 @@ class RoomAvailabilityServiceTest {
 
     @Test
     void testBlockRoom_Success() {
-        when(availabilityRepository.findByRoomIdAndDate(anyLong(), any(LocalDate.class)))
-                .thenReturn(Optional.empty());
-        when(availabilityRepository.save(any(RoomAvailability.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(roomRepository.findIdsByHotelIdAndIdIn(1L, Set.of(1L))).thenReturn(List.of(1L));
 
         availabilityService.blockRoom(blockRequest);
 
-        // blockRequest covers 3 days (fromDate to toDate inclusive), so save should be called 3 times
-        verify(availabilityRepository, org.mockito.Mockito.times(3)).save(any(RoomAvailability.class));
+        // blockRequest covers 3 days (fromDate to toDate inclusive): one range UPDATE, missing days inserted in bulk
+        verify(availabilityRepository).updateStatusInRange(eq(1L), eq(List.of(1L)),
+                eq(LocalDate.now().plusDays(1)), eq(LocalDate.now().plusDays(3)),
+                eq(AvailabilityStatus.BLOCKED), eq("MANUAL: Maintenance"), any(LocalDateTime.class));
+        verify(availabilityGenerator).insertMissing(1L, List.of(1L),
+                LocalDate.now().plusDays(1), LocalDate.now().plusDays(4),
+                AvailabilityStatus.BLOCKED, "MANUAL: Maintenance");
+        verify(availabilityRepository, never()).save(any(RoomAvailability.class));
+        verify(availabilityCounter).invalidate(1L);
     }
 
     @Test
-    void testBlockRoom_ExistingAvailability() {
-        RoomAvailability existing = RoomAvailability.builder()
-                .roomId(1L)
-                .date(LocalDate.now().plusDays(1))
-                .status(AvailabilityStatus.AVAILABLE)
-                .build();
-
-        when(availabilityRepository.findByRoomIdAndDate(anyLong(), any(LocalDate.class)))
-                .thenReturn(Optional.of(existing));
-        when(availabilityRepository.save(any(RoomAvailability.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+    void testBlockRoom_MultipleRoomsAndFloor() {
+        blockRequest.setRoomId(null);
+        blockRequest.setRoomIds(List.of(1L, 2L));
+        blockRequest.setFloorNumber(3);
+        when(roomRepository.findIdsByHotelIdAndFloorNumber(1L, 3)).thenReturn(List.of(2L, 30L, 31L));
+        when(roomRepository.findIdsByHotelIdAndIdIn(1L, Set.of(1L, 2L, 30L, 31L)))
+                .thenReturn(List.of(1L, 2L, 30L, 31L));
 
         availabilityService.blockRoom(blockRequest);
 
-        // blockRequest covers 3 days (fromDate to toDate inclusive), so save should be called 3 times
-        verify(availabilityRepository, org.mockito.Mockito.times(3)).save(any(RoomAvailability.class));
+        verify(availabilityRepository).updateStatusInRange(eq(1L), eq(List.of(1L, 2L, 30L, 31L)),
+                any(LocalDate.class), any(LocalDate.class), eq(AvailabilityStatus.BLOCKED), any(), any());
+        verify(availabilityGenerator).insertMissing(eq(1L), eq(List.of(1L, 2L, 30L, 31L)),
+                any(LocalDate.class), any(LocalDate.class), eq(AvailabilityStatus.BLOCKED), any());
     }
 
     @Test
-    void testBlockRoom_InvalidDateRange() {
-        blockRequest.setFromDate(LocalDate.now().plusDays(3));
-        blockRequest.setToDate(LocalDate.now().plusDays(1));
+    void testBlockRoom_RoomOfAnotherHotel() {
+        blockRequest.setRoomIds(List.of(99L));
+        when(roomRepository.findIdsByHotelIdAndIdIn(1L, Set.of(1L, 99L))).thenReturn(List.of(1L));
 
         assertThrows(ValidationException.class, () -> availabilityService.blockRoom(blockRequest));
+        verify(availabilityRepository, never()).updateStatusInRange(any(), any(), any(), any(), any(), any(), any());
+        verify(availabilityCounter, never()).invalidate(any());
     }
 
     @Test
-    void testUnblockRoom_Success() {
-        RoomAvailability blocked = RoomAvailability.builder()
-                .roomId(1L)
-                .date(LocalDate.now().plusDays(1))
-                .status(AvailabilityStatus.BLOCKED)
-                .build();
+    void testBlockRoom_NoRooms() {
+        blockRequest.setRoomId(null);
 
-        when(availabilityRepository.findByRoomIdAndDate(anyLong(), any(LocalDate.class)))
-                .thenReturn(Optional.of(blocked));
-        when(availabilityRepository.save(any(RoomAvailability.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        assertThrows(ValidationException.class, () -> availabilityService.blockRoom(blockRequest));
+    }
 
-        availabilityService.unblockRoom(unblockRequest);
+    @Test
+    void testBlockRoom_InvalidDateRange() {
+        blockRequest.setFromDate(LocalDate.now().plusDays(3));
+        blockRequest.setToDate(LocalDate.now().plusDays(1));
 
-        verify(availabilityRepository).save(any(RoomAvailability.class));
+        assertThrows(ValidationException.class, () -> availabilityService.blockRoom(blockRequest));
     }
 
     @Test
-    void testUnblockRoom_ReservedNotUnblocked() {
-        RoomAvailability reserved = RoomAvailability.builder()
-                .roomId(1L)
-                .date(LocalDate.now().plusDays(1))
-                .status(AvailabilityStatus.RESERVED)
-                .build();
-
-        when(availabilityRepository.findByRoomIdAndDate(anyLong(), any(LocalDate.class)))
-                .thenReturn(Optional.of(reserved));
+    void testUnblockRoom_Success() {
+        when(roomRepository.findIdsByHotelIdAndIdIn(1L, Set.of(1L))).thenReturn(List.of(1L));
 
         availabilityService.unblockRoom(unblockRequest);
 
-        verify(availabilityRepository, org.mockito.Mockito.never()).save(any(RoomAvailability.class));
+        // Only BLOCKED rows are released, so RESERVED nights are never overridden
+        verify(availabilityRepository).transitionStatusInRange(eq(1L), eq(List.of(1L)),
+                eq(LocalDate.now().plusDays(1)), eq(LocalDate.now().plusDays(3)),
+                eq(AvailabilityStatus.BLOCKED), eq(AvailabilityStatus.AVAILABLE), eq("SYSTEM"),
+                any(LocalDateTime.class));
+        verify(availabilityRepository, never()).save(any(RoomAvailability.class));
+        verify(availabilityCounter).invalidate(1L);
     }
 
     @Test
@@ -172,5 +188,42 @@ class RoomAvailabilityServiceTest {
         assertThrows(ValidationException.class, () -> availabilityService.searchAvailability(
                 1L, LocalDate.now().minusDays(1), LocalDate.now().plusDays(1)));
     }
-}
 
+    @Test
+    void testCountRoomsByHotel_Success() {
+        HotelRoomCounts counts = mock(HotelRoomCounts.class);
+        when(counts.getHotelId()).thenReturn(1L);
+        // checkOut is exclusive, so the query runs up to the night before
+        when(availabilityRepository.countRoomsByHotel(List.of(1L, 2L), LocalDate.now().plusDays(1), LocalDate.now().plusDays(2)))
+                .thenReturn(List.of(counts));
+
+        Map<Long, HotelRoomCounts> result = availabilityService.countRoomsByHotel(
+                List.of(1L, 2L), LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+
+        assertEquals(1, result.size());
+        assertEquals(counts, result.get(1L));
+    }
+
+    @Test
+    void testCountRoomsByHotel_NoHotels() {
+        Map<Long, HotelRoomCounts> result = availabilityService.countRoomsByHotel(
+                List.of(), LocalDate.now(), LocalDate.now().plusDays(1));
+
+        assertEquals(0, result.size());
+        verify(availabilityRepository, never()).countRoomsByHotel(any(), any(), any());
+    }
+
+    @Test
+    void testCountRoomsByHotel_PastCheckIn() {
+        assertThrows(ValidationException.class, () -> availabilityService.countRoomsByHotel(
+                List.of(1L), LocalDate.now().minusDays(1), LocalDate.now().plusDays(1)));
+    }
+
+    @Test
+    void testGenerateForHotel_DelegatesToGenerator() {
+        when(availabilityGenerator.generateForHotel(1L)).thenReturn(365);
+
+        assertEquals(365, availabilityService.generateForHotel(1L));
+        verify(availabilityCounter).invalidate(1L);
+    }
+}
@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -12,6 +14,7 @@ import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -57,6 +60,9 @@ class RoomServiceTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private HotelAvailabilityCounter availabilityCounter;
+
     @InjectMocks
     private RoomServiceImpl roomService;
 
@@ -101,6 +107,7 @@ class RoomServiceTest {
         assertNotNull(roomId);
         assertEquals(1L, roomId);
         verify(availabilityGenerator).generateForRoom(1L, 1L);
+        verify(availabilityCounter).invalidate(1L);
     }
 
     @Test
@@ -163,12 +170,13 @@ class RoomServiceTest {
     void testUpdateRoomStatus_Success() {
         when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
         when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
-        when(availabilityRepository.findByRoomIdAndDateBetween(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(Arrays.asList());
 
         roomService.updateRoomStatus(1L, RoomStatus.MAINTENANCE);
 
         verify(roomRepository).save(any(Room.class));
+        verify(availabilityRepository).syncStatusFrom(eq(1L), eq(LocalDate.now()),
+                eq(AvailabilityStatus.UNAVAILABLE), anyString(), any(LocalDateTime.class));
+        verify(availabilityCounter).invalidate(1L);
     }
 
     @Test
@@ -180,33 +188,27 @@ class RoomServiceTest {
 
     @Test
     void testUpdateRoomStatus_UpdatesAvailability() {
-        RoomAvailability availability = RoomAvailability.builder()
-                .roomId(1L)
-                .date(LocalDate.now().plusDays(1))
-                .status(AvailabilityStatus.AVAILABLE)
-                .build();
-
+        testRoom.setStatus(RoomStatus.MAINTENANCE);
         when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
         when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
-        when(availabilityRepository.findByRoomIdAndDateBetween(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(Arrays.asList(availability));
-        when(availabilityRepository.save(any(RoomAvailability.class))).thenReturn(availability);
 
-        roomService.updateRoomStatus(1L, RoomStatus.INACTIVE);
+        roomService.updateRoomStatus(1L, RoomStatus.AVAILABLE);
 
-        verify(availabilityRepository).save(any(RoomAvailability.class));
+        verify(availabilityRepository).syncStatusFrom(eq(1L), eq(LocalDate.now()),
+                eq(AvailabilityStatus.AVAILABLE), eq("SYSTEM: status sync"), any(LocalDateTime.class));
+        verify(availabilityRepository, never()).save(any(RoomAvailability.class));
     }
 
     @Test
     void testUpdateRoomActiveStatus_Success() {
         when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
         when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
-        when(availabilityRepository.findByRoomIdAndDateBetween(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(Arrays.asList());
 
         roomService.updateRoomActiveStatus(1L, false);
 
         verify(roomRepository).save(any(Room.class));
+        verify(availabilityRepository).syncStatusFrom(eq(1L), eq(LocalDate.now()),
+                eq(AvailabilityStatus.UNAVAILABLE), anyString(), any(LocalDateTime.class));
     }
 
     @Test
@@ -224,6 +226,8 @@ class RoomServiceTest {
         roomService.deleteRoom(1L);
 
         verify(roomRepository).save(any(Room.class));
+        verify(availabilityRepository).syncStatusFrom(eq(1L), eq(LocalDate.now()),
+                eq(AvailabilityStatus.UNAVAILABLE), anyString(), any(LocalDateTime.class));
     }
 
     @Test
@@ -244,23 +248,4 @@ class RoomServiceTest {
 
         assertThrows(RoomNotFoundException.class, () -> roomService.deleteRoom(1L));
     }
-
-    @Test
-    void testUpdateRoomStatus_ReservedNotChanged() {
-        RoomAvailability reserved = RoomAvailability.builder()
-                .roomId(1L)
-                .date(LocalDate.now().plusDays(1))
-                .status(AvailabilityStatus.RESERVED)
-                .build();
-
-        when(roomRepository.findById(1L)).thenReturn(Optional.of(testRoom));
-        when(roomRepository.save(any(Room.class))).thenReturn(testRoom);
-        when(availabilityRepository.findByRoomIdAndDateBetween(anyLong(), any(LocalDate.class), any(LocalDate.class)))
-                .thenReturn(Arrays.asList(reserved));
-
-        roomService.updateRoomStatus(1L, RoomStatus.INACTIVE);
-
-        verify(availabilityRepository, never()).save(any(RoomAvailability.class));
-    }
 }
-
@@ -0,0 +1,145 @@
+package com.hotelbooking.hotel.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.hotel.domain.Room;
+import com.hotelbooking.hotel.domain.RoomAvailability;
+import com.hotelbooking.hotel.enums.AvailabilityStatus;
+import com.hotelbooking.hotel.enums.RoomCategory;
+import com.hotelbooking.hotel.enums.RoomStatus;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomRepository;
+import com.hotelbooking.hotel.util.RoomAvailabilityGenerator;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that a room status change syncs a full year of availability with a constant number of statements.
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class RoomStatusSyncTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private RoomAvailabilityGenerator availabilityGenerator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Room room;
+    private LocalDate reservedDate;
+    private LocalDate blockedDate;
+
+    @BeforeEach
+    void setUp() {
+        room = roomRepository.save(Room.builder()
+                .hotelId(1L)
+                .roomNumber("101")
+                .roomCategory(RoomCategory.STANDARD)
+                .pricePerNight(BigDecimal.valueOf(1000))
+                .maxOccupancy(2)
+                .build());
+        availabilityGenerator.generateForRoom(1L, room.getId());
+
+        reservedDate = LocalDate.now().plusDays(3);
+        blockedDate = LocalDate.now().plusDays(4);
+        setStatus(reservedDate, AvailabilityStatus.RESERVED);
+        setStatus(blockedDate, AvailabilityStatus.BLOCKED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        availabilityRepository.deleteAllInBatch();
+        roomRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testUpdateRoomStatus_SingleUpdateStatement() {
+        Statistics statistics = statistics();
+
+        roomService.updateRoomStatus(room.getId(), RoomStatus.MAINTENANCE);
+
+        // SELECT room, UPDATE room, UPDATE room_availability
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertStatuses(AvailabilityStatus.UNAVAILABLE);
+
+        statistics.clear();
+        roomService.updateRoomStatus(room.getId(), RoomStatus.AVAILABLE);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertStatuses(AvailabilityStatus.AVAILABLE);
+    }
+
+    @Test
+    void testUpdateRoomActiveStatus_SingleUpdateStatement() {
+        Statistics statistics = statistics();
+
+        roomService.updateRoomActiveStatus(room.getId(), false);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertStatuses(AvailabilityStatus.UNAVAILABLE);
+    }
+
+    @Test
+    void testDeleteRoom_SingleUpdateStatement() {
+        Statistics statistics = statistics();
+
+        roomService.deleteRoom(room.getId());
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertStatuses(AvailabilityStatus.UNAVAILABLE);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private void setStatus(LocalDate date, AvailabilityStatus status) {
+        RoomAvailability availability = availabilityRepository.findByRoomIdAndDate(room.getId(), date).orElseThrow();
+        availability.setStatus(status);
+        availabilityRepository.save(availability);
+    }
+
+    private void assertStatuses(AvailabilityStatus expected) {
+        Map<LocalDate, AvailabilityStatus> byDate = availabilityRepository.findAll().stream()
+                .collect(Collectors.toMap(RoomAvailability::getDate, RoomAvailability::getStatus));
+
+        assertEquals(AvailabilityStatus.RESERVED, byDate.remove(reservedDate));
+        assertEquals(AvailabilityStatus.BLOCKED, byDate.remove(blockedDate));
+        assertEquals(Map.of(expected, (long) byDate.size()), byDate.values().stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting())));
+    }
+}
@@ -0,0 +1,126 @@
+package com.hotelbooking.hotel.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.hotel.domain.Room;
+import com.hotelbooking.hotel.domain.RoomAvailability;
+import com.hotelbooking.hotel.enums.AvailabilityStatus;
+import com.hotelbooking.hotel.enums.RoomCategory;
+import com.hotelbooking.hotel.repository.RoomAvailabilityRepository;
+import com.hotelbooking.hotel.repository.RoomRepository;
+
+/**
+ * Seeds availability against H2. The volume case (500 rooms x 365 days by default) is skipped unless run with
+ * mvn test -Dtest=RoomAvailabilityGeneratorTest -Dbenchmark.availability=true [-Dbenchmark.rooms=N]
+ */
+@SpringBootTest(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+class RoomAvailabilityGeneratorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilityGeneratorTest.class);
+
+    private static final int BENCHMARK_ROOMS = Integer.getInteger("benchmark.rooms", 500);
+    private static final int DAYS = 365;
+
+    @Autowired
+    private RoomAvailabilityGenerator generator;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomAvailabilityRepository availabilityRepository;
+
+    @AfterEach
+    void tearDown() {
+        availabilityRepository.deleteAllInBatch();
+        roomRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testGenerateForRoom_SkipsExistingDates() {
+        Room room = roomRepository.save(room(1L, "101"));
+        availabilityRepository.save(RoomAvailability.builder()
+                .hotelId(1L)
+                .roomId(room.getId())
+                .date(LocalDate.now().plusDays(10))
+                .status(AvailabilityStatus.BLOCKED)
+                .build());
+
+        generator.generateForRoom(1L, room.getId());
+
+        assertEquals(DAYS, availabilityRepository.count());
+        assertEquals(AvailabilityStatus.BLOCKED,
+                availabilityRepository.findByRoomIdAndDate(room.getId(), LocalDate.now().plusDays(10))
+                        .orElseThrow().getStatus());
+        assertEquals(AvailabilityStatus.AVAILABLE,
+                availabilityRepository.findByRoomIdAndDate(room.getId(), LocalDate.now())
+                        .orElseThrow().getStatus());
+    }
+
+    @Test
+    void testGenerateForHotel_SeedsAllRoomsOnce() {
+        seedRooms(1L, 3);
+        // Another hotel's rooms are left alone
+        roomRepository.save(room(2L, "101"));
+
+        assertEquals(3 * DAYS, generator.generateForHotel(1L));
+        assertEquals(3L * DAYS, availabilityRepository.count());
+
+        // Second run only tops up the window
+        assertEquals(0, generator.generateForHotel(1L));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark.availability", matches = "true")
+    void testGenerateForHotel_Volume() {
+        seedRooms(1L, BENCHMARK_ROOMS);
+
+        long start = System.nanoTime();
+        int created = generator.generateForHotel(1L);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("generateForHotel seeded {} rooms x {} days ({} rows) in {} ms", BENCHMARK_ROOMS, DAYS, created, millis);
+
+        assertEquals(BENCHMARK_ROOMS * DAYS, created);
+        assertEquals((long) BENCHMARK_ROOMS * DAYS, availabilityRepository.count());
+    }
+
+    private void seedRooms(Long hotelId, int count) {
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rooms.add(room(hotelId, String.valueOf(1000 + i)));
+        }
+        roomRepository.saveAll(rooms);
+    }
+
+    private Room room(Long hotelId, String roomNumber) {
+        return Room.builder()
+                .hotelId(hotelId)
+                .roomNumber(roomNumber)
+                .roomCategory(RoomCategory.STANDARD)
+                .pricePerNight(BigDecimal.valueOf(1000))
+                .maxOccupancy(2)
+                .build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.hotelbooking.reports.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded pool for dashboard sub-queries. When the queue is full the request thread runs the query itself,
+ * which slows that request down instead of failing it.
+ */
+@Configuration
+public class DashboardExecutorConfig {
+
+    @Value("${reports.dashboard.parallel.threads:16}")
+    private int threads;
+
+    @Value("${reports.dashboard.parallel.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Bean(name = "dashboardQueryExecutor")
+    public ThreadPoolTaskExecutor dashboardQueryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-query-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
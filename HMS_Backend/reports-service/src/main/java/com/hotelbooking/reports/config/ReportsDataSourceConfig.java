@@ -0,0 +1,68 @@
+package com.hotelbooking.reports.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * reports-service's own database. Unlike the booking, billing and hotel sources it is written to:
+ * it holds the pre-aggregated rollup tables, so its schema is managed by Hibernate.
+ */
+@Configuration
+@EnableTransactionManagement
+@EnableJpaRepositories(
+    basePackages = "com.hotelbooking.reports.repository.reports",
+    entityManagerFactoryRef = "reportsEntityManagerFactory",
+    transactionManagerRef = "reportsTransactionManager"
+)
+public class ReportsDataSourceConfig {
+
+    @Value("${spring.jpa.properties.hibernate.dialect:org.hibernate.dialect.MySQLDialect}")
+    private String dialect;
+
+    @Value("${reports.datasource.ddl-auto:update}")
+    private String ddlAuto;
+
+    @Bean(name = "reportsDataSource")
+    @ConfigurationProperties(prefix = "spring.datasource.reports")
+    public DataSource reportsDataSource() {
+        return DataSourceBuilder.create().type(com.zaxxer.hikari.HikariDataSource.class).build();
+    }
+
+    @Bean(name = "reportsEntityManagerFactory")
+    public LocalContainerEntityManagerFactoryBean reportsEntityManagerFactory(
+            @Qualifier("reportsDataSource") DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
+        em.setDataSource(dataSource);
+        em.setPackagesToScan("com.hotelbooking.reports.domain.reports");
+        em.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+
+        Map<String, Object> jpaProps = new HashMap<>();
+        jpaProps.put("hibernate.dialect", dialect);
+        jpaProps.put("hibernate.hbm2ddl.auto", ddlAuto);
+        em.setJpaPropertyMap(jpaProps);
+        return em;
+    }
+
+    @Bean(name = "reportsTransactionManager")
+    public PlatformTransactionManager reportsTransactionManager(
+            @Qualifier("reportsEntityManagerFactory") EntityManagerFactory emf) {
+        return new JpaTransactionManager(emf);
+    }
+}
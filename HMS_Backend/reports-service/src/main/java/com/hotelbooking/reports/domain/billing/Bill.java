@@ -37,5 +37,8 @@ public class Bill {
 
     @Column(name = "generated_at")
     private LocalDateTime generatedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
 }
 
@@ -0,0 +1,38 @@
+package com.hotelbooking.reports.domain.reports;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Last known status of one booking and the daily_hotel_stats bucket it is counted in.
+ * Lets the event stream move a booking between status counters, and makes redelivered or stale events no-ops.
+ */
+@Entity
+@Table(name = "booking_facts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingFact {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+}
@@ -0,0 +1,117 @@
+package com.hotelbooking.reports.domain.reports;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One row per hotel per day.
+ * Revenue and paid bill counts are attributed to the day the bill was generated; booking counts to the day
+ * the booking was created, split by the booking's current status.
+ */
+@Entity
+@Table(
+    name = "daily_hotel_stats",
+    uniqueConstraints = @UniqueConstraint(name = "uk_daily_hotel_stats_hotel_day", columnNames = {"hotel_id", "stat_date"}),
+    indexes = @Index(name = "idx_daily_hotel_stats_day", columnList = "stat_date")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyHotelStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "paid_bills", nullable = false)
+    private Long paidBills = 0L;
+
+    @Column(name = "bookings", nullable = false)
+    private Long bookings = 0L;
+
+    @Column(name = "created_bookings", nullable = false)
+    private Long createdBookings = 0L;
+
+    @Column(name = "confirmed_bookings", nullable = false)
+    private Long confirmedBookings = 0L;
+
+    @Column(name = "checked_in_bookings", nullable = false)
+    private Long checkedInBookings = 0L;
+
+    @Column(name = "checked_out_bookings", nullable = false)
+    private Long checkedOutBookings = 0L;
+
+    @Column(name = "cancelled_bookings", nullable = false)
+    private Long cancelledBookings = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public DailyHotelStats(Long hotelId, LocalDate statDate) {
+        this.hotelId = hotelId;
+        this.statDate = statDate;
+    }
+
+    public void resetRevenue() {
+        this.revenue = BigDecimal.ZERO;
+        this.paidBills = 0L;
+    }
+
+    public void resetBookings() {
+        this.bookings = 0L;
+        this.createdBookings = 0L;
+        this.confirmedBookings = 0L;
+        this.checkedInBookings = 0L;
+        this.checkedOutBookings = 0L;
+        this.cancelledBookings = 0L;
+    }
+
+    /**
+     * Move the status counter of one booking status by delta. Unknown statuses only affect the total.
+     */
+    public void addToStatus(String status, long delta) {
+        switch (status) {
+            case "CREATED" -> createdBookings += delta;
+            case "CONFIRMED" -> confirmedBookings += delta;
+            case "CHECKED_IN" -> checkedInBookings += delta;
+            case "CHECKED_OUT" -> checkedOutBookings += delta;
+            case "CANCELLED" -> cancelledBookings += delta;
+            default -> { }
+        }
+    }
+
+    public void addPayment(BigDecimal amount) {
+        this.revenue = this.revenue.add(amount != null ? amount : BigDecimal.ZERO);
+        this.paidBills++;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
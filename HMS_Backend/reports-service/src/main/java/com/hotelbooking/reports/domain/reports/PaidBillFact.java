@@ -0,0 +1,38 @@
+package com.hotelbooking.reports.domain.reports;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A bill already counted as paid in daily_hotel_stats, so a redelivered bill-paid event is not counted twice.
+ */
+@Entity
+@Table(name = "paid_bill_facts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaidBillFact {
+
+    @Id
+    @Column(name = "bill_id")
+    private Long billId;
+
+    @Column(name = "hotel_id", nullable = false)
+    private Long hotelId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount;
+}
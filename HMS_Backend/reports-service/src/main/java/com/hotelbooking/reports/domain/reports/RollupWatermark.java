@@ -0,0 +1,31 @@
+package com.hotelbooking.reports.domain.reports;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Point up to which a rollup has applied source changes. Absent until the first full backfill completes.
+ */
+@Entity
+@Table(name = "rollup_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupWatermark {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(name = "applied_until", nullable = false)
+    private LocalDateTime appliedUntil;
+}
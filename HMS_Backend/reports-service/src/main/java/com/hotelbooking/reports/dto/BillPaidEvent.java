@@ -0,0 +1,30 @@
+package com.hotelbooking.reports.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BillPaidEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long billId;
+    private Long bookingId;
+    private Long hotelId;
+    private BigDecimal amount;
+    private LocalDateTime generatedAt;
+    private LocalDateTime paidAt;
+}
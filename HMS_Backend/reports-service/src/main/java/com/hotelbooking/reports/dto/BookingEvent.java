@@ -0,0 +1,30 @@
+package com.hotelbooking.reports.dto;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Fields shared by every booking-service event (booking-created, booking-confirmed, booking-cancelled,
+ * guest-checked-in, checkout-completed). The topic tells which status the booking moved to.
+ * createdAt is the booking's creation time, the same column the seed and reconcile bucket by; events published
+ * before booking-service added it have none.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BookingEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long bookingId;
+    private Long hotelId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,95 @@
+package com.hotelbooking.reports.listener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.hotelbooking.reports.dto.BillPaidEvent;
+import com.hotelbooking.reports.dto.BookingEvent;
+import com.hotelbooking.reports.service.StreamingStatsAggregator;
+import com.hotelbooking.reports.service.StreamingStatsAggregator.BookingChange;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds booking and billing events into StreamingStatsAggregator, one reports transaction per polled batch.
+ * Containers are started by the aggregator once the store has been seeded.
+ */
+@Component
+@ConditionalOnProperty(name = "reports.aggregation.mode", havingValue = "events")
+@RequiredArgsConstructor
+@Slf4j
+public class StatsEventListener {
+
+    private static final String BOOKING_EVENT_TYPE = "spring.json.value.default.type=com.hotelbooking.reports.dto.BookingEvent";
+    private static final String BILL_PAID_EVENT_TYPE = "spring.json.value.default.type=com.hotelbooking.reports.dto.BillPaidEvent";
+
+    private final StreamingStatsAggregator aggregator;
+
+    @KafkaListener(id = "reports-booking-created", topics = "booking-created",
+            containerFactory = "statsKafkaListenerContainerFactory", properties = BOOKING_EVENT_TYPE)
+    public void handleBookingCreated(List<ConsumerRecord<String, BookingEvent>> records) {
+        applyBookingRecords("CREATED", records);
+    }
+
+    @KafkaListener(id = "reports-booking-confirmed", topics = "booking-confirmed",
+            containerFactory = "statsKafkaListenerContainerFactory", properties = BOOKING_EVENT_TYPE)
+    public void handleBookingConfirmed(List<ConsumerRecord<String, BookingEvent>> records) {
+        applyBookingRecords("CONFIRMED", records);
+    }
+
+    @KafkaListener(id = "reports-booking-cancelled", topics = "booking-cancelled",
+            containerFactory = "statsKafkaListenerContainerFactory", properties = BOOKING_EVENT_TYPE)
+    public void handleBookingCancelled(List<ConsumerRecord<String, BookingEvent>> records) {
+        applyBookingRecords("CANCELLED", records);
+    }
+
+    @KafkaListener(id = "reports-guest-checked-in", topics = "guest-checked-in",
+            containerFactory = "statsKafkaListenerContainerFactory", properties = BOOKING_EVENT_TYPE)
+    public void handleGuestCheckedIn(List<ConsumerRecord<String, BookingEvent>> records) {
+        applyBookingRecords("CHECKED_IN", records);
+    }
+
+    @KafkaListener(id = "reports-checkout-completed", topics = "checkout-completed",
+            containerFactory = "statsKafkaListenerContainerFactory", properties = BOOKING_EVENT_TYPE)
+    public void handleCheckoutCompleted(List<ConsumerRecord<String, BookingEvent>> records) {
+        applyBookingRecords("CHECKED_OUT", records);
+    }
+
+    @KafkaListener(id = "reports-bill-paid", topics = "bill-paid",
+            containerFactory = "statsKafkaListenerContainerFactory", properties = BILL_PAID_EVENT_TYPE)
+    public void handleBillPaid(List<ConsumerRecord<String, BillPaidEvent>> records) {
+        List<BillPaidEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, BillPaidEvent> record : records) {
+            if (record.value() == null || record.value().getBillId() == null) {
+                log.warn("Skipping invalid bill-paid record at offset {}", record.offset());
+                continue;
+            }
+            events.add(record.value());
+        }
+        int applied = aggregator.applyBillPayments(events);
+        log.debug("Applied {} of {} bill-paid events", applied, records.size());
+    }
+
+    void applyBookingRecords(String status, List<ConsumerRecord<String, BookingEvent>> records) {
+        List<BookingChange> changes = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, BookingEvent> record : records) {
+            BookingEvent event = record.value();
+            if (event == null || event.getBookingId() == null) {
+                log.warn("Skipping invalid {} record at offset {}", record.topic(), record.offset());
+                continue;
+            }
+            // Bucket by bookings.created_at like the seed and reconcile, not by when the event was published
+            LocalDate day = event.getCreatedAt() != null ? event.getCreatedAt().toLocalDate() : null;
+            changes.add(new BookingChange(event.getBookingId(), event.getHotelId(), status, day));
+        }
+        int applied = aggregator.applyBookingChanges(changes);
+        log.debug("Applied {} of {} {} events", applied, records.size(), status);
+    }
+}
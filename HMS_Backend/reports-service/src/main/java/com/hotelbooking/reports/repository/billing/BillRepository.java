@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -42,6 +43,12 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
            "GROUP BY b.hotelId")
     List<Object[]> findRevenueByHotel(@Param("hotelId") Long hotelId);
 
+    @Query("SELECT b.hotelId, COALESCE(SUM(b.totalAmount), 0) " +
+           "FROM Bill b WHERE b.status = 'PAID' " +
+           "AND b.generatedAt >= :from AND b.generatedAt < :to " +
+           "GROUP BY b.hotelId")
+    List<Object[]> findRevenueByHotelBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     @Query("SELECT DATE(b.generatedAt) as date, COALESCE(SUM(b.totalAmount), 0) as amount " +
            "FROM Bill b WHERE b.status = 'PAID' " +
            "AND b.generatedAt >= :startDate AND b.generatedAt < :endDate " +
@@ -51,5 +58,37 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     List<Object[]> findRevenueTrend(@Param("startDate") LocalDateTime startDate, 
                                      @Param("endDate") LocalDateTime endDate, 
                                      @Param("hotelId") Long hotelId);
-}
 
+    // Rollup maintenance (daily_hotel_stats)
+
+    @Query("SELECT MIN(b.generatedAt) FROM Bill b")
+    LocalDateTime findEarliestGeneratedAt();
+
+    @Query("SELECT DISTINCT CAST(b.generatedAt AS LocalDate) FROM Bill b WHERE b.updatedAt >= :since")
+    List<LocalDate> findGeneratedDaysUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Per hotel and generation day: PAID revenue and number of PAID bills.
+     */
+    @Query("SELECT b.hotelId, CAST(b.generatedAt AS LocalDate), COALESCE(SUM(b.totalAmount), 0), COUNT(b) " +
+           "FROM Bill b WHERE b.status = 'PAID' " +
+           "AND b.generatedAt >= :from AND b.generatedAt < :to " +
+           "GROUP BY b.hotelId, CAST(b.generatedAt AS LocalDate)")
+    List<Object[]> aggregateDailyRevenue(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Keyset page of paid bills for seeding the event-fed store. Rows: id, hotelId, generatedAt, totalAmount.
+     */
+    @Query("SELECT b.id, b.hotelId, b.generatedAt, b.totalAmount FROM Bill b " +
+           "WHERE b.status = 'PAID' AND b.id > :afterId ORDER BY b.id")
+    List<Object[]> findPaidFactRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of paid bills updated since :since, for reconciling the event-fed store.
+     * Rows: id, hotelId, generatedAt, totalAmount.
+     */
+    @Query("SELECT b.id, b.hotelId, b.generatedAt, b.totalAmount FROM Bill b " +
+           "WHERE b.status = 'PAID' AND b.updatedAt >= :since AND b.id > :afterId ORDER BY b.id")
+    List<Object[]> findPaidFactRowsUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                                Pageable pageable);
+}
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -68,11 +69,58 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            "WHERE (:hotelId IS NULL OR b.hotelId = :hotelId)")
     Long countAllBookings(@Param("hotelId") Long hotelId);
 
-    @Query(value = "SELECT b.id, b.guest_name, b.guest_email, b.check_in_date, b.check_out_date, b.total_amount, b.status " +
-           "FROM bookings b " +
-           "WHERE b.hotel_id = :hotelId " +
-           "ORDER BY b.created_at DESC " +
-           "LIMIT 10", nativeQuery = true)
-    List<Object[]> findRecentBookingsByHotel(@Param("hotelId") Long hotelId);
+    // Hotel reports: one query per metric for all hotels
+
+    @Query("SELECT b.hotelId, COUNT(b) FROM Booking b GROUP BY b.hotelId")
+    List<Object[]> countAllBookingsByHotel();
+
+    /**
+     * Latest bookings of every hotel, at most :perHotel rows each.
+     * Rows: id, guestName, guestEmail, checkInDate, checkOutDate, totalAmount, status, hotelId.
+     */
+    @Query(value = "SELECT r.id, r.guest_name, r.guest_email, r.check_in_date, r.check_out_date, " +
+           "r.total_amount, r.status, r.hotel_id " +
+           "FROM (SELECT b.id, b.guest_name, b.guest_email, b.check_in_date, b.check_out_date, " +
+           "b.total_amount, b.status, b.hotel_id, " +
+           "ROW_NUMBER() OVER (PARTITION BY b.hotel_id ORDER BY b.created_at DESC, b.id DESC) AS rn " +
+           "FROM bookings b) r " +
+           "WHERE r.rn <= :perHotel " +
+           "ORDER BY r.hotel_id, r.rn", nativeQuery = true)
+    List<Object[]> findRecentBookingsForAllHotels(@Param("perHotel") int perHotel);
+
+    // Rollup maintenance (daily_hotel_stats)
+
+    @Query("SELECT MIN(b.createdAt) FROM Booking b")
+    LocalDateTime findEarliestCreatedAt();
+
+    @Query("SELECT DISTINCT CAST(b.createdAt AS LocalDate) FROM Booking b WHERE b.updatedAt >= :since")
+    List<LocalDate> findCreatedDaysUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Per hotel and creation day: total bookings, then CREATED, CONFIRMED, CHECKED_IN, CHECKED_OUT, CANCELLED counts.
+     */
+    @Query("SELECT b.hotelId, CAST(b.createdAt AS LocalDate), COUNT(b), " +
+           "SUM(CASE WHEN b.status = 'CREATED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.status = 'CONFIRMED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.status = 'CHECKED_IN' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.status = 'CHECKED_OUT' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN b.status = 'CANCELLED' THEN 1 ELSE 0 END) " +
+           "FROM Booking b WHERE b.createdAt >= :from AND b.createdAt < :to " +
+           "GROUP BY b.hotelId, CAST(b.createdAt AS LocalDate)")
+    List<Object[]> aggregateDailyBookings(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Keyset page for seeding the event-fed store. Rows: id, hotelId, createdAt, status.
+     */
+    @Query("SELECT b.id, b.hotelId, b.createdAt, b.status FROM Booking b WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findFactRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Keyset page of bookings updated since :since, for reconciling the event-fed store.
+     * Rows: id, hotelId, createdAt, status.
+     */
+    @Query("SELECT b.id, b.hotelId, b.createdAt, b.status FROM Booking b " +
+           "WHERE b.updatedAt >= :since AND b.id > :afterId ORDER BY b.id")
+    List<Object[]> findFactRowsUpdatedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId,
+                                            Pageable pageable);
 }
-
@@ -0,0 +1,43 @@
+package com.hotelbooking.reports.repository.reports;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.hotelbooking.reports.domain.reports.BookingFact;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface BookingFactRepository extends JpaRepository<BookingFact, Long> {
+
+    /**
+     * Lock the facts of the given bookings so concurrent listeners on different topics apply
+     * transitions of the same booking one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM BookingFact f WHERE f.bookingId IN :bookingIds")
+    List<BookingFact> findAllForUpdate(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Rows: hotelId, day, total, then CREATED, CONFIRMED, CHECKED_IN, CHECKED_OUT, CANCELLED counts.
+     */
+    @Query("SELECT f.hotelId, f.statDate, COUNT(f), " +
+           "SUM(CASE WHEN f.status = 'CREATED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.status = 'CONFIRMED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.status = 'CHECKED_IN' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.status = 'CHECKED_OUT' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN f.status = 'CANCELLED' THEN 1 ELSE 0 END) " +
+           "FROM BookingFact f GROUP BY f.hotelId, f.statDate")
+    List<Object[]> aggregateDailyBookings();
+
+    @Modifying
+    @Query("DELETE FROM BookingFact f")
+    int deleteAllInBulk();
+}
@@ -0,0 +1,75 @@
+package com.hotelbooking.reports.repository.reports;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.hotelbooking.reports.domain.reports.DailyHotelStats;
+
+import jakarta.persistence.LockModeType;
+
+/**
+ * Dashboard reads over daily_hotel_stats. Row shapes match the live BillRepository / BookingRepository
+ * queries they replace, so DashboardService maps both the same way.
+ */
+@Repository
+public interface DailyHotelStatsRepository extends JpaRepository<DailyHotelStats, Long> {
+
+    List<DailyHotelStats> findByStatDateBetween(LocalDate from, LocalDate to);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DailyHotelStats s WHERE s.hotelId = :hotelId AND s.statDate = :statDate")
+    Optional<DailyHotelStats> findForUpdate(@Param("hotelId") Long hotelId, @Param("statDate") LocalDate statDate);
+
+    @Modifying
+    @Query("DELETE FROM DailyHotelStats s")
+    int deleteAllInBulk();
+
+    @Query("SELECT COALESCE(SUM(s.revenue), 0) FROM DailyHotelStats s " +
+           "WHERE (:hotelId IS NULL OR s.hotelId = :hotelId)")
+    BigDecimal getTotalRevenue(@Param("hotelId") Long hotelId);
+
+    @Query("SELECT COALESCE(SUM(s.revenue), 0) FROM DailyHotelStats s " +
+           "WHERE s.statDate >= :from AND s.statDate < :to " +
+           "AND (:hotelId IS NULL OR s.hotelId = :hotelId)")
+    BigDecimal getRevenueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                 @Param("hotelId") Long hotelId);
+
+    /**
+     * Single row: total bookings, then CREATED, CONFIRMED, CHECKED_IN, CHECKED_OUT, CANCELLED counts.
+     */
+    @Query("SELECT COALESCE(SUM(s.bookings), 0), COALESCE(SUM(s.createdBookings), 0), " +
+           "COALESCE(SUM(s.confirmedBookings), 0), COALESCE(SUM(s.checkedInBookings), 0), " +
+           "COALESCE(SUM(s.checkedOutBookings), 0), COALESCE(SUM(s.cancelledBookings), 0) " +
+           "FROM DailyHotelStats s WHERE (:hotelId IS NULL OR s.hotelId = :hotelId)")
+    List<Object[]> sumBookingCounts(@Param("hotelId") Long hotelId);
+
+    @Query("SELECT s.hotelId, COALESCE(SUM(s.revenue), 0) FROM DailyHotelStats s " +
+           "WHERE (:hotelId IS NULL OR s.hotelId = :hotelId) " +
+           "GROUP BY s.hotelId HAVING SUM(s.paidBills) > 0")
+    List<Object[]> findRevenueByHotel(@Param("hotelId") Long hotelId);
+
+    @Query("SELECT s.statDate, COALESCE(SUM(s.revenue), 0) FROM DailyHotelStats s " +
+           "WHERE s.statDate >= :from AND s.statDate < :to " +
+           "AND (:hotelId IS NULL OR s.hotelId = :hotelId) " +
+           "GROUP BY s.statDate HAVING SUM(s.paidBills) > 0 " +
+           "ORDER BY s.statDate")
+    List<Object[]> findRevenueTrend(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                    @Param("hotelId") Long hotelId);
+
+    @Query("SELECT s.statDate, SUM(s.confirmedBookings) FROM DailyHotelStats s " +
+           "WHERE s.statDate >= :from AND s.statDate < :to " +
+           "AND (:hotelId IS NULL OR s.hotelId = :hotelId) " +
+           "GROUP BY s.statDate HAVING SUM(s.confirmedBookings) > 0 " +
+           "ORDER BY s.statDate")
+    List<Object[]> findBookingTrend(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                    @Param("hotelId") Long hotelId);
+}
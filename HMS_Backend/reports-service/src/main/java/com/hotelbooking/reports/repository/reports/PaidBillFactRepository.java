@@ -0,0 +1,30 @@
+package com.hotelbooking.reports.repository.reports;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.hotelbooking.reports.domain.reports.PaidBillFact;
+
+@Repository
+public interface PaidBillFactRepository extends JpaRepository<PaidBillFact, Long> {
+
+    @Query("SELECT p.billId FROM PaidBillFact p WHERE p.billId IN :billIds")
+    List<Long> findBillIdsIn(@Param("billIds") Collection<Long> billIds);
+
+    /**
+     * Rows: hotelId, day, revenue, paid bill count.
+     */
+    @Query("SELECT p.hotelId, p.statDate, SUM(p.amount), COUNT(p) " +
+           "FROM PaidBillFact p GROUP BY p.hotelId, p.statDate")
+    List<Object[]> aggregateDailyRevenue();
+
+    @Modifying
+    @Query("DELETE FROM PaidBillFact p")
+    int deleteAllInBulk();
+}
@@ -0,0 +1,10 @@
+package com.hotelbooking.reports.repository.reports;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.hotelbooking.reports.domain.reports.RollupWatermark;
+
+@Repository
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+}
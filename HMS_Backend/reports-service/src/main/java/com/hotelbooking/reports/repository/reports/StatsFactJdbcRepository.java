@@ -0,0 +1,64 @@
+package com.hotelbooking.reports.repository.reports;
+
+import java.sql.Date;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.hotelbooking.reports.domain.reports.BookingFact;
+import com.hotelbooking.reports.domain.reports.PaidBillFact;
+
+/**
+ * JDBC batch inserts for the fact tables.
+ * Facts have assigned ids, so JPA save() would issue a SELECT per row before inserting;
+ * callers already know the rows are new and write them directly.
+ */
+@Repository
+public class StatsFactJdbcRepository {
+
+    private static final String INSERT_BOOKING_FACT_SQL =
+            "INSERT INTO booking_facts (booking_id, hotel_id, stat_date, status) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_PAID_BILL_FACT_SQL =
+            "INSERT INTO paid_bill_facts (bill_id, hotel_id, stat_date, amount) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public StatsFactJdbcRepository(@Qualifier("reportsDataSource") DataSource dataSource,
+                                   @Value("${reports.facts.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.batchSize = batchSize;
+    }
+
+    public int insertBookingFacts(List<BookingFact> facts) {
+        if (facts.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_BOOKING_FACT_SQL, facts, batchSize, (ps, fact) -> {
+            ps.setLong(1, fact.getBookingId());
+            ps.setLong(2, fact.getHotelId());
+            ps.setDate(3, Date.valueOf(fact.getStatDate()));
+            ps.setString(4, fact.getStatus());
+        });
+        return facts.size();
+    }
+
+    public int insertPaidBillFacts(List<PaidBillFact> facts) {
+        if (facts.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_PAID_BILL_FACT_SQL, facts, batchSize, (ps, fact) -> {
+            ps.setLong(1, fact.getBillId());
+            ps.setLong(2, fact.getHotelId());
+            ps.setDate(3, Date.valueOf(fact.getStatDate()));
+            ps.setBigDecimal(4, fact.getAmount());
+        });
+        return facts.size();
+    }
+}
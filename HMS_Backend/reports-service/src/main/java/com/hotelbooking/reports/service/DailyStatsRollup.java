@@ -0,0 +1,239 @@
+package com.hotelbooking.reports.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hotelbooking.reports.domain.reports.DailyHotelStats;
+import com.hotelbooking.reports.domain.reports.RollupWatermark;
+import com.hotelbooking.reports.repository.billing.BillRepository;
+import com.hotelbooking.reports.repository.booking.BookingRepository;
+import com.hotelbooking.reports.repository.reports.DailyHotelStatsRepository;
+import com.hotelbooking.reports.repository.reports.RollupWatermarkRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains daily_hotel_stats from the booking and billing databases.
+ * The first run backfills the whole history. Later runs only recompute the days that have bookings or bills
+ * updated since the last run (found through updated_at), so the cost follows the change rate rather than
+ * the table sizes. Recomputing a whole day keeps the counters exact when a booking changes status or a bill
+ * is paid long after creation.
+ * With reports.aggregation.mode=events the table is fed by StreamingStatsAggregator instead and this rollup
+ * stays idle; the aggregator runs its own periodic reconcile against the source databases through the fact
+ * tables, since recomputing days here would leave the facts behind the counters.
+ */
+@Component
+@Slf4j
+public class DailyStatsRollup {
+
+    static final String WATERMARK = "daily_hotel_stats";
+
+    private final BookingRepository bookingRepository;
+    private final BillRepository billRepository;
+    private final DailyHotelStatsRepository statsRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final TransactionTemplate reportsTransaction;
+
+    private final boolean enabled;
+    private final boolean eventFed;
+    private final Duration overlap;
+
+    private volatile boolean ready;
+
+    public DailyStatsRollup(BookingRepository bookingRepository,
+                            BillRepository billRepository,
+                            DailyHotelStatsRepository statsRepository,
+                            RollupWatermarkRepository watermarkRepository,
+                            @Qualifier("reportsTransactionManager") PlatformTransactionManager reportsTransactionManager,
+                            @Value("${reports.rollup.enabled:true}") boolean enabled,
+                            @Value("${reports.rollup.overlap-seconds:300}") long overlapSeconds,
+                            @Value("${reports.aggregation.mode:rollup}") String aggregationMode) {
+        this.bookingRepository = bookingRepository;
+        this.billRepository = billRepository;
+        this.statsRepository = statsRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.reportsTransaction = new TransactionTemplate(reportsTransactionManager);
+        this.eventFed = "events".equalsIgnoreCase(aggregationMode);
+        this.enabled = enabled && !eventFed;
+        // Re-reads a window before the watermark so rows committed late by long transactions are not missed
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+    }
+
+    /**
+     * True once the rollup has been backfilled, or the event-fed store seeded, and the dashboard can read from it.
+     * Each writes its own watermark when it finishes; until then dashboards are served from the source databases.
+     */
+    public boolean isReady() {
+        if (!enabled && !eventFed) {
+            return false;
+        }
+        if (!ready) {
+            ready = watermarkRepository.existsById(eventFed ? StreamingStatsAggregator.SEED_WATERMARK : WATERMARK);
+        }
+        return ready;
+    }
+
+    @Scheduled(initialDelayString = "${reports.rollup.initial-delay-ms:10000}",
+               fixedDelayString = "${reports.rollup.refresh-interval-ms:60000}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Daily stats rollup failed, dashboard keeps serving the last rollup", e);
+        }
+    }
+
+    /**
+     * Bring daily_hotel_stats up to date with the source databases.
+     */
+    public synchronized void refresh() {
+        LocalDateTime runStart = LocalDateTime.now();
+        Optional<RollupWatermark> watermark = watermarkRepository.findById(WATERMARK);
+
+        List<DayRange> bookingRanges;
+        List<DayRange> billRanges;
+        if (watermark.isEmpty()) {
+            bookingRanges = fullRange(bookingRepository.findEarliestCreatedAt(), runStart);
+            billRanges = fullRange(billRepository.findEarliestGeneratedAt(), runStart);
+        } else {
+            LocalDateTime since = watermark.get().getAppliedUntil().minus(overlap);
+            bookingRanges = toRanges(bookingRepository.findCreatedDaysUpdatedSince(since));
+            billRanges = toRanges(billRepository.findGeneratedDaysUpdatedSince(since));
+        }
+
+        reportsTransaction.executeWithoutResult(status -> {
+            for (DayRange range : bookingRanges) {
+                apply(range, DailyHotelStats::resetBookings,
+                        bookingRepository.aggregateDailyBookings(range.fromInclusive(), range.toExclusive()),
+                        (stats, row) -> {
+                            stats.setBookings(toLong(row[2]));
+                            stats.setCreatedBookings(toLong(row[3]));
+                            stats.setConfirmedBookings(toLong(row[4]));
+                            stats.setCheckedInBookings(toLong(row[5]));
+                            stats.setCheckedOutBookings(toLong(row[6]));
+                            stats.setCancelledBookings(toLong(row[7]));
+                        });
+            }
+            for (DayRange range : billRanges) {
+                apply(range, DailyHotelStats::resetRevenue,
+                        billRepository.aggregateDailyRevenue(range.fromInclusive(), range.toExclusive()),
+                        (stats, row) -> {
+                            stats.setRevenue(row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO);
+                            stats.setPaidBills(toLong(row[3]));
+                        });
+            }
+            watermarkRepository.save(new RollupWatermark(WATERMARK, runStart));
+            // The counters no longer match the event-fed facts; switching back to events must seed again
+            watermarkRepository.deleteById(StreamingStatsAggregator.SEED_WATERMARK);
+        });
+        ready = true;
+
+        if (watermark.isEmpty() || !bookingRanges.isEmpty() || !billRanges.isEmpty()) {
+            log.info("Daily stats rollup refreshed {} booking and {} bill day ranges",
+                    bookingRanges.size(), billRanges.size());
+        }
+    }
+
+    /**
+     * Reset one group of counters for every stored row in the range, then set them from the fresh aggregates.
+     * Days whose source rows disappeared end up at zero.
+     */
+    private void apply(DayRange range, Consumer<DailyHotelStats> reset, List<Object[]> aggregates,
+                       BiConsumer<DailyHotelStats, Object[]> setter) {
+        Map<StatsKey, DailyHotelStats> rows = new HashMap<>();
+        for (DailyHotelStats stats : statsRepository.findByStatDateBetween(range.from(), range.to())) {
+            reset.accept(stats);
+            rows.put(new StatsKey(stats.getHotelId(), stats.getStatDate()), stats);
+        }
+        for (Object[] row : aggregates) {
+            Long hotelId = ((Number) row[0]).longValue();
+            LocalDate day = toLocalDate(row[1]);
+            DailyHotelStats stats = rows.computeIfAbsent(new StatsKey(hotelId, day),
+                    key -> new DailyHotelStats(key.hotelId(), key.day()));
+            setter.accept(stats, row);
+        }
+        statsRepository.saveAll(rows.values());
+    }
+
+    private List<DayRange> fullRange(LocalDateTime earliest, LocalDateTime now) {
+        if (earliest == null) {
+            return List.of();
+        }
+        return List.of(new DayRange(earliest.toLocalDate(), now.toLocalDate()));
+    }
+
+    /**
+     * Collapse the touched days into runs of consecutive days, one aggregate query per run.
+     */
+    static List<DayRange> toRanges(List<LocalDate> days) {
+        List<DayRange> ranges = new ArrayList<>();
+        LocalDate start = null;
+        LocalDate end = null;
+        for (LocalDate day : new TreeSet<>(days)) {
+            if (day == null) {
+                continue;
+            }
+            if (end != null && day.equals(end.plusDays(1))) {
+                end = day;
+                continue;
+            }
+            if (start != null) {
+                ranges.add(new DayRange(start, end));
+            }
+            start = day;
+            end = day;
+        }
+        if (start != null) {
+            ranges.add(new DayRange(start, end));
+        }
+        return ranges;
+    }
+
+    static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    record DayRange(LocalDate from, LocalDate to) {
+
+        LocalDateTime fromInclusive() {
+            return from.atStartOfDay();
+        }
+
+        LocalDateTime toExclusive() {
+            return to.plusDays(1).atStartOfDay();
+        }
+    }
+
+    record StatsKey(Long hotelId, LocalDate day) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.hotelbooking.reports.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs dashboard sub-queries, concurrently on the dashboard executor unless
+ * reports.dashboard.parallel.enabled is false, and times each one as reports.dashboard.query{query,source}.
+ * Sub-queries must not rely on a transaction of the calling thread: each repository call runs in its own
+ * read-only transaction on the transaction manager of its datasource.
+ */
+@Component
+public class DashboardQueryRunner {
+
+    static final String QUERY_TIMER = "reports.dashboard.query";
+
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final boolean parallel;
+    private final long timeoutMillis;
+
+    public DashboardQueryRunner(@Qualifier("dashboardQueryExecutor") Executor executor,
+                                MeterRegistry meterRegistry,
+                                @Value("${reports.dashboard.parallel.enabled:true}") boolean parallel,
+                                @Value("${reports.dashboard.parallel.timeout-ms:10000}") long timeoutMillis) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.parallel = parallel;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Start one sub-query. In sequential mode it runs before this method returns.
+     */
+    public <T> CompletableFuture<T> submit(String source, String query, Supplier<T> supplier) {
+        Timer timer = Timer.builder(QUERY_TIMER)
+                .description("Time spent in one dashboard sub-query")
+                .tag("source", source)
+                .tag("query", query)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        if (!parallel) {
+            try {
+                return CompletableFuture.completedFuture(timer.record(supplier));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> timer.record(supplier), executor)
+                .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Wait for a sub-query and rethrow its failure as-is.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof TimeoutException) {
+                throw new IllegalStateException("Dashboard sub-query timed out", cause);
+            }
+            throw e;
+        }
+    }
+}
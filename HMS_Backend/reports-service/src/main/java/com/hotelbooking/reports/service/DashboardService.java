@@ -8,11 +8,12 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.hotelbooking.reports.domain.hotel.Hotel;
 import com.hotelbooking.reports.dto.DashboardResponse;
@@ -20,6 +21,7 @@ import com.hotelbooking.reports.repository.billing.BillRepository;
 import com.hotelbooking.reports.repository.booking.BookingRepository;
 import com.hotelbooking.reports.repository.hotel.HotelRepository;
 import com.hotelbooking.reports.repository.hotel.RoomRepository;
+import com.hotelbooking.reports.repository.reports.DailyHotelStatsRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,15 +29,20 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional(readOnly = true)
 public class DashboardService {
 
     private final BillRepository billRepository;
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
     private final HotelRepository hotelRepository;
+    private final DailyHotelStatsRepository dailyHotelStatsRepository;
+    private final DailyStatsRollup dailyStatsRollup;
+    private final DashboardQueryRunner queryRunner;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final int TREND_DAYS = 30;
+    // Column order of DailyHotelStatsRepository.sumBookingCounts after the total
+    private static final String[] ROLLUP_STATUSES = {"CREATED", "CONFIRMED", "CHECKED_IN", "CHECKED_OUT", "CANCELLED"};
 
     @Cacheable(value = "dashboard", key = "'manager:' + #hotelId")
     public DashboardResponse getManagerDashboard(Long hotelId) {
@@ -47,39 +54,29 @@ public class DashboardService {
         return buildDashboard(hotelId);
     }
 
+    /**
+     * Fan the sub-queries out over the datasources and assemble the response once all have completed.
+     */
     private DashboardResponse buildDashboard(Long hotelId) {
-        LocalDate now = LocalDate.now();
-        int currentYear = now.getYear();
-        int currentMonth = now.getMonthValue();
-
-        BigDecimal totalRevenue = billRepository.getTotalRevenue(hotelId);
-        if (totalRevenue == null) totalRevenue = BigDecimal.ZERO;
-
-        BigDecimal monthlyRevenue = billRepository.getMonthlyRevenue(currentYear, currentMonth, hotelId);
-        if (monthlyRevenue == null) monthlyRevenue = BigDecimal.ZERO;
-
-        Long totalBookings = bookingRepository.countAllBookings(hotelId);
-        if (totalBookings == null) totalBookings = 0L;
+        // Hotel rows give both the average rating and the hotel names
+        CompletableFuture<List<Hotel>> hotels = queryRunner.submit("hotel", "hotels", () -> loadHotels(hotelId));
+        DashboardData data = dailyStatsRollup.isReady() ? loadFromRollup(hotelId) : loadLive(hotelId);
+        List<Hotel> hotelRows = DashboardQueryRunner.join(hotels);
 
-        Long totalCheckIns = bookingRepository.countTotalCheckIns(hotelId);
-        if (totalCheckIns == null) totalCheckIns = 0L;
+        Double averageRating = calculateAverageRating(hotelRows);
 
-        Long totalCheckOuts = bookingRepository.countTotalCheckOuts(hotelId);
-        if (totalCheckOuts == null) totalCheckOuts = 0L;
-
-        Double averageRating = calculateAverageRating(hotelId);
-
-        List<DashboardResponse.RevenueByHotel> revenueByHotel = buildRevenueByHotel(hotelId);
-        List<DashboardResponse.RevenueTrend> revenueTrend = buildRevenueTrend(hotelId);
-        List<DashboardResponse.BookingTrend> bookingTrend = buildBookingTrend(hotelId);
-        List<DashboardResponse.BookingStatusDistribution> bookingStatusDistribution = buildBookingStatusDistribution(hotelId);
+        List<DashboardResponse.RevenueByHotel> revenueByHotel = buildRevenueByHotel(hotelRows, data.revenueByHotel());
+        List<DashboardResponse.RevenueTrend> revenueTrend = buildRevenueTrend(data.revenueTrend());
+        List<DashboardResponse.BookingTrend> bookingTrend = buildBookingTrend(data.bookingTrend());
+        List<DashboardResponse.BookingStatusDistribution> bookingStatusDistribution =
+                buildBookingStatusDistribution(data.statusDistribution());
 
         return DashboardResponse.builder()
-                .totalRevenue(totalRevenue)
-                .monthlyRevenue(monthlyRevenue)
-                .totalBookings(totalBookings)
-                .totalCheckIns(totalCheckIns)
-                .totalCheckOuts(totalCheckOuts)
+                .totalRevenue(data.totalRevenue() != null ? data.totalRevenue() : BigDecimal.ZERO)
+                .monthlyRevenue(data.monthlyRevenue() != null ? data.monthlyRevenue() : BigDecimal.ZERO)
+                .totalBookings(data.totalBookings() != null ? data.totalBookings() : 0L)
+                .totalCheckIns(data.totalCheckIns() != null ? data.totalCheckIns() : 0L)
+                .totalCheckOuts(data.totalCheckOuts() != null ? data.totalCheckOuts() : 0L)
                 .averageRating(averageRating)
                 .revenueByHotel(revenueByHotel)
                 .revenueTrend(revenueTrend)
@@ -88,47 +85,121 @@ public class DashboardService {
                 .build();
     }
 
-    private Double calculateAverageRating(Long hotelId) {
-        if (hotelId != null) {
-            Hotel hotel = hotelRepository.findById(hotelId).orElse(null);
-            if (hotel != null && hotel.getStarRating() != null) {
-                return hotel.getStarRating().doubleValue();
-            }
-        } else {
-            List<Hotel> hotels = hotelRepository.findAll();
-            if (!hotels.isEmpty()) {
-                double sum = hotels.stream()
-                        .filter(h -> h.getStarRating() != null)
-                        .mapToInt(Hotel::getStarRating)
-                        .sum();
-                long count = hotels.stream()
-                        .filter(h -> h.getStarRating() != null)
-                        .count();
-                return count > 0 ? sum / count : 0.0;
+    /**
+     * Read the pre-aggregated daily_hotel_stats: six small queries over at most one row per hotel per day.
+     */
+    private DashboardData loadFromRollup(Long hotelId) {
+        LocalDate today = LocalDate.now();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        LocalDate trendStart = today.minusDays(TREND_DAYS);
+        LocalDate tomorrow = today.plusDays(1);
+
+        CompletableFuture<Object[]> counts = submit("rollup", "booking-counts",
+                () -> dailyHotelStatsRepository.sumBookingCounts(hotelId).get(0));
+        CompletableFuture<BigDecimal> totalRevenue = submit("rollup", "total-revenue",
+                () -> dailyHotelStatsRepository.getTotalRevenue(hotelId));
+        CompletableFuture<BigDecimal> monthlyRevenue = submit("rollup", "monthly-revenue",
+                () -> dailyHotelStatsRepository.getRevenueBetween(monthStart, monthStart.plusMonths(1), hotelId));
+        CompletableFuture<List<Object[]>> revenueByHotel = submit("rollup", "revenue-by-hotel",
+                () -> dailyHotelStatsRepository.findRevenueByHotel(hotelId));
+        CompletableFuture<List<Object[]>> revenueTrend = submit("rollup", "revenue-trend",
+                () -> dailyHotelStatsRepository.findRevenueTrend(trendStart, tomorrow, hotelId));
+        CompletableFuture<List<Object[]>> bookingTrend = submit("rollup", "booking-trend",
+                () -> dailyHotelStatsRepository.findBookingTrend(trendStart, tomorrow, hotelId));
+
+        Object[] bookingCounts = DashboardQueryRunner.join(counts);
+        List<Object[]> statusDistribution = new ArrayList<>();
+        for (int i = 0; i < ROLLUP_STATUSES.length; i++) {
+            long count = ((Number) bookingCounts[i + 1]).longValue();
+            if (count > 0) {
+                statusDistribution.add(new Object[] {ROLLUP_STATUSES[i], count});
             }
         }
-        return 0.0;
+
+        return new DashboardData(
+                DashboardQueryRunner.join(totalRevenue),
+                DashboardQueryRunner.join(monthlyRevenue),
+                ((Number) bookingCounts[0]).longValue(),
+                ((Number) bookingCounts[3]).longValue(),
+                ((Number) bookingCounts[4]).longValue(),
+                DashboardQueryRunner.join(revenueByHotel),
+                DashboardQueryRunner.join(revenueTrend),
+                DashboardQueryRunner.join(bookingTrend),
+                statusDistribution);
     }
 
-    private List<DashboardResponse.RevenueByHotel> buildRevenueByHotel(Long hotelId) {
-        List<Object[]> results = billRepository.findRevenueByHotel(hotelId);
-        final Map<Long, String> hotelNameMap = new HashMap<>();
-        
+    /**
+     * Aggregate straight from the booking and billing databases. Used until the rollup has been backfilled.
+     */
+    private DashboardData loadLive(Long hotelId) {
+        LocalDate now = LocalDate.now();
+        LocalDateTime endDate = LocalDateTime.now();
+        LocalDateTime startDate = endDate.minusDays(TREND_DAYS);
+
+        CompletableFuture<BigDecimal> totalRevenue = submit("billing", "total-revenue",
+                () -> billRepository.getTotalRevenue(hotelId));
+        CompletableFuture<BigDecimal> monthlyRevenue = submit("billing", "monthly-revenue",
+                () -> billRepository.getMonthlyRevenue(now.getYear(), now.getMonthValue(), hotelId));
+        CompletableFuture<List<Object[]>> revenueByHotel = submit("billing", "revenue-by-hotel",
+                () -> billRepository.findRevenueByHotel(hotelId));
+        CompletableFuture<List<Object[]>> revenueTrend = submit("billing", "revenue-trend",
+                () -> billRepository.findRevenueTrend(startDate, endDate, hotelId));
+        CompletableFuture<Long> totalBookings = submit("booking", "total-bookings",
+                () -> bookingRepository.countAllBookings(hotelId));
+        CompletableFuture<Long> totalCheckIns = submit("booking", "check-ins",
+                () -> bookingRepository.countTotalCheckIns(hotelId));
+        CompletableFuture<Long> totalCheckOuts = submit("booking", "check-outs",
+                () -> bookingRepository.countTotalCheckOuts(hotelId));
+        CompletableFuture<List<Object[]>> bookingTrend = submit("booking", "booking-trend",
+                () -> bookingRepository.findBookingTrend(startDate, endDate, hotelId));
+        CompletableFuture<List<Object[]>> statusDistribution = submit("booking", "status-distribution",
+                () -> bookingRepository.findBookingStatusDistribution(hotelId));
+
+        return new DashboardData(
+                DashboardQueryRunner.join(totalRevenue),
+                DashboardQueryRunner.join(monthlyRevenue),
+                DashboardQueryRunner.join(totalBookings),
+                DashboardQueryRunner.join(totalCheckIns),
+                DashboardQueryRunner.join(totalCheckOuts),
+                DashboardQueryRunner.join(revenueByHotel),
+                DashboardQueryRunner.join(revenueTrend),
+                DashboardQueryRunner.join(bookingTrend),
+                DashboardQueryRunner.join(statusDistribution));
+    }
+
+    private <T> CompletableFuture<T> submit(String source, String query, Supplier<T> supplier) {
+        return queryRunner.submit(source, query, supplier);
+    }
+
+    private List<Hotel> loadHotels(Long hotelId) {
         if (hotelId == null) {
-            List<Hotel> hotels = hotelRepository.findAll();
-            hotels.forEach(hotel -> hotelNameMap.put(hotel.getId(), hotel.getName()));
-        } else {
-            Hotel hotel = hotelRepository.findById(hotelId).orElse(null);
-            if (hotel != null) {
-                hotelNameMap.put(hotelId, hotel.getName());
-            }
+            return hotelRepository.findAll();
         }
+        return hotelRepository.findById(hotelId).map(List::of).orElse(List.of());
+    }
+
+    private Double calculateAverageRating(List<Hotel> hotels) {
+        long count = hotels.stream()
+                .filter(h -> h.getStarRating() != null)
+                .count();
+        if (count == 0) {
+            return 0.0;
+        }
+        double sum = hotels.stream()
+                .filter(h -> h.getStarRating() != null)
+                .mapToInt(Hotel::getStarRating)
+                .sum();
+        return sum / count;
+    }
+
+    private List<DashboardResponse.RevenueByHotel> buildRevenueByHotel(List<Hotel> hotels, List<Object[]> results) {
+        final Map<Long, String> hotelNameMap = new HashMap<>();
+        hotels.forEach(hotel -> hotelNameMap.put(hotel.getId(), hotel.getName()));
 
-        final Map<Long, String> finalHotelNameMap = hotelNameMap;
         return results.stream().map(row -> {
             Long hotelIdFromResult = ((Number) row[0]).longValue();
             BigDecimal revenue = (BigDecimal) row[1];
-            String hotelName = finalHotelNameMap.getOrDefault(hotelIdFromResult, "Hotel " + hotelIdFromResult);
+            String hotelName = hotelNameMap.getOrDefault(hotelIdFromResult, "Hotel " + hotelIdFromResult);
             
             return DashboardResponse.RevenueByHotel.builder()
                     .hotelId(hotelIdFromResult)
@@ -138,12 +209,7 @@ public class DashboardService {
         }).collect(Collectors.toList());
     }
 
-    private List<DashboardResponse.RevenueTrend> buildRevenueTrend(Long hotelId) {
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusDays(30);
-        
-        List<Object[]> results = billRepository.findRevenueTrend(startDate, endDate, hotelId);
-        
+    private List<DashboardResponse.RevenueTrend> buildRevenueTrend(List<Object[]> results) {
         return results.stream().map(row -> {
             LocalDate date = null;
             if (row[0] != null) {
@@ -164,12 +230,7 @@ public class DashboardService {
         }).collect(Collectors.toList());
     }
 
-    private List<DashboardResponse.BookingTrend> buildBookingTrend(Long hotelId) {
-        LocalDateTime endDate = LocalDateTime.now();
-        LocalDateTime startDate = endDate.minusDays(30);
-        
-        List<Object[]> results = bookingRepository.findBookingTrend(startDate, endDate, hotelId);
-        
+    private List<DashboardResponse.BookingTrend> buildBookingTrend(List<Object[]> results) {
         return results.stream().map(row -> {
             LocalDate date = null;
             if (row[0] != null) {
@@ -190,9 +251,7 @@ public class DashboardService {
         }).collect(Collectors.toList());
     }
 
-    private List<DashboardResponse.BookingStatusDistribution> buildBookingStatusDistribution(Long hotelId) {
-        List<Object[]> results = bookingRepository.findBookingStatusDistribution(hotelId);
-        
+    private List<DashboardResponse.BookingStatusDistribution> buildBookingStatusDistribution(List<Object[]> results) {
         return results.stream().map(row -> {
             String status = (String) row[0];
             Long count = ((Number) row[1]).longValue();
@@ -203,5 +262,13 @@ public class DashboardService {
                     .build();
         }).collect(Collectors.toList());
     }
-}
 
+    /**
+     * Raw query results for one dashboard, from either the rollup or the live databases.
+     */
+    private record DashboardData(BigDecimal totalRevenue, BigDecimal monthlyRevenue, Long totalBookings,
+                                 Long totalCheckIns, Long totalCheckOuts, List<Object[]> revenueByHotel,
+                                 List<Object[]> revenueTrend, List<Object[]> bookingTrend,
+                                 List<Object[]> statusDistribution) {
+    }
+}
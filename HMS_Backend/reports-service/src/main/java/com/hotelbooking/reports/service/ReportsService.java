@@ -3,7 +3,10 @@ package com.hotelbooking.reports.service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.cache.annotation.Cacheable;
@@ -25,36 +28,37 @@ import lombok.extern.slf4j.Slf4j;
 @Transactional(readOnly = true)
 public class ReportsService {
 
+    static final int RECENT_BOOKINGS_PER_HOTEL = 10;
+
     private final HotelRepository hotelRepository;
     private final BillRepository billRepository;
     private final BookingRepository bookingRepository;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
 
+    /**
+     * Report for every hotel. Each metric is fetched for all hotels in one grouped query,
+     * so the number of queries does not grow with the number of hotels.
+     */
     @Cacheable(value = "reports", key = "'hotel-reports'")
     public List<HotelReportResponse> getHotelReports() {
         List<Hotel> hotels = hotelRepository.findAll();
 
+        LocalDate monthStart = LocalDate.now().withDayOfMonth(1);
+        Map<Long, Long> bookingCounts = toLongMap(bookingRepository.countAllBookingsByHotel());
+        Map<Long, BigDecimal> totalRevenue = toAmountMap(billRepository.findRevenueByHotel(null));
+        Map<Long, BigDecimal> monthlyRevenue = toAmountMap(billRepository.findRevenueByHotelBetween(
+                monthStart.atStartOfDay(), monthStart.plusMonths(1).atStartOfDay()));
+        Map<Long, List<HotelReportResponse.RecentBooking>> recentBookings = groupRecentBookings(
+                bookingRepository.findRecentBookingsForAllHotels(RECENT_BOOKINGS_PER_HOTEL));
+
         return hotels.stream().map(hotel -> {
             Long hotelId = hotel.getId();
 
-            Long totalBookings = bookingRepository.countAllBookings(hotelId);
-            if (totalBookings == null) totalBookings = 0L;
-
-            BigDecimal totalRevenue = billRepository.getTotalRevenue(hotelId);
-            if (totalRevenue == null) totalRevenue = BigDecimal.ZERO;
-
-            LocalDate now = LocalDate.now();
-            BigDecimal monthlyRevenue = billRepository.getMonthlyRevenue(
-                now.getYear(), now.getMonthValue(), hotelId);
-            if (monthlyRevenue == null) monthlyRevenue = BigDecimal.ZERO;
-
-            Double averageRating = hotel.getStarRating() != null 
-                ? hotel.getStarRating().doubleValue() 
+            Double averageRating = hotel.getStarRating() != null
+                ? hotel.getStarRating().doubleValue()
                 : 0.0;
 
-            List<HotelReportResponse.RecentBooking> recentBookings = getRecentBookings(hotelId);
-
             return HotelReportResponse.builder()
                     .hotelId(hotelId)
                     .hotelName(hotel.getName())
@@ -63,51 +67,64 @@ public class ReportsService {
                     .address(hotel.getAddress())
                     .status(hotel.getStatus())
                     .starRating(hotel.getStarRating())
-                    .totalBookings(totalBookings)
-                    .totalRevenue(totalRevenue)
-                    .monthlyRevenue(monthlyRevenue)
+                    .totalBookings(bookingCounts.getOrDefault(hotelId, 0L))
+                    .totalRevenue(totalRevenue.getOrDefault(hotelId, BigDecimal.ZERO))
+                    .monthlyRevenue(monthlyRevenue.getOrDefault(hotelId, BigDecimal.ZERO))
                     .averageRating(averageRating)
-                    .recentBookings(recentBookings)
+                    .recentBookings(recentBookings.getOrDefault(hotelId, List.of()))
                     .build();
         }).collect(Collectors.toList());
     }
 
-    private List<HotelReportResponse.RecentBooking> getRecentBookings(Long hotelId) {
-        List<Object[]> results = bookingRepository.findRecentBookingsByHotel(hotelId);
-        return results.stream().map(row -> {
-            java.time.LocalDate checkInDate = null;
-            java.time.LocalDate checkOutDate = null;
-            
-            if (row[3] != null) {
-                if (row[3] instanceof java.sql.Date) {
-                    checkInDate = ((java.sql.Date) row[3]).toLocalDate();
-                } else if (row[3] instanceof java.time.LocalDate) {
-                    checkInDate = (java.time.LocalDate) row[3];
-                } else if (row[3] instanceof java.sql.Timestamp) {
-                    checkInDate = ((java.sql.Timestamp) row[3]).toLocalDateTime().toLocalDate();
-                }
-            }
-            
-            if (row[4] != null) {
-                if (row[4] instanceof java.sql.Date) {
-                    checkOutDate = ((java.sql.Date) row[4]).toLocalDate();
-                } else if (row[4] instanceof java.time.LocalDate) {
-                    checkOutDate = (java.time.LocalDate) row[4];
-                } else if (row[4] instanceof java.sql.Timestamp) {
-                    checkOutDate = ((java.sql.Timestamp) row[4]).toLocalDateTime().toLocalDate();
-                }
-            }
-            
-            return HotelReportResponse.RecentBooking.builder()
-                    .bookingId(((Number) row[0]).longValue())
-                    .guestName((String) row[1])
-                    .guestEmail((String) row[2])
-                    .checkInDate(checkInDate != null ? checkInDate.format(DATE_FORMATTER) : null)
-                    .checkOutDate(checkOutDate != null ? checkOutDate.format(DATE_FORMATTER) : null)
-                    .amount((BigDecimal) row[5])
-                    .status((String) row[6])
-                    .build();
-        }).collect(Collectors.toList());
+    private Map<Long, Long> toLongMap(List<Object[]> rows) {
+        Map<Long, Long> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.put(((Number) row[0]).longValue(), row[1] != null ? ((Number) row[1]).longValue() : 0L);
+        }
+        return result;
     }
-}
 
+    private Map<Long, BigDecimal> toAmountMap(List<Object[]> rows) {
+        Map<Long, BigDecimal> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.put(((Number) row[0]).longValue(), row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO);
+        }
+        return result;
+    }
+
+    // Rows arrive ordered by hotel and recency, so each hotel's list keeps newest-first order
+    private Map<Long, List<HotelReportResponse.RecentBooking>> groupRecentBookings(List<Object[]> rows) {
+        Map<Long, List<HotelReportResponse.RecentBooking>> result = new HashMap<>();
+        for (Object[] row : rows) {
+            Long hotelId = ((Number) row[7]).longValue();
+            result.computeIfAbsent(hotelId, id -> new ArrayList<>()).add(toRecentBooking(row));
+        }
+        return result;
+    }
+
+    private HotelReportResponse.RecentBooking toRecentBooking(Object[] row) {
+        LocalDate checkInDate = toLocalDate(row[3]);
+        LocalDate checkOutDate = toLocalDate(row[4]);
+
+        return HotelReportResponse.RecentBooking.builder()
+                .bookingId(((Number) row[0]).longValue())
+                .guestName((String) row[1])
+                .guestEmail((String) row[2])
+                .checkInDate(checkInDate != null ? checkInDate.format(DATE_FORMATTER) : null)
+                .checkOutDate(checkOutDate != null ? checkOutDate.format(DATE_FORMATTER) : null)
+                .amount((BigDecimal) row[5])
+                .status((String) row[6])
+                .build();
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        } else if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        } else if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime().toLocalDate();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,388 @@
+package com.hotelbooking.reports.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.hotelbooking.reports.domain.reports.BookingFact;
+import com.hotelbooking.reports.domain.reports.DailyHotelStats;
+import com.hotelbooking.reports.domain.reports.PaidBillFact;
+import com.hotelbooking.reports.domain.reports.RollupWatermark;
+import com.hotelbooking.reports.dto.BillPaidEvent;
+import com.hotelbooking.reports.repository.billing.BillRepository;
+import com.hotelbooking.reports.repository.booking.BookingRepository;
+import com.hotelbooking.reports.repository.reports.BookingFactRepository;
+import com.hotelbooking.reports.repository.reports.DailyHotelStatsRepository;
+import com.hotelbooking.reports.repository.reports.PaidBillFactRepository;
+import com.hotelbooking.reports.repository.reports.RollupWatermarkRepository;
+import com.hotelbooking.reports.repository.reports.StatsFactJdbcRepository;
+import com.hotelbooking.reports.service.DailyStatsRollup.StatsKey;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains daily_hotel_stats from the booking and billing Kafka topics (reports.aggregation.mode=events).
+ * Each booking's last known status is kept in booking_facts and each counted payment in paid_bill_facts, so an
+ * event only moves counters when it advances a booking or pays a bill not seen before. Redelivered, replayed
+ * and out-of-order events are therefore no-ops.
+ * On first start in events mode the fact tables are seeded once from the source databases and daily_hotel_stats is
+ * rebuilt from them, replacing whatever the rollup left there. After that the listeners are started and the source
+ * databases are only read by the periodic reconcile, which re-applies recently updated rows so anything the
+ * listeners missed (dead-lettered batches, lost events) is caught up.
+ * Reconcile reads whatever the booking and billing datasources point at, the primaries unless a replica is
+ * configured; it is an updated_at range scan per interval, not a recompute.
+ */
+@Component
+@ConditionalOnProperty(name = "reports.aggregation.mode", havingValue = "events")
+@Slf4j
+public class StreamingStatsAggregator {
+
+    // A booking only moves forward; checked-out and cancelled are both final
+    private static final Map<String, Integer> STATUS_RANK = Map.of(
+            "CREATED", 0,
+            "CONFIRMED", 1,
+            "CHECKED_IN", 2,
+            "CHECKED_OUT", 3,
+            "CANCELLED", 3);
+
+    static final String RECONCILE_WATERMARK = "daily_hotel_stats_reconcile";
+    // Separate from the rollup's watermark: a store built by the rollup has no facts to seed from
+    static final String SEED_WATERMARK = "daily_hotel_stats_seed";
+
+    private final BookingRepository bookingRepository;
+    private final BillRepository billRepository;
+    private final BookingFactRepository bookingFactRepository;
+    private final PaidBillFactRepository paidBillFactRepository;
+    private final StatsFactJdbcRepository statsFactJdbcRepository;
+    private final DailyHotelStatsRepository statsRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final TransactionTemplate reportsTransaction;
+    private final int seedPageSize;
+    private final Duration reconcileOverlap;
+
+    private volatile boolean started;
+
+    public StreamingStatsAggregator(BookingRepository bookingRepository,
+                                    BillRepository billRepository,
+                                    BookingFactRepository bookingFactRepository,
+                                    PaidBillFactRepository paidBillFactRepository,
+                                    StatsFactJdbcRepository statsFactJdbcRepository,
+                                    DailyHotelStatsRepository statsRepository,
+                                    RollupWatermarkRepository watermarkRepository,
+                                    KafkaListenerEndpointRegistry listenerRegistry,
+                                    @Qualifier("reportsTransactionManager") PlatformTransactionManager reportsTransactionManager,
+                                    @Value("${reports.stream.seed-page-size:5000}") int seedPageSize,
+                                    @Value("${reports.stream.reconcile-overlap-seconds:300}") long reconcileOverlapSeconds) {
+        this.bookingRepository = bookingRepository;
+        this.billRepository = billRepository;
+        this.bookingFactRepository = bookingFactRepository;
+        this.paidBillFactRepository = paidBillFactRepository;
+        this.statsFactJdbcRepository = statsFactJdbcRepository;
+        this.statsRepository = statsRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.listenerRegistry = listenerRegistry;
+        this.reportsTransaction = new TransactionTemplate(reportsTransactionManager);
+        this.seedPageSize = seedPageSize;
+        // Re-reads a window before the watermark so rows committed late by long transactions are not missed
+        this.reconcileOverlap = Duration.ofSeconds(reconcileOverlapSeconds);
+    }
+
+    /**
+     * A booking moved to a status, as announced on one of the booking topics.
+     * The day (the booking's creation date) is used as the stats bucket when the booking has not been seen before.
+     * A change without a day only moves a booking that is already known; an unknown one is left to reconcile.
+     */
+    public record BookingChange(Long bookingId, Long hotelId, String status, LocalDate day) {
+    }
+
+    /**
+     * Seed the store if needed, then start the Kafka listeners. Retried until it succeeds.
+     */
+    @Scheduled(initialDelayString = "${reports.stream.start-delay-ms:5000}",
+               fixedDelayString = "${reports.stream.start-retry-ms:30000}")
+    public void start() {
+        if (started) {
+            return;
+        }
+        try {
+            seedIfNeeded();
+            for (MessageListenerContainer container : listenerRegistry.getListenerContainers()) {
+                if (!container.isRunning()) {
+                    container.start();
+                }
+            }
+            started = true;
+            log.info("Stats event listeners started");
+        } catch (Exception e) {
+            log.error("Failed to start streaming stats aggregation, retrying later", e);
+        }
+    }
+
+    /**
+     * Apply a batch of booking status changes in one reports transaction.
+     *
+     * @return number of changes that moved a counter
+     */
+    public int applyBookingChanges(List<BookingChange> changes) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        Set<Long> bookingIds = changes.stream().map(BookingChange::bookingId).collect(Collectors.toSet());
+
+        Integer applied = reportsTransaction.execute(status -> {
+            Map<Long, BookingFact> facts = bookingFactRepository.findAllForUpdate(bookingIds).stream()
+                    .collect(Collectors.toMap(BookingFact::getBookingId, Function.identity()));
+            Map<StatsKey, DailyHotelStats> stats = new HashMap<>();
+            List<BookingFact> inserted = new ArrayList<>();
+            int moved = 0;
+
+            for (BookingChange change : changes) {
+                Integer rank = STATUS_RANK.get(change.status());
+                BookingFact fact = facts.get(change.bookingId());
+                if (rank == null) {
+                    continue;
+                }
+                if (fact == null) {
+                    if (change.hotelId() == null || change.day() == null) {
+                        continue;
+                    }
+                    fact = new BookingFact(change.bookingId(), change.hotelId(), change.day(), change.status());
+                    facts.put(fact.getBookingId(), fact);
+                    inserted.add(fact);
+                    DailyHotelStats day = statsFor(stats, fact.getHotelId(), fact.getStatDate());
+                    day.setBookings(day.getBookings() + 1);
+                    day.addToStatus(change.status(), 1);
+                    moved++;
+                } else if (rank > STATUS_RANK.getOrDefault(fact.getStatus(), -1)) {
+                    DailyHotelStats day = statsFor(stats, fact.getHotelId(), fact.getStatDate());
+                    day.addToStatus(fact.getStatus(), -1);
+                    day.addToStatus(change.status(), 1);
+                    fact.setStatus(change.status());
+                    moved++;
+                }
+            }
+
+            // New facts are written with their final status; loaded ones are flushed on commit
+            statsFactJdbcRepository.insertBookingFacts(inserted);
+            statsRepository.saveAll(stats.values());
+            return moved;
+        });
+        return applied != null ? applied : 0;
+    }
+
+    /**
+     * Count a batch of bill payments in one reports transaction. Revenue goes to the day the bill was generated.
+     *
+     * @return number of payments counted
+     */
+    public int applyBillPayments(List<BillPaidEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        Set<Long> billIds = events.stream().map(BillPaidEvent::getBillId).collect(Collectors.toSet());
+
+        Integer applied = reportsTransaction.execute(status -> {
+            Set<Long> counted = new HashSet<>(paidBillFactRepository.findBillIdsIn(billIds));
+            Map<StatsKey, DailyHotelStats> stats = new HashMap<>();
+            List<PaidBillFact> inserted = new ArrayList<>();
+
+            for (BillPaidEvent event : events) {
+                if (event.getBillId() == null || event.getHotelId() == null || !counted.add(event.getBillId())) {
+                    continue;
+                }
+                LocalDateTime at = event.getGeneratedAt() != null ? event.getGeneratedAt()
+                        : event.getPaidAt() != null ? event.getPaidAt() : LocalDateTime.now();
+                BigDecimal amount = event.getAmount() != null ? event.getAmount() : BigDecimal.ZERO;
+                PaidBillFact fact = new PaidBillFact(event.getBillId(), event.getHotelId(), at.toLocalDate(), amount);
+                inserted.add(fact);
+                statsFor(stats, fact.getHotelId(), fact.getStatDate()).addPayment(amount);
+            }
+
+            statsFactJdbcRepository.insertPaidBillFacts(inserted);
+            statsRepository.saveAll(stats.values());
+            return inserted.size();
+        });
+        return applied != null ? applied : 0;
+    }
+
+    @Scheduled(initialDelayString = "${reports.stream.reconcile-interval-ms:300000}",
+               fixedDelayString = "${reports.stream.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        if (!started) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Stats reconcile failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Apply the bookings and paid bills updated in the source databases since the last reconcile (or the seed)
+     * as if they were events. The facts turn everything the listeners already applied into a no-op, so only
+     * missed changes move counters.
+     *
+     * @return number of changes that moved a counter
+     */
+    synchronized int reconcile() {
+        Optional<RollupWatermark> watermark = watermarkRepository.findById(RECONCILE_WATERMARK)
+                .or(() -> watermarkRepository.findById(SEED_WATERMARK));
+        if (watermark.isEmpty()) {
+            // Not seeded yet
+            return 0;
+        }
+        LocalDateTime runStart = LocalDateTime.now();
+        LocalDateTime since = watermark.get().getAppliedUntil().minus(reconcileOverlap);
+
+        int applied = 0;
+        long afterId = 0;
+        List<Object[]> rows;
+        while (!(rows = bookingRepository.findFactRowsUpdatedSince(since, afterId,
+                PageRequest.of(0, seedPageSize))).isEmpty()) {
+            List<BookingChange> changes = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                if (row[1] != null && row[2] != null && row[3] != null) {
+                    changes.add(new BookingChange(DailyStatsRollup.toLong(row[0]), DailyStatsRollup.toLong(row[1]),
+                            (String) row[3], ((LocalDateTime) row[2]).toLocalDate()));
+                }
+            }
+            applied += applyBookingChanges(changes);
+            afterId = DailyStatsRollup.toLong(rows.get(rows.size() - 1)[0]);
+        }
+
+        afterId = 0;
+        while (!(rows = billRepository.findPaidFactRowsUpdatedSince(since, afterId,
+                PageRequest.of(0, seedPageSize))).isEmpty()) {
+            List<BillPaidEvent> payments = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                payments.add(BillPaidEvent.builder()
+                        .billId(DailyStatsRollup.toLong(row[0]))
+                        .hotelId(row[1] != null ? DailyStatsRollup.toLong(row[1]) : null)
+                        .generatedAt((LocalDateTime) row[2])
+                        .amount((BigDecimal) row[3])
+                        .build());
+            }
+            applied += applyBillPayments(payments);
+            afterId = DailyStatsRollup.toLong(rows.get(rows.size() - 1)[0]);
+        }
+
+        reportsTransaction.executeWithoutResult(status ->
+                watermarkRepository.save(new RollupWatermark(RECONCILE_WATERMARK, runStart)));
+        if (applied > 0) {
+            log.warn("Stats reconcile applied {} changes the event stream had missed", applied);
+        }
+        return applied;
+    }
+
+    /**
+     * Copy the current booking statuses and paid bills into the fact tables and build daily_hotel_stats from
+     * them. Runs once, before the listeners start; the listeners then replay their topics from the earliest
+     * retained offset, which the facts turn into no-ops for everything the seed already covered.
+     * The stats rows are replaced in the same transaction that writes the seed watermark, so counters left by an
+     * earlier rollup are never added to and dashboards never see the table half built.
+     */
+    synchronized void seedIfNeeded() {
+        if (watermarkRepository.existsById(SEED_WATERMARK)) {
+            return;
+        }
+        LocalDateTime seedStart = LocalDateTime.now();
+        log.info("Seeding streaming stats store from the booking and billing databases");
+
+        reportsTransaction.executeWithoutResult(status -> {
+            bookingFactRepository.deleteAllInBulk();
+            paidBillFactRepository.deleteAllInBulk();
+        });
+
+        long bookings = 0;
+        long afterId = 0;
+        List<Object[]> rows;
+        while (!(rows = bookingRepository.findFactRowsAfter(afterId, PageRequest.of(0, seedPageSize))).isEmpty()) {
+            List<BookingFact> facts = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                if (row[1] != null && row[2] != null && row[3] != null) {
+                    facts.add(new BookingFact(DailyStatsRollup.toLong(row[0]), DailyStatsRollup.toLong(row[1]),
+                            ((LocalDateTime) row[2]).toLocalDate(), (String) row[3]));
+                }
+            }
+            reportsTransaction.executeWithoutResult(status -> statsFactJdbcRepository.insertBookingFacts(facts));
+            afterId = DailyStatsRollup.toLong(rows.get(rows.size() - 1)[0]);
+            bookings += facts.size();
+        }
+
+        long bills = 0;
+        afterId = 0;
+        while (!(rows = billRepository.findPaidFactRowsAfter(afterId, PageRequest.of(0, seedPageSize))).isEmpty()) {
+            List<PaidBillFact> facts = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                if (row[1] != null && row[2] != null) {
+                    facts.add(new PaidBillFact(DailyStatsRollup.toLong(row[0]), DailyStatsRollup.toLong(row[1]),
+                            ((LocalDateTime) row[2]).toLocalDate(),
+                            row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO));
+                }
+            }
+            reportsTransaction.executeWithoutResult(status -> statsFactJdbcRepository.insertPaidBillFacts(facts));
+            afterId = DailyStatsRollup.toLong(rows.get(rows.size() - 1)[0]);
+            bills += facts.size();
+        }
+
+        reportsTransaction.executeWithoutResult(status -> {
+            statsRepository.deleteAllInBulk();
+            rebuildStatsFromFacts();
+            watermarkRepository.deleteById(RECONCILE_WATERMARK);
+            watermarkRepository.save(new RollupWatermark(SEED_WATERMARK, seedStart));
+        });
+        log.info("Seeded streaming stats store with {} bookings and {} paid bills", bookings, bills);
+    }
+
+    private void rebuildStatsFromFacts() {
+        Map<StatsKey, DailyHotelStats> stats = new HashMap<>();
+        for (Object[] row : bookingFactRepository.aggregateDailyBookings()) {
+            DailyHotelStats day = stats.computeIfAbsent(
+                    new StatsKey(DailyStatsRollup.toLong(row[0]), DailyStatsRollup.toLocalDate(row[1])),
+                    key -> new DailyHotelStats(key.hotelId(), key.day()));
+            day.setBookings(DailyStatsRollup.toLong(row[2]));
+            day.setCreatedBookings(DailyStatsRollup.toLong(row[3]));
+            day.setConfirmedBookings(DailyStatsRollup.toLong(row[4]));
+            day.setCheckedInBookings(DailyStatsRollup.toLong(row[5]));
+            day.setCheckedOutBookings(DailyStatsRollup.toLong(row[6]));
+            day.setCancelledBookings(DailyStatsRollup.toLong(row[7]));
+        }
+        for (Object[] row : paidBillFactRepository.aggregateDailyRevenue()) {
+            DailyHotelStats day = stats.computeIfAbsent(
+                    new StatsKey(DailyStatsRollup.toLong(row[0]), DailyStatsRollup.toLocalDate(row[1])),
+                    key -> new DailyHotelStats(key.hotelId(), key.day()));
+            day.setRevenue(row[2] != null ? (BigDecimal) row[2] : BigDecimal.ZERO);
+            day.setPaidBills(DailyStatsRollup.toLong(row[3]));
+        }
+        statsRepository.saveAll(stats.values());
+    }
+
+    private DailyHotelStats statsFor(Map<StatsKey, DailyHotelStats> stats, Long hotelId, LocalDate day) {
+        return stats.computeIfAbsent(new StatsKey(hotelId, day),
+                key -> statsRepository.findForUpdate(key.hotelId(), key.day())
+                        .orElseGet(() -> new DailyHotelStats(key.hotelId(), key.day())));
+    }
+}
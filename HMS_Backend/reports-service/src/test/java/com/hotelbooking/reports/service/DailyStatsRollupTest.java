@@ -0,0 +1,182 @@
+package com.hotelbooking.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.reports.ReportsServiceApplication;
+import com.hotelbooking.reports.domain.reports.DailyHotelStats;
+import com.hotelbooking.reports.dto.DashboardResponse;
+import com.hotelbooking.reports.repository.reports.DailyHotelStatsRepository;
+import com.hotelbooking.reports.repository.reports.RollupWatermarkRepository;
+import com.hotelbooking.reports.support.SourceTables;
+
+/**
+ * Runs the daily_hotel_stats rollup against H2 copies of the bookings and bills tables.
+ */
+@SpringBootTest(classes = ReportsServiceApplication.class, properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import(SourceTables.class)
+class DailyStatsRollupTest {
+
+    @Autowired
+    private DailyStatsRollup rollup;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DailyHotelStatsRepository statsRepository;
+
+    @Autowired
+    private RollupWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SourceTables sources;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        sources.hotel(1, "Sea View", "RESORT", "Goa", "Beach Rd", 4);
+        sources.hotel(2, "City Inn", "BUSINESS", "Pune", "MG Rd", 3);
+        today = LocalDate.now();
+
+        sources.booking(1, 1, "CONFIRMED", today.minusDays(40));
+        sources.booking(2, 1, "CHECKED_IN", today.minusDays(2));
+        sources.booking(3, 1, "CANCELLED", today.minusDays(2));
+        sources.booking(4, 2, "CONFIRMED", today.minusDays(1));
+        sources.booking(5, 2, "CHECKED_OUT", today);
+        sources.bill(1, 1, "PAID", "1000.00", today.minusDays(40));
+        sources.bill(2, 1, "PAID", "2500.00", today.minusDays(2));
+        sources.bill(3, 1, "PENDING", "700.00", today.minusDays(2));
+        sources.bill(4, 2, "PAID", "1200.00", today);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sources.deleteBookingsAndBills();
+        statsRepository.deleteAll();
+        watermarkRepository.deleteAll();
+        cacheManager.getCache("dashboard").clear();
+    }
+
+    @Test
+    void testRefresh_BackfillBuildsDashboard() {
+        rollup.refresh();
+
+        assertTrue(rollup.isReady());
+        DailyHotelStats hotelOneTwoDaysAgo = stats(1L, today.minusDays(2));
+        assertEquals(2L, hotelOneTwoDaysAgo.getBookings());
+        assertEquals(1L, hotelOneTwoDaysAgo.getCheckedInBookings());
+        assertEquals(1L, hotelOneTwoDaysAgo.getCancelledBookings());
+        assertEquals(0, new BigDecimal("2500.00").compareTo(hotelOneTwoDaysAgo.getRevenue()));
+        assertEquals(1L, hotelOneTwoDaysAgo.getPaidBills());
+
+        DashboardResponse dashboard = dashboardService.getAdminDashboard(null);
+
+        assertEquals(0, new BigDecimal("4700.00").compareTo(dashboard.getTotalRevenue()));
+        assertEquals(5L, dashboard.getTotalBookings());
+        assertEquals(1L, dashboard.getTotalCheckIns());
+        assertEquals(1L, dashboard.getTotalCheckOuts());
+        assertEquals(Map.of("CONFIRMED", 2L, "CHECKED_IN", 1L, "CANCELLED", 1L, "CHECKED_OUT", 1L),
+                statusCounts(dashboard));
+        assertEquals(Map.of(1L, new BigDecimal("3500").stripTrailingZeros(), 2L, new BigDecimal("1200").stripTrailingZeros()), revenueByHotel(dashboard));
+        // Trend counts confirmed bookings inside the 30-day window, like the live query
+        assertEquals(1L, dashboard.getBookingTrend().stream().mapToLong(DashboardResponse.BookingTrend::getCount).sum());
+    }
+
+    @Test
+    void testRefresh_IncrementalPicksUpStatusChangesAndPayments() {
+        rollup.refresh();
+
+        // Booking created 40 days ago is cancelled now; a pending bill gets paid
+        LocalDateTime later = LocalDateTime.now().plusSeconds(1);
+        sources.bookingJdbc().update("UPDATE bookings SET status = 'CANCELLED', updated_at = ? WHERE id = 1",
+                Timestamp.valueOf(later));
+        sources.billingJdbc().update("UPDATE bills SET status = 'PAID', updated_at = ? WHERE id = 3",
+                Timestamp.valueOf(later));
+        sources.booking(6, 2, "CREATED", today);
+
+        rollup.refresh();
+
+        DailyHotelStats old = stats(1L, today.minusDays(40));
+        assertEquals(0L, old.getConfirmedBookings());
+        assertEquals(1L, old.getCancelledBookings());
+        assertEquals(0, new BigDecimal("3200.00").compareTo(stats(1L, today.minusDays(2)).getRevenue()));
+        assertEquals(1L, stats(2L, today).getCreatedBookings());
+
+        DashboardResponse dashboard = dashboardService.getManagerDashboard(1L);
+        assertEquals(0, new BigDecimal("4200.00").compareTo(dashboard.getTotalRevenue()));
+        assertEquals(3L, dashboard.getTotalBookings());
+    }
+
+    @Test
+    void testRefresh_DeletedSourceRowsResetCounters() {
+        rollup.refresh();
+
+        sources.bookingJdbc().update("DELETE FROM bookings WHERE id = 5");
+        // Deletes carry no updated_at; another change on the same day triggers the recompute
+        sources.booking(7, 1, "CREATED", today);
+
+        rollup.refresh();
+
+        assertEquals(0L, stats(2L, today).getBookings());
+        assertEquals(1L, stats(1L, today).getBookings());
+    }
+
+    @Test
+    void testToRanges_MergesConsecutiveDays() {
+        LocalDate d = LocalDate.of(2026, 1, 10);
+
+        List<DailyStatsRollup.DayRange> ranges = DailyStatsRollup.toRanges(
+                List.of(d.plusDays(1), d, d.plusDays(5), d.plusDays(2), d));
+
+        assertEquals(List.of(new DailyStatsRollup.DayRange(d, d.plusDays(2)),
+                new DailyStatsRollup.DayRange(d.plusDays(5), d.plusDays(5))), ranges);
+    }
+
+    private DailyHotelStats stats(Long hotelId, LocalDate day) {
+        return statsRepository.findByStatDateBetween(day, day).stream()
+                .filter(s -> s.getHotelId().equals(hotelId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private Map<String, Long> statusCounts(DashboardResponse response) {
+        return response.getBookingStatusDistribution().stream()
+                .collect(Collectors.toMap(DashboardResponse.BookingStatusDistribution::getStatus,
+                        DashboardResponse.BookingStatusDistribution::getCount));
+    }
+
+    private Map<Long, BigDecimal> revenueByHotel(DashboardResponse response) {
+        return response.getRevenueByHotel().stream()
+                .collect(Collectors.toMap(DashboardResponse.RevenueByHotel::getHotelId,
+                        r -> r.getRevenue().stripTrailingZeros()));
+    }
+}
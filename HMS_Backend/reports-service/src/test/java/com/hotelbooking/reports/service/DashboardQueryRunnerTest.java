@@ -0,0 +1,114 @@
+package com.hotelbooking.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DashboardQueryRunnerTest {
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSubmit_Parallel_RunsSubQueriesConcurrently() {
+        DashboardQueryRunner runner = new DashboardQueryRunner(executor, meterRegistry, true, 5000);
+        // Each query waits for the other: completes only if both run at the same time
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        CompletableFuture<String> revenue = runner.submit("billing", "total-revenue", () -> awaitPeer(bothRunning, "r"));
+        CompletableFuture<String> bookings = runner.submit("booking", "total-bookings", () -> awaitPeer(bothRunning, "b"));
+
+        assertEquals("r", DashboardQueryRunner.join(revenue));
+        assertEquals("b", DashboardQueryRunner.join(bookings));
+        assertEquals(1, timer("billing", "total-revenue").count());
+        assertEquals(1, timer("booking", "total-bookings").count());
+    }
+
+    @Test
+    void testSubmit_Sequential_RunsOnCallerThread() {
+        DashboardQueryRunner runner = new DashboardQueryRunner(executor, meterRegistry, false, 5000);
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Thread> thread = runner.submit("rollup", "booking-counts", Thread::currentThread);
+
+        assertEquals(caller, DashboardQueryRunner.join(thread));
+        assertEquals(1, timer("rollup", "booking-counts").count());
+    }
+
+    @Test
+    void testSubmit_Parallel_RunsOffCallerThread() {
+        DashboardQueryRunner runner = new DashboardQueryRunner(executor, meterRegistry, true, 5000);
+
+        CompletableFuture<Thread> thread = runner.submit("rollup", "booking-counts", Thread::currentThread);
+
+        assertNotEquals(Thread.currentThread(), DashboardQueryRunner.join(thread));
+    }
+
+    @Test
+    void testJoin_RethrowsSubQueryFailure() {
+        DashboardQueryRunner runner = new DashboardQueryRunner(executor, meterRegistry, true, 5000);
+
+        CompletableFuture<Object> failed = runner.submit("hotel", "hotels", () -> {
+            throw new IllegalArgumentException("boom");
+        });
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> DashboardQueryRunner.join(failed));
+        assertEquals("boom", e.getMessage());
+    }
+
+    @Test
+    void testJoin_TimesOutSlowSubQuery() {
+        DashboardQueryRunner runner = new DashboardQueryRunner(executor, meterRegistry, true, 50);
+        CompletableFuture<String> slow = runner.submit("booking", "booking-trend", () -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "late";
+        });
+
+        assertThrows(IllegalStateException.class, () -> DashboardQueryRunner.join(slow));
+    }
+
+    private String awaitPeer(CountDownLatch latch, String result) {
+        latch.countDown();
+        try {
+            if (!latch.await(2, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("peer query did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return result;
+    }
+
+    private Timer timer(String source, String query) {
+        return meterRegistry.get(DashboardQueryRunner.QUERY_TIMER).tag("source", source).tag("query", query).timer();
+    }
+}
@@ -0,0 +1,114 @@
+package com.hotelbooking.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import com.hotelbooking.reports.ReportsServiceApplication;
+import com.hotelbooking.reports.dto.HotelReportResponse;
+import com.hotelbooking.reports.support.SourceTables;
+
+/**
+ * Runs the grouped hotel report queries against H2 copies of the source tables.
+ */
+@SpringBootTest(classes = ReportsServiceApplication.class, properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import(SourceTables.class)
+class ReportsServiceTest {
+
+    @Autowired
+    private ReportsService reportsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SourceTables sources;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        sources.hotel(1, "Sea View", "RESORT", "Goa", "Beach Rd", 4);
+        sources.hotel(2, "City Inn", "BUSINESS", "Pune", "MG Rd", 3);
+        sources.hotel(3, "Hill Top", "BUDGET", "Ooty", "Lake Rd", null);
+        now = LocalDateTime.now();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sources.deleteBookingsAndBills();
+        sources.deleteHotel(3);
+        cacheManager.getCache("reports").clear();
+    }
+
+    @Test
+    void testGetHotelReports_GroupsMetricsPerHotel() {
+        // Hotel 1 has more bookings than the recent list holds; ids grow with created_at
+        for (int i = 1; i <= 12; i++) {
+            booking(i, 1, now.minusHours(13 - i));
+        }
+        booking(20, 2, now.minusDays(1));
+        bill(1, 1, "PAID", "1000.00", now);
+        bill(2, 1, "PAID", "2500.00", now.minusMonths(2));
+        bill(3, 1, "PENDING", "700.00", now);
+        bill(4, 2, "PAID", "1200.00", now.minusMonths(2));
+
+        Map<Long, HotelReportResponse> reports = reportsService.getHotelReports().stream()
+                .collect(Collectors.toMap(HotelReportResponse::getHotelId, Function.identity()));
+
+        assertEquals(3, reports.size());
+
+        HotelReportResponse seaView = reports.get(1L);
+        assertEquals(12L, seaView.getTotalBookings());
+        assertEquals(0, new BigDecimal("3500.00").compareTo(seaView.getTotalRevenue()));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(seaView.getMonthlyRevenue()));
+        assertEquals(ReportsService.RECENT_BOOKINGS_PER_HOTEL, seaView.getRecentBookings().size());
+        assertEquals(List.of(12L, 11L, 10L), seaView.getRecentBookings().stream()
+                .limit(3).map(HotelReportResponse.RecentBooking::getBookingId).toList());
+        assertEquals(now.minusHours(1).toLocalDate().toString(), seaView.getRecentBookings().get(0).getCheckInDate());
+
+        HotelReportResponse cityInn = reports.get(2L);
+        assertEquals(1L, cityInn.getTotalBookings());
+        assertEquals(0, new BigDecimal("1200.00").compareTo(cityInn.getTotalRevenue()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(cityInn.getMonthlyRevenue()));
+        assertEquals(List.of(20L), cityInn.getRecentBookings().stream()
+                .map(HotelReportResponse.RecentBooking::getBookingId).toList());
+
+        HotelReportResponse hillTop = reports.get(3L);
+        assertEquals(0L, hillTop.getTotalBookings());
+        assertEquals(0, BigDecimal.ZERO.compareTo(hillTop.getTotalRevenue()));
+        assertEquals(0.0, hillTop.getAverageRating());
+        assertTrue(hillTop.getRecentBookings().isEmpty());
+    }
+
+    private void booking(long id, long hotelId, LocalDateTime createdAt) {
+        sources.booking(id, hotelId, "CONFIRMED", createdAt, createdAt);
+    }
+
+    private void bill(long id, long hotelId, String status, String amount, LocalDateTime generatedAt) {
+        sources.bill(id, hotelId, status, amount, generatedAt, generatedAt);
+    }
+}
@@ -0,0 +1,323 @@
+package com.hotelbooking.reports.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.hotelbooking.reports.ReportsServiceApplication;
+import com.hotelbooking.reports.domain.reports.DailyHotelStats;
+import com.hotelbooking.reports.dto.BillPaidEvent;
+import com.hotelbooking.reports.dto.BookingEvent;
+import com.hotelbooking.reports.dto.DashboardResponse;
+import com.hotelbooking.reports.listener.StatsEventListener;
+import com.hotelbooking.reports.repository.reports.BookingFactRepository;
+import com.hotelbooking.reports.repository.reports.DailyHotelStatsRepository;
+import com.hotelbooking.reports.repository.reports.PaidBillFactRepository;
+import com.hotelbooking.reports.repository.reports.RollupWatermarkRepository;
+import com.hotelbooking.reports.service.StreamingStatsAggregator.BookingChange;
+import com.hotelbooking.reports.support.SourceTables;
+
+/**
+ * Event-fed daily_hotel_stats on H2. Listener containers are not started; batches are applied directly.
+ */
+@SpringBootTest(classes = ReportsServiceApplication.class, properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.config.fail-fast=false",
+    "reports.aggregation.mode=events",
+    "reports.stream.start-delay-ms=3600000",
+    "reports.stream.seed-page-size=2"
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import(SourceTables.class)
+class StreamingStatsAggregatorTest {
+
+    @Autowired
+    private StreamingStatsAggregator aggregator;
+
+    @Autowired
+    private DailyStatsRollup rollup;
+
+    @Autowired
+    private StatsEventListener listener;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DailyHotelStatsRepository statsRepository;
+
+    @Autowired
+    private BookingFactRepository bookingFactRepository;
+
+    @Autowired
+    private PaidBillFactRepository paidBillFactRepository;
+
+    @Autowired
+    private RollupWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    @Qualifier("reportsTransactionManager")
+    private PlatformTransactionManager reportsTransactionManager;
+
+    @Autowired
+    private SourceTables sources;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sources.deleteBookingsAndBills();
+        bookingFactRepository.deleteAll();
+        paidBillFactRepository.deleteAll();
+        statsRepository.deleteAll();
+        watermarkRepository.deleteAll();
+        cacheManager.getCache("dashboard").clear();
+    }
+
+    @Test
+    void testSeed_CopiesSourceIntoFactsAndStats() {
+        sources.booking(1, 1, "CONFIRMED", today.minusDays(3));
+        sources.booking(2, 1, "CANCELLED", today.minusDays(3));
+        sources.booking(3, 1, "CHECKED_IN", today);
+        sources.booking(4, 2, "CREATED", today);
+        sources.booking(5, 2, "CHECKED_OUT", today.minusDays(10));
+        sources.bill(1, 1, "PAID", "1500.00", today.minusDays(3));
+        sources.bill(2, 1, "PENDING", "900.00", today);
+        sources.bill(3, 2, "PAID", "800.00", today.minusDays(10));
+
+        aggregator.seedIfNeeded();
+
+        assertEquals(5, bookingFactRepository.count());
+        assertEquals(2, paidBillFactRepository.count());
+        DailyHotelStats hotelOne = stats(1L, today.minusDays(3));
+        assertEquals(2L, hotelOne.getBookings());
+        assertEquals(1L, hotelOne.getConfirmedBookings());
+        assertEquals(1L, hotelOne.getCancelledBookings());
+        assertEquals(0, new BigDecimal("1500.00").compareTo(hotelOne.getRevenue()));
+        assertEquals(1L, stats(2L, today).getCreatedBookings());
+        assertTrue(watermarkRepository.existsById(StreamingStatsAggregator.SEED_WATERMARK));
+
+        // Seeding is one-off: later source changes are only picked up from events
+        sources.booking(6, 2, "CREATED", today);
+        aggregator.seedIfNeeded();
+        assertEquals(5, bookingFactRepository.count());
+    }
+
+    @Test
+    void testSeed_AfterRollupDoesNotCountExistingRowsTwice() {
+        sources.booking(1, 1, "CONFIRMED", today);
+        sources.booking(2, 1, "CREATED", today);
+        sources.bill(1, 1, "PAID", "500.00", today);
+        // The deployment ran in rollup mode before switching to events
+        rollup.refresh();
+        assertEquals(2L, stats(1L, today).getBookings());
+
+        aggregator.seedIfNeeded();
+
+        assertEquals(2, bookingFactRepository.count());
+        assertEquals(1, paidBillFactRepository.count());
+        // Replayed topics and the first reconcile find every existing row already counted
+        assertEquals(0, aggregator.applyBookingChanges(List.of(
+                new BookingChange(1L, 1L, "CONFIRMED", today),
+                new BookingChange(2L, 1L, "CREATED", today))));
+        assertEquals(0, aggregator.applyBillPayments(List.of(payment(1L, 1L, "500.00", today))));
+        assertEquals(0, aggregator.reconcile());
+
+        DailyHotelStats day = stats(1L, today);
+        assertEquals(2L, day.getBookings());
+        assertEquals(1L, day.getCreatedBookings());
+        assertEquals(1L, day.getConfirmedBookings());
+        assertEquals(0, new BigDecimal("500.00").compareTo(day.getRevenue()));
+        assertEquals(1L, day.getPaidBills());
+    }
+
+    @Test
+    void testReconcile_AppliesOnlyWhatEventsMissed() {
+        sources.booking(1, 1, "CREATED", today);
+        aggregator.seedIfNeeded();
+        // Streamed: booking 1 confirmed. Missed (dead-lettered): booking 2 created, booking 1 checked in, bill 5 paid
+        aggregator.applyBookingChanges(List.of(new BookingChange(1L, 1L, "CONFIRMED", today)));
+        sources.bookingJdbc().update("UPDATE bookings SET status = 'CHECKED_IN', updated_at = ? WHERE id = 1",
+                Timestamp.valueOf(LocalDateTime.now()));
+        sources.booking(2, 1, "CREATED", today);
+        sources.bill(5, 1, "PAID", "700.00", today);
+        sources.bill(6, 1, "PENDING", "300.00", today);
+
+        assertEquals(3, aggregator.reconcile());
+        // Nothing left to catch up
+        assertEquals(0, aggregator.reconcile());
+
+        DailyHotelStats day = stats(1L, today);
+        assertEquals(2L, day.getBookings());
+        assertEquals(1L, day.getCreatedBookings());
+        assertEquals(0L, day.getConfirmedBookings());
+        assertEquals(1L, day.getCheckedInBookings());
+        assertEquals(0, new BigDecimal("700.00").compareTo(day.getRevenue()));
+        assertEquals(1L, day.getPaidBills());
+        assertTrue(watermarkRepository.existsById(StreamingStatsAggregator.RECONCILE_WATERMARK));
+    }
+
+    @Test
+    void testReconcile_WaitsForSeed() {
+        sources.booking(1, 1, "CREATED", today);
+
+        assertEquals(0, aggregator.reconcile());
+        assertEquals(0, bookingFactRepository.count());
+    }
+
+    @Test
+    void testApplyBookingChanges_MovesCountersOnce() {
+        assertEquals(2, aggregator.applyBookingChanges(List.of(
+                new BookingChange(10L, 1L, "CREATED", today),
+                new BookingChange(11L, 1L, "CREATED", today))));
+        // Redelivery of the same batch changes nothing
+        assertEquals(0, aggregator.applyBookingChanges(List.of(
+                new BookingChange(10L, 1L, "CREATED", today),
+                new BookingChange(11L, 1L, "CREATED", today))));
+
+        assertEquals(1, aggregator.applyBookingChanges(List.of(new BookingChange(10L, 1L, "CONFIRMED", today))));
+        // A confirmation replayed after check-in must not move the booking back
+        aggregator.applyBookingChanges(List.of(new BookingChange(10L, 1L, "CHECKED_IN", today)));
+        assertEquals(0, aggregator.applyBookingChanges(List.of(new BookingChange(10L, 1L, "CONFIRMED", today))));
+        aggregator.applyBookingChanges(List.of(new BookingChange(11L, 1L, "CANCELLED", today.plusDays(2))));
+
+        DailyHotelStats day = stats(1L, today);
+        assertEquals(2L, day.getBookings());
+        assertEquals(0L, day.getCreatedBookings());
+        assertEquals(0L, day.getConfirmedBookings());
+        assertEquals(1L, day.getCheckedInBookings());
+        assertEquals(1L, day.getCancelledBookings());
+    }
+
+    @Test
+    void testApplyBookingChanges_OutOfOrderTopics() {
+        // booking-confirmed consumed before booking-created for the same booking
+        aggregator.applyBookingChanges(List.of(new BookingChange(20L, 3L, "CONFIRMED", today)));
+        aggregator.applyBookingChanges(List.of(new BookingChange(20L, 3L, "CREATED", today)));
+
+        DailyHotelStats day = stats(3L, today);
+        assertEquals(1L, day.getBookings());
+        assertEquals(0L, day.getCreatedBookings());
+        assertEquals(1L, day.getConfirmedBookings());
+    }
+
+    @Test
+    void testApplyBookingChanges_WithoutDayOnlyMovesKnownBookings() {
+        aggregator.applyBookingChanges(List.of(new BookingChange(21L, 3L, "CREATED", today)));
+
+        // An event from before booking-service sent createdAt: nothing to bucket a new booking by
+        assertEquals(1, aggregator.applyBookingChanges(List.of(
+                new BookingChange(21L, 3L, "CONFIRMED", null),
+                new BookingChange(22L, 3L, "CREATED", null))));
+
+        DailyHotelStats day = stats(3L, today);
+        assertEquals(1L, day.getBookings());
+        assertEquals(1L, day.getConfirmedBookings());
+        assertTrue(bookingFactRepository.findById(22L).isEmpty());
+    }
+
+    @Test
+    void testListener_BucketsByBookingCreationTimeNotPublishTime() {
+        // Created just before midnight yesterday, published (and consumed) today
+        BookingEvent event = new BookingEvent(50L, 6L, today.minusDays(1).atTime(23, 50));
+
+        listener.handleBookingCreated(List.of(new ConsumerRecord<>("booking-created", 0, 0L, "50", event)));
+
+        assertEquals(1L, stats(6L, today.minusDays(1)).getCreatedBookings());
+        assertTrue(statsRepository.findByStatDateBetween(today, today).stream()
+                .noneMatch(s -> s.getHotelId().equals(6L)));
+    }
+
+    @Test
+    void testApplyBillPayments_CountsEachBillOnce() {
+        BillPaidEvent first = payment(30L, 1L, "1200.00", today.minusDays(1));
+        BillPaidEvent second = payment(31L, 1L, "800.00", today.minusDays(1));
+
+        assertEquals(2, aggregator.applyBillPayments(List.of(first, second, first)));
+        assertEquals(0, aggregator.applyBillPayments(List.of(second)));
+
+        DailyHotelStats day = stats(1L, today.minusDays(1));
+        assertEquals(0, new BigDecimal("2000.00").compareTo(day.getRevenue()));
+        assertEquals(2L, day.getPaidBills());
+    }
+
+    @Test
+    void testIsReady_WaitsForSeed() {
+        // A fresh instance: the shared bean stays ready once any test has seeded
+        DailyStatsRollup fresh = new DailyStatsRollup(null, null, statsRepository, watermarkRepository,
+                reportsTransactionManager, true, 300, "events");
+        sources.booking(1, 1, "CONFIRMED", today);
+
+        // The store is empty until the seed has copied the source rows in
+        assertFalse(fresh.isReady());
+
+        aggregator.seedIfNeeded();
+
+        assertTrue(fresh.isReady());
+    }
+
+    @Test
+    void testDashboard_ReadsEventFedStore() {
+        aggregator.seedIfNeeded();
+        assertTrue(rollup.isReady());
+        aggregator.applyBookingChanges(List.of(
+                new BookingChange(40L, 5L, "CREATED", today),
+                new BookingChange(41L, 5L, "CREATED", today),
+                new BookingChange(41L, 5L, "CHECKED_IN", today)));
+        aggregator.applyBillPayments(List.of(payment(40L, 5L, "3000.00", today)));
+
+        DashboardResponse dashboard = dashboardService.getManagerDashboard(5L);
+
+        assertEquals(2L, dashboard.getTotalBookings());
+        assertEquals(1L, dashboard.getTotalCheckIns());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(dashboard.getTotalRevenue()));
+        assertEquals(0, new BigDecimal("3000.00").compareTo(dashboard.getMonthlyRevenue()));
+    }
+
+    private BillPaidEvent payment(Long billId, Long hotelId, String amount, LocalDate generatedOn) {
+        return BillPaidEvent.builder()
+                .billId(billId)
+                .bookingId(billId)
+                .hotelId(hotelId)
+                .amount(new BigDecimal(amount))
+                .generatedAt(generatedOn.atTime(9, 0))
+                .paidAt(LocalDateTime.now())
+                .build();
+    }
+
+    private DailyHotelStats stats(Long hotelId, LocalDate day) {
+        return statsRepository.findByStatDateBetween(day, day).stream()
+                .filter(s -> s.getHotelId().equals(hotelId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
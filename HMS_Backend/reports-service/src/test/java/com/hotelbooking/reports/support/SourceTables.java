@@ -0,0 +1,97 @@
+package com.hotelbooking.reports.support;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * H2 copies of the bookings, bills and hotels tables that reports-service reads from the other services' databases,
+ * with builders for their rows. The schemas live in src/test/resources/source-schema.
+ * Import it with {@code @Import(SourceTables.class)} in a {@code @SpringBootTest}.
+ */
+@TestComponent
+public class SourceTables {
+
+    private final JdbcTemplate bookingJdbc;
+    private final JdbcTemplate billingJdbc;
+    private final JdbcTemplate hotelJdbc;
+
+    public SourceTables(@Qualifier("bookingDataSource") DataSource bookingDataSource,
+                        @Qualifier("billingDataSource") DataSource billingDataSource,
+                        @Qualifier("hotelDataSource") DataSource hotelDataSource) {
+        createTables(bookingDataSource, "source-schema/bookings.sql");
+        createTables(billingDataSource, "source-schema/bills.sql");
+        createTables(hotelDataSource, "source-schema/hotels.sql");
+        this.bookingJdbc = new JdbcTemplate(bookingDataSource);
+        this.billingJdbc = new JdbcTemplate(billingDataSource);
+        this.hotelJdbc = new JdbcTemplate(hotelDataSource);
+    }
+
+    public JdbcTemplate bookingJdbc() {
+        return bookingJdbc;
+    }
+
+    public JdbcTemplate billingJdbc() {
+        return billingJdbc;
+    }
+
+    public void hotel(long id, String name, String category, String city, String address, Integer starRating) {
+        hotelJdbc.update("MERGE INTO hotels KEY (id) VALUES (?, ?, ?, ?, ?, 'ACTIVE', ?)",
+                id, name, category, city, address, starRating);
+    }
+
+    /**
+     * A one-night booking starting on the day it was created (at 10:00), last updated now.
+     */
+    public void booking(long id, long hotelId, String status, LocalDate createdOn) {
+        booking(id, hotelId, status, createdOn.atTime(10, 0), LocalDateTime.now());
+    }
+
+    public void booking(long id, long hotelId, String status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        bookingJdbc.update("""
+                INSERT INTO bookings (id, user_id, hotel_id, room_id, check_in_date, check_out_date, total_amount,
+                    status, booking_source, guest_name, guest_email, created_at, updated_at)
+                VALUES (?, 1, ?, 1, ?, ?, 1000, ?, 'PUBLIC', 'Guest', 'guest@example.com', ?, ?)
+                """, id, hotelId, createdAt.toLocalDate(), createdAt.toLocalDate().plusDays(1), status,
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt));
+    }
+
+    /**
+     * A bill for booking {@code id}, generated at 11:00 on the given day, last updated now.
+     */
+    public void bill(long id, long hotelId, String status, String amount, LocalDate generatedOn) {
+        bill(id, hotelId, status, amount, generatedOn.atTime(11, 0), LocalDateTime.now());
+    }
+
+    public void bill(long id, long hotelId, String status, String amount, LocalDateTime generatedAt,
+                     LocalDateTime updatedAt) {
+        billingJdbc.update("""
+                INSERT INTO bills (id, booking_id, user_id, hotel_id, total_amount, status, generated_at, updated_at)
+                VALUES (?, ?, 1, ?, ?, ?, ?, ?)
+                """, id, id, hotelId, new BigDecimal(amount), status, Timestamp.valueOf(generatedAt),
+                Timestamp.valueOf(updatedAt));
+    }
+
+    public void deleteBookingsAndBills() {
+        bookingJdbc.execute("DELETE FROM bookings");
+        billingJdbc.execute("DELETE FROM bills");
+    }
+
+    public void deleteHotel(long id) {
+        hotelJdbc.update("DELETE FROM hotels WHERE id = ?", id);
+    }
+
+    private static void createTables(DataSource dataSource, String script) {
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource(script)), dataSource);
+    }
+}
@@ -0,0 +1,4 @@
+-- Owned by billing-service; only the columns reports-service reads
+CREATE TABLE IF NOT EXISTS bills (
+    id BIGINT PRIMARY KEY, booking_id BIGINT, user_id BIGINT, hotel_id BIGINT,
+    total_amount DECIMAL(10, 2), status VARCHAR(20), generated_at TIMESTAMP, updated_at TIMESTAMP);
@@ -0,0 +1,6 @@
+-- Owned by booking-service; only the columns reports-service reads
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGINT PRIMARY KEY, user_id BIGINT, hotel_id BIGINT, room_id BIGINT,
+    check_in_date DATE, check_out_date DATE, total_amount DECIMAL(10, 2),
+    status VARCHAR(20), booking_source VARCHAR(20), guest_name VARCHAR(255),
+    guest_email VARCHAR(255), created_at TIMESTAMP, updated_at TIMESTAMP);
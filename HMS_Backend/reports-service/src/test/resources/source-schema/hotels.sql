@@ -0,0 +1,4 @@
+-- Owned by hotel-service; only the columns reports-service reads
+CREATE TABLE IF NOT EXISTS hotels (
+    id BIGINT PRIMARY KEY, name VARCHAR(255), category VARCHAR(50), city VARCHAR(100),
+    address VARCHAR(255), status VARCHAR(20), star_rating INT);